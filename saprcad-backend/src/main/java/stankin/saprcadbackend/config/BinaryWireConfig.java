@@ -0,0 +1,22 @@
+package stankin.saprcadbackend.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import stankin.saprcadbackend.service.wire.BinaryResultWriter;
+
+import java.util.List;
+
+@Configuration
+public class BinaryWireConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private BinaryResultWriter binaryResultWriter;
+
+    // В конец списка: без явного Accept ответ остаётся JSON
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new BinaryWireConverter(binaryResultWriter));
+    }
+}
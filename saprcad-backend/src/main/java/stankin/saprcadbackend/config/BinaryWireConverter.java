@@ -0,0 +1,65 @@
+package stankin.saprcadbackend.config;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import stankin.saprcadbackend.dto.calculate.DisplacementVector;
+import stankin.saprcadbackend.dto.result.FullResult;
+import stankin.saprcadbackend.service.wire.BinaryResultWriter;
+import stankin.saprcadbackend.service.wire.BinaryWireFormat;
+
+import java.io.IOException;
+
+// Вывод FullResult и DisplacementVector в двоичном формате, если клиент прислал
+// Accept: application/x-saprcad-binary. Двоичный проект читается в контроллере (BinaryStructureReader).
+public class BinaryWireConverter extends AbstractHttpMessageConverter<Object> {
+
+    private final BinaryResultWriter writer;
+
+    public BinaryWireConverter(BinaryResultWriter writer) {
+        super(BinaryWireFormat.MEDIA_TYPE);
+        this.writer = writer;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return FullResult.class.isAssignableFrom(clazz) || DisplacementVector.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Двоичный проект читается только в контроллере.", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(Object value, MediaType contentType) {
+        if (value instanceof FullResult result && result.getRodResults() != null) {
+            return writer.size(result);
+        }
+        if (value instanceof DisplacementVector vector) {
+            return writer.size(vector.getDisplacements());
+        }
+        return null;
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        try {
+            if (value instanceof FullResult result) {
+                writer.write(result, outputMessage.getBody());
+            } else {
+                writer.write(((DisplacementVector) value).getDisplacements(), outputMessage.getBody());
+            }
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotWritableException(e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package stankin.saprcadbackend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class CalculationExecutorConfig {
+
+    // Пул для параллельных расчётов: по потоку на ядро и ограниченная очередь.
+    // При переполнении очереди задача выполняется в вызывающем потоке — естественное торможение клиента.
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService calculationExecutor(
+            @Value("${saprcad.executor.threads:0}") int threads,
+            @Value("${saprcad.executor.queue-capacity:1024}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "sapr-calc-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        return new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // Пул фоновых заданий (CalculationJobService): по умолчанию половина ядер, остальное — синхронным запросам.
+    // Очередь по приоритету задач (CalculationJob сравнимы); её размер ограничивает CalculationJobService.
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor jobExecutor(@Value("${saprcad.jobs.threads:0}") int threads) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "sapr-job-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        return new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new PriorityBlockingQueue<>(), threadFactory);
+    }
+
+    // Пул fork/join для параллельного решения длинных цепочек (ParallelTridiagonalSolver): по потоку на ядро.
+    // Отдельно от calculationExecutor: задачи отрезков короткие и ждут друг друга только внутри одного решения
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool solverPool(@Value("${saprcad.solver.parallel-threads:0}") int threads) {
+        int parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        AtomicInteger counter = new AtomicInteger();
+        ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory = pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("sapr-solver-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ForkJoinPool(parallelism, threadFactory, null, false);
+    }
+}
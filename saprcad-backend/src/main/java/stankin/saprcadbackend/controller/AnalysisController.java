@@ -0,0 +1,79 @@
+package stankin.saprcadbackend.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import stankin.saprcadbackend.dto.modal.ModalInput;
+import stankin.saprcadbackend.dto.plastic.PlasticInput;
+import stankin.saprcadbackend.dto.probabilistic.ProbabilisticInput;
+import stankin.saprcadbackend.dto.sizing.SizingInput;
+import stankin.saprcadbackend.service.modal.ModalAnalysisService;
+import stankin.saprcadbackend.service.modal.ModalOutcome;
+import stankin.saprcadbackend.service.plastic.ElastoplasticAnalysisService;
+import stankin.saprcadbackend.service.plastic.PlasticOutcome;
+import stankin.saprcadbackend.service.probabilistic.ProbabilisticAnalysisService;
+import stankin.saprcadbackend.service.probabilistic.ProbabilisticOutcome;
+import stankin.saprcadbackend.service.sizing.SectionSizingService;
+import stankin.saprcadbackend.service.sizing.SizingOutcome;
+
+// Расчёты поверх линейной статики: подбор сечений, Монте-Карло, собственные колебания, пластичность
+@RestController
+@RequestMapping("api/saprcad")
+public class AnalysisController {
+
+    @Autowired
+    private SectionSizingService sectionSizingService;
+
+    @Autowired
+    private ProbabilisticAnalysisService probabilisticAnalysisService;
+
+    @Autowired
+    private ModalAnalysisService modalAnalysisService;
+
+    @Autowired
+    private ElastoplasticAnalysisService elastoplasticAnalysisService;
+
+    // Подбор площадей сечений по допускаемым напряжениям (минимум объёма),
+    // с округлением до размеров из каталога, если он задан
+    @PostMapping("/sizing")
+    public ResponseEntity<?> sizing(@RequestBody SizingInput input) {
+        SizingOutcome outcome = sectionSizingService.optimize(input);
+        if (!outcome.isSuccess()) {
+            return ResponseEntity.badRequest().body(outcome.getErrors());
+        }
+        return ResponseEntity.ok(outcome.getResult());
+    }
+
+    // Вероятностный расчёт (Монте-Карло): статистика σx и ∆ при случайных E, A, q, F
+    @PostMapping("/monte-carlo")
+    public ResponseEntity<?> monteCarlo(@RequestBody ProbabilisticInput input) {
+        ProbabilisticOutcome outcome = probabilisticAnalysisService.analyze(input);
+        if (!outcome.isSuccess()) {
+            return ResponseEntity.badRequest().body(outcome.getErrors());
+        }
+        return ResponseEntity.ok(outcome.getResult());
+    }
+
+    // Модальный анализ: низшие собственные частоты и формы продольных колебаний (нужна плотность стержней)
+    @PostMapping("/modal-analysis")
+    public ResponseEntity<?> modalAnalysis(@RequestBody ModalInput input) {
+        ModalOutcome outcome = modalAnalysisService.analyze(input);
+        if (!outcome.isSuccess()) {
+            return ResponseEntity.badRequest().body(outcome.getErrors());
+        }
+        return ResponseEntity.ok(outcome.getResult());
+    }
+
+    // Упругопластический расчёт: нагрузки проекта растут шагами, материал стержней билинейный
+    @PostMapping("/elastoplastic")
+    public ResponseEntity<?> elastoplastic(@RequestBody PlasticInput input) {
+        PlasticOutcome outcome = elastoplasticAnalysisService.analyze(input);
+        if (!outcome.isSuccess()) {
+            return ResponseEntity.badRequest().body(outcome.getErrors());
+        }
+        return ResponseEntity.ok(outcome.getResult());
+    }
+}
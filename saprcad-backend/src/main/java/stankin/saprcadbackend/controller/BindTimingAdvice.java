@@ -0,0 +1,53 @@
+package stankin.saprcadbackend.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+import stankin.saprcadbackend.service.metrics.PipelineMetrics;
+import stankin.saprcadbackend.service.metrics.PipelineStage;
+import stankin.saprcadbackend.service.metrics.StageTimings;
+
+import java.lang.reflect.Type;
+
+// Замер этапа bind (чтение тела и десериализация JSON) для методов с @StageTimed.
+// Замеры создаются до чтения тела и кладутся в атрибут запроса, откуда их берёт контроллер.
+@ControllerAdvice
+public class BindTimingAdvice extends RequestBodyAdviceAdapter {
+
+    @Autowired
+    private PipelineMetrics pipelineMetrics;
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return pipelineMetrics.isEnabled() && methodParameter.hasMethodAnnotation(StageTimed.class);
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        StageTimings timings = pipelineMetrics.newTimings();
+        timings.start(PipelineStage.BIND);
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(StageTimings.ATTRIBUTE, timings, RequestAttributes.SCOPE_REQUEST);
+        }
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                                Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(StageTimings.ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof StageTimings timings) {
+            timings.stop(PipelineStage.BIND);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,18 @@
+package stankin.saprcadbackend.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+// Ответы с ошибками, общие для контроллеров
+final class ErrorResponses {
+
+    private ErrorResponses() {
+    }
+
+    // Ошибки всегда JSON, даже если клиент просил двоичный ответ
+    static ResponseEntity<?> jsonBadRequest(List<String> errors) {
+        return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(errors);
+    }
+}
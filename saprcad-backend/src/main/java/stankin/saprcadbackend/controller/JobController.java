@@ -0,0 +1,101 @@
+package stankin.saprcadbackend.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import stankin.saprcadbackend.dto.job.JobState;
+import stankin.saprcadbackend.dto.job.JobStatus;
+import stankin.saprcadbackend.dto.probabilistic.ProbabilisticInput;
+import stankin.saprcadbackend.dto.sizing.SizingInput;
+import stankin.saprcadbackend.dto.structure.StructureInput;
+import stankin.saprcadbackend.service.job.CalculationJobService;
+import stankin.saprcadbackend.service.job.JobSubmission;
+
+import java.util.List;
+
+import static stankin.saprcadbackend.controller.ErrorResponses.jsonBadRequest;
+
+// Фоновые задания: ответ 202 с id сразу, расчёт — в пуле заданий; при переполненной очереди — 429
+@RestController
+@RequestMapping("api/saprcad/jobs")
+public class JobController {
+
+    @Autowired
+    private CalculationJobService calculationJobService;
+
+    @PostMapping("/full-calculation")
+    public ResponseEntity<?> submitFullCalculationJob(@RequestBody StructureInput input) {
+        return jobAccepted(calculationJobService.submitFullCalculation(input));
+    }
+
+    @PostMapping("/monte-carlo")
+    public ResponseEntity<?> submitMonteCarloJob(@RequestBody ProbabilisticInput input) {
+        return jobAccepted(calculationJobService.submitMonteCarlo(input));
+    }
+
+    @PostMapping("/sizing")
+    public ResponseEntity<?> submitSizingJob(@RequestBody SizingInput input) {
+        return jobAccepted(calculationJobService.submitSizing(input));
+    }
+
+    @GetMapping
+    public List<JobStatus> listJobs() {
+        return calculationJobService.list();
+    }
+
+    // Состояние и прогресс задания
+    @GetMapping("/{id}")
+    public ResponseEntity<JobStatus> getJob(@PathVariable String id) {
+        JobStatus status = calculationJobService.status(id);
+        if (status == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(status);
+    }
+
+    // Результат: 200 — готов, 400 — ошибки входных данных, 409 — задание ещё идёт или отменено
+    @GetMapping("/{id}/result")
+    public ResponseEntity<?> getJobResult(@PathVariable String id) {
+        JobStatus status = calculationJobService.status(id);
+        if (status == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (status.getState() == JobState.FAILED) {
+            return jsonBadRequest(status.getErrors());
+        }
+        Object result = calculationJobService.result(id);
+        if (status.getState() != JobState.SUCCEEDED || result == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).contentType(MediaType.APPLICATION_JSON).body(status);
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    // Отмена: задание в очереди снимается, выполняющееся прерывается; завершённое удаляется вместе с результатом
+    @DeleteMapping("/{id}")
+    public ResponseEntity<JobStatus> cancelJob(@PathVariable String id) {
+        JobStatus status = calculationJobService.cancel(id);
+        if (status == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(status);
+    }
+
+    private ResponseEntity<?> jobAccepted(JobSubmission submission) {
+        if (!submission.isAccepted()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(submission.getErrors());
+        }
+        JobStatus status = submission.getStatus();
+        return ResponseEntity.accepted()
+                .header(HttpHeaders.LOCATION, "/api/saprcad/jobs/" + status.getId())
+                .body(status);
+    }
+}
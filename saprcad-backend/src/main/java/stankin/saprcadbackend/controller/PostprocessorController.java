@@ -0,0 +1,133 @@
+package stankin.saprcadbackend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import stankin.saprcadbackend.dto.result.FullResult;
+import stankin.saprcadbackend.dto.section.SectionQueryInput;
+import stankin.saprcadbackend.dto.structure.StructureInput;
+import stankin.saprcadbackend.service.pipeline.CalculationPipelineService;
+import stankin.saprcadbackend.service.pipeline.PipelineResult;
+import stankin.saprcadbackend.service.postprocessor.EpureSampler;
+import stankin.saprcadbackend.service.postprocessor.SectionQueryResult;
+import stankin.saprcadbackend.service.postprocessor.SectionQueryService;
+import stankin.saprcadbackend.service.postprocessor.XlsxReportWriter;
+
+import java.util.List;
+
+// Представление результата полного расчёта: эпюры в точках, сечения, отчёт XLSX
+@RestController
+@RequestMapping("api/saprcad")
+public class PostprocessorController {
+
+    @Autowired
+    private CalculationPipelineService pipelineService;
+
+    @Autowired
+    private EpureSampler epureSampler;
+
+    @Autowired
+    private SectionQueryService sectionQueryService;
+
+    @Autowired
+    private XlsxReportWriter xlsxReportWriter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Значения эпюр Nx, ux, σx в точках стержней в двоичном виде (формат — в EpureSampler):
+    // samples — точек на стержень, либо width — ширина области отрисовки в пикселях; precision — float | double
+    @PostMapping("/epures")
+    public ResponseEntity<StreamingResponseBody> epures(@RequestBody StructureInput input,
+                                                        @RequestParam(required = false) Integer samples,
+                                                        @RequestParam(required = false) Integer width,
+                                                        @RequestParam(defaultValue = "float") String precision) {
+        if (!precision.equals("float") && !precision.equals("double")) {
+            return jsonErrors(List.of("precision должен быть float или double."));
+        }
+        boolean doublePrecision = precision.equals("double");
+
+        PipelineResult outcome = pipelineService.calculate(input);
+        if (!outcome.isSuccess()) {
+            return jsonErrors(outcome.getErrors());
+        }
+
+        FullResult result = outcome.getResult();
+        int[] counts;
+        try {
+            counts = epureSampler.plan(result, samples, width);
+        } catch (IllegalArgumentException e) {
+            return jsonErrors(List.of(e.getMessage()));
+        }
+
+        StreamingResponseBody body = out -> epureSampler.write(result, counts, doublePrecision, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(epureSampler.size(counts, doublePrecision))
+                .body(body);
+    }
+
+    // Отчёт по расчёту в XLSX, записывается в ответ потоковой книгой.
+    // samples — точек эпюр на стержень (0 — без листа эпюр)
+    @PostMapping("/report")
+    public ResponseEntity<StreamingResponseBody> report(@RequestBody StructureInput input,
+            @RequestParam(required = false) Integer samples) {
+        PipelineResult outcome = pipelineService.calculate(input);
+        if (!outcome.isSuccess()) {
+            return jsonErrors(outcome.getErrors());
+        }
+
+        FullResult result = outcome.getResult();
+        int points = samples != null ? samples : XlsxReportWriter.DEFAULT_SAMPLES;
+        int[] counts = null;
+        if (points != 0) {
+            try {
+                counts = epureSampler.plan(result, points, null);
+            } catch (IllegalArgumentException e) {
+                return jsonErrors(List.of(e.getMessage()));
+            }
+        }
+
+        int[] epureCounts = counts;
+        StreamingResponseBody body = out -> xlsxReportWriter.write(result, epureCounts, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(XlsxReportWriter.MEDIA_TYPE))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"saprcad-report.xlsx\"")
+                .body(body);
+    }
+
+    // Nx, σx, ux в произвольных сечениях: по глобальной координате x (линейная система)
+    // или по rodId и localX. Результат расчёта берётся из кэша, если он там есть.
+    @PostMapping("/sections")
+    public ResponseEntity<?> sections(@RequestBody SectionQueryInput input) {
+        if (input == null || input.getStructure() == null) {
+            return ResponseEntity.badRequest().body(List.of("Не задана конструкция."));
+        }
+
+        PipelineResult outcome = pipelineService.calculate(input.getStructure());
+        if (!outcome.isSuccess()) {
+            return ResponseEntity.badRequest().body(outcome.getErrors());
+        }
+
+        SectionQueryResult sections = sectionQueryService.query(outcome.getResult(), input.getPoints());
+        if (!sections.isSuccess()) {
+            return ResponseEntity.badRequest().body(sections.getErrors());
+        }
+        return ResponseEntity.ok(sections.getValues());
+    }
+
+    // Ошибки в виде JSON-списка для методов, отдающих поток
+    private ResponseEntity<StreamingResponseBody> jsonErrors(List<String> errors) {
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> out.write(objectMapper.writeValueAsBytes(errors)));
+    }
+}
@@ -1,32 +1,88 @@
 package stankin.saprcadbackend.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import stankin.saprcadbackend.dto.batch.BatchItemResult;
+import stankin.saprcadbackend.dto.cache.CacheStats;
+import stankin.saprcadbackend.dto.cache.CoalescingStats;
 import stankin.saprcadbackend.dto.calculate.DisplacementVector;
+import stankin.saprcadbackend.dto.loadcase.LoadCaseInput;
+import stankin.saprcadbackend.dto.loadcase.LoadCaseResult;
 import stankin.saprcadbackend.dto.result.FullResult;
 import stankin.saprcadbackend.dto.structure.StructureInput;
-import stankin.saprcadbackend.service.postprocessor.ResultService;
+import stankin.saprcadbackend.model.StructureModel;
+import stankin.saprcadbackend.service.batch.BatchCalculationService;
+import stankin.saprcadbackend.service.cache.ResultCache;
+import stankin.saprcadbackend.service.loadcase.LoadCaseService;
+import stankin.saprcadbackend.service.metrics.PipelineMetrics;
+import stankin.saprcadbackend.service.metrics.PipelineStage;
+import stankin.saprcadbackend.service.metrics.StageTimings;
+import stankin.saprcadbackend.service.pipeline.CalculationCoalescer;
+import stankin.saprcadbackend.service.pipeline.CalculationPipelineService;
+import stankin.saprcadbackend.service.pipeline.NdjsonResultWriter;
+import stankin.saprcadbackend.service.pipeline.PipelineResult;
+import stankin.saprcadbackend.service.preprocessor.ParsedStructure;
 import stankin.saprcadbackend.service.preprocessor.ProjectService;
+import stankin.saprcadbackend.service.preprocessor.StreamingStructureParser;
 import stankin.saprcadbackend.service.processor.CalculateDisplacementsService;
+import stankin.saprcadbackend.service.wire.BinaryStructureReader;
+import stankin.saprcadbackend.service.wire.BinaryWireFormat;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
+import static stankin.saprcadbackend.controller.ErrorResponses.jsonBadRequest;
+
 @RestController
 @RequestMapping("api/saprcad")
 public class SaprController {
 
+    private static final String SERVER_TIMING = "Server-Timing";
+
     @Autowired
     private ProjectService projectService;
 
+    @Autowired
+    private StreamingStructureParser streamingStructureParser;
+
     @Autowired
     private CalculateDisplacementsService calculateDisplacementsService;
 
     @Autowired
-    private ResultService resultService;
+    private CalculationPipelineService pipelineService;
+
+    @Autowired
+    private NdjsonResultWriter ndjsonResultWriter;
+
+    @Autowired
+    private BatchCalculationService batchCalculationService;
+
+    @Autowired
+    private LoadCaseService loadCaseService;
+
+    @Autowired
+    private ResultCache resultCache;
+
+    @Autowired
+    private CalculationCoalescer calculationCoalescer;
+
+    @Autowired
+    private PipelineMetrics pipelineMetrics;
+
+    @Autowired
+    private BinaryStructureReader binaryStructureReader;
 
     // Получение проекта, проверка его валидности
     @PostMapping("/submit")
@@ -45,17 +101,163 @@ public class SaprController {
         return ResponseEntity.ok(result);
     }
 
+    // Проект в двоичном формате (Content-Type: application/x-saprcad-binary, см. BinaryWireFormat).
+    // Ответ — JSON или двоичный, по заголовку Accept
+    @PostMapping(value = "/calculate-structure", consumes = BinaryWireFormat.MEDIA_TYPE_VALUE)
+    public ResponseEntity<?> calculateBinary(InputStream body,
+            @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength) throws IOException {
+        ParsedStructure parsed = binaryStructureReader.read(body, contentLength != null ? contentLength : -1);
+        if (!parsed.isSuccess()) {
+            return jsonBadRequest(parsed.getErrors());
+        }
+
+        double[] delta = calculateDisplacementsService.solveDisplacements(parsed.getModel());
+        return ResponseEntity.ok(new DisplacementVector(delta));
+    }
+
     // Получение полной информации расчета
+    // Длительности этапов возвращаются в заголовке Server-Timing и копятся в метриках (/actuator/prometheus)
+    @StageTimed
     @PostMapping("/full-calculation")
-    public ResponseEntity<FullResult> fullCalculation(@RequestBody StructureInput input) {
-        List<String> errors = projectService.validateAndReturnErrors(input);
-        if (!errors.isEmpty()) {
-            return ResponseEntity.badRequest().body(null);
+    public ResponseEntity<FullResult> fullCalculation(@RequestBody StructureInput input,
+            @RequestAttribute(name = StageTimings.ATTRIBUTE, required = false) StageTimings timings) {
+        if (timings == null) {
+            timings = pipelineMetrics.newTimings();
+        }
+        PipelineResult outcome = pipelineService.calculate(input, timings);
+
+        int rodCount = input != null && input.getRods() != null ? input.getRods().size() : 0;
+        int nodeCount = input != null && input.getNodes() != null ? input.getNodes().size() : 0;
+        pipelineMetrics.record(timings, rodCount, nodeCount, outcome.isSuccess() ? "ok" : "invalid");
+        ResponseEntity.BodyBuilder response = outcome.isSuccess() ? ResponseEntity.ok() : ResponseEntity.badRequest();
+        if (timings != StageTimings.NONE) {
+            response.header(SERVER_TIMING, timings.toServerTiming());
+        }
+        return response.body(outcome.getResult());
+    }
+
+    // Полный расчёт проекта в двоичном формате; чтение и проверка тела учитываются как этап bind
+    @PostMapping(value = "/full-calculation", consumes = BinaryWireFormat.MEDIA_TYPE_VALUE)
+    public ResponseEntity<?> fullCalculationBinary(InputStream body,
+            @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength) throws IOException {
+        StageTimings timings = pipelineMetrics.newTimings();
+        timings.start(PipelineStage.BIND);
+        ParsedStructure parsed = binaryStructureReader.read(body, contentLength != null ? contentLength : -1);
+        timings.stop(PipelineStage.BIND);
+        if (!parsed.isSuccess()) {
+            pipelineMetrics.record(timings, 0, 0, "invalid");
+            return jsonBadRequest(parsed.getErrors());
         }
 
-        DisplacementVector delta = calculateDisplacementsService.calculateDisplacements(input);
-        FullResult result = resultService.calculateNds(input, delta);
+        FullResult result = pipelineService.calculateCached(parsed.getModel(), timings);
+        pipelineMetrics.record(timings, parsed.getModel().rodCount(), parsed.getModel().nodeCount(), "ok");
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (timings != StageTimings.NONE) {
+            response.header(SERVER_TIMING, timings.toServerTiming());
+        }
+        return response.body(result);
+    }
+
+    // Полный расчёт с потоковым выводом NDJSON (Accept: application/x-ndjson): результаты стержней
+    // пишутся в ответ по мере расчёта, узлы передаются один раз и дальше упоминаются по ID
+    @PostMapping(value = "/full-calculation", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> fullCalculationNdjson(@RequestBody StructureInput input) {
+        ParsedStructure validated = projectService.validateAndBuild(input);
+        if (!validated.isSuccess()) {
+            return ndjsonErrors(validated.getErrors());
+        }
 
+        StructureModel model = validated.getModel();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> ndjsonResultWriter.write(model, out));
+    }
+
+    // Потоковый приём проекта: тело разбирается по токенам сразу в примитивные массивы,
+    // без объекта на каждый стержень и узел (для проектов из миллионов элементов)
+    @PostMapping(value = "/calculate-structure/stream", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> calculateStream(InputStream body) throws IOException {
+        ParsedStructure parsed = streamingStructureParser.parse(body);
+        if (!parsed.isSuccess()) {
+            return ResponseEntity.badRequest().body(parsed.getErrors());
+        }
+
+        double[] delta = calculateDisplacementsService.solveDisplacements(parsed.getModel());
+        return ResponseEntity.ok(new DisplacementVector(delta));
+    }
+
+    @PostMapping(value = "/full-calculation/stream", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> fullCalculationStream(InputStream body) throws IOException {
+        ParsedStructure parsed = streamingStructureParser.parse(body);
+        if (!parsed.isSuccess()) {
+            return ResponseEntity.badRequest().body(parsed.getErrors());
+        }
+
+        return ResponseEntity.ok(pipelineService.calculate(parsed.getModel()));
+    }
+
+    @PostMapping(value = "/full-calculation/stream", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> fullCalculationStreamNdjson(InputStream body) throws IOException {
+        ParsedStructure parsed = streamingStructureParser.parse(body);
+        if (!parsed.isSuccess()) {
+            return ndjsonErrors(parsed.getErrors());
+        }
+
+        StructureModel model = parsed.getModel();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> ndjsonResultWriter.write(model, out));
+    }
+
+    // Пакетный полный расчёт: проекты считаются параллельно, ответ — по элементу на проект в исходном порядке
+    @PostMapping("/batch-calculation")
+    public ResponseEntity<?> batchCalculation(@RequestBody List<StructureInput> inputs) {
+        if (inputs == null || inputs.isEmpty()) {
+            return ResponseEntity.badRequest().body(List.of("Список проектов не может быть пустым."));
+        }
+        if (inputs.size() > batchCalculationService.getMaxItems()) {
+            return ResponseEntity.badRequest().body(List.of("Слишком много проектов в пакете: " + inputs.size() +
+                    ", максимум " + batchCalculationService.getMaxItems() + "."));
+        }
+
+        List<BatchItemResult> results = batchCalculationService.calculateAll(inputs);
+        return ResponseEntity.ok(results);
+    }
+
+    // Расчёт одной конструкции на несколько случаев нагружения и сочетаний с одной факторизацией K
+    @PostMapping("/load-cases")
+    public ResponseEntity<?> loadCases(@RequestBody LoadCaseInput input) {
+        List<String> errors = loadCaseService.validate(input);
+        if (!errors.isEmpty()) {
+            return ResponseEntity.badRequest().body(errors);
+        }
+
+        LoadCaseResult result = loadCaseService.calculate(input);
         return ResponseEntity.ok(result);
     }
+
+    // Статистика кэша результатов полного расчёта
+    @GetMapping("/cache/stats")
+    public ResponseEntity<CacheStats> cacheStats() {
+        return ResponseEntity.ok(resultCache.stats());
+    }
+
+    // Сколько одновременных одинаковых запросов получили итог уже идущего расчёта
+    @GetMapping("/coalescing/stats")
+    public ResponseEntity<CoalescingStats> coalescingStats() {
+        return ResponseEntity.ok(calculationCoalescer.stats());
+    }
+
+    @DeleteMapping("/cache")
+    public ResponseEntity<?> clearCache() {
+        resultCache.clear();
+        return ResponseEntity.ok("OK");
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjsonErrors(List<String> errors) {
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> ndjsonResultWriter.writeErrors(errors, out));
+    }
 }
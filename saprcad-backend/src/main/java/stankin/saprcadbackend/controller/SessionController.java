@@ -0,0 +1,72 @@
+package stankin.saprcadbackend.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import stankin.saprcadbackend.dto.session.SessionState;
+import stankin.saprcadbackend.dto.session.StructurePatch;
+import stankin.saprcadbackend.dto.structure.StructureInput;
+import stankin.saprcadbackend.service.preprocessor.ProjectService;
+import stankin.saprcadbackend.service.session.EditingSessionService;
+import stankin.saprcadbackend.service.session.SessionPatchResult;
+
+import java.util.List;
+
+// Сессии редактирования: проект и его факторизованная матрица живут на сервере между запросами
+@RestController
+@RequestMapping("api/saprcad/sessions")
+public class SessionController {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private EditingSessionService editingSessionService;
+
+    // Открытие сессии редактирования: проект проверяется, рассчитывается и остаётся на сервере
+    @PostMapping
+    public ResponseEntity<?> createSession(@RequestBody StructureInput input) {
+        List<String> errors = projectService.validateAndReturnErrors(input);
+        if (!errors.isEmpty()) {
+            return ResponseEntity.badRequest().body(errors);
+        }
+        return ResponseEntity.ok(editingSessionService.create(input));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<SessionState> getSession(@PathVariable String id) {
+        SessionState state = editingSessionService.get(id);
+        if (state == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(state);
+    }
+
+    // Изменение отдельных полей стержней и узлов: в ответе только изменившиеся перемещения и результаты
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchSession(@PathVariable String id, @RequestBody StructurePatch patch) {
+        SessionPatchResult outcome = editingSessionService.patch(id, patch);
+        if (outcome == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!outcome.isSuccess()) {
+            return ResponseEntity.badRequest().body(outcome.getErrors());
+        }
+        return ResponseEntity.ok(outcome.getUpdate());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> closeSession(@PathVariable String id) {
+        if (!editingSessionService.close(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok("OK");
+    }
+}
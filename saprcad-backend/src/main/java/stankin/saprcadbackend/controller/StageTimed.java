@@ -0,0 +1,13 @@
+package stankin.saprcadbackend.controller;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Метод контроллера, для которого собираются метрики этапов: BindTimingAdvice замеряет десериализацию
+// тела и передаёт замеры в атрибуте запроса StageTimings.ATTRIBUTE
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StageTimed {
+}
@@ -0,0 +1,150 @@
+package stankin.saprcadbackend.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import stankin.saprcadbackend.dto.result.FullResult;
+import stankin.saprcadbackend.dto.store.StoreStats;
+import stankin.saprcadbackend.dto.store.StoredProjectInfo;
+import stankin.saprcadbackend.dto.structure.StructureInput;
+import stankin.saprcadbackend.model.StructureModel;
+import stankin.saprcadbackend.service.preprocessor.ParsedStructure;
+import stankin.saprcadbackend.service.preprocessor.ProjectService;
+import stankin.saprcadbackend.service.store.ProjectStore;
+import stankin.saprcadbackend.service.wire.BinaryStructureReader;
+import stankin.saprcadbackend.service.wire.BinaryWireFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.List;
+
+import static stankin.saprcadbackend.controller.ErrorResponses.jsonBadRequest;
+
+// Хранилище проектов: версии проектов и их результаты полного расчёта в одном файле
+@RestController
+@RequestMapping("api/saprcad/store")
+public class StoreController {
+
+    // Откуда взят результат из хранилища: stored — сохранён ранее, computed — посчитан и сохранён сейчас
+    private static final String RESULT_SOURCE = "X-Saprcad-Result";
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private BinaryStructureReader binaryStructureReader;
+
+    @Autowired
+    private ProjectStore projectStore;
+
+    // Проект проверяется и сохраняется новой версией, ответ 201 с описанием версии
+    @PostMapping("/projects/{id}")
+    public ResponseEntity<?> saveProject(@PathVariable String id, @RequestBody StructureInput input) throws IOException {
+        ParsedStructure validated = projectService.validateAndBuild(input);
+        if (!validated.isSuccess()) {
+            return ResponseEntity.badRequest().body(validated.getErrors());
+        }
+        return projectSaved(id, validated.getModel());
+    }
+
+    @PostMapping(value = "/projects/{id}", consumes = BinaryWireFormat.MEDIA_TYPE_VALUE)
+    public ResponseEntity<?> saveProjectBinary(@PathVariable String id, InputStream body,
+            @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength) throws IOException {
+        ParsedStructure parsed = binaryStructureReader.read(body, contentLength != null ? contentLength : -1);
+        if (!parsed.isSuccess()) {
+            return jsonBadRequest(parsed.getErrors());
+        }
+        return projectSaved(id, parsed.getModel());
+    }
+
+    // Все версии всех сохранённых проектов
+    @GetMapping("/projects")
+    public List<StoredProjectInfo> listStoredProjects() {
+        return projectStore.list();
+    }
+
+    // Сохранённый проект; version — номер версии, без него — последняя
+    @GetMapping("/projects/{id}")
+    public ResponseEntity<StructureInput> loadProject(@PathVariable String id,
+            @RequestParam(required = false) Integer version) {
+        StructureModel model = projectStore.model(id, version);
+        if (model == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(model.toInput());
+    }
+
+    // Тот же проект в двоичном формате — прямо из отображённого в память файла, без преобразований
+    @GetMapping(value = "/projects/{id}", produces = BinaryWireFormat.MEDIA_TYPE_VALUE)
+    public ResponseEntity<StreamingResponseBody> loadProjectBinary(@PathVariable String id,
+            @RequestParam(required = false) Integer version) {
+        ByteBuffer data = projectStore.projectBytes(id, version);
+        if (data == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return binaryBody(ResponseEntity.ok(), data);
+    }
+
+    // Результат полного расчёта версии: сохранённый отдаётся без пересчёта,
+    // при первом запросе считается и дописывается в хранилище
+    @GetMapping("/projects/{id}/result")
+    public ResponseEntity<FullResult> storedResult(@PathVariable String id,
+            @RequestParam(required = false) Integer version) throws IOException {
+        StoredProjectInfo info = projectStore.info(id, version);
+        if (info == null) {
+            return ResponseEntity.notFound().build();
+        }
+        FullResult result = projectStore.result(id, info.getVersion());
+        return ResponseEntity.ok()
+                .header(RESULT_SOURCE, info.isResultStored() ? "stored" : "computed")
+                .body(result);
+    }
+
+    @GetMapping(value = "/projects/{id}/result", produces = BinaryWireFormat.MEDIA_TYPE_VALUE)
+    public ResponseEntity<StreamingResponseBody> storedResultBinary(@PathVariable String id,
+            @RequestParam(required = false) Integer version) throws IOException {
+        StoredProjectInfo info = projectStore.info(id, version);
+        if (info == null) {
+            return ResponseEntity.notFound().build();
+        }
+        ByteBuffer data = projectStore.resultBytes(id, info.getVersion());
+        return binaryBody(ResponseEntity.ok().header(RESULT_SOURCE, info.isResultStored() ? "stored" : "computed"),
+                data);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<StoreStats> storeStats() {
+        return ResponseEntity.ok(projectStore.stats());
+    }
+
+    private ResponseEntity<?> projectSaved(String id, StructureModel model) throws IOException {
+        StoredProjectInfo info;
+        try {
+            info = projectStore.save(id, model);
+        } catch (IllegalArgumentException e) {
+            return jsonBadRequest(List.of(e.getMessage()));
+        }
+        return ResponseEntity.created(URI.create("/api/saprcad/store/projects/" + id + "?version=" + info.getVersion()))
+                .body(info);
+    }
+
+    // Данные хранилища целиком в ответ, без промежуточных массивов
+    private ResponseEntity<StreamingResponseBody> binaryBody(ResponseEntity.BodyBuilder response, ByteBuffer data) {
+        return response
+                .contentType(BinaryWireFormat.MEDIA_TYPE)
+                .contentLength(data.remaining())
+                .body(out -> Channels.newChannel(out).write(data));
+    }
+}
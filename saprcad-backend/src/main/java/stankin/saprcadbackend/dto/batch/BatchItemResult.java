@@ -0,0 +1,44 @@
+package stankin.saprcadbackend.dto.batch;
+
+import stankin.saprcadbackend.dto.result.FullResult;
+
+import java.util.List;
+
+// Результат одного проекта из пакетного расчёта (в порядке входного списка)
+public class BatchItemResult {
+    private int index;              // позиция проекта во входном списке
+    private FullResult result;      // null, если есть ошибки
+    private List<String> errors;    // ошибки валидации или расчёта, пустой список при успехе
+
+    public BatchItemResult() {}
+
+    public BatchItemResult(int index, FullResult result, List<String> errors) {
+        this.index = index;
+        this.result = result;
+        this.errors = errors;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public FullResult getResult() {
+        return result;
+    }
+
+    public void setResult(FullResult result) {
+        this.result = result;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+}
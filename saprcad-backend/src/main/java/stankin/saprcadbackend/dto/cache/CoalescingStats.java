@@ -0,0 +1,68 @@
+package stankin.saprcadbackend.dto.cache;
+
+// Статистика объединения одновременных одинаковых расчётов
+public class CoalescingStats {
+    private boolean enabled;
+    private long leaders;       // расчёты, выполненные ведущим запросом своего ключа
+    private long coalesced;     // запросы, получившие результат чужого расчёта
+    private long timeouts;      // ожидания, не дождавшиеся расчёта за timeout
+    private int inFlight;       // ключи, по которым сейчас идёт расчёт
+    private int waiting;        // запросы, ждущие сейчас чужого расчёта
+    private long timeoutMillis;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getLeaders() {
+        return leaders;
+    }
+
+    public void setLeaders(long leaders) {
+        this.leaders = leaders;
+    }
+
+    public long getCoalesced() {
+        return coalesced;
+    }
+
+    public void setCoalesced(long coalesced) {
+        this.coalesced = coalesced;
+    }
+
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    public void setTimeouts(long timeouts) {
+        this.timeouts = timeouts;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public void setInFlight(int inFlight) {
+        this.inFlight = inFlight;
+    }
+
+    public int getWaiting() {
+        return waiting;
+    }
+
+    public void setWaiting(int waiting) {
+        this.waiting = waiting;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public void setTimeoutMillis(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+}
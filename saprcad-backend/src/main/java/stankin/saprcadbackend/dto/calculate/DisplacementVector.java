@@ -1,21 +1,19 @@
 package stankin.saprcadbackend.dto.calculate;
 
-import java.util.List;
-
 public class DisplacementVector {
-    private List<Double> displacements; // ∆ — перемещения узлов
+    private double[] displacements; // ∆ — перемещения узлов
 
     public DisplacementVector() {}
 
-    public DisplacementVector(List<Double> displacements) {
+    public DisplacementVector(double[] displacements) {
         this.displacements = displacements;
     }
 
-    public List<Double> getDisplacements() {
+    public double[] getDisplacements() {
         return displacements;
     }
 
-    public void setDisplacements(List<Double> displacements) {
+    public void setDisplacements(double[] displacements) {
         this.displacements = displacements;
     }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package stankin.saprcadbackend.dto.job;
+
+// Состояние фонового задания
+public enum JobState {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED,     // ошибки входных данных или расчёта — в errors
+    CANCELLED;
+
+    public boolean isFinished() {
+        return this != QUEUED && this != RUNNING;
+    }
+}
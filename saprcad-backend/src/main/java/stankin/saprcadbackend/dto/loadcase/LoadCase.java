@@ -0,0 +1,35 @@
+package stankin.saprcadbackend.dto.loadcase;
+
+import java.util.Map;
+
+// Случай нагружения: набор нагрузок на ту же конструкцию
+public class LoadCase {
+
+    private String name;                           // уникальное имя случая
+    private Map<Integer, Double> nodeForces;       // ID узла -> Fj (отсутствующие узлы не нагружены)
+    private Map<Integer, Double> distributedLoads; // ID стержня -> qi (отсутствующие стержни не нагружены)
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Map<Integer, Double> getNodeForces() {
+        return nodeForces;
+    }
+
+    public void setNodeForces(Map<Integer, Double> nodeForces) {
+        this.nodeForces = nodeForces;
+    }
+
+    public Map<Integer, Double> getDistributedLoads() {
+        return distributedLoads;
+    }
+
+    public void setDistributedLoads(Map<Integer, Double> distributedLoads) {
+        this.distributedLoads = distributedLoads;
+    }
+}
@@ -0,0 +1,39 @@
+package stankin.saprcadbackend.dto.loadcase;
+
+import stankin.saprcadbackend.dto.structure.StructureInput;
+
+import java.util.List;
+
+// Одна конструкция и несколько нагружений.
+// Из structure берутся геометрия, материалы и закрепления; её собственные Fj и qi не учитываются —
+// все нагрузки задаются случаями нагружения.
+public class LoadCaseInput {
+
+    private StructureInput structure;
+    private List<LoadCase> loadCases;
+    private List<LoadCombination> combinations; // необязательно
+
+    public StructureInput getStructure() {
+        return structure;
+    }
+
+    public void setStructure(StructureInput structure) {
+        this.structure = structure;
+    }
+
+    public List<LoadCase> getLoadCases() {
+        return loadCases;
+    }
+
+    public void setLoadCases(List<LoadCase> loadCases) {
+        this.loadCases = loadCases;
+    }
+
+    public List<LoadCombination> getCombinations() {
+        return combinations;
+    }
+
+    public void setCombinations(List<LoadCombination> combinations) {
+        this.combinations = combinations;
+    }
+}
@@ -0,0 +1,32 @@
+package stankin.saprcadbackend.dto.loadcase;
+
+import java.util.List;
+
+public class LoadCaseResult {
+
+    private List<LoadCaseResultItem> cases;  // сначала случаи нагружения, затем сочетания
+    private List<RodEnvelope> envelope;      // по одному на стержень
+
+    public LoadCaseResult() {}
+
+    public LoadCaseResult(List<LoadCaseResultItem> cases, List<RodEnvelope> envelope) {
+        this.cases = cases;
+        this.envelope = envelope;
+    }
+
+    public List<LoadCaseResultItem> getCases() {
+        return cases;
+    }
+
+    public void setCases(List<LoadCaseResultItem> cases) {
+        this.cases = cases;
+    }
+
+    public List<RodEnvelope> getEnvelope() {
+        return envelope;
+    }
+
+    public void setEnvelope(List<RodEnvelope> envelope) {
+        this.envelope = envelope;
+    }
+}
@@ -0,0 +1,43 @@
+package stankin.saprcadbackend.dto.loadcase;
+
+import stankin.saprcadbackend.dto.result.FullResult;
+
+// Результат расчёта одного случая нагружения или сочетания
+public class LoadCaseResultItem {
+
+    private String name;
+    private boolean combination; // true — сочетание нагрузок, false — случай нагружения
+    private FullResult result;
+
+    public LoadCaseResultItem() {}
+
+    public LoadCaseResultItem(String name, boolean combination, FullResult result) {
+        this.name = name;
+        this.combination = combination;
+        this.result = result;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public boolean isCombination() {
+        return combination;
+    }
+
+    public void setCombination(boolean combination) {
+        this.combination = combination;
+    }
+
+    public FullResult getResult() {
+        return result;
+    }
+
+    public void setResult(FullResult result) {
+        this.result = result;
+    }
+}
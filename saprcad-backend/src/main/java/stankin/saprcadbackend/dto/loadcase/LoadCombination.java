@@ -0,0 +1,26 @@
+package stankin.saprcadbackend.dto.loadcase;
+
+import java.util.Map;
+
+// Сочетание нагрузок: линейная комбинация случаев с коэффициентами
+public class LoadCombination {
+
+    private String name;                 // уникальное имя (не должно совпадать с именами случаев)
+    private Map<String, Double> factors; // имя случая -> коэффициент сочетания
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Map<String, Double> getFactors() {
+        return factors;
+    }
+
+    public void setFactors(Map<String, Double> factors) {
+        this.factors = factors;
+    }
+}
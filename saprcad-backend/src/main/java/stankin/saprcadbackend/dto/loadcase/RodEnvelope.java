@@ -0,0 +1,69 @@
+package stankin.saprcadbackend.dto.loadcase;
+
+// Огибающая по всем случаям и сочетаниям: экстремумы Nx, σx и ux вдоль стержня
+public class RodEnvelope {
+
+    private int rodId;
+    private double minAxialForce;
+    private double maxAxialForce;
+    private double minStress;
+    private double maxStress;
+    private double minDisplacement;
+    private double maxDisplacement;
+
+    public int getRodId() {
+        return rodId;
+    }
+
+    public void setRodId(int rodId) {
+        this.rodId = rodId;
+    }
+
+    public double getMinAxialForce() {
+        return minAxialForce;
+    }
+
+    public void setMinAxialForce(double minAxialForce) {
+        this.minAxialForce = minAxialForce;
+    }
+
+    public double getMaxAxialForce() {
+        return maxAxialForce;
+    }
+
+    public void setMaxAxialForce(double maxAxialForce) {
+        this.maxAxialForce = maxAxialForce;
+    }
+
+    public double getMinStress() {
+        return minStress;
+    }
+
+    public void setMinStress(double minStress) {
+        this.minStress = minStress;
+    }
+
+    public double getMaxStress() {
+        return maxStress;
+    }
+
+    public void setMaxStress(double maxStress) {
+        this.maxStress = maxStress;
+    }
+
+    public double getMinDisplacement() {
+        return minDisplacement;
+    }
+
+    public void setMinDisplacement(double minDisplacement) {
+        this.minDisplacement = minDisplacement;
+    }
+
+    public double getMaxDisplacement() {
+        return maxDisplacement;
+    }
+
+    public void setMaxDisplacement(double maxDisplacement) {
+        this.maxDisplacement = maxDisplacement;
+    }
+}
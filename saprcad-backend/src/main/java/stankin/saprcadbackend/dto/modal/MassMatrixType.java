@@ -0,0 +1,7 @@
+package stankin.saprcadbackend.dto.modal;
+
+// Матрица масс стержня: согласованная (те же функции формы, что у жёсткости) или сосредоточенная (диагональная)
+public enum MassMatrixType {
+    CONSISTENT,
+    LUMPED
+}
@@ -0,0 +1,44 @@
+package stankin.saprcadbackend.dto.modal;
+
+import stankin.saprcadbackend.dto.structure.StructureInput;
+
+// Модальный анализ: конструкция (у стержней задана плотность density) и число низших собственных форм
+public class ModalInput {
+
+    private StructureInput structure;
+    private Integer modes;             // необязательно: число форм, по умолчанию 10
+    private MassMatrixType massMatrix; // необязательно: CONSISTENT (по умолчанию) или LUMPED
+    private Boolean shapes;            // необязательно: false — только частоты, без форм (большие модели)
+
+    public StructureInput getStructure() {
+        return structure;
+    }
+
+    public void setStructure(StructureInput structure) {
+        this.structure = structure;
+    }
+
+    public Integer getModes() {
+        return modes;
+    }
+
+    public void setModes(Integer modes) {
+        this.modes = modes;
+    }
+
+    public MassMatrixType getMassMatrix() {
+        return massMatrix;
+    }
+
+    public void setMassMatrix(MassMatrixType massMatrix) {
+        this.massMatrix = massMatrix;
+    }
+
+    public Boolean getShapes() {
+        return shapes;
+    }
+
+    public void setShapes(Boolean shapes) {
+        this.shapes = shapes;
+    }
+}
@@ -0,0 +1,62 @@
+package stankin.saprcadbackend.dto.modal;
+
+import java.util.List;
+
+// Результат модального анализа
+public class ModalResult {
+
+    private MassMatrixType massMatrix;
+    private double totalMass;          // Σ ρAL, кг
+    private double movingMass;         // 1ᵀ·M·1 — масса, приходящаяся на свободные узлы
+    private int operatorApplications;  // решений по разложению K в методе Ланцоша
+    private int restarts;
+    private List<NaturalMode> modes;
+
+    public MassMatrixType getMassMatrix() {
+        return massMatrix;
+    }
+
+    public void setMassMatrix(MassMatrixType massMatrix) {
+        this.massMatrix = massMatrix;
+    }
+
+    public double getTotalMass() {
+        return totalMass;
+    }
+
+    public void setTotalMass(double totalMass) {
+        this.totalMass = totalMass;
+    }
+
+    public double getMovingMass() {
+        return movingMass;
+    }
+
+    public void setMovingMass(double movingMass) {
+        this.movingMass = movingMass;
+    }
+
+    public int getOperatorApplications() {
+        return operatorApplications;
+    }
+
+    public void setOperatorApplications(int operatorApplications) {
+        this.operatorApplications = operatorApplications;
+    }
+
+    public int getRestarts() {
+        return restarts;
+    }
+
+    public void setRestarts(int restarts) {
+        this.restarts = restarts;
+    }
+
+    public List<NaturalMode> getModes() {
+        return modes;
+    }
+
+    public void setModes(List<NaturalMode> modes) {
+        this.modes = modes;
+    }
+}
@@ -0,0 +1,78 @@
+package stankin.saprcadbackend.dto.modal;
+
+// Собственная форма продольных колебаний
+public class NaturalMode {
+
+    private int number;                 // номер формы с 1 по возрастанию частоты
+    private double eigenvalue;          // λ = ω², 1/с²
+    private double angularFrequency;    // ω, рад/с
+    private double frequency;           // f = ω / 2π, Гц
+    private double period;              // T = 1 / f, с
+    private double participationFactor; // Γ = φᵀ·M·1 — для поступательного движения опор
+    private double effectiveMassRatio;  // Γ² / (1ᵀ·M·1) — доля подвижной массы
+    private double[] shape;             // φ по индексам узлов, φᵀ·M·φ = 1, нули в заделках; null — формы не запрошены
+
+    public int getNumber() {
+        return number;
+    }
+
+    public void setNumber(int number) {
+        this.number = number;
+    }
+
+    public double getEigenvalue() {
+        return eigenvalue;
+    }
+
+    public void setEigenvalue(double eigenvalue) {
+        this.eigenvalue = eigenvalue;
+    }
+
+    public double getAngularFrequency() {
+        return angularFrequency;
+    }
+
+    public void setAngularFrequency(double angularFrequency) {
+        this.angularFrequency = angularFrequency;
+    }
+
+    public double getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(double frequency) {
+        this.frequency = frequency;
+    }
+
+    public double getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(double period) {
+        this.period = period;
+    }
+
+    public double getParticipationFactor() {
+        return participationFactor;
+    }
+
+    public void setParticipationFactor(double participationFactor) {
+        this.participationFactor = participationFactor;
+    }
+
+    public double getEffectiveMassRatio() {
+        return effectiveMassRatio;
+    }
+
+    public void setEffectiveMassRatio(double effectiveMassRatio) {
+        this.effectiveMassRatio = effectiveMassRatio;
+    }
+
+    public double[] getShape() {
+        return shape;
+    }
+
+    public void setShape(double[] shape) {
+        this.shape = shape;
+    }
+}
@@ -0,0 +1,71 @@
+package stankin.saprcadbackend.dto.plastic;
+
+import java.util.List;
+
+// Шаг нагружения (включая неудачные попытки, после которых шаг уменьшен вдвое)
+public class LoadStep {
+
+    private int step;
+    private double loadFactor;             // λ в конце шага
+    private boolean converged;
+    private int iterations;
+    private int factorizations;            // разложений касательной матрицы на шаге
+    private int yieldedRods;               // стержней в пластической стадии после шага
+    private List<NewtonIteration> history;
+
+    public int getStep() {
+        return step;
+    }
+
+    public void setStep(int step) {
+        this.step = step;
+    }
+
+    public double getLoadFactor() {
+        return loadFactor;
+    }
+
+    public void setLoadFactor(double loadFactor) {
+        this.loadFactor = loadFactor;
+    }
+
+    public boolean isConverged() {
+        return converged;
+    }
+
+    public void setConverged(boolean converged) {
+        this.converged = converged;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    public int getFactorizations() {
+        return factorizations;
+    }
+
+    public void setFactorizations(int factorizations) {
+        this.factorizations = factorizations;
+    }
+
+    public int getYieldedRods() {
+        return yieldedRods;
+    }
+
+    public void setYieldedRods(int yieldedRods) {
+        this.yieldedRods = yieldedRods;
+    }
+
+    public List<NewtonIteration> getHistory() {
+        return history;
+    }
+
+    public void setHistory(List<NewtonIteration> history) {
+        this.history = history;
+    }
+}
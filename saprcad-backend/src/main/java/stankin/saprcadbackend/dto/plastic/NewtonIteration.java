@@ -0,0 +1,42 @@
+package stankin.saprcadbackend.dto.plastic;
+
+// Итерация равновесия на шаге нагружения
+public class NewtonIteration {
+
+    private int iteration;
+    private double residual;      // ||R|| / ||λF|| после итерации
+    private double lineSearch;    // множитель шага α из линейного поиска
+    private boolean refactorized; // после итерации касательная матрица разложена заново
+
+    public int getIteration() {
+        return iteration;
+    }
+
+    public void setIteration(int iteration) {
+        this.iteration = iteration;
+    }
+
+    public double getResidual() {
+        return residual;
+    }
+
+    public void setResidual(double residual) {
+        this.residual = residual;
+    }
+
+    public double getLineSearch() {
+        return lineSearch;
+    }
+
+    public void setLineSearch(double lineSearch) {
+        this.lineSearch = lineSearch;
+    }
+
+    public boolean isRefactorized() {
+        return refactorized;
+    }
+
+    public void setRefactorized(boolean refactorized) {
+        this.refactorized = refactorized;
+    }
+}
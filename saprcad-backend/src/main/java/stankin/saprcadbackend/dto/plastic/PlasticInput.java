@@ -0,0 +1,72 @@
+package stankin.saprcadbackend.dto.plastic;
+
+import stankin.saprcadbackend.dto.structure.StructureInput;
+import java.util.Map;
+
+// Упругопластический расчёт: нагрузки проекта растут пропорционально от 0 до loadFactor за steps шагов
+public class PlasticInput {
+
+    private StructureInput structure;
+    private PlasticMaterial material;                   // необязательно: материал всех стержней
+    private Map<Integer, PlasticMaterial> rodMaterials; // необязательно: ID стержня -> материал (вместо material)
+    private Integer steps;                              // необязательно: число шагов нагружения, по умолчанию 10
+    private Double loadFactor;                          // необязательно: множитель нагрузок проекта в конце, по умолчанию 1
+    private Double tolerance;                           // необязательно: ||R|| / ||λF|| для остановки итераций, по умолчанию 1e-8
+    private Integer maxIterations;                      // необязательно: итераций на шаг, по умолчанию 50
+
+    public StructureInput getStructure() {
+        return structure;
+    }
+
+    public void setStructure(StructureInput structure) {
+        this.structure = structure;
+    }
+
+    public PlasticMaterial getMaterial() {
+        return material;
+    }
+
+    public void setMaterial(PlasticMaterial material) {
+        this.material = material;
+    }
+
+    public Map<Integer, PlasticMaterial> getRodMaterials() {
+        return rodMaterials;
+    }
+
+    public void setRodMaterials(Map<Integer, PlasticMaterial> rodMaterials) {
+        this.rodMaterials = rodMaterials;
+    }
+
+    public Integer getSteps() {
+        return steps;
+    }
+
+    public void setSteps(Integer steps) {
+        this.steps = steps;
+    }
+
+    public Double getLoadFactor() {
+        return loadFactor;
+    }
+
+    public void setLoadFactor(Double loadFactor) {
+        this.loadFactor = loadFactor;
+    }
+
+    public Double getTolerance() {
+        return tolerance;
+    }
+
+    public void setTolerance(Double tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    public Integer getMaxIterations() {
+        return maxIterations;
+    }
+
+    public void setMaxIterations(Integer maxIterations) {
+        this.maxIterations = maxIterations;
+    }
+}
@@ -0,0 +1,24 @@
+package stankin.saprcadbackend.dto.plastic;
+
+// Билинейный упругопластический материал стержня: после предела текучести — упрочнение с касательным модулем
+public class PlasticMaterial {
+
+    private Double yieldStress;      // σт, Па; необязательно: по умолчанию [σ] стержня
+    private Double hardeningModulus; // Eт, Па, 0 ≤ Eт < E; необязательно: по умолчанию 0 (идеальная пластичность)
+
+    public Double getYieldStress() {
+        return yieldStress;
+    }
+
+    public void setYieldStress(Double yieldStress) {
+        this.yieldStress = yieldStress;
+    }
+
+    public Double getHardeningModulus() {
+        return hardeningModulus;
+    }
+
+    public void setHardeningModulus(Double hardeningModulus) {
+        this.hardeningModulus = hardeningModulus;
+    }
+}
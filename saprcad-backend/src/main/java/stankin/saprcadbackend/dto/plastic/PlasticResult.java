@@ -0,0 +1,89 @@
+package stankin.saprcadbackend.dto.plastic;
+
+import java.util.List;
+
+// Результат упругопластического расчёта
+public class PlasticResult {
+
+    private double requestedLoadFactor;
+    private double reachedLoadFactor;   // последний сошедшийся λ
+    private boolean completed;          // нагрузка доведена до requestedLoadFactor
+    private String message;             // причина остановки, если completed = false
+    private int iterations;             // всего итераций равновесия
+    private int factorizations;         // всего разложений касательной матрицы
+    private double[] displacements;     // ∆ по индексам узлов при reachedLoadFactor
+    private List<RodPlasticState> rods;
+    private List<LoadStep> steps;
+
+    public double getRequestedLoadFactor() {
+        return requestedLoadFactor;
+    }
+
+    public void setRequestedLoadFactor(double requestedLoadFactor) {
+        this.requestedLoadFactor = requestedLoadFactor;
+    }
+
+    public double getReachedLoadFactor() {
+        return reachedLoadFactor;
+    }
+
+    public void setReachedLoadFactor(double reachedLoadFactor) {
+        this.reachedLoadFactor = reachedLoadFactor;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    public int getFactorizations() {
+        return factorizations;
+    }
+
+    public void setFactorizations(int factorizations) {
+        this.factorizations = factorizations;
+    }
+
+    public double[] getDisplacements() {
+        return displacements;
+    }
+
+    public void setDisplacements(double[] displacements) {
+        this.displacements = displacements;
+    }
+
+    public List<RodPlasticState> getRods() {
+        return rods;
+    }
+
+    public void setRods(List<RodPlasticState> rods) {
+        this.rods = rods;
+    }
+
+    public List<LoadStep> getSteps() {
+        return steps;
+    }
+
+    public void setSteps(List<LoadStep> steps) {
+        this.steps = steps;
+    }
+}
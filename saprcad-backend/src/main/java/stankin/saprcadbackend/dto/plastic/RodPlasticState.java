@@ -0,0 +1,60 @@
+package stankin.saprcadbackend.dto.plastic;
+
+// Состояние стержня в конце расчёта
+public class RodPlasticState {
+
+    private int rodId;
+    private double strain;        // ε = (∆кон − ∆нач) / L
+    private double stress;        // σ, Па
+    private double axialForce;    // N = σA
+    private double plasticStrain; // εп
+    private boolean yielded;      // пластические деформации были
+
+    public int getRodId() {
+        return rodId;
+    }
+
+    public void setRodId(int rodId) {
+        this.rodId = rodId;
+    }
+
+    public double getStrain() {
+        return strain;
+    }
+
+    public void setStrain(double strain) {
+        this.strain = strain;
+    }
+
+    public double getStress() {
+        return stress;
+    }
+
+    public void setStress(double stress) {
+        this.stress = stress;
+    }
+
+    public double getAxialForce() {
+        return axialForce;
+    }
+
+    public void setAxialForce(double axialForce) {
+        this.axialForce = axialForce;
+    }
+
+    public double getPlasticStrain() {
+        return plasticStrain;
+    }
+
+    public void setPlasticStrain(double plasticStrain) {
+        this.plasticStrain = plasticStrain;
+    }
+
+    public boolean isYielded() {
+        return yielded;
+    }
+
+    public void setYielded(boolean yielded) {
+        this.yielded = yielded;
+    }
+}
@@ -0,0 +1,8 @@
+package stankin.saprcadbackend.dto.probabilistic;
+
+// Закон распределения случайной величины; среднее — номинальное значение из проекта
+public enum Distribution {
+    NORMAL,
+    LOGNORMAL,
+    UNIFORM
+}
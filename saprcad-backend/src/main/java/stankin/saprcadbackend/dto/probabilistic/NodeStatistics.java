@@ -0,0 +1,24 @@
+package stankin.saprcadbackend.dto.probabilistic;
+
+// Разброс перемещения узла
+public class NodeStatistics {
+
+    private int nodeId;
+    private QuantityStatistics displacement;
+
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(int nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public QuantityStatistics getDisplacement() {
+        return displacement;
+    }
+
+    public void setDisplacement(QuantityStatistics displacement) {
+        this.displacement = displacement;
+    }
+}
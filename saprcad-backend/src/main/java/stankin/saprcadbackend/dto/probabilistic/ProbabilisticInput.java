@@ -0,0 +1,83 @@
+package stankin.saprcadbackend.dto.probabilistic;
+
+import stankin.saprcadbackend.dto.structure.StructureInput;
+
+import java.util.List;
+
+// Вероятностный расчёт методом Монте-Карло: конструкция с номинальными значениями и разброс параметров.
+// Параметр без разброса (null) остаётся детерминированным.
+public class ProbabilisticInput {
+
+    private StructureInput structure;
+    private Integer samples;             // необязательно: число испытаний
+    private Long seed;                   // необязательно: начальное значение генератора (одинаковый seed — одинаковый результат)
+    private RandomField elasticModulus;  // E стержней
+    private RandomField area;            // A стержней
+    private RandomField distributedLoad; // q стержней
+    private RandomField externalForce;   // F узлов
+    private List<Double> quantiles;      // необязательно: уровни квантилей в (0, 1)
+
+    public StructureInput getStructure() {
+        return structure;
+    }
+
+    public void setStructure(StructureInput structure) {
+        this.structure = structure;
+    }
+
+    public Integer getSamples() {
+        return samples;
+    }
+
+    public void setSamples(Integer samples) {
+        this.samples = samples;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    public RandomField getElasticModulus() {
+        return elasticModulus;
+    }
+
+    public void setElasticModulus(RandomField elasticModulus) {
+        this.elasticModulus = elasticModulus;
+    }
+
+    public RandomField getArea() {
+        return area;
+    }
+
+    public void setArea(RandomField area) {
+        this.area = area;
+    }
+
+    public RandomField getDistributedLoad() {
+        return distributedLoad;
+    }
+
+    public void setDistributedLoad(RandomField distributedLoad) {
+        this.distributedLoad = distributedLoad;
+    }
+
+    public RandomField getExternalForce() {
+        return externalForce;
+    }
+
+    public void setExternalForce(RandomField externalForce) {
+        this.externalForce = externalForce;
+    }
+
+    public List<Double> getQuantiles() {
+        return quantiles;
+    }
+
+    public void setQuantiles(List<Double> quantiles) {
+        this.quantiles = quantiles;
+    }
+}
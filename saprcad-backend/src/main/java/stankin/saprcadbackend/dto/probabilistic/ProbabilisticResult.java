@@ -0,0 +1,62 @@
+package stankin.saprcadbackend.dto.probabilistic;
+
+import java.util.List;
+
+// Результат вероятностного расчёта
+public class ProbabilisticResult {
+
+    private int samples;
+    private long seed;
+    private double[] quantileLevels;
+    private double failureProbability;  // P(хотя бы на одном стержне max |σx| > [σ])
+    private List<RodReliability> rods;
+    private List<NodeStatistics> nodes;
+
+    public int getSamples() {
+        return samples;
+    }
+
+    public void setSamples(int samples) {
+        this.samples = samples;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public double[] getQuantileLevels() {
+        return quantileLevels;
+    }
+
+    public void setQuantileLevels(double[] quantileLevels) {
+        this.quantileLevels = quantileLevels;
+    }
+
+    public double getFailureProbability() {
+        return failureProbability;
+    }
+
+    public void setFailureProbability(double failureProbability) {
+        this.failureProbability = failureProbability;
+    }
+
+    public List<RodReliability> getRods() {
+        return rods;
+    }
+
+    public void setRods(List<RodReliability> rods) {
+        this.rods = rods;
+    }
+
+    public List<NodeStatistics> getNodes() {
+        return nodes;
+    }
+
+    public void setNodes(List<NodeStatistics> nodes) {
+        this.nodes = nodes;
+    }
+}
@@ -0,0 +1,52 @@
+package stankin.saprcadbackend.dto.probabilistic;
+
+// Выборочные характеристики одной величины по всем испытаниям.
+// Квантили оцениваются по гистограмме, точность — порядка ширины её интервала.
+public class QuantityStatistics {
+
+    private double mean;
+    private double standardDeviation;
+    private double min;
+    private double max;
+    private double[] quantiles;       // в порядке уровней ProbabilisticResult.quantileLevels
+
+    public double getMean() {
+        return mean;
+    }
+
+    public void setMean(double mean) {
+        this.mean = mean;
+    }
+
+    public double getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    public void setStandardDeviation(double standardDeviation) {
+        this.standardDeviation = standardDeviation;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public void setMin(double min) {
+        this.min = min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public void setMax(double max) {
+        this.max = max;
+    }
+
+    public double[] getQuantiles() {
+        return quantiles;
+    }
+
+    public void setQuantiles(double[] quantiles) {
+        this.quantiles = quantiles;
+    }
+}
@@ -0,0 +1,25 @@
+package stankin.saprcadbackend.dto.probabilistic;
+
+// Случайный разброс одного параметра (E, A, q или F): одинаковый закон для всех элементов,
+// значения элементов независимы. Среднее — значение из проекта, стандартное отклонение — cov * |среднее|.
+public class RandomField {
+
+    private Distribution distribution;
+    private double cov;                // коэффициент вариации σ / |μ| > 0
+
+    public Distribution getDistribution() {
+        return distribution;
+    }
+
+    public void setDistribution(Distribution distribution) {
+        this.distribution = distribution;
+    }
+
+    public double getCov() {
+        return cov;
+    }
+
+    public void setCov(double cov) {
+        this.cov = cov;
+    }
+}
@@ -0,0 +1,42 @@
+package stankin.saprcadbackend.dto.probabilistic;
+
+// Разброс max |σx| на стержне и вероятность превышения [σ]
+public class RodReliability {
+
+    private int rodId;
+    private double allowableStress;
+    private QuantityStatistics stress;
+    private double failureProbability; // P(max |σx| > [σ])
+
+    public int getRodId() {
+        return rodId;
+    }
+
+    public void setRodId(int rodId) {
+        this.rodId = rodId;
+    }
+
+    public double getAllowableStress() {
+        return allowableStress;
+    }
+
+    public void setAllowableStress(double allowableStress) {
+        this.allowableStress = allowableStress;
+    }
+
+    public QuantityStatistics getStress() {
+        return stress;
+    }
+
+    public void setStress(QuantityStatistics stress) {
+        this.stress = stress;
+    }
+
+    public double getFailureProbability() {
+        return failureProbability;
+    }
+
+    public void setFailureProbability(double failureProbability) {
+        this.failureProbability = failureProbability;
+    }
+}
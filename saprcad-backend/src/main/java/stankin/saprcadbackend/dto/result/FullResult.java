@@ -1,32 +1,73 @@
 package stankin.saprcadbackend.dto.result;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import stankin.saprcadbackend.model.RodResultTable;
+
+import java.util.AbstractList;
 import java.util.List;
 
-// DTO оболочка для вывода конечных расчетов "Фасад" данных
+// DTO оболочка для вывода конечных расчетов "Фасад" данных.
+// Результаты стержней хранятся либо списком DTO, либо упакованной таблицей постпроцессора;
+// JSON в обоих случаях одинаковый (FullResultSerializer).
+@JsonSerialize(using = FullResultSerializer.class)
 public class FullResult {
-    private List<Double> displacements;   // вектор ∆ из процессора
+    private double[] displacements;          // вектор ∆ из процессора
     private List<ResultOutput> resultOutput; // по одному на стержень
+    private RodResultTable rodResults;       // упакованные результаты (без объекта на стержень)
 
     public FullResult() {}
 
-    public FullResult(List<Double> displacements, List<ResultOutput> resultOutput) {
+    public FullResult(double[] displacements, List<ResultOutput> resultOutput) {
         this.displacements = displacements;
         this.resultOutput = resultOutput;
     }
 
-    public List<Double> getDisplacements() {
+    public FullResult(double[] displacements, RodResultTable rodResults) {
+        this.displacements = displacements;
+        this.rodResults = rodResults;
+    }
+
+    public double[] getDisplacements() {
         return displacements;
     }
 
-    public void setDisplacements(List<Double> displacements) {
+    public void setDisplacements(double[] displacements) {
         this.displacements = displacements;
     }
 
+    // Для упакованных результатов — представление, создающее ResultOutput при обращении к элементу
     public List<ResultOutput> getResultOutput() {
+        if (resultOutput == null && rodResults != null) {
+            RodResultTable table = rodResults;
+            return new AbstractList<>() {
+                @Override
+                public ResultOutput get(int index) {
+                    return table.toOutput(index);
+                }
+
+                @Override
+                public int size() {
+                    return table.size();
+                }
+            };
+        }
         return resultOutput;
     }
 
     public void setResultOutput(List<ResultOutput> resultOutput) {
         this.resultOutput = resultOutput;
+        this.rodResults = null;
+    }
+
+    // null, если результаты заданы списком DTO
+    public RodResultTable getRodResults() {
+        return rodResults;
+    }
+
+    public int rodCount() {
+        if (rodResults != null) {
+            return rodResults.size();
+        }
+        return resultOutput == null ? 0 : resultOutput.size();
     }
 }
@@ -0,0 +1,98 @@
+package stankin.saprcadbackend.dto.result;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import stankin.saprcadbackend.model.RodResultTable;
+import stankin.saprcadbackend.model.StructureModel;
+
+import java.io.IOException;
+
+// Сериализация FullResult без упаковки чисел: ∆ пишется из double[], результаты стержней — прямо из
+// упакованной таблицы. Формат совпадает с сериализацией ResultOutput по умолчанию.
+public class FullResultSerializer extends StdSerializer<FullResult> {
+
+    public FullResultSerializer() {
+        super(FullResult.class);
+    }
+
+    @Override
+    public void serialize(FullResult result, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+
+        gen.writeFieldName("displacements");
+        double[] displacements = result.getDisplacements();
+        if (displacements == null) {
+            gen.writeNull();
+        } else {
+            gen.writeArray(displacements, 0, displacements.length);
+        }
+
+        RodResultTable table = result.getRodResults();
+        if (table == null) {
+            provider.defaultSerializeField("resultOutput", result.getResultOutput(), gen);
+        } else {
+            gen.writeFieldName("resultOutput");
+            gen.writeStartArray();
+            for (int i = 0; i < table.size(); i++) {
+                writeRod(table, i, gen);
+            }
+            gen.writeEndArray();
+        }
+
+        gen.writeEndObject();
+    }
+
+    private static void writeRod(RodResultTable table, int i, JsonGenerator gen) throws IOException {
+        StructureModel structure = table.structure();
+        gen.writeStartObject();
+        gen.writeNumberField("rodId", structure.rodId(i));
+        gen.writeNumberField("length", structure.length(i));
+        gen.writeNumberField("area", structure.area(i));
+        gen.writeNumberField("elasticModulus", structure.elasticModulus(i));
+        gen.writeNumberField("allowableStress", structure.allowableStress(i));
+        gen.writeNumberField("distributedLoad", structure.distributedLoad(i));
+
+        gen.writeFieldName("nodeRelatedTo");
+        gen.writeStartArray();
+        writeNode(structure, table.startNode(i), gen);
+        writeNode(structure, table.endNode(i), gen);
+        gen.writeEndArray();
+
+        gen.writeFieldName("axialForceCoeffs");
+        writeCoeffs(gen, table.coeff(i, RodResultTable.A0), table.coeff(i, RodResultTable.A1));
+        gen.writeFieldName("displacementCoeffs");
+        writeCoeffs(gen, table.coeff(i, RodResultTable.B0), table.coeff(i, RodResultTable.B1),
+                table.coeff(i, RodResultTable.B2));
+        gen.writeFieldName("stressCoeffs");
+        writeCoeffs(gen, table.coeff(i, RodResultTable.C0), table.coeff(i, RodResultTable.C1));
+
+        gen.writeNumberField("maxStressOnTheRod", table.coeff(i, RodResultTable.MAX_STRESS));
+        gen.writeEndObject();
+    }
+
+    private static void writeNode(StructureModel structure, int j, JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("id", structure.nodeId(j));
+        gen.writeNumberField("externalForce", structure.externalForce(j));
+        gen.writeBooleanField("fixed", structure.isFixed(j));
+        gen.writeEndObject();
+    }
+
+    // Линейная функция: a2 = null, как у PolynomialCoeffs(a0, a1)
+    public static void writeCoeffs(JsonGenerator gen, double a0, double a1) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("a0", a0);
+        gen.writeNumberField("a1", a1);
+        gen.writeNullField("a2");
+        gen.writeEndObject();
+    }
+
+    public static void writeCoeffs(JsonGenerator gen, double a0, double a1, double a2) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("a0", a0);
+        gen.writeNumberField("a1", a1);
+        gen.writeNumberField("a2", a2);
+        gen.writeEndObject();
+    }
+}
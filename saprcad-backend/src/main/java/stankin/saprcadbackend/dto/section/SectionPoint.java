@@ -0,0 +1,34 @@
+package stankin.saprcadbackend.dto.section;
+
+// Сечение задаётся либо глобальной координатой x вдоль линейной системы,
+// либо стержнем rodId и локальной координатой localX от его начала
+public class SectionPoint {
+
+    private Double x;
+    private Integer rodId;
+    private Double localX;
+
+    public Double getX() {
+        return x;
+    }
+
+    public void setX(Double x) {
+        this.x = x;
+    }
+
+    public Integer getRodId() {
+        return rodId;
+    }
+
+    public void setRodId(Integer rodId) {
+        this.rodId = rodId;
+    }
+
+    public Double getLocalX() {
+        return localX;
+    }
+
+    public void setLocalX(Double localX) {
+        this.localX = localX;
+    }
+}
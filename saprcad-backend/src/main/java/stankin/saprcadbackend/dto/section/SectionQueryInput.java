@@ -0,0 +1,28 @@
+package stankin.saprcadbackend.dto.section;
+
+import stankin.saprcadbackend.dto.structure.StructureInput;
+
+import java.util.List;
+
+// Конструкция и набор сечений, в которых нужны Nx, σx и ux
+public class SectionQueryInput {
+
+    private StructureInput structure;
+    private List<SectionPoint> points;
+
+    public StructureInput getStructure() {
+        return structure;
+    }
+
+    public void setStructure(StructureInput structure) {
+        this.structure = structure;
+    }
+
+    public List<SectionPoint> getPoints() {
+        return points;
+    }
+
+    public void setPoints(List<SectionPoint> points) {
+        this.points = points;
+    }
+}
@@ -0,0 +1,60 @@
+package stankin.saprcadbackend.dto.section;
+
+// Значения в сечении. Глобальная координата x заполняется только для линейной системы.
+public class SectionValue {
+
+    private int rodId;
+    private double localX;
+    private Double x;
+    private double axialForce;     // Nx
+    private double stress;         // σx
+    private double displacement;   // ux
+
+    public int getRodId() {
+        return rodId;
+    }
+
+    public void setRodId(int rodId) {
+        this.rodId = rodId;
+    }
+
+    public double getLocalX() {
+        return localX;
+    }
+
+    public void setLocalX(double localX) {
+        this.localX = localX;
+    }
+
+    public Double getX() {
+        return x;
+    }
+
+    public void setX(Double x) {
+        this.x = x;
+    }
+
+    public double getAxialForce() {
+        return axialForce;
+    }
+
+    public void setAxialForce(double axialForce) {
+        this.axialForce = axialForce;
+    }
+
+    public double getStress() {
+        return stress;
+    }
+
+    public void setStress(double stress) {
+        this.stress = stress;
+    }
+
+    public double getDisplacement() {
+        return displacement;
+    }
+
+    public void setDisplacement(double displacement) {
+        this.displacement = displacement;
+    }
+}
@@ -0,0 +1,41 @@
+package stankin.saprcadbackend.dto.session;
+
+// Новое значение перемещения узла после изменения проекта
+public class DisplacementChange {
+
+    private int nodeIndex; // индекс в векторе перемещений
+    private int nodeId;
+    private double value;  // ∆_j
+
+    public DisplacementChange() {}
+
+    public DisplacementChange(int nodeIndex, int nodeId, double value) {
+        this.nodeIndex = nodeIndex;
+        this.nodeId = nodeId;
+        this.value = value;
+    }
+
+    public int getNodeIndex() {
+        return nodeIndex;
+    }
+
+    public void setNodeIndex(int nodeIndex) {
+        this.nodeIndex = nodeIndex;
+    }
+
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(int nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public void setValue(double value) {
+        this.value = value;
+    }
+}
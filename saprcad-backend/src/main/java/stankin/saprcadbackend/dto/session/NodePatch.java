@@ -0,0 +1,33 @@
+package stankin.saprcadbackend.dto.session;
+
+// Изменение полей узла в сессии редактирования (null — поле не меняется)
+public class NodePatch {
+
+    private int id;                // ID изменяемого узла
+    private Boolean fixed;         // жёсткая опора
+    private Double externalForce;  // F_j
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public Boolean getFixed() {
+        return fixed;
+    }
+
+    public void setFixed(Boolean fixed) {
+        this.fixed = fixed;
+    }
+
+    public Double getExternalForce() {
+        return externalForce;
+    }
+
+    public void setExternalForce(Double externalForce) {
+        this.externalForce = externalForce;
+    }
+}
@@ -0,0 +1,60 @@
+package stankin.saprcadbackend.dto.session;
+
+// Изменение полей стержня в сессии редактирования (null — поле не меняется)
+public class RodPatch {
+
+    private int id;                  // ID изменяемого стержня
+    private Double length;           // L_i
+    private Double area;             // A_i
+    private Double elasticModulus;   // E_i
+    private Double allowableStress;  // [σ]_i
+    private Double distributedLoad;  // q_i
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public Double getLength() {
+        return length;
+    }
+
+    public void setLength(Double length) {
+        this.length = length;
+    }
+
+    public Double getArea() {
+        return area;
+    }
+
+    public void setArea(Double area) {
+        this.area = area;
+    }
+
+    public Double getElasticModulus() {
+        return elasticModulus;
+    }
+
+    public void setElasticModulus(Double elasticModulus) {
+        this.elasticModulus = elasticModulus;
+    }
+
+    public Double getAllowableStress() {
+        return allowableStress;
+    }
+
+    public void setAllowableStress(Double allowableStress) {
+        this.allowableStress = allowableStress;
+    }
+
+    public Double getDistributedLoad() {
+        return distributedLoad;
+    }
+
+    public void setDistributedLoad(Double distributedLoad) {
+        this.distributedLoad = distributedLoad;
+    }
+}
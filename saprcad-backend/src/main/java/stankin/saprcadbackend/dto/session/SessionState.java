@@ -0,0 +1,33 @@
+package stankin.saprcadbackend.dto.session;
+
+import stankin.saprcadbackend.dto.result.FullResult;
+
+// Сессия редактирования и полный результат расчёта её текущего проекта
+public class SessionState {
+
+    private String sessionId;
+    private FullResult result;
+
+    public SessionState() {}
+
+    public SessionState(String sessionId, FullResult result) {
+        this.sessionId = sessionId;
+        this.result = result;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public FullResult getResult() {
+        return result;
+    }
+
+    public void setResult(FullResult result) {
+        this.result = result;
+    }
+}
@@ -0,0 +1,46 @@
+package stankin.saprcadbackend.dto.session;
+
+import stankin.saprcadbackend.dto.result.ResultOutput;
+
+import java.util.List;
+
+// Ответ на изменение проекта в сессии: только изменившиеся перемещения и результаты стержней
+public class SessionUpdate {
+
+    private String sessionId;
+    private List<DisplacementChange> displacements;
+    private List<ResultOutput> resultOutput;
+    private boolean refactorized; // true — матрица жёсткости разложена заново, false — поправка низкого ранга
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public List<DisplacementChange> getDisplacements() {
+        return displacements;
+    }
+
+    public void setDisplacements(List<DisplacementChange> displacements) {
+        this.displacements = displacements;
+    }
+
+    public List<ResultOutput> getResultOutput() {
+        return resultOutput;
+    }
+
+    public void setResultOutput(List<ResultOutput> resultOutput) {
+        this.resultOutput = resultOutput;
+    }
+
+    public boolean isRefactorized() {
+        return refactorized;
+    }
+
+    public void setRefactorized(boolean refactorized) {
+        this.refactorized = refactorized;
+    }
+}
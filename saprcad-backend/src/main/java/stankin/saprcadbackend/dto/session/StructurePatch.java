@@ -0,0 +1,26 @@
+package stankin.saprcadbackend.dto.session;
+
+import java.util.List;
+
+// Набор изменений проекта, применяемых к сессии за один запрос
+public class StructurePatch {
+
+    private List<RodPatch> rods;
+    private List<NodePatch> nodes;
+
+    public List<RodPatch> getRods() {
+        return rods;
+    }
+
+    public void setRods(List<RodPatch> rods) {
+        this.rods = rods;
+    }
+
+    public List<NodePatch> getNodes() {
+        return nodes;
+    }
+
+    public void setNodes(List<NodePatch> nodes) {
+        this.nodes = nodes;
+    }
+}
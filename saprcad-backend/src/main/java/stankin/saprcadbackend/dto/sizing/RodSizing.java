@@ -0,0 +1,71 @@
+package stankin.saprcadbackend.dto.sizing;
+
+// Подобранное сечение стержня
+public class RodSizing {
+
+    private int rodId;
+    private double initialArea;
+    private double area;
+    private double maxStress;        // max |σx| при подобранных площадях
+    private double allowableStress;  // [σ]
+    private double utilization;      // max |σx| / [σ], не больше 1 у допустимого проекта
+
+    public RodSizing() {}
+
+    public RodSizing(int rodId, double initialArea, double area, double maxStress, double allowableStress) {
+        this.rodId = rodId;
+        this.initialArea = initialArea;
+        this.area = area;
+        this.maxStress = maxStress;
+        this.allowableStress = allowableStress;
+        this.utilization = maxStress / allowableStress;
+    }
+
+    public int getRodId() {
+        return rodId;
+    }
+
+    public void setRodId(int rodId) {
+        this.rodId = rodId;
+    }
+
+    public double getInitialArea() {
+        return initialArea;
+    }
+
+    public void setInitialArea(double initialArea) {
+        this.initialArea = initialArea;
+    }
+
+    public double getArea() {
+        return area;
+    }
+
+    public void setArea(double area) {
+        this.area = area;
+    }
+
+    public double getMaxStress() {
+        return maxStress;
+    }
+
+    public void setMaxStress(double maxStress) {
+        this.maxStress = maxStress;
+    }
+
+    public double getAllowableStress() {
+        return allowableStress;
+    }
+
+    public void setAllowableStress(double allowableStress) {
+        this.allowableStress = allowableStress;
+    }
+
+    public double getUtilization() {
+        return utilization;
+    }
+
+    public void setUtilization(double utilization) {
+        this.utilization = utilization;
+    }
+}
@@ -0,0 +1,64 @@
+package stankin.saprcadbackend.dto.sizing;
+
+import stankin.saprcadbackend.dto.structure.StructureInput;
+
+import java.util.List;
+
+// Подбор площадей сечений: конструкция (площади в ней — начальное приближение) и параметры подбора
+public class SizingInput {
+
+    private StructureInput structure;
+    private List<Double> catalogue;   // необязательно: допустимые площади сечений, м²
+    private Double minArea;           // необязательно: нижняя граница площади, м²
+    private Integer maxIterations;    // необязательно
+    private Double tolerance;         // необязательно: относительное изменение площадей для остановки
+    private Double density;           // необязательно: плотность, кг/м³, для стержней без своей (для массы)
+
+    public StructureInput getStructure() {
+        return structure;
+    }
+
+    public void setStructure(StructureInput structure) {
+        this.structure = structure;
+    }
+
+    public List<Double> getCatalogue() {
+        return catalogue;
+    }
+
+    public void setCatalogue(List<Double> catalogue) {
+        this.catalogue = catalogue;
+    }
+
+    public Double getMinArea() {
+        return minArea;
+    }
+
+    public void setMinArea(Double minArea) {
+        this.minArea = minArea;
+    }
+
+    public Integer getMaxIterations() {
+        return maxIterations;
+    }
+
+    public void setMaxIterations(Integer maxIterations) {
+        this.maxIterations = maxIterations;
+    }
+
+    public Double getTolerance() {
+        return tolerance;
+    }
+
+    public void setTolerance(Double tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    public Double getDensity() {
+        return density;
+    }
+
+    public void setDensity(Double density) {
+        this.density = density;
+    }
+}
@@ -0,0 +1,82 @@
+package stankin.saprcadbackend.dto.sizing;
+
+import stankin.saprcadbackend.dto.result.FullResult;
+
+import java.util.List;
+
+// Итог подбора сечений: площади по стержням, объём (и масса) до и после, полный расчёт подобранной конструкции
+public class SizingResult {
+
+    private boolean converged;       // площади перестали меняться в пределах tolerance
+    private boolean feasible;        // max |σx| ≤ [σ] на всех стержнях
+    private int iterations;          // число итераций подбора (оба этапа)
+    private double initialVolume;    // Σ Ai·Li до подбора, м³
+    private double volume;           // Σ Ai·Li после подбора, м³
+    private Double mass;             // Σ ρi·Ai·Li, если плотность известна для всех стержней
+    private List<RodSizing> rods;
+    private FullResult result;
+
+    public boolean isConverged() {
+        return converged;
+    }
+
+    public void setConverged(boolean converged) {
+        this.converged = converged;
+    }
+
+    public boolean isFeasible() {
+        return feasible;
+    }
+
+    public void setFeasible(boolean feasible) {
+        this.feasible = feasible;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    public double getInitialVolume() {
+        return initialVolume;
+    }
+
+    public void setInitialVolume(double initialVolume) {
+        this.initialVolume = initialVolume;
+    }
+
+    public double getVolume() {
+        return volume;
+    }
+
+    public void setVolume(double volume) {
+        this.volume = volume;
+    }
+
+    public Double getMass() {
+        return mass;
+    }
+
+    public void setMass(Double mass) {
+        this.mass = mass;
+    }
+
+    public List<RodSizing> getRods() {
+        return rods;
+    }
+
+    public void setRods(List<RodSizing> rods) {
+        this.rods = rods;
+    }
+
+    public FullResult getResult() {
+        return result;
+    }
+
+    public void setResult(FullResult result) {
+        this.result = result;
+    }
+}
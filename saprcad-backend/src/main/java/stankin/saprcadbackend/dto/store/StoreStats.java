@@ -0,0 +1,60 @@
+package stankin.saprcadbackend.dto.store;
+
+// Состояние хранилища проектов
+public class StoreStats {
+
+    private String path;
+    private long fileBytes;
+    private int projects;        // различных id
+    private int versions;
+    private int results;
+    private long truncatedBytes; // отброшено при открытии: недописанная последняя запись
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public long getFileBytes() {
+        return fileBytes;
+    }
+
+    public void setFileBytes(long fileBytes) {
+        this.fileBytes = fileBytes;
+    }
+
+    public int getProjects() {
+        return projects;
+    }
+
+    public void setProjects(int projects) {
+        this.projects = projects;
+    }
+
+    public int getVersions() {
+        return versions;
+    }
+
+    public void setVersions(int versions) {
+        this.versions = versions;
+    }
+
+    public int getResults() {
+        return results;
+    }
+
+    public void setResults(int results) {
+        this.results = results;
+    }
+
+    public long getTruncatedBytes() {
+        return truncatedBytes;
+    }
+
+    public void setTruncatedBytes(long truncatedBytes) {
+        this.truncatedBytes = truncatedBytes;
+    }
+}
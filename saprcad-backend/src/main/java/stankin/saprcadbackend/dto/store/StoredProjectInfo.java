@@ -0,0 +1,71 @@
+package stankin.saprcadbackend.dto.store;
+
+import java.time.Instant;
+
+// Версия проекта в хранилище
+public class StoredProjectInfo {
+
+    private String id;
+    private int version;          // 1, 2, ... — каждое сохранение добавляет версию
+    private Instant savedAt;
+    private int rodCount;
+    private int nodeCount;
+    private long projectBytes;    // размер проекта в двоичном формате
+    private boolean resultStored; // результат полного расчёта уже сохранён
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    public Instant getSavedAt() {
+        return savedAt;
+    }
+
+    public void setSavedAt(Instant savedAt) {
+        this.savedAt = savedAt;
+    }
+
+    public int getRodCount() {
+        return rodCount;
+    }
+
+    public void setRodCount(int rodCount) {
+        this.rodCount = rodCount;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public void setNodeCount(int nodeCount) {
+        this.nodeCount = nodeCount;
+    }
+
+    public long getProjectBytes() {
+        return projectBytes;
+    }
+
+    public void setProjectBytes(long projectBytes) {
+        this.projectBytes = projectBytes;
+    }
+
+    public boolean isResultStored() {
+        return resultStored;
+    }
+
+    public void setResultStored(boolean resultStored) {
+        this.resultStored = resultStored;
+    }
+}
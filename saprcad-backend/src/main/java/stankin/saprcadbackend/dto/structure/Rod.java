@@ -9,6 +9,12 @@ public class Rod {
     private double elasticModulus; // Ei модуль упругости >0
     private double allowableStress; // [σ]i  допускаемое напряжение >0
     private double distributedLoad; // qi распределенная нагрузка ( < 0 сжатие, > 0 растяжение, = 0 отсутствует)
+    private double density;        // ρi плотность материала, кг/м³ (нужна только для модального анализа)
+
+    // Произвольная топология: ID начального и конечного узла.
+    // Если не заданы (null) — линейная система, стержень i соединяет узлы i и i+1
+    private Integer startNodeId;
+    private Integer endNodeId;
 
 
     public int getId() {
@@ -58,4 +64,28 @@ public class Rod {
     public void setDistributedLoad(double distributedLoad) {
         this.distributedLoad = distributedLoad;
     }
+
+    public double getDensity() {
+        return density;
+    }
+
+    public void setDensity(double density) {
+        this.density = density;
+    }
+
+    public Integer getStartNodeId() {
+        return startNodeId;
+    }
+
+    public void setStartNodeId(Integer startNodeId) {
+        this.startNodeId = startNodeId;
+    }
+
+    public Integer getEndNodeId() {
+        return endNodeId;
+    }
+
+    public void setEndNodeId(Integer endNodeId) {
+        this.endNodeId = endNodeId;
+    }
 }
@@ -0,0 +1,71 @@
+package stankin.saprcadbackend.model;
+
+import stankin.saprcadbackend.dto.result.PolynomialCoeffs;
+import stankin.saprcadbackend.dto.result.ResultOutput;
+
+import java.util.List;
+
+// Результаты постпроцессора в упакованном виде: коэффициенты эпюр всех стержней лежат в одном массиве
+// по столбцам (COLUMNS столбцов по rodCount значений), данные стержней и узлов берутся из StructureModel.
+// Объекты ResultOutput создаются только по запросу (toOutput), при сериализации не создаются вовсе.
+public class RodResultTable {
+
+    public static final int A0 = 0;          // Nx(x) = a0 + a1*x
+    public static final int A1 = 1;
+    public static final int B0 = 2;          // Ux(x) = b0 + b1*x + b2*x²
+    public static final int B1 = 3;
+    public static final int B2 = 4;
+    public static final int C0 = 5;          // σx(x) = c0 + c1*x
+    public static final int C1 = 6;
+    public static final int MAX_STRESS = 7;  // max |σx(x)| на стержне
+    public static final int COLUMNS = 8;
+
+    private final StructureModel structure;
+    private final int[] startNode;   // индекс начального узла стержня i
+    private final int[] endNode;     // индекс конечного узла стержня i
+    private final double[] coeffs;   // coeffs[k * rodCount + i]
+
+    public RodResultTable(StructureModel structure, int[] startNode, int[] endNode, double[] coeffs) {
+        this.structure = structure;
+        this.startNode = startNode;
+        this.endNode = endNode;
+        this.coeffs = coeffs;
+    }
+
+    public int size() {
+        return structure.rodCount();
+    }
+
+    public StructureModel structure() {
+        return structure;
+    }
+
+    public int startNode(int i) {
+        return startNode[i];
+    }
+
+    public int endNode(int i) {
+        return endNode[i];
+    }
+
+    public double coeff(int i, int k) {
+        return coeffs[k * structure.rodCount() + i];
+    }
+
+    // Результат одного стержня в виде DTO
+    public ResultOutput toOutput(int i) {
+        ResultOutput output = new ResultOutput();
+        output.setRodId(structure.rodId(i));
+        output.setLength(structure.length(i));
+        output.setArea(structure.area(i));
+        output.setElasticModulus(structure.elasticModulus(i));
+        output.setAllowableStress(structure.allowableStress(i));
+        output.setDistributedLoad(structure.distributedLoad(i));
+        output.setNodeRelatedTo(List.of(structure.toNode(startNode[i]), structure.toNode(endNode[i])));
+        output.setAxialForceCoeffs(new PolynomialCoeffs(coeff(i, A0), coeff(i, A1)));
+        output.setDisplacementCoeffs(new PolynomialCoeffs(coeff(i, B0), coeff(i, B1), coeff(i, B2)));
+        output.setStressCoeffs(new PolynomialCoeffs(coeff(i, C0), coeff(i, C1)));
+        output.setMaxStressOnTheRod(coeff(i, MAX_STRESS));
+        return output;
+    }
+}
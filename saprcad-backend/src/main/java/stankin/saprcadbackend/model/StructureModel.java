@@ -0,0 +1,256 @@
+package stankin.saprcadbackend.model;
+
+import stankin.saprcadbackend.dto.structure.Node;
+import stankin.saprcadbackend.dto.structure.Rod;
+import stankin.saprcadbackend.dto.structure.StructureInput;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+// Внутреннее представление конструкции «структура массивов»: по примитивному массиву на каждое поле
+// стержней и узлов вместо объекта на элемент. Индексы — позиции элементов в исходных списках.
+public class StructureModel {
+
+    // Узел стержня не задан (смешанная топология — ошибка валидации)
+    public static final int NO_NODE = Integer.MIN_VALUE;
+
+    private final int rodCount;
+    private final int[] rodIds;
+    private final double[] lengths;           // Li
+    private final double[] areas;             // Ai
+    private final double[] elasticModuli;     // Ei
+    private final double[] allowableStresses; // [σ]i
+    private final double[] distributedLoads;  // qi
+    private final double[] densities;         // ρi; null — плотность не задана ни у одного стержня
+    private final int[] startNodeIds;         // null — линейная система (стержень i соединяет узлы i и i+1)
+    private final int[] endNodeIds;
+
+    private final int nodeCount;
+    private final int[] nodeIds;
+    private final double[] externalForces;    // Fj
+    private final BitSet fixed;
+
+    public StructureModel(int rodCount, int[] rodIds, double[] lengths, double[] areas, double[] elasticModuli,
+                          double[] allowableStresses, double[] distributedLoads, double[] densities,
+                          int[] startNodeIds, int[] endNodeIds, int nodeCount, int[] nodeIds, double[] externalForces, BitSet fixed) {
+        this.rodCount = rodCount;
+        this.rodIds = rodIds;
+        this.lengths = lengths;
+        this.areas = areas;
+        this.elasticModuli = elasticModuli;
+        this.allowableStresses = allowableStresses;
+        this.distributedLoads = distributedLoads;
+        this.densities = densities;
+        this.startNodeIds = startNodeIds;
+        this.endNodeIds = endNodeIds;
+        this.nodeCount = nodeCount;
+        this.nodeIds = nodeIds;
+        this.externalForces = externalForces;
+        this.fixed = fixed;
+    }
+
+    // Копия проекта из DTO (для путей, получающих StructureInput от Jackson)
+    public static StructureModel of(StructureInput input) {
+        List<Rod> rods = input.getRods();
+        List<Node> nodes = input.getNodes();
+        int m = rods.size();
+        int n = nodes.size();
+
+        int[] rodIds = new int[m];
+        double[] lengths = new double[m];
+        double[] areas = new double[m];
+        double[] moduli = new double[m];
+        double[] stresses = new double[m];
+        double[] loads = new double[m];
+        double[] densities = null;
+        int[] starts = null;
+        int[] ends = null;
+        for (int i = 0; i < m; i++) {
+            Rod rod = rods.get(i);
+            rodIds[i] = rod.getId();
+            lengths[i] = rod.getLength();
+            areas[i] = rod.getArea();
+            moduli[i] = rod.getElasticModulus();
+            stresses[i] = rod.getAllowableStress();
+            loads[i] = rod.getDistributedLoad();
+            if (densities == null && rod.getDensity() != 0.0) {
+                densities = new double[m];
+            }
+            if (densities != null) {
+                densities[i] = rod.getDensity();
+            }
+            if (starts == null && (rod.getStartNodeId() != null || rod.getEndNodeId() != null)) {
+                starts = new int[m];
+                ends = new int[m];
+                Arrays.fill(starts, NO_NODE);
+                Arrays.fill(ends, NO_NODE);
+            }
+            if (starts != null) {
+                starts[i] = rod.getStartNodeId() != null ? rod.getStartNodeId() : NO_NODE;
+                ends[i] = rod.getEndNodeId() != null ? rod.getEndNodeId() : NO_NODE;
+            }
+        }
+
+        int[] nodeIds = new int[n];
+        double[] forces = new double[n];
+        BitSet fixed = new BitSet(n);
+        for (int j = 0; j < n; j++) {
+            Node node = nodes.get(j);
+            nodeIds[j] = node.getId();
+            forces[j] = node.getExternalForce();
+            if (node.isFixed()) {
+                fixed.set(j);
+            }
+        }
+
+        return new StructureModel(m, rodIds, lengths, areas, moduli, stresses, loads, densities, starts, ends,
+                n, nodeIds, forces, fixed);
+    }
+
+    // Та же конструкция с другими нагрузками (массивы геометрии и закреплений общие)
+    public StructureModel withLoads(double[] externalForces, double[] distributedLoads) {
+        return new StructureModel(rodCount, rodIds, lengths, areas, elasticModuli, allowableStresses, distributedLoads,
+                densities, startNodeIds, endNodeIds, nodeCount, nodeIds, externalForces, fixed);
+    }
+
+    // Та же конструкция с другими площадями сечений (подбор сечений)
+    public StructureModel withAreas(double[] areas) {
+        return new StructureModel(rodCount, rodIds, lengths, areas, elasticModuli, allowableStresses, distributedLoads,
+                densities, startNodeIds, endNodeIds, nodeCount, nodeIds, externalForces, fixed);
+    }
+
+    public int rodCount() {
+        return rodCount;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public int rodId(int i) {
+        return rodIds[i];
+    }
+
+    public double length(int i) {
+        return lengths[i];
+    }
+
+    public double area(int i) {
+        return areas[i];
+    }
+
+    public double elasticModulus(int i) {
+        return elasticModuli[i];
+    }
+
+    public double allowableStress(int i) {
+        return allowableStresses[i];
+    }
+
+    public double distributedLoad(int i) {
+        return distributedLoads[i];
+    }
+
+    public double density(int i) {
+        return densities != null ? densities[i] : 0.0;
+    }
+
+    public boolean hasDensities() {
+        return densities != null;
+    }
+
+    // Столбцы без копирования — для векторных ядер постпроцессора; изменять нельзя
+    public double[] lengths() {
+        return lengths;
+    }
+
+    public double[] areas() {
+        return areas;
+    }
+
+    public double[] elasticModuli() {
+        return elasticModuli;
+    }
+
+    public double[] distributedLoads() {
+        return distributedLoads;
+    }
+
+    // Жёсткость стержня EA/L
+    public double stiffness(int i) {
+        return elasticModuli[i] * areas[i] / lengths[i];
+    }
+
+    // Топология задана явно, если хотя бы у одного стержня указаны узлы
+    public boolean hasExplicitTopology() {
+        return startNodeIds != null;
+    }
+
+    // ID начального узла стержня или NO_NODE
+    public int startNodeId(int i) {
+        return startNodeIds[i];
+    }
+
+    public int endNodeId(int i) {
+        return endNodeIds[i];
+    }
+
+    public int nodeId(int j) {
+        return nodeIds[j];
+    }
+
+    public double externalForce(int j) {
+        return externalForces[j];
+    }
+
+    public boolean isFixed(int j) {
+        return fixed.get(j);
+    }
+
+    public int fixedCount() {
+        return fixed.cardinality();
+    }
+
+    // Узел в виде DTO — для результатов, ссылающихся на узлы стержня
+    public Node toNode(int j) {
+        Node node = new Node();
+        node.setId(nodeIds[j]);
+        node.setFixed(fixed.get(j));
+        node.setExternalForce(externalForces[j]);
+        return node;
+    }
+
+    public Rod toRod(int i) {
+        Rod rod = new Rod();
+        rod.setId(rodIds[i]);
+        rod.setLength(lengths[i]);
+        rod.setArea(areas[i]);
+        rod.setElasticModulus(elasticModuli[i]);
+        rod.setAllowableStress(allowableStresses[i]);
+        rod.setDistributedLoad(distributedLoads[i]);
+        rod.setDensity(density(i));
+        if (startNodeIds != null) {
+            rod.setStartNodeId(startNodeIds[i] != NO_NODE ? startNodeIds[i] : null);
+            rod.setEndNodeId(endNodeIds[i] != NO_NODE ? endNodeIds[i] : null);
+        }
+        return rod;
+    }
+
+    // Обратное к of(StructureInput): проект в виде DTO (выдача сохранённого проекта в JSON)
+    public StructureInput toInput() {
+        List<Rod> rods = new ArrayList<>(rodCount);
+        for (int i = 0; i < rodCount; i++) {
+            rods.add(toRod(i));
+        }
+        List<Node> nodes = new ArrayList<>(nodeCount);
+        for (int j = 0; j < nodeCount; j++) {
+            nodes.add(toNode(j));
+        }
+        StructureInput input = new StructureInput();
+        input.setRods(rods);
+        input.setNodes(nodes);
+        return input;
+    }
+}
@@ -0,0 +1,60 @@
+package stankin.saprcadbackend.service.batch;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import stankin.saprcadbackend.dto.batch.BatchItemResult;
+import stankin.saprcadbackend.dto.structure.StructureInput;
+import stankin.saprcadbackend.service.pipeline.CalculationPipelineService;
+import stankin.saprcadbackend.service.pipeline.PipelineResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+// Пакетный расчёт множества независимых проектов за один запрос
+@Service
+public class BatchCalculationService {
+
+    @Autowired
+    private CalculationPipelineService pipelineService;
+
+    @Autowired
+    @Qualifier("calculationExecutor")
+    private ExecutorService calculationExecutor;
+
+    @Value("${saprcad.batch.max-items:10000}")
+    private int maxItems = 10000;
+
+    public int getMaxItems() {
+        return maxItems;
+    }
+
+    // Проекты считаются параллельно, результаты возвращаются в порядке входного списка
+    public List<BatchItemResult> calculateAll(List<StructureInput> inputs) {
+        List<CompletableFuture<BatchItemResult>> futures = new ArrayList<>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            int index = i;
+            StructureInput input = inputs.get(i);
+            futures.add(CompletableFuture.supplyAsync(() -> calculateItem(index, input), calculationExecutor));
+        }
+
+        List<BatchItemResult> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<BatchItemResult> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    private BatchItemResult calculateItem(int index, StructureInput input) {
+        try {
+            PipelineResult outcome = pipelineService.calculate(input);
+            return new BatchItemResult(index, outcome.getResult(), outcome.getErrors());
+        } catch (RuntimeException e) {
+            // Ошибка одного проекта (например, вырожденная матрица) не прерывает весь пакет
+            return new BatchItemResult(index, null, List.of("Ошибка расчёта: " + e.getMessage()));
+        }
+    }
+}
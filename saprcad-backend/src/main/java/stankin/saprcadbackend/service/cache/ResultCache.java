@@ -0,0 +1,131 @@
+package stankin.saprcadbackend.service.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import stankin.saprcadbackend.dto.cache.CacheStats;
+import stankin.saprcadbackend.dto.result.FullResult;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Ограниченный кэш результатов полного расчёта в памяти.
+// Вытеснение LRU по суммарному весу (число стержней и узлов в результатах) и по времени жизни записи.
+@Component
+public class ResultCache {
+
+    private final boolean enabled;
+    private final long maxWeight;
+    private final long ttlNanos;
+
+    // accessOrder = true: порядок обхода — от давно использованных к недавним
+    private final LinkedHashMap<StructureKey, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long weight;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    public ResultCache(@Value("${saprcad.cache.enabled:true}") boolean enabled,
+                       @Value("${saprcad.cache.max-weight:5000000}") long maxWeight,
+                       @Value("${saprcad.cache.ttl:10m}") Duration ttl) {
+        this.enabled = enabled;
+        this.maxWeight = maxWeight;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public synchronized FullResult get(StructureKey key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (isExpired(entry, System.nanoTime())) {
+            remove(key, entry);
+            expirations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.result;
+    }
+
+    public synchronized void put(StructureKey key, FullResult result) {
+        long entryWeight = weigh(result);
+        if (!enabled || entryWeight > maxWeight) {
+            return; // слишком большой результат не вытесняет весь кэш
+        }
+
+        Entry previous = entries.put(key, new Entry(result, entryWeight, System.nanoTime()));
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+        weight += entryWeight;
+
+        // Обход от давно использованных: сначала убираем истёкшие записи в голове списка,
+        // затем вытесняем по LRU, пока вес не уложится в лимит
+        long now = System.nanoTime();
+        Iterator<Map.Entry<StructureKey, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry eldest = iterator.next().getValue();
+            if (isExpired(eldest, now)) {
+                expirations++;
+            } else if (weight > maxWeight) {
+                evictions++;
+            } else {
+                break;
+            }
+            weight -= eldest.weight;
+            iterator.remove();
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    public synchronized CacheStats stats() {
+        CacheStats stats = new CacheStats();
+        stats.setHits(hits);
+        stats.setMisses(misses);
+        stats.setEvictions(evictions);
+        stats.setExpirations(expirations);
+        stats.setEntries(entries.size());
+        stats.setWeight(weight);
+        stats.setMaxWeight(maxWeight);
+        return stats;
+    }
+
+    private void remove(StructureKey key, Entry entry) {
+        entries.remove(key);
+        weight -= entry.weight;
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return now - entry.createdAt > ttlNanos;
+    }
+
+    private static long weigh(FullResult result) {
+        long nodes = result.getDisplacements() == null ? 0 : result.getDisplacements().length;
+        return result.rodCount() + nodes;
+    }
+
+    private static class Entry {
+        private final FullResult result;
+        private final long weight;
+        private final long createdAt;
+
+        Entry(FullResult result, long weight, long createdAt) {
+            this.result = result;
+            this.weight = weight;
+            this.createdAt = createdAt;
+        }
+    }
+}
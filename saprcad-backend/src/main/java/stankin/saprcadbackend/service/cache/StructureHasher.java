@@ -0,0 +1,109 @@
+package stankin.saprcadbackend.service.cache;
+
+import stankin.saprcadbackend.dto.structure.Node;
+import stankin.saprcadbackend.dto.structure.Rod;
+import stankin.saprcadbackend.dto.structure.StructureInput;
+import stankin.saprcadbackend.model.StructureModel;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+// Каноническое хэширование проекта: учитываются только числа и флаги в порядке списков,
+// поэтому одинаковые проекты дают один ключ независимо от форматирования JSON.
+public final class StructureHasher {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int NO_NODE = Integer.MIN_VALUE; // узел стержня не задан (линейная система)
+
+    private StructureHasher() {
+    }
+
+    public static StructureKey hash(StructureInput input) {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        List<Rod> rods = input.getRods();
+        List<Node> nodes = input.getNodes();
+
+        buffer.putInt(rods == null ? -1 : rods.size());
+        buffer.putInt(nodes == null ? -1 : nodes.size());
+        if (rods != null) {
+            for (Rod rod : rods) {
+                flushIfFull(buffer, digest, 52);
+                buffer.putInt(rod.getId());
+                putDouble(buffer, rod.getLength());
+                putDouble(buffer, rod.getArea());
+                putDouble(buffer, rod.getElasticModulus());
+                putDouble(buffer, rod.getAllowableStress());
+                putDouble(buffer, rod.getDistributedLoad());
+                buffer.putInt(rod.getStartNodeId() == null ? NO_NODE : rod.getStartNodeId());
+                buffer.putInt(rod.getEndNodeId() == null ? NO_NODE : rod.getEndNodeId());
+            }
+        }
+        if (nodes != null) {
+            for (Node node : nodes) {
+                flushIfFull(buffer, digest, 13);
+                buffer.putInt(node.getId());
+                buffer.put(node.isFixed() ? (byte) 1 : (byte) 0);
+                putDouble(buffer, node.getExternalForce());
+            }
+        }
+        buffer.flip();
+        digest.update(buffer);
+        return new StructureKey(digest.digest());
+    }
+
+    // Тот же ключ для проекта во внутреннем представлении (двоичный формат, потоковый разбор)
+    public static StructureKey hash(StructureModel model) {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        int rodCount = model.rodCount();
+        int nodeCount = model.nodeCount();
+        boolean topology = model.hasExplicitTopology();
+
+        buffer.putInt(rodCount);
+        buffer.putInt(nodeCount);
+        for (int i = 0; i < rodCount; i++) {
+            flushIfFull(buffer, digest, 52);
+            buffer.putInt(model.rodId(i));
+            putDouble(buffer, model.length(i));
+            putDouble(buffer, model.area(i));
+            putDouble(buffer, model.elasticModulus(i));
+            putDouble(buffer, model.allowableStress(i));
+            putDouble(buffer, model.distributedLoad(i));
+            buffer.putInt(topology ? model.startNodeId(i) : NO_NODE);
+            buffer.putInt(topology ? model.endNodeId(i) : NO_NODE);
+        }
+        for (int j = 0; j < nodeCount; j++) {
+            flushIfFull(buffer, digest, 13);
+            buffer.putInt(model.nodeId(j));
+            buffer.put(model.isFixed(j) ? (byte) 1 : (byte) 0);
+            putDouble(buffer, model.externalForce(j));
+        }
+        buffer.flip();
+        digest.update(buffer);
+        return new StructureKey(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 недоступен", e);
+        }
+    }
+
+    // -0.0 и 0.0 дают один и тот же результат расчёта, поэтому нормализуются
+    private static void putDouble(ByteBuffer buffer, double value) {
+        buffer.putLong(Double.doubleToLongBits(value + 0.0));
+    }
+
+    private static void flushIfFull(ByteBuffer buffer, MessageDigest digest, int needed) {
+        if (buffer.remaining() < needed) {
+            buffer.flip();
+            digest.update(buffer);
+            buffer.clear();
+        }
+    }
+}
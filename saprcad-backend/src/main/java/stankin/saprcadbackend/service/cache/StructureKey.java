@@ -0,0 +1,37 @@
+package stankin.saprcadbackend.service.cache;
+
+import java.util.Arrays;
+import java.util.HexFormat;
+
+// Ключ проекта: SHA-256 канонического представления числового содержимого StructureInput
+public final class StructureKey {
+
+    private final byte[] digest;
+    private final int hash;
+
+    StructureKey(byte[] digest) {
+        this.digest = digest;
+        this.hash = Arrays.hashCode(digest);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StructureKey)) {
+            return false;
+        }
+        return Arrays.equals(digest, ((StructureKey) o).digest);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return HexFormat.of().formatHex(digest);
+    }
+}
@@ -0,0 +1,173 @@
+package stankin.saprcadbackend.service.job;
+
+import stankin.saprcadbackend.dto.job.JobState;
+import stankin.saprcadbackend.dto.job.JobStatus;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+// Фоновое задание: задача пула (Runnable) с приоритетом по оценке стоимости.
+// Переходы состояния — под монитором задания: отмена может прийти из другого потока в любой момент.
+final class CalculationJob implements Runnable, Comparable<CalculationJob> {
+
+    private final String id;
+    private final String type;
+    private final long estimatedCost;
+    private final long priority;   // меньше — раньше: время постановки + оценка длительности
+    private final long sequence;   // порядок постановки при равном приоритете
+    private final JobWork work;
+    private final CalculationJobService owner;
+    private final Instant submittedAt = Instant.now();
+
+    private JobState state = JobState.QUEUED;
+    private boolean cancelRequested;
+    private Thread thread;         // поток пула, пока задание выполняется
+    private Instant startedAt;
+    private Instant finishedAt;
+    private Object result;
+    private List<String> errors = List.of();
+    private volatile String stage;
+    private volatile double progress;
+
+    CalculationJob(String id, String type, long estimatedCost, long priority, long sequence, JobWork work,
+                   CalculationJobService owner) {
+        this.id = id;
+        this.type = type;
+        this.estimatedCost = estimatedCost;
+        this.priority = priority;
+        this.sequence = sequence;
+        this.work = work;
+        this.owner = owner;
+    }
+
+    String id() {
+        return id;
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    long estimatedCost() {
+        return estimatedCost;
+    }
+
+    void setStage(String stage) {
+        this.stage = stage;
+    }
+
+    void setProgress(double progress) {
+        this.progress = progress;
+    }
+
+    @Override
+    public void run() {
+        synchronized (this) {
+            if (state != JobState.QUEUED) {
+                return; // отменено, пока стояло в очереди
+            }
+            state = JobState.RUNNING;
+            thread = Thread.currentThread();
+            startedAt = Instant.now();
+        }
+        owner.dequeued(this);
+
+        JobState finalState;
+        Object finalResult = null;
+        List<String> finalErrors = List.of();
+        try {
+            JobOutcome outcome = work.run(new JobContext(this));
+            finalState = outcome.isSuccess() ? JobState.SUCCEEDED : JobState.FAILED;
+            finalResult = outcome.getResult();
+            finalErrors = outcome.getErrors();
+        } catch (CancellationException e) {
+            finalState = JobState.CANCELLED;
+        } catch (RuntimeException e) {
+            finalState = JobState.FAILED;
+            finalErrors = List.of("Ошибка расчёта: " + e.getMessage());
+        } catch (OutOfMemoryError e) {
+            // Память гигантского задания освобождается, остальные задания продолжают работать
+            finalState = JobState.FAILED;
+            finalErrors = List.of("Недостаточно памяти для расчёта.");
+        }
+
+        synchronized (this) {
+            state = cancelRequested ? JobState.CANCELLED : finalState;
+            if (state != JobState.CANCELLED) {
+                result = finalResult;
+                errors = finalErrors;
+                progress = 1.0;
+            }
+            finishedAt = Instant.now();
+            thread = null;
+        }
+        // Прерывание, пришедшее после завершения работы, не должно достаться следующему заданию пула
+        Thread.interrupted();
+    }
+
+    /**
+     * Отмена: из очереди задание снимается сразу, выполняющееся — прерыванием потока.
+     *
+     * @return true, если задание ещё было в очереди (его нужно убрать из очереди пула)
+     */
+    boolean cancel() {
+        synchronized (this) {
+            if (state.isFinished()) {
+                return false;
+            }
+            cancelRequested = true;
+            if (state == JobState.QUEUED) {
+                state = JobState.CANCELLED;
+                finishedAt = Instant.now();
+                return true;
+            }
+            if (thread != null) {
+                thread.interrupt();
+            }
+            return false;
+        }
+    }
+
+    synchronized boolean isFinished() {
+        return state.isFinished();
+    }
+
+    synchronized boolean isQueued() {
+        return state == JobState.QUEUED;
+    }
+
+    synchronized JobState state() {
+        return state;
+    }
+
+    synchronized Object result() {
+        return result;
+    }
+
+    synchronized Instant finishedAt() {
+        return finishedAt;
+    }
+
+    synchronized JobStatus status(Integer queuePosition) {
+        JobStatus status = new JobStatus();
+        status.setId(id);
+        status.setType(type);
+        status.setState(state);
+        status.setStage(stage);
+        status.setProgress(progress);
+        status.setEstimatedCost(estimatedCost);
+        status.setQueuePosition(state == JobState.QUEUED ? queuePosition : null);
+        status.setSubmittedAt(submittedAt);
+        status.setStartedAt(startedAt);
+        status.setFinishedAt(finishedAt);
+        status.setErrors(errors);
+        return status;
+    }
+
+    @Override
+    public int compareTo(CalculationJob other) {
+        int byPriority = Long.compare(priority, other.priority);
+        return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+    }
+}
@@ -0,0 +1,228 @@
+package stankin.saprcadbackend.service.job;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import stankin.saprcadbackend.dto.job.JobStatus;
+import stankin.saprcadbackend.dto.probabilistic.ProbabilisticInput;
+import stankin.saprcadbackend.dto.sizing.SizingInput;
+import stankin.saprcadbackend.dto.structure.StructureInput;
+import stankin.saprcadbackend.service.pipeline.CalculationPipelineService;
+import stankin.saprcadbackend.service.pipeline.PipelineResult;
+import stankin.saprcadbackend.service.probabilistic.ProbabilisticAnalysisService;
+import stankin.saprcadbackend.service.probabilistic.ProbabilisticOutcome;
+import stankin.saprcadbackend.service.sizing.SectionSizingService;
+import stankin.saprcadbackend.service.sizing.SizingOutcome;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Фоновые задания: долгий расчёт не держит поток сервлета, клиент опрашивает состояние и забирает результат.
+ * <p>
+ * Пул jobExecutor (по умолчанию — половина ядер, остальное — синхронным запросам) с очередью по приоритету:
+ * приоритет = время постановки + оценка длительности (estimatedCost / cost-per-ms). Небольшие задания
+ * обгоняют гигантские, а гигантское всё равно дождётся своей очереди — не дольше своей оценки.
+ * Очередь ограничена числом заданий и суммарной стоимостью; сверх этого задание отклоняется сразу
+ * (клиент получает 429 и повторяет позже), а не копится в памяти.
+ * <p>
+ * Завершённые задания с результатами хранятся retention, затем удаляются.
+ */
+@Service
+public class CalculationJobService {
+
+    public static final String FULL_CALCULATION = "full-calculation";
+    public static final String MONTE_CARLO = "monte-carlo";
+    public static final String SIZING = "sizing";
+
+    @Value("${saprcad.jobs.queue-capacity:64}")
+    private int queueCapacity = 64;
+
+    @Value("${saprcad.jobs.max-queued-cost:1000000000}")
+    private long maxQueuedCost = 1_000_000_000L;
+
+    @Value("${saprcad.jobs.cost-per-ms:10000}")
+    private long costPerMs = 10000;
+
+    @Value("${saprcad.jobs.retention:15m}")
+    private Duration retention = Duration.ofMinutes(15);
+
+    @Autowired
+    @Qualifier("jobExecutor")
+    private ThreadPoolExecutor executor;
+
+    @Autowired
+    private CalculationPipelineService pipelineService;
+
+    @Autowired
+    private ProbabilisticAnalysisService probabilisticAnalysisService;
+
+    @Autowired
+    private SectionSizingService sectionSizingService;
+
+    private final Map<String, CalculationJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    // Очередь пула (PriorityBlockingQueue) не ограничена — ограничения считаются здесь, под монитором сервиса
+    private int queuedCount;
+    private long queuedCost;
+
+    /**
+     * Постановка задания в очередь.
+     *
+     * @param estimatedCost оценка стоимости: число элементов × число расчётов
+     */
+    public JobSubmission submit(String type, long estimatedCost, JobWork work) {
+        evictExpired();
+        long cost = Math.max(1, estimatedCost);
+        CalculationJob job;
+        synchronized (this) {
+            if (queuedCount >= queueCapacity) {
+                return JobSubmission.rejected(List.of("Очередь заданий заполнена (" + queueCapacity
+                        + "). Повторите позже."));
+            }
+            // Одно задание дороже всего бюджета принимается только в пустую очередь — иначе его не взять никогда
+            if (queuedCount > 0 && queuedCost + cost > maxQueuedCost) {
+                return JobSubmission.rejected(List.of("Суммарная стоимость заданий в очереди превышает "
+                        + maxQueuedCost + ". Повторите позже."));
+            }
+            long now = System.currentTimeMillis();
+            job = new CalculationJob(UUID.randomUUID().toString(), type, cost, now + cost / costPerMs,
+                    sequence.incrementAndGet(), work, this);
+            queuedCount++;
+            queuedCost += cost;
+        }
+        jobs.put(job.id(), job);
+        executor.execute(job);
+        return JobSubmission.accepted(status(job));
+    }
+
+    // Полный расчёт; прогресс — по этапам конвейера
+    public JobSubmission submitFullCalculation(StructureInput input) {
+        return submit(FULL_CALCULATION, elementCount(input), context -> {
+            PipelineResult outcome = pipelineService.calculate(input, context.pipelineTimings());
+            return outcome.isSuccess()
+                    ? JobOutcome.success(outcome.getResult())
+                    : JobOutcome.failure(outcome.getErrors());
+        });
+    }
+
+    // Метод Монте-Карло; прогресс — доля выполненных испытаний
+    public JobSubmission submitMonteCarlo(ProbabilisticInput input) {
+        long samples = input != null && input.getSamples() != null
+                ? Math.max(1, input.getSamples())
+                : ProbabilisticAnalysisService.DEFAULT_SAMPLES;
+        long cost = elementCount(input != null ? input.getStructure() : null) * samples;
+        return submit(MONTE_CARLO, cost, context -> {
+            context.stage(MONTE_CARLO);
+            ProbabilisticOutcome outcome = probabilisticAnalysisService.analyze(input, context::progress);
+            return outcome.isSuccess()
+                    ? JobOutcome.success(outcome.getResult())
+                    : JobOutcome.failure(outcome.getErrors());
+        });
+    }
+
+    // Подбор сечений; стоимость — по верхней границе числа итераций
+    public JobSubmission submitSizing(SizingInput input) {
+        long iterations = input != null && input.getMaxIterations() != null
+                ? Math.max(1, input.getMaxIterations())
+                : SectionSizingService.DEFAULT_MAX_ITERATIONS;
+        long cost = elementCount(input != null ? input.getStructure() : null) * iterations;
+        return submit(SIZING, cost, context -> {
+            context.stage(SIZING);
+            SizingOutcome outcome = sectionSizingService.optimize(input, context::progress);
+            return outcome.isSuccess()
+                    ? JobOutcome.success(outcome.getResult())
+                    : JobOutcome.failure(outcome.getErrors());
+        });
+    }
+
+    // null — задания нет (или оно уже удалено по сроку хранения)
+    public JobStatus status(String id) {
+        CalculationJob job = jobs.get(id);
+        return job != null ? status(job) : null;
+    }
+
+    public List<JobStatus> list() {
+        evictExpired();
+        List<CalculationJob> all = new ArrayList<>(jobs.values());
+        all.sort(Comparator.comparingLong(CalculationJob::sequence)); // в порядке постановки
+        List<JobStatus> statuses = new ArrayList<>(all.size());
+        for (CalculationJob job : all) {
+            statuses.add(status(job));
+        }
+        return statuses;
+    }
+
+    // Результат успешно завершённого задания или null
+    public Object result(String id) {
+        CalculationJob job = jobs.get(id);
+        return job != null ? job.result() : null;
+    }
+
+    /**
+     * Отмена незавершённого задания; завершённое просто удаляется вместе с результатом.
+     *
+     * @return состояние после отмены или null, если задания нет
+     */
+    public JobStatus cancel(String id) {
+        CalculationJob job = jobs.get(id);
+        if (job == null) {
+            return null;
+        }
+        if (job.isFinished()) {
+            jobs.remove(id);
+            return status(job);
+        }
+        if (job.cancel()) {
+            executor.remove(job);
+            dequeued(job);
+        }
+        return status(job);
+    }
+
+    // Задание покинуло очередь (взято в работу или отменено)
+    synchronized void dequeued(CalculationJob job) {
+        queuedCount--;
+        queuedCost -= job.estimatedCost();
+    }
+
+    private JobStatus status(CalculationJob job) {
+        Integer position = null;
+        if (job.isQueued()) {
+            int ahead = 0;
+            for (CalculationJob other : jobs.values()) {
+                if (other != job && other.isQueued() && other.compareTo(job) < 0) {
+                    ahead++;
+                }
+            }
+            position = ahead;
+        }
+        return job.status(position);
+    }
+
+    private static long elementCount(StructureInput input) {
+        if (input == null) {
+            return 1;
+        }
+        long rods = input.getRods() != null ? input.getRods().size() : 0;
+        long nodes = input.getNodes() != null ? input.getNodes().size() : 0;
+        return rods + nodes;
+    }
+
+    private void evictExpired() {
+        Instant expiry = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> {
+            Instant finished = job.finishedAt();
+            return finished != null && finished.isBefore(expiry);
+        });
+    }
+}
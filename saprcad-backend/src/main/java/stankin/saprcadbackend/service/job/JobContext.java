@@ -0,0 +1,46 @@
+package stankin.saprcadbackend.service.job;
+
+import stankin.saprcadbackend.service.metrics.PipelineStage;
+import stankin.saprcadbackend.service.metrics.StageTimings;
+import stankin.saprcadbackend.service.processor.solver.Cancellation;
+
+// Связь выполняемой работы с её заданием: прогресс, текущий этап и точки отмены
+public class JobContext {
+
+    // Этапы конвейера в порядке выполнения — для оценки прогресса полного расчёта
+    private static final PipelineStage[] PIPELINE_ORDER = {PipelineStage.VALIDATE, PipelineStage.ASSEMBLE,
+            PipelineStage.FACTORIZE, PipelineStage.SOLVE, PipelineStage.POSTPROCESS};
+
+    private final CalculationJob job;
+
+    JobContext(CalculationJob job) {
+        this.job = job;
+    }
+
+    // Доля выполненной работы 0..1; заодно точка отмены
+    public void progress(double fraction) {
+        job.setProgress(Math.max(0.0, Math.min(1.0, fraction)));
+        Cancellation.checkpoint();
+    }
+
+    public void stage(String stage) {
+        job.setStage(stage);
+        Cancellation.checkpoint();
+    }
+
+    // Замеры для CalculationPipelineService: начало каждого этапа — смена этапа задания и точка отмены
+    public StageTimings pipelineTimings() {
+        return new StageTimings() {
+            @Override
+            public void start(PipelineStage stage) {
+                for (int k = 0; k < PIPELINE_ORDER.length; k++) {
+                    if (PIPELINE_ORDER[k] == stage) {
+                        job.setProgress((double) k / PIPELINE_ORDER.length);
+                    }
+                }
+                stage(stage.tag());
+                super.start(stage);
+            }
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package stankin.saprcadbackend.service.job;
+
+import java.util.List;
+
+// Итог работы задания: результат (тело ответа /jobs/{id}/result) либо список ошибок входных данных
+public class JobOutcome {
+    private final Object result;
+    private final List<String> errors;
+
+    private JobOutcome(Object result, List<String> errors) {
+        this.result = result;
+        this.errors = errors;
+    }
+
+    public static JobOutcome success(Object result) {
+        return new JobOutcome(result, List.of());
+    }
+
+    public static JobOutcome failure(List<String> errors) {
+        return new JobOutcome(null, errors);
+    }
+
+    public boolean isSuccess() {
+        return result != null;
+    }
+
+    public Object getResult() {
+        return result;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
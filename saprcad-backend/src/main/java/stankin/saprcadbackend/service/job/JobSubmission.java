@@ -0,0 +1,36 @@
+package stankin.saprcadbackend.service.job;
+
+import stankin.saprcadbackend.dto.job.JobStatus;
+
+import java.util.List;
+
+// Итог постановки задания: состояние принятого задания либо причина отказа (очередь заполнена)
+public class JobSubmission {
+    private final JobStatus status;
+    private final List<String> errors;
+
+    private JobSubmission(JobStatus status, List<String> errors) {
+        this.status = status;
+        this.errors = errors;
+    }
+
+    public static JobSubmission accepted(JobStatus status) {
+        return new JobSubmission(status, List.of());
+    }
+
+    public static JobSubmission rejected(List<String> errors) {
+        return new JobSubmission(null, errors);
+    }
+
+    public boolean isAccepted() {
+        return status != null;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
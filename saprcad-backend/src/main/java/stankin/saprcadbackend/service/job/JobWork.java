@@ -0,0 +1,9 @@
+package stankin.saprcadbackend.service.job;
+
+// Работа фонового задания. Выполняется в потоке пула заданий; отмена прерывает этот поток,
+// и расчёт останавливается в ближайшей точке отмены (Cancellation.checkpoint)
+@FunctionalInterface
+public interface JobWork {
+
+    JobOutcome run(JobContext context);
+}
@@ -0,0 +1,245 @@
+package stankin.saprcadbackend.service.loadcase;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import stankin.saprcadbackend.dto.loadcase.LoadCase;
+import stankin.saprcadbackend.dto.loadcase.LoadCaseInput;
+import stankin.saprcadbackend.dto.loadcase.LoadCaseResult;
+import stankin.saprcadbackend.dto.loadcase.LoadCaseResultItem;
+import stankin.saprcadbackend.dto.loadcase.LoadCombination;
+import stankin.saprcadbackend.dto.loadcase.RodEnvelope;
+import stankin.saprcadbackend.dto.result.FullResult;
+import stankin.saprcadbackend.dto.structure.Node;
+import stankin.saprcadbackend.dto.structure.Rod;
+import stankin.saprcadbackend.model.RodResultTable;
+import stankin.saprcadbackend.model.StructureModel;
+import stankin.saprcadbackend.service.postprocessor.ResultService;
+import stankin.saprcadbackend.service.preprocessor.ProjectService;
+import stankin.saprcadbackend.service.processor.CalculateDisplacementsService;
+import stankin.saprcadbackend.service.processor.FactorizedStructure;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Расчёт одной конструкции на несколько случаев нагружения:
+// матрица жёсткости собирается и раскладывается один раз, на каждый случай — только прямой и обратный ход
+@Service
+public class LoadCaseService {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private CalculateDisplacementsService calculateDisplacementsService;
+
+    @Autowired
+    private ResultService resultService;
+
+    public List<String> validate(LoadCaseInput input) {
+        List<String> errors = new ArrayList<>();
+        if (input == null || input.getStructure() == null) {
+            errors.add("Конструкция не может быть null.");
+            return errors;
+        }
+
+        errors.addAll(projectService.validateAndReturnErrors(input.getStructure()));
+        if (!errors.isEmpty()) {
+            return errors;
+        }
+
+        if (input.getLoadCases() == null || input.getLoadCases().isEmpty()) {
+            errors.add("Список случаев нагружения не может быть пустым.");
+            return errors;
+        }
+
+        Set<Integer> nodeIds = new HashSet<>();
+        for (Node node : input.getStructure().getNodes()) {
+            nodeIds.add(node.getId());
+        }
+        Set<Integer> rodIds = new HashSet<>();
+        for (Rod rod : input.getStructure().getRods()) {
+            rodIds.add(rod.getId());
+        }
+
+        Set<String> names = new HashSet<>();
+        for (LoadCase loadCase : input.getLoadCases()) {
+            String name = loadCase.getName();
+            if (name == null || name.isBlank()) {
+                errors.add("Имя случая нагружения не может быть пустым.");
+                continue;
+            }
+            if (!names.add(name)) {
+                errors.add("Найден дубликат имени случая нагружения: " + name + ".");
+            }
+            if (loadCase.getNodeForces() != null) {
+                loadCase.getNodeForces().forEach((id, value) -> {
+                    if (!nodeIds.contains(id)) {
+                        errors.add("Случай \"" + name + "\": узел ID=" + id + " не существует.");
+                    } else if (value == null) {
+                        errors.add("Случай \"" + name + "\": не задана сила в узле ID=" + id + ".");
+                    }
+                });
+            }
+            if (loadCase.getDistributedLoads() != null) {
+                loadCase.getDistributedLoads().forEach((id, value) -> {
+                    if (!rodIds.contains(id)) {
+                        errors.add("Случай \"" + name + "\": стержень ID=" + id + " не существует.");
+                    } else if (value == null) {
+                        errors.add("Случай \"" + name + "\": не задана погонная нагрузка стержня ID=" + id + ".");
+                    }
+                });
+            }
+        }
+
+        if (input.getCombinations() != null) {
+            Set<String> caseNames = new HashSet<>(names);
+            for (LoadCombination combination : input.getCombinations()) {
+                String name = combination.getName();
+                if (name == null || name.isBlank()) {
+                    errors.add("Имя сочетания нагрузок не может быть пустым.");
+                    continue;
+                }
+                if (!names.add(name)) {
+                    errors.add("Имя сочетания \"" + name + "\" совпадает с именем другого случая или сочетания.");
+                }
+                if (combination.getFactors() == null || combination.getFactors().isEmpty()) {
+                    errors.add("Сочетание \"" + name + "\" не содержит ни одного случая нагружения.");
+                    continue;
+                }
+                combination.getFactors().forEach((caseName, factor) -> {
+                    if (!caseNames.contains(caseName)) {
+                        errors.add("Сочетание \"" + name + "\" ссылается на несуществующий случай \"" + caseName + "\".");
+                    } else if (factor == null) {
+                        errors.add("Сочетание \"" + name + "\": не задан коэффициент случая \"" + caseName + "\".");
+                    }
+                });
+            }
+        }
+        return errors;
+    }
+
+    public LoadCaseResult calculate(LoadCaseInput input) {
+        StructureModel structure = StructureModel.of(input.getStructure());
+        int nodeCount = structure.nodeCount();
+        int rodCount = structure.rodCount();
+
+        // Этап 1: одна сборка и факторизация K
+        FactorizedStructure factorized = calculateDisplacementsService.prepare(structure);
+
+        Map<Integer, Integer> nodeIndex = new HashMap<>();
+        for (int j = 0; j < nodeCount; j++) {
+            nodeIndex.put(structure.nodeId(j), j);
+        }
+        Map<Integer, Integer> rodIndex = new HashMap<>();
+        for (int i = 0; i < rodCount; i++) {
+            rodIndex.put(structure.rodId(i), i);
+        }
+
+        // Этап 2: нагрузки случаев в виде массивов по индексам узлов и стержней
+        Map<String, double[][]> caseLoads = new HashMap<>();
+        List<LoadCaseResultItem> items = new ArrayList<>();
+        for (LoadCase loadCase : input.getLoadCases()) {
+            double[] forces = new double[nodeCount];
+            double[] distributed = new double[rodCount];
+            if (loadCase.getNodeForces() != null) {
+                loadCase.getNodeForces().forEach((id, value) -> forces[nodeIndex.get(id)] += value);
+            }
+            if (loadCase.getDistributedLoads() != null) {
+                loadCase.getDistributedLoads().forEach((id, value) -> distributed[rodIndex.get(id)] += value);
+            }
+            caseLoads.put(loadCase.getName(), new double[][]{forces, distributed});
+            items.add(new LoadCaseResultItem(loadCase.getName(), false,
+                    solveCase(structure, factorized, forces, distributed)));
+        }
+
+        // Этап 3: сочетания — линейные комбинации нагрузок случаев
+        if (input.getCombinations() != null) {
+            for (LoadCombination combination : input.getCombinations()) {
+                double[] forces = new double[nodeCount];
+                double[] distributed = new double[rodCount];
+                combination.getFactors().forEach((caseName, factor) -> {
+                    double[][] loads = caseLoads.get(caseName);
+                    for (int j = 0; j < forces.length; j++) {
+                        forces[j] += factor * loads[0][j];
+                    }
+                    for (int i = 0; i < distributed.length; i++) {
+                        distributed[i] += factor * loads[1][i];
+                    }
+                });
+                items.add(new LoadCaseResultItem(combination.getName(), true,
+                        solveCase(structure, factorized, forces, distributed)));
+            }
+        }
+
+        return new LoadCaseResult(items, envelope(structure, items));
+    }
+
+    // Обратная подстановка для одного нагружения и постпроцессор
+    // (результат содержит нагрузки именно этого случая)
+    private FullResult solveCase(StructureModel structure, FactorizedStructure factorized,
+                                 double[] forces, double[] distributed) {
+        double[] delta = factorized.solve(factorized.loadVector(forces, distributed));
+        return resultService.calculateNds(structure.withLoads(forces, distributed), factorized.getTopology(), delta);
+    }
+
+    // Огибающая: Nx и σx линейны — экстремумы на концах; ux квадратична — концы и вершина параболы
+    private List<RodEnvelope> envelope(StructureModel structure, List<LoadCaseResultItem> items) {
+        List<RodEnvelope> envelope = new ArrayList<>(structure.rodCount());
+        for (int i = 0; i < structure.rodCount(); i++) {
+            RodEnvelope rodEnvelope = new RodEnvelope();
+            rodEnvelope.setRodId(structure.rodId(i));
+            rodEnvelope.setMinAxialForce(Double.POSITIVE_INFINITY);
+            rodEnvelope.setMaxAxialForce(Double.NEGATIVE_INFINITY);
+            rodEnvelope.setMinStress(Double.POSITIVE_INFINITY);
+            rodEnvelope.setMaxStress(Double.NEGATIVE_INFINITY);
+            rodEnvelope.setMinDisplacement(Double.POSITIVE_INFINITY);
+            rodEnvelope.setMaxDisplacement(Double.NEGATIVE_INFINITY);
+            envelope.add(rodEnvelope);
+        }
+
+        for (LoadCaseResultItem item : items) {
+            RodResultTable table = item.getResult().getRodResults();
+            for (int i = 0; i < table.size(); i++) {
+                RodEnvelope rodEnvelope = envelope.get(i);
+                double L = structure.length(i);
+
+                double a0 = table.coeff(i, RodResultTable.A0);
+                double a1 = table.coeff(i, RodResultTable.A1);
+                double n0 = a0;
+                double nL = a0 + a1 * L;
+                rodEnvelope.setMinAxialForce(Math.min(rodEnvelope.getMinAxialForce(), Math.min(n0, nL)));
+                rodEnvelope.setMaxAxialForce(Math.max(rodEnvelope.getMaxAxialForce(), Math.max(n0, nL)));
+
+                double c0 = table.coeff(i, RodResultTable.C0);
+                double c1 = table.coeff(i, RodResultTable.C1);
+                double s0 = c0;
+                double sL = c0 + c1 * L;
+                rodEnvelope.setMinStress(Math.min(rodEnvelope.getMinStress(), Math.min(s0, sL)));
+                rodEnvelope.setMaxStress(Math.max(rodEnvelope.getMaxStress(), Math.max(s0, sL)));
+
+                double b0 = table.coeff(i, RodResultTable.B0);
+                double b1 = table.coeff(i, RodResultTable.B1);
+                double b2 = table.coeff(i, RodResultTable.B2);
+                double u0 = b0;
+                double uL = b0 + b1 * L + b2 * L * L;
+                double uMin = Math.min(u0, uL);
+                double uMax = Math.max(u0, uL);
+                if (b2 != 0.0) {
+                    double x = -b1 / (2 * b2);
+                    if (x > 0 && x < L) {
+                        double uExtremum = b0 + b1 * x + b2 * x * x;
+                        uMin = Math.min(uMin, uExtremum);
+                        uMax = Math.max(uMax, uExtremum);
+                    }
+                }
+                rodEnvelope.setMinDisplacement(Math.min(rodEnvelope.getMinDisplacement(), uMin));
+                rodEnvelope.setMaxDisplacement(Math.max(rodEnvelope.getMaxDisplacement(), uMax));
+            }
+        }
+        return envelope;
+    }
+}
@@ -0,0 +1,90 @@
+package stankin.saprcadbackend.service.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+// Метрики полного расчёта в Micrometer: таймер и выделенная память по этапам, размеры задач, счётчик по исходу.
+// Этапы разбиты по классу размера задачи (число стержней, по порядкам). Экспорт — /actuator/prometheus.
+@Component
+public class PipelineMetrics {
+
+    private static final String[] SIZE_BUCKETS = {"le10", "le100", "le1000", "le10000", "le100000", "gt100000"};
+
+    private final MeterRegistry registry;
+    private final boolean enabled;
+
+    public PipelineMetrics(MeterRegistry registry, @Value("${saprcad.metrics.enabled:true}") boolean enabled) {
+        this.registry = registry;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Новые замеры для запроса (NONE, если метрики выключены)
+    public StageTimings newTimings() {
+        return enabled ? new StageTimings() : StageTimings.NONE;
+    }
+
+    // Учёт завершённого расчёта: outcome — ok | invalid
+    public void record(StageTimings timings, int rodCount, int nodeCount, String outcome) {
+        if (!enabled || timings == StageTimings.NONE) {
+            return;
+        }
+        String size = sizeBucket(rodCount);
+        for (PipelineStage stage : PipelineStage.values()) {
+            if (!timings.isRecorded(stage)) {
+                continue;
+            }
+            Timer.builder("saprcad.stage")
+                    .description("Длительность этапа полного расчёта")
+                    .tags("stage", stage.tag(), "size", size)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(timings.nanos(stage), TimeUnit.NANOSECONDS);
+            long allocated = timings.allocatedBytes(stage);
+            if (allocated >= 0) {
+                DistributionSummary.builder("saprcad.stage.allocated")
+                        .description("Память, выделенная потоком запроса на этапе")
+                        .baseUnit("bytes")
+                        .tags("stage", stage.tag(), "size", size)
+                        .register(registry)
+                        .record(allocated);
+            }
+        }
+
+        DistributionSummary.builder("saprcad.calculation.rods")
+                .description("Число стержней в расчёте")
+                .tags("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(rodCount);
+        DistributionSummary.builder("saprcad.calculation.nodes")
+                .description("Число узлов в расчёте")
+                .tags("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nodeCount);
+        Counter.builder("saprcad.calculations")
+                .description("Число полных расчётов по исходу")
+                .tags("outcome", outcome, "size", size)
+                .register(registry)
+                .increment();
+    }
+
+    // Класс размера по порядку числа стержней: le10 — до 10 стержней, ..., gt100000 — больше 10^5
+    static String sizeBucket(int rodCount) {
+        int bucket = 0;
+        for (long bound = 10; bucket < SIZE_BUCKETS.length - 1 && rodCount > bound; bound *= 10) {
+            bucket++;
+        }
+        return SIZE_BUCKETS[bucket];
+    }
+}
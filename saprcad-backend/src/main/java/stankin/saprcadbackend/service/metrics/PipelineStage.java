@@ -0,0 +1,24 @@
+package stankin.saprcadbackend.service.metrics;
+
+// Этапы полного расчёта, по которым собираются метрики и заголовок Server-Timing
+public enum PipelineStage {
+    BIND("bind"),               // чтение тела запроса и десериализация JSON
+    CACHE("cache"),             // хеш конструкции и поиск в кэше результатов
+    COALESCE("coalesce"),       // ожидание такого же расчёта, уже запущенного другим запросом
+    VALIDATE("validate"),       // ProjectValidator вместе с построением внутреннего представления
+    ASSEMBLE("assemble"),       // сборка матрицы жёсткости
+    REDUCE("reduce"),           // учёт заделок (для разреженных систем входит в assemble)
+    FACTORIZE("factorize"),     // разложение матрицы
+    SOLVE("solve"),             // прямой и обратный ход для вектора нагрузок
+    POSTPROCESS("postprocess"); // ResultService: коэффициенты эпюр
+
+    private final String tag;
+
+    PipelineStage(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
@@ -0,0 +1,102 @@
+package stankin.saprcadbackend.service.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+// Замеры этапов одного запроса: время и объём памяти, выделенной потоком на этапе.
+// Объект живёт в рамках запроса и используется одним потоком; NONE — пустая реализация для вызовов без метрик.
+public class StageTimings {
+
+    // Атрибут запроса, в который BindTimingAdvice кладёт замеры с уже учтённым этапом bind
+    public static final String ATTRIBUTE = "saprcad.stageTimings";
+
+    private static final PipelineStage[] STAGES = PipelineStage.values();
+    private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+
+    public static final StageTimings NONE = new StageTimings(false);
+
+    private final boolean enabled;
+    private final long[] startNanos = new long[STAGES.length];
+    private final long[] startBytes = new long[STAGES.length];
+    private final long[] nanos = new long[STAGES.length];
+    private final long[] bytes = new long[STAGES.length];
+    private final boolean[] recorded = new boolean[STAGES.length];
+
+    public StageTimings() {
+        this(true);
+    }
+
+    private StageTimings(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void start(PipelineStage stage) {
+        if (!enabled) {
+            return;
+        }
+        int s = stage.ordinal();
+        startBytes[s] = allocatedBytes();
+        startNanos[s] = System.nanoTime();
+    }
+
+    // Повторные замеры одного этапа в рамках запроса суммируются
+    public void stop(PipelineStage stage) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        int s = stage.ordinal();
+        nanos[s] += now - startNanos[s];
+        if (startBytes[s] >= 0) {
+            bytes[s] += allocatedBytes() - startBytes[s];
+        }
+        recorded[s] = true;
+    }
+
+    public boolean isRecorded(PipelineStage stage) {
+        return recorded[stage.ordinal()];
+    }
+
+    public long nanos(PipelineStage stage) {
+        return nanos[stage.ordinal()];
+    }
+
+    // -1, если JVM не считает память по потокам
+    public long allocatedBytes(PipelineStage stage) {
+        return THREADS == null ? -1 : bytes[stage.ordinal()];
+    }
+
+    // Значение заголовка Server-Timing: "bind;dur=0.412, validate;dur=0.051, ..., total;dur=1.930" (мс)
+    public String toServerTiming() {
+        StringBuilder header = new StringBuilder();
+        long total = 0;
+        for (PipelineStage stage : STAGES) {
+            if (recorded[stage.ordinal()]) {
+                long stageNanos = nanos[stage.ordinal()];
+                total += stageNanos;
+                appendMetric(header, stage.tag(), stageNanos);
+            }
+        }
+        appendMetric(header, "total", total);
+        return header.toString();
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long stageNanos) {
+        if (header.length() > 0) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.3f", stageNanos / 1e6));
+    }
+
+    private static long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads;
+        }
+        return null;
+    }
+}
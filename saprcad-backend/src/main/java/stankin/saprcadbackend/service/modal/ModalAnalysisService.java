@@ -0,0 +1,164 @@
+package stankin.saprcadbackend.service.modal;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import stankin.saprcadbackend.dto.modal.MassMatrixType;
+import stankin.saprcadbackend.dto.modal.ModalInput;
+import stankin.saprcadbackend.dto.modal.ModalResult;
+import stankin.saprcadbackend.dto.modal.NaturalMode;
+import stankin.saprcadbackend.model.StructureModel;
+import stankin.saprcadbackend.service.preprocessor.ParsedStructure;
+import stankin.saprcadbackend.service.preprocessor.ProjectService;
+import stankin.saprcadbackend.service.processor.CalculateDisplacementsService;
+import stankin.saprcadbackend.service.processor.SparseMassAssembler;
+import stankin.saprcadbackend.service.processor.SparseStiffnessAssembler;
+import stankin.saprcadbackend.service.processor.SparseStiffnessSystem;
+import stankin.saprcadbackend.service.processor.StructureTopology;
+import stankin.saprcadbackend.service.processor.solver.CsrMatrix;
+import stankin.saprcadbackend.service.processor.solver.LinearSystemSolver;
+import stankin.saprcadbackend.service.processor.solver.ShiftInvertLanczos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Модальный анализ: собственные частоты и формы продольных колебаний K·φ = ω²·M·φ.
+ * <p>
+ * K собирается и раскладывается так же, как для статики (CSR без заделок, RCM, разреженное LDLᵀ),
+ * M — в той же нумерации (SparseMassAssembler). Низшие формы ищет ShiftInvertLanczos: на каждую итерацию —
+ * одно решение по готовому разложению K, поэтому время растёт почти линейно с размером модели.
+ */
+@Service
+public class ModalAnalysisService {
+
+    public static final int DEFAULT_MODES = 10;
+    // Начальный вектор метода Ланцоша: фиксированный seed — одинаковый ответ на одинаковый запрос
+    private static final long SEED = 0L;
+
+    @Value("${saprcad.modal.max-modes:200}")
+    private int maxModes = 200;
+
+    // Размер базиса Ланцоша; 0 — max(2·modes + 10, 20)
+    @Value("${saprcad.modal.basis-size:0}")
+    private int basisSize = 0;
+
+    @Value("${saprcad.modal.tolerance:1.0e-10}")
+    private double tolerance = 1e-10;
+
+    @Value("${saprcad.modal.max-restarts:100}")
+    private int maxRestarts = 100;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private CalculateDisplacementsService calculateDisplacementsService;
+
+    public ModalOutcome analyze(ModalInput input) {
+        if (input == null || input.getStructure() == null) {
+            return ModalOutcome.failure(List.of("Не задана конструкция."));
+        }
+        int modes = input.getModes() != null ? input.getModes() : DEFAULT_MODES;
+        if (modes < 1 || modes > maxModes) {
+            return ModalOutcome.failure(List.of("modes должно быть от 1 до " + maxModes + "."));
+        }
+
+        ParsedStructure validated = projectService.validateAndBuild(input.getStructure());
+        if (!validated.isSuccess()) {
+            return ModalOutcome.failure(validated.getErrors());
+        }
+        StructureModel model = validated.getModel();
+        List<String> errors = validateDensities(model);
+        if (!errors.isEmpty()) {
+            return ModalOutcome.failure(errors);
+        }
+
+        MassMatrixType type = input.getMassMatrix() != null ? input.getMassMatrix() : MassMatrixType.CONSISTENT;
+        boolean shapes = input.getShapes() == null || input.getShapes();
+        try {
+            return run(model, modes, type, shapes);
+        } catch (IllegalArgumentException e) {
+            return ModalOutcome.failure(List.of(e.getMessage()));
+        }
+    }
+
+    private ModalOutcome run(StructureModel model, int modes, MassMatrixType type, boolean shapes) {
+        StructureTopology topology = StructureTopology.of(model);
+        SparseStiffnessSystem system = SparseStiffnessAssembler.assemble(model, topology);
+        int size = system.matrix().size();
+        if (size == 0) {
+            return ModalOutcome.failure(List.of("Все узлы закреплены — собственных колебаний нет."));
+        }
+        if (modes > size) {
+            return ModalOutcome.failure(List.of("Свободных узлов " + size + " — форм не может быть больше."));
+        }
+
+        LinearSystemSolver stiffness = calculateDisplacementsService.factorizeDirect(system.matrix());
+        CsrMatrix mass = SparseMassAssembler.assemble(model, topology, system, type);
+        ShiftInvertLanczos.Result eigen = ShiftInvertLanczos.lowestModes(stiffness, mass, modes, basisSize,
+                tolerance, maxRestarts, SEED);
+
+        // Γ = φᵀ·M·1: перемещение всех свободных узлов на единицу
+        double[] ones = new double[size];
+        Arrays.fill(ones, 1.0);
+        double[] massOnes = new double[size];
+        mass.multiply(ones, massOnes);
+        double movingMass = 0.0;
+        for (double value : massOnes) {
+            movingMass += value;
+        }
+
+        List<NaturalMode> result = new ArrayList<>(modes);
+        for (int k = 0; k < modes; k++) {
+            double eigenvalue = eigen.getEigenvalues()[k];
+            double[] vector = eigen.getVectors()[k];
+            double participation = 0.0;
+            for (int r = 0; r < size; r++) {
+                participation += vector[r] * massOnes[r];
+            }
+
+            NaturalMode mode = new NaturalMode();
+            mode.setNumber(k + 1);
+            mode.setEigenvalue(eigenvalue);
+            mode.setAngularFrequency(Math.sqrt(eigenvalue));
+            mode.setFrequency(mode.getAngularFrequency() / (2.0 * Math.PI));
+            mode.setPeriod(1.0 / mode.getFrequency());
+            mode.setParticipationFactor(participation);
+            mode.setEffectiveMassRatio(participation * participation / movingMass);
+            if (shapes) {
+                mode.setShape(system.expand(vector));
+            }
+            result.add(mode);
+        }
+
+        double totalMass = 0.0;
+        for (int i = 0; i < model.rodCount(); i++) {
+            totalMass += model.density(i) * model.area(i) * model.length(i);
+        }
+        ModalResult modal = new ModalResult();
+        modal.setMassMatrix(type);
+        modal.setTotalMass(totalMass);
+        modal.setMovingMass(movingMass);
+        modal.setOperatorApplications(eigen.getOperatorApplications());
+        modal.setRestarts(eigen.getRestarts());
+        modal.setModes(result);
+        return ModalOutcome.success(modal);
+    }
+
+    // Плотность нужна только модальному анализу, поэтому проверяется здесь, а не в ProjectValidator
+    private static List<String> validateDensities(StructureModel model) {
+        if (!model.hasDensities()) {
+            return List.of("Не задана плотность стержней (density, кг/м³) — она нужна для матрицы масс.");
+        }
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < model.rodCount(); i++) {
+            double density = model.density(i);
+            if (!(density > 0 && Double.isFinite(density))) {
+                errors.add("Стержень ID=" + model.rodId(i) + ": плотность должна быть > 0.");
+            }
+        }
+        return errors;
+    }
+}
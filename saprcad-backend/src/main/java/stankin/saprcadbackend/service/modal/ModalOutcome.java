@@ -0,0 +1,36 @@
+package stankin.saprcadbackend.service.modal;
+
+import stankin.saprcadbackend.dto.modal.ModalResult;
+
+import java.util.List;
+
+// Итог модального анализа: либо результат, либо список ошибок входных данных
+public class ModalOutcome {
+    private final ModalResult result;
+    private final List<String> errors;
+
+    private ModalOutcome(ModalResult result, List<String> errors) {
+        this.result = result;
+        this.errors = errors;
+    }
+
+    public static ModalOutcome success(ModalResult result) {
+        return new ModalOutcome(result, List.of());
+    }
+
+    public static ModalOutcome failure(List<String> errors) {
+        return new ModalOutcome(null, errors);
+    }
+
+    public boolean isSuccess() {
+        return result != null;
+    }
+
+    public ModalResult getResult() {
+        return result;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,136 @@
+package stankin.saprcadbackend.service.pipeline;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import stankin.saprcadbackend.dto.cache.CoalescingStats;
+import stankin.saprcadbackend.service.cache.StructureKey;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Объединение одновременных одинаковых расчётов (single-flight): пока по ключу идёт расчёт, совпадающие
+// запросы не запускают свой, а ждут его итог — тот же PipelineResult, в том числе со списком ошибок.
+// Кэш результатов этого не закрывает: все запросы «толпы» промахиваются по нему до конца первого расчёта.
+// Ожидание ограничено timeout от начала расчёта по ключу. Если итог не дождались (или первый запрос отменён),
+// расчёт по ключу начинается заново: его ведёт один из ждавших, остальные ждут уже его итог.
+@Component
+public class CalculationCoalescer {
+
+    private final boolean enabled;
+    private final long timeoutNanos;
+
+    private final ConcurrentHashMap<StructureKey, Flight> flights = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public CalculationCoalescer(@Value("${saprcad.coalescing.enabled:true}") boolean enabled,
+                                @Value("${saprcad.coalescing.timeout:30s}") Duration timeout) {
+        this.enabled = enabled;
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Итог calculation для key: свой расчёт или итог уже идущего расчёта с тем же ключом
+    public PipelineResult execute(StructureKey key, Supplier<PipelineResult> calculation) {
+        if (!enabled) {
+            return calculation.get();
+        }
+        Flight flight = new Flight(System.nanoTime());
+        Flight running = flights.putIfAbsent(key, flight);
+        while (running != null) {
+            PipelineResult shared = await(running);
+            if (shared != null) {
+                return shared;
+            }
+            // Зависший или отменённый расчёт заменяет тот, чья замена прошла первой; если его уже заменили
+            // или убрали, запрос ждёт новый расчёт либо ведёт его сам
+            flight = new Flight(System.nanoTime());
+            if (flights.replace(key, running, flight)) {
+                break;
+            }
+            running = flights.putIfAbsent(key, flight);
+        }
+        return lead(key, flight, calculation);
+    }
+
+    public CoalescingStats stats() {
+        CoalescingStats stats = new CoalescingStats();
+        stats.setEnabled(enabled);
+        stats.setLeaders(leaders.sum());
+        stats.setCoalesced(coalesced.sum());
+        stats.setTimeouts(timeouts.sum());
+        stats.setInFlight(flights.size());
+        stats.setWaiting(waiting.get());
+        stats.setTimeoutMillis(TimeUnit.NANOSECONDS.toMillis(timeoutNanos));
+        return stats;
+    }
+
+    private PipelineResult lead(StructureKey key, Flight flight, Supplier<PipelineResult> calculation) {
+        leaders.increment();
+        try {
+            PipelineResult outcome = calculation.get();
+            flight.outcome.complete(outcome);
+            return outcome;
+        } catch (RuntimeException | Error e) {
+            flight.outcome.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    // Итог чужого расчёта; null — расчёт надо начать заново (истёк timeout или первый запрос отменён)
+    private PipelineResult await(Flight flight) {
+        long remaining = flight.startedAt + timeoutNanos - System.nanoTime();
+        if (remaining <= 0) {
+            timeouts.increment();
+            return null;
+        }
+        waiting.incrementAndGet();
+        try {
+            PipelineResult outcome = flight.outcome.get(remaining, TimeUnit.NANOSECONDS);
+            coalesced.increment();
+            return outcome;
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Расчёт отменён.");
+        } catch (CancellationException e) {
+            // Отмена первого запроса (фоновое задание) к остальным не относится; get бросает её без обёртки
+            return null;
+        } catch (ExecutionException e) {
+            coalesced.increment();
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw (Error) e.getCause();
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    private static class Flight {
+        private final long startedAt;
+        private final CompletableFuture<PipelineResult> outcome = new CompletableFuture<>();
+
+        Flight(long startedAt) {
+            this.startedAt = startedAt;
+        }
+    }
+}
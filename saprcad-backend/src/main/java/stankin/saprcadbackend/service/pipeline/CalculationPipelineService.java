@@ -0,0 +1,159 @@
+package stankin.saprcadbackend.service.pipeline;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import stankin.saprcadbackend.dto.result.FullResult;
+import stankin.saprcadbackend.dto.structure.StructureInput;
+import stankin.saprcadbackend.model.StructureModel;
+import stankin.saprcadbackend.service.cache.ResultCache;
+import stankin.saprcadbackend.service.cache.StructureHasher;
+import stankin.saprcadbackend.service.cache.StructureKey;
+import stankin.saprcadbackend.service.metrics.PipelineStage;
+import stankin.saprcadbackend.service.metrics.StageTimings;
+import stankin.saprcadbackend.service.postprocessor.ResultService;
+import stankin.saprcadbackend.service.preprocessor.ParsedStructure;
+import stankin.saprcadbackend.service.preprocessor.ProjectService;
+import stankin.saprcadbackend.service.processor.CalculateDisplacementsService;
+import stankin.saprcadbackend.service.processor.FactorizedStructure;
+
+import java.util.function.Supplier;
+
+
+// Полный конвейер расчёта: препроцессор (валидация) → процессор (∆) → постпроцессор (Nx, σx, ux)
+@Service
+public class CalculationPipelineService {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private CalculateDisplacementsService calculateDisplacementsService;
+
+    @Autowired
+    private ResultService resultService;
+
+    @Autowired
+    private ResultCache resultCache;
+
+    @Autowired
+    private CalculationCoalescer coalescer;
+
+    public PipelineResult calculate(StructureInput input) {
+        return calculate(input, StageTimings.NONE);
+    }
+
+    // Расчёт с замером этапов (для метрик и заголовка Server-Timing)
+    public PipelineResult calculate(StructureInput input, StageTimings timings) {
+        if (input == null || input.getRods() == null || input.getNodes() == null
+                || !resultCache.isEnabled() && !coalescer.isEnabled()) {
+            return calculateUncached(input, timings);
+        }
+
+        // Попадание в кэш: валидатор, решатель и постпроцессор не вызываются
+        timings.start(PipelineStage.CACHE);
+        StructureKey key = StructureHasher.hash(input);
+        FullResult cached = resultCache.isEnabled() ? resultCache.get(key) : null;
+        timings.stop(PipelineStage.CACHE);
+        if (cached != null) {
+            return PipelineResult.success(cached);
+        }
+
+        // Одинаковые проекты, пришедшие одновременно, считаются один раз
+        return coalesce(key, timings, () -> {
+            FullResult stored = recheck(key, timings);
+            if (stored != null) {
+                return PipelineResult.success(stored);
+            }
+            PipelineResult outcome = calculateUncached(input, timings);
+            if (outcome.isSuccess()) {
+                resultCache.put(key, outcome.getResult());
+            }
+            return outcome;
+        });
+    }
+
+    // Расчёт через CalculationCoalescer. Этап coalesce — от входа до начала своего расчёта (в том числе
+    // ожидание чужого, если его не дождались) или до получения чужого итога
+    private PipelineResult coalesce(StructureKey key, StageTimings timings, Supplier<PipelineResult> calculation) {
+        boolean[] own = new boolean[1];
+        timings.start(PipelineStage.COALESCE);
+        PipelineResult outcome = coalescer.execute(key, () -> {
+            own[0] = true;
+            timings.stop(PipelineStage.COALESCE);
+            return calculation.get();
+        });
+        if (!own[0]) {
+            timings.stop(PipelineStage.COALESCE);
+        }
+        return outcome;
+    }
+
+    // Повторная проверка кэша ведущим запросом: предыдущий расчёт по ключу мог закончиться между промахом
+    // и входом в CalculationCoalescer
+    private FullResult recheck(StructureKey key, StageTimings timings) {
+        if (!resultCache.isEnabled()) {
+            return null;
+        }
+        timings.start(PipelineStage.CACHE);
+        FullResult cached = resultCache.get(key);
+        timings.stop(PipelineStage.CACHE);
+        return cached;
+    }
+
+    private PipelineResult calculateUncached(StructureInput input, StageTimings timings) {
+        // Модель, построенная при проверке, идёт в расчёт без повторного обхода объектов Rod/Node
+        timings.start(PipelineStage.VALIDATE);
+        ParsedStructure validated = projectService.validateAndBuild(input);
+        timings.stop(PipelineStage.VALIDATE);
+        if (!validated.isSuccess()) {
+            return PipelineResult.failure(validated.getErrors());
+        }
+
+        return PipelineResult.success(calculate(validated.getModel(), timings));
+    }
+
+    // Полный расчёт проверенного проекта во внутреннем представлении (без объектов Rod/Node на входе)
+    public FullResult calculate(StructureModel model) {
+        return calculate(model, StageTimings.NONE);
+    }
+
+    // Расчёт проверенной модели через кэш результатов (ключ совпадает с ключом того же проекта в JSON)
+    public FullResult calculateCached(StructureModel model, StageTimings timings) {
+        if (!resultCache.isEnabled() && !coalescer.isEnabled()) {
+            return calculate(model, timings);
+        }
+
+        timings.start(PipelineStage.CACHE);
+        StructureKey key = StructureHasher.hash(model);
+        FullResult cached = resultCache.isEnabled() ? resultCache.get(key) : null;
+        timings.stop(PipelineStage.CACHE);
+        if (cached != null) {
+            return cached;
+        }
+
+        PipelineResult outcome = coalesce(key, timings, () -> {
+            FullResult stored = recheck(key, timings);
+            if (stored != null) {
+                return PipelineResult.success(stored);
+            }
+            FullResult result = calculate(model, timings);
+            resultCache.put(key, result);
+            return PipelineResult.success(result);
+        });
+        // Ошибки проверки — только если ключ совпал с некорректным JSON-проектом: модель уже проверена
+        return outcome.isSuccess() ? outcome.getResult() : calculate(model, timings);
+    }
+
+    public FullResult calculate(StructureModel model, StageTimings timings) {
+        FactorizedStructure structure = calculateDisplacementsService.prepare(model, timings);
+
+        timings.start(PipelineStage.SOLVE);
+        double[] delta = structure.solve(FactorizedStructure.loadVector(model, structure.getTopology()));
+        timings.stop(PipelineStage.SOLVE);
+
+        timings.start(PipelineStage.POSTPROCESS);
+        FullResult result = resultService.calculateNds(model, structure.getTopology(), delta);
+        timings.stop(PipelineStage.POSTPROCESS);
+        return result;
+    }
+}
@@ -0,0 +1,125 @@
+package stankin.saprcadbackend.service.pipeline;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import stankin.saprcadbackend.dto.result.FullResultSerializer;
+import stankin.saprcadbackend.model.RodResultTable;
+import stankin.saprcadbackend.model.StructureModel;
+import stankin.saprcadbackend.service.postprocessor.ResultService;
+import stankin.saprcadbackend.service.processor.CalculateDisplacementsService;
+import stankin.saprcadbackend.service.processor.FactorizedStructure;
+import stankin.saprcadbackend.service.processor.StructureTopology;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+// Потоковый вывод полного расчёта в формате NDJSON (по JSON-объекту на строку):
+//   {"type":"header", nodeCount, rodCount}
+//   {"type":"node", id, fixed, externalForce, displacement}           — по строке на узел
+//   {"type":"rod", rodId, startNodeId, endNodeId, ..., коэффициенты}  — по строке на стержень
+//   {"type":"end"}  или  {"type":"error", message}
+// Стержни ссылаются на узлы по ID, а не содержат их копии. Результат целиком в памяти не собирается:
+// каждая строка стержня пишется сразу после его расчёта в постпроцессоре.
+@Component
+public class NdjsonResultWriter {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CalculateDisplacementsService calculateDisplacementsService;
+
+    @Autowired
+    private ResultService resultService;
+
+    // Расчёт проверенного проекта с записью результатов в поток
+    public void write(StructureModel model, OutputStream out) throws IOException {
+        try (JsonGenerator gen = createGenerator(out)) {
+            gen.writeStartObject();
+            gen.writeStringField("type", "header");
+            gen.writeNumberField("nodeCount", model.nodeCount());
+            gen.writeNumberField("rodCount", model.rodCount());
+            gen.writeEndObject();
+            gen.writeRaw('\n');
+            gen.flush(); // первая строка уходит клиенту до начала расчёта
+
+            double[] displacements;
+            StructureTopology topology;
+            try {
+                FactorizedStructure structure = calculateDisplacementsService.prepare(model);
+                topology = structure.getTopology();
+                displacements = structure.solve(FactorizedStructure.loadVector(model, topology));
+            } catch (RuntimeException e) {
+                // Статус 200 уже отправлен — ошибка расчёта передаётся последней строкой
+                writeError(gen, "Ошибка расчёта: " + e.getMessage());
+                return;
+            }
+
+            for (int j = 0; j < model.nodeCount(); j++) {
+                gen.writeStartObject();
+                gen.writeStringField("type", "node");
+                gen.writeNumberField("id", model.nodeId(j));
+                gen.writeBooleanField("fixed", model.isFixed(j));
+                gen.writeNumberField("externalForce", model.externalForce(j));
+                gen.writeNumberField("displacement", displacements[j]);
+                gen.writeEndObject();
+                gen.writeRaw('\n');
+            }
+
+            resultService.forEachRod(model, topology, displacements, (i, start, end, c) -> {
+                gen.writeStartObject();
+                gen.writeStringField("type", "rod");
+                gen.writeNumberField("rodId", model.rodId(i));
+                gen.writeNumberField("startNodeId", model.nodeId(start));
+                gen.writeNumberField("endNodeId", model.nodeId(end));
+                gen.writeNumberField("length", model.length(i));
+                gen.writeNumberField("area", model.area(i));
+                gen.writeNumberField("elasticModulus", model.elasticModulus(i));
+                gen.writeNumberField("allowableStress", model.allowableStress(i));
+                gen.writeNumberField("distributedLoad", model.distributedLoad(i));
+                gen.writeFieldName("axialForceCoeffs");
+                FullResultSerializer.writeCoeffs(gen, c[RodResultTable.A0], c[RodResultTable.A1]);
+                gen.writeFieldName("displacementCoeffs");
+                FullResultSerializer.writeCoeffs(gen, c[RodResultTable.B0], c[RodResultTable.B1], c[RodResultTable.B2]);
+                gen.writeFieldName("stressCoeffs");
+                FullResultSerializer.writeCoeffs(gen, c[RodResultTable.C0], c[RodResultTable.C1]);
+                gen.writeNumberField("maxStressOnTheRod", c[RodResultTable.MAX_STRESS]);
+                gen.writeEndObject();
+                gen.writeRaw('\n');
+            });
+
+            gen.writeStartObject();
+            gen.writeStringField("type", "end");
+            gen.writeEndObject();
+            gen.writeRaw('\n');
+        }
+    }
+
+    // Ошибки валидации — по строке на ошибку
+    public void writeErrors(List<String> errors, OutputStream out) throws IOException {
+        try (JsonGenerator gen = createGenerator(out)) {
+            for (String error : errors) {
+                writeError(gen, error);
+            }
+        }
+    }
+
+    // Строки разделяются переводом строки (writeRaw), а не разделителем корневых значений Jackson
+    private JsonGenerator createGenerator(OutputStream out) throws IOException {
+        JsonGenerator gen = objectMapper.getFactory().createGenerator(out);
+        gen.setRootValueSeparator(null);
+        gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET); // поток ответа закрывает контейнер
+        return gen;
+    }
+
+    private static void writeError(JsonGenerator gen, String message) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("type", "error");
+        gen.writeStringField("message", message);
+        gen.writeEndObject();
+        gen.writeRaw('\n');
+    }
+}
@@ -0,0 +1,36 @@
+package stankin.saprcadbackend.service.pipeline;
+
+import stankin.saprcadbackend.dto.result.FullResult;
+
+import java.util.List;
+
+// Итог полного расчёта: либо результат, либо список ошибок валидации/расчёта
+public class PipelineResult {
+    private final FullResult result;
+    private final List<String> errors;
+
+    private PipelineResult(FullResult result, List<String> errors) {
+        this.result = result;
+        this.errors = errors;
+    }
+
+    public static PipelineResult success(FullResult result) {
+        return new PipelineResult(result, List.of());
+    }
+
+    public static PipelineResult failure(List<String> errors) {
+        return new PipelineResult(null, errors);
+    }
+
+    public boolean isSuccess() {
+        return result != null;
+    }
+
+    public FullResult getResult() {
+        return result;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
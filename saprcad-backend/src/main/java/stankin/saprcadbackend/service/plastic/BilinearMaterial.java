@@ -0,0 +1,88 @@
+package stankin.saprcadbackend.service.plastic;
+
+// Билинейный упругопластический материал стержней с изотропным упрочнением — столбцами по стержням.
+// Принятое состояние (конец последнего сошедшегося шага) хранится отдельно от пробного: пробное
+// всегда считается от принятого (неявная схема Эйлера), поэтому итерации и отбрасывание шага его не портят.
+final class BilinearMaterial {
+
+    private final double[] modulus;        // E
+    private final double[] yieldStress;    // σт
+    private final double[] plasticModulus; // H = E·Eт / (E − Eт)
+
+    private final double[] plasticStrain;  // принятые εп
+    private final double[] accumulated;    // принятая накопленная пластическая деформация
+    private final double[] trialPlastic;
+    private final double[] trialAccumulated;
+    private final double[] stress;
+    private final double[] tangent;        // E в упругой стадии, Eт в пластической
+
+    BilinearMaterial(double[] modulus, double[] yieldStress, double[] hardeningModulus) {
+        int rodCount = modulus.length;
+        this.modulus = modulus;
+        this.yieldStress = yieldStress;
+        this.plasticModulus = new double[rodCount];
+        for (int i = 0; i < rodCount; i++) {
+            plasticModulus[i] = modulus[i] * hardeningModulus[i] / (modulus[i] - hardeningModulus[i]);
+        }
+        this.plasticStrain = new double[rodCount];
+        this.accumulated = new double[rodCount];
+        this.trialPlastic = new double[rodCount];
+        this.trialAccumulated = new double[rodCount];
+        this.stress = new double[rodCount];
+        this.tangent = modulus.clone();
+    }
+
+    // Возврат на поверхность текучести для деформаций strain от принятого состояния → stress, tangent
+    void update(double[] strain) {
+        for (int i = 0; i < strain.length; i++) {
+            double trial = modulus[i] * (strain[i] - plasticStrain[i]);
+            double excess = Math.abs(trial) - (yieldStress[i] + plasticModulus[i] * accumulated[i]);
+            if (excess <= 0) {
+                stress[i] = trial;
+                tangent[i] = modulus[i];
+                trialPlastic[i] = plasticStrain[i];
+                trialAccumulated[i] = accumulated[i];
+            } else {
+                double increment = excess / (modulus[i] + plasticModulus[i]);
+                double sign = Math.signum(trial);
+                stress[i] = trial - sign * modulus[i] * increment;
+                tangent[i] = modulus[i] * plasticModulus[i] / (modulus[i] + plasticModulus[i]);
+                trialPlastic[i] = plasticStrain[i] + sign * increment;
+                trialAccumulated[i] = accumulated[i] + increment;
+            }
+        }
+    }
+
+    // Пробное состояние последнего update становится принятым
+    void commit() {
+        System.arraycopy(trialPlastic, 0, plasticStrain, 0, plasticStrain.length);
+        System.arraycopy(trialAccumulated, 0, accumulated, 0, accumulated.length);
+    }
+
+    double stress(int i) {
+        return stress[i];
+    }
+
+    double tangent(int i) {
+        return tangent[i];
+    }
+
+    double plasticStrain(int i) {
+        return plasticStrain[i];
+    }
+
+    boolean yielded(int i) {
+        return accumulated[i] > 0;
+    }
+
+    // Стержни, пластические в пробном состоянии
+    int plasticCount() {
+        int count = 0;
+        for (int i = 0; i < tangent.length; i++) {
+            if (tangent[i] != modulus[i]) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
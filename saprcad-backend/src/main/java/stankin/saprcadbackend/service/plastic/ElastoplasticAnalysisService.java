@@ -0,0 +1,400 @@
+package stankin.saprcadbackend.service.plastic;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import stankin.saprcadbackend.dto.plastic.LoadStep;
+import stankin.saprcadbackend.dto.plastic.NewtonIteration;
+import stankin.saprcadbackend.dto.plastic.PlasticInput;
+import stankin.saprcadbackend.dto.plastic.PlasticMaterial;
+import stankin.saprcadbackend.dto.plastic.PlasticResult;
+import stankin.saprcadbackend.dto.plastic.RodPlasticState;
+import stankin.saprcadbackend.model.StructureModel;
+import stankin.saprcadbackend.service.preprocessor.ParsedStructure;
+import stankin.saprcadbackend.service.preprocessor.ProjectService;
+import stankin.saprcadbackend.service.processor.CalculateDisplacementsService;
+import stankin.saprcadbackend.service.processor.FactorizedStructure;
+import stankin.saprcadbackend.service.processor.RefactorableStructure;
+import stankin.saprcadbackend.service.processor.StructureTopology;
+import stankin.saprcadbackend.service.processor.solver.Cancellation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Упругопластический расчёт: билинейный материал стержней, пропорциональное нагружение шагами.
+ * <p>
+ * На шаге равновесие R(∆) = λ·F − Fвн(∆) = 0 ищется модифицированным методом Ньютона: поправка считается
+ * по уже разложенной касательной матрице, а заново она раскладывается только когда сходимость застопорилась
+ * (невязка за итерацию уменьшилась меньше, чем в refactor-ratio раз). В упругой стадии хватает одного
+ * разложения на весь расчёт. Шаблон CSR, RCM и символьное разложение строятся один раз (RefactorableStructure).
+ * Длина поправки уточняется линейным поиском; если шаг не сошёлся, он повторяется с вдвое меньшим приращением λ.
+ * <p>
+ * Напряжение в стержне постоянно по длине и определяется удлинением (∆кон − ∆нач) / L; погонная нагрузка,
+ * как и в линейном расчёте, переносится в узлы.
+ */
+@Service
+public class ElastoplasticAnalysisService {
+
+    public static final int DEFAULT_STEPS = 10;
+    public static final double DEFAULT_TOLERANCE = 1e-8;
+    public static final int DEFAULT_MAX_ITERATIONS = 50;
+
+    // Линейный поиск: корень s(α) = ∆uᵀ·R(∆ + α·∆u) секущими на [MIN_STEP, MAX_STEP]
+    private static final double LINE_SEARCH_TOLERANCE = 0.5;
+    private static final int LINE_SEARCH_ITERATIONS = 5;
+    private static final double MIN_STEP = 0.1;
+    private static final double MAX_STEP = 4.0;
+
+    @Value("${saprcad.plastic.max-steps:10000}")
+    private int maxSteps = 10000;
+
+    @Value("${saprcad.plastic.max-iterations:1000}")
+    private int iterationLimit = 1000;
+
+    // Разложить касательную матрицу заново, если ||R|| за итерацию упала меньше чем в 1 / refactor-ratio раз
+    @Value("${saprcad.plastic.refactor-ratio:0.5}")
+    private double refactorRatio = 0.5;
+
+    // Сколько раз за расчёт шаг можно делить пополам, прежде чем остановиться
+    @Value("${saprcad.plastic.max-cutbacks:10}")
+    private int maxCutbacks = 10;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private CalculateDisplacementsService calculateDisplacementsService;
+
+    public PlasticOutcome analyze(PlasticInput input) {
+        if (input == null || input.getStructure() == null) {
+            return PlasticOutcome.failure(List.of("Не задана конструкция."));
+        }
+
+        List<String> errors = new ArrayList<>();
+        int steps = input.getSteps() != null ? input.getSteps() : DEFAULT_STEPS;
+        if (steps < 1 || steps > maxSteps) {
+            errors.add("steps должно быть от 1 до " + maxSteps + ".");
+        }
+        int maxIterations = input.getMaxIterations() != null ? input.getMaxIterations() : DEFAULT_MAX_ITERATIONS;
+        if (maxIterations < 1 || maxIterations > iterationLimit) {
+            errors.add("maxIterations должно быть от 1 до " + iterationLimit + ".");
+        }
+        double tolerance = input.getTolerance() != null ? input.getTolerance() : DEFAULT_TOLERANCE;
+        if (!(tolerance > 0 && tolerance < 1)) {
+            errors.add("tolerance должна быть в интервале (0, 1).");
+        }
+        double loadFactor = input.getLoadFactor() != null ? input.getLoadFactor() : 1.0;
+        if (!(loadFactor > 0 && Double.isFinite(loadFactor))) {
+            errors.add("loadFactor должен быть > 0.");
+        }
+        if (!errors.isEmpty()) {
+            return PlasticOutcome.failure(errors);
+        }
+
+        ParsedStructure validated = projectService.validateAndBuild(input.getStructure());
+        if (!validated.isSuccess()) {
+            return PlasticOutcome.failure(validated.getErrors());
+        }
+        StructureModel model = validated.getModel();
+        double[] yieldStress = new double[model.rodCount()];
+        double[] hardeningModulus = new double[model.rodCount()];
+        material(model, input.getMaterial(), input.getRodMaterials(), yieldStress, hardeningModulus, errors);
+        if (!errors.isEmpty()) {
+            return PlasticOutcome.failure(errors);
+        }
+
+        try {
+            RefactorableStructure structure = calculateDisplacementsService.prepareRefactorable(model);
+            return PlasticOutcome.success(analyze(model, structure, yieldStress, hardeningModulus, steps, loadFactor,
+                    tolerance, maxIterations));
+        } catch (IllegalArgumentException e) {
+            return PlasticOutcome.failure(List.of(e.getMessage()));
+        }
+    }
+
+    /**
+     * Расчёт по проверенной модели. yieldStress и hardeningModulus (σт, Eт) — по стержням в порядке модели,
+     * structure — подготовленная для неё RefactorableStructure.
+     */
+    public PlasticResult analyze(StructureModel model, RefactorableStructure structure, double[] yieldStress,
+                                 double[] hardeningModulus, int steps, double loadFactor, double tolerance,
+                                 int maxIterations) {
+        double[] modulus = new double[model.rodCount()];
+        for (int i = 0; i < modulus.length; i++) {
+            modulus[i] = model.elasticModulus(i);
+        }
+        BilinearMaterial material = new BilinearMaterial(modulus, yieldStress, hardeningModulus);
+        Equilibrium equilibrium = new Equilibrium(model, structure.getTopology(), material);
+        double[] elastic = new double[model.rodCount()];
+        for (int i = 0; i < elastic.length; i++) {
+            elastic[i] = model.stiffness(i);
+        }
+        FactorizedStructure factorized = structure.factorize(elastic);
+        int factorizations = 1;
+
+        double[] displacements = new double[model.nodeCount()];
+        double[] residual = new double[model.nodeCount()];
+        List<LoadStep> history = new ArrayList<>();
+        double lambda = 0.0;
+        double increment = loadFactor / steps;
+        int cutbacks = 0;
+        int iterations = 0;
+        String message = null;
+
+        while (lambda < loadFactor && equilibrium.loadNorm() > 0) {
+            double target = loadFactor - (lambda + increment) <= 1e-12 * loadFactor ? loadFactor : lambda + increment;
+            double reference = target * equilibrium.loadNorm();
+            double[] trial = displacements.clone();
+            double norm = equilibrium.residual(trial, target, residual) / reference;
+
+            List<NewtonIteration> newton = new ArrayList<>();
+            int stepFactorizations = 0;
+            boolean converged = norm <= tolerance;
+            while (!converged && newton.size() < maxIterations && Double.isFinite(norm)) {
+                Cancellation.checkpoint();
+                double[] correction = factorized.solve(residual);
+                double alpha = lineSearch(equilibrium, trial, correction, target, residual);
+                double next = equilibrium.norm(residual) / reference;
+                converged = next <= tolerance;
+
+                boolean refactorized = false;
+                if (!converged && next > refactorRatio * norm) {
+                    try {
+                        factorized = structure.factorize(equilibrium.tangentStiffness());
+                        factorizations++;
+                        stepFactorizations++;
+                        refactorized = true;
+                    } catch (IllegalArgumentException e) {
+                        // Касательная матрица вырождена (механизм из стержней без упрочнения) — прежнее разложение
+                    }
+                }
+                NewtonIteration record = new NewtonIteration();
+                record.setIteration(newton.size() + 1);
+                record.setResidual(next);
+                record.setLineSearch(alpha);
+                record.setRefactorized(refactorized);
+                newton.add(record);
+                norm = next;
+            }
+            iterations += newton.size();
+
+            LoadStep step = new LoadStep();
+            step.setStep(history.size() + 1);
+            step.setLoadFactor(target);
+            step.setConverged(converged);
+            step.setIterations(newton.size());
+            step.setFactorizations(stepFactorizations);
+            step.setYieldedRods(material.plasticCount());
+            step.setHistory(newton);
+            history.add(step);
+
+            if (converged) {
+                material.commit();
+                displacements = trial;
+                lambda = target;
+                continue;
+            }
+
+            // Шаг не сошёлся: повтор с вдвое меньшим приращением от последнего равновесного состояния.
+            // Меньшее приращение сохраняется до конца: у предельной нагрузки крупный шаг снова бы не сошёлся
+            if (++cutbacks > maxCutbacks) {
+                message = "Равновесие не найдено при λ = " + target + " после " + maxCutbacks
+                        + " делений шага: вероятно, достигнута предельная нагрузка (пластический механизм).";
+                break;
+            }
+            increment /= 2;
+            equilibrium.residual(displacements, lambda, residual);
+            try {
+                factorized = structure.factorize(equilibrium.tangentStiffness());
+            } catch (IllegalArgumentException e) {
+                factorized = structure.factorize(elastic);
+            }
+            factorizations++;
+        }
+        if (equilibrium.loadNorm() == 0) {
+            lambda = loadFactor;
+        }
+
+        // Состояние стержней в последнем равновесии
+        double[] strains = equilibrium.strains(displacements);
+        material.update(strains);
+        List<RodPlasticState> rods = new ArrayList<>(model.rodCount());
+        for (int i = 0; i < model.rodCount(); i++) {
+            RodPlasticState rod = new RodPlasticState();
+            rod.setRodId(model.rodId(i));
+            rod.setStrain(strains[i]);
+            rod.setStress(material.stress(i));
+            rod.setAxialForce(material.stress(i) * model.area(i));
+            rod.setPlasticStrain(material.plasticStrain(i));
+            rod.setYielded(material.yielded(i));
+            rods.add(rod);
+        }
+
+        PlasticResult result = new PlasticResult();
+        result.setRequestedLoadFactor(loadFactor);
+        result.setReachedLoadFactor(lambda);
+        result.setCompleted(lambda == loadFactor);
+        result.setMessage(message);
+        result.setIterations(iterations);
+        result.setFactorizations(factorizations);
+        result.setDisplacements(displacements);
+        result.setRods(rods);
+        result.setSteps(history);
+        return result;
+    }
+
+    /**
+     * Сдвиг trial на α·correction с α из линейного поиска; residual и пробное состояние материала — для нового trial.
+     * α = 1, если |s(1)| ≤ LINE_SEARCH_TOLERANCE · s(0), иначе корень s(α) секущими (в том числе α > 1:
+     * устаревшая касательная матрица жёстче текущей и даёт слишком короткую поправку).
+     */
+    private static double lineSearch(Equilibrium equilibrium, double[] trial, double[] correction, double lambda,
+                                     double[] residual) {
+        double s0 = dot(correction, residual);
+        double previousAlpha = 0.0;
+        double previousS = s0;
+        double alpha = 1.0;
+        shift(trial, correction, alpha);
+        equilibrium.residual(trial, lambda, residual);
+        double s = dot(correction, residual);
+        for (int k = 0; k < LINE_SEARCH_ITERATIONS && s0 > 0 && Math.abs(s) > LINE_SEARCH_TOLERANCE * s0; k++) {
+            if (s == previousS) {
+                break;
+            }
+            double next = alpha - s * (alpha - previousAlpha) / (s - previousS);
+            next = Math.max(MIN_STEP, Math.min(MAX_STEP, next));
+            if (next == alpha) {
+                break;
+            }
+            shift(trial, correction, next - alpha);
+            previousAlpha = alpha;
+            previousS = s;
+            alpha = next;
+            equilibrium.residual(trial, lambda, residual);
+            s = dot(correction, residual);
+        }
+        return alpha;
+    }
+
+    private static void shift(double[] x, double[] direction, double factor) {
+        for (int j = 0; j < x.length; j++) {
+            x[j] += factor * direction[j];
+        }
+    }
+
+    private static double dot(double[] a, double[] b) {
+        double sum = 0.0;
+        for (int j = 0; j < a.length; j++) {
+            sum += a[j] * b[j];
+        }
+        return sum;
+    }
+
+    // σт и Eт стержней: из rodMaterials, иначе из material, иначе σт = [σ] стержня и Eт = 0
+    private static void material(StructureModel model, PlasticMaterial common, Map<Integer, PlasticMaterial> byRod,
+                                 double[] yieldStress, double[] hardening, List<String> errors) {
+        int rodCount = model.rodCount();
+        Map<Integer, Integer> rodIndex = new HashMap<>();
+        for (int i = 0; i < rodCount; i++) {
+            rodIndex.put(model.rodId(i), i);
+        }
+        if (byRod != null) {
+            for (Integer id : byRod.keySet()) {
+                if (!rodIndex.containsKey(id)) {
+                    errors.add("rodMaterials: стержня с ID=" + id + " нет в конструкции.");
+                }
+            }
+        }
+
+        for (int i = 0; i < rodCount; i++) {
+            PlasticMaterial material = byRod != null && byRod.get(model.rodId(i)) != null
+                    ? byRod.get(model.rodId(i)) : common;
+            yieldStress[i] = material != null && material.getYieldStress() != null
+                    ? material.getYieldStress() : model.allowableStress(i);
+            hardening[i] = material != null && material.getHardeningModulus() != null
+                    ? material.getHardeningModulus() : 0.0;
+            if (!(yieldStress[i] > 0 && Double.isFinite(yieldStress[i]))) {
+                errors.add("Стержень ID=" + model.rodId(i) + ": предел текучести должен быть > 0.");
+            }
+            if (!(hardening[i] >= 0 && hardening[i] < model.elasticModulus(i))) {
+                errors.add("Стержень ID=" + model.rodId(i) + ": модуль упрочнения должен быть в интервале [0, E).");
+            }
+        }
+    }
+
+    // Невязка равновесия и касательная жёсткость по текущим перемещениям
+    private static final class Equilibrium {
+        private final StructureModel model;
+        private final StructureTopology topology;
+        private final BilinearMaterial material;
+        private final double[] loads;      // F проекта, нули в заделках
+        private final double[] strains;
+        private final double loadNorm;
+
+        Equilibrium(StructureModel model, StructureTopology topology, BilinearMaterial material) {
+            this.model = model;
+            this.topology = topology;
+            this.material = material;
+            this.loads = FactorizedStructure.loadVector(model, topology);
+            for (int j = 0; j < loads.length; j++) {
+                if (model.isFixed(j)) {
+                    loads[j] = 0.0;
+                }
+            }
+            this.strains = new double[model.rodCount()];
+            this.loadNorm = norm(loads);
+        }
+
+        double loadNorm() {
+            return loadNorm;
+        }
+
+        double[] strains(double[] displacements) {
+            double[] result = new double[model.rodCount()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = (displacements[topology.endNode(i)] - displacements[topology.startNode(i)])
+                        / model.length(i);
+            }
+            return result;
+        }
+
+        // residual = λ·F − Fвн(∆) (нули в заделках); пробное состояние материала — для ∆. Возвращает ||residual||
+        double residual(double[] displacements, double lambda, double[] residual) {
+            for (int i = 0; i < strains.length; i++) {
+                strains[i] = (displacements[topology.endNode(i)] - displacements[topology.startNode(i)])
+                        / model.length(i);
+            }
+            material.update(strains);
+            for (int j = 0; j < residual.length; j++) {
+                residual[j] = lambda * loads[j];
+            }
+            for (int i = 0; i < strains.length; i++) {
+                double force = material.stress(i) * model.area(i); // N > 0 — растяжение
+                residual[topology.startNode(i)] += force;
+                residual[topology.endNode(i)] -= force;
+            }
+            for (int j = 0; j < residual.length; j++) {
+                if (model.isFixed(j)) {
+                    residual[j] = 0.0;
+                }
+            }
+            return norm(residual);
+        }
+
+        // Касательные жёсткости стержней Eкас·A / L для пробного состояния
+        double[] tangentStiffness() {
+            double[] stiffness = new double[model.rodCount()];
+            for (int i = 0; i < stiffness.length; i++) {
+                stiffness[i] = material.tangent(i) * model.area(i) / model.length(i);
+            }
+            return stiffness;
+        }
+
+        double norm(double[] vector) {
+            return Math.sqrt(dot(vector, vector));
+        }
+    }
+}
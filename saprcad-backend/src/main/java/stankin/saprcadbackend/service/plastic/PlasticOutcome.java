@@ -0,0 +1,36 @@
+package stankin.saprcadbackend.service.plastic;
+
+import stankin.saprcadbackend.dto.plastic.PlasticResult;
+
+import java.util.List;
+
+// Итог упругопластического расчёта: либо результат, либо список ошибок входных данных
+public class PlasticOutcome {
+    private final PlasticResult result;
+    private final List<String> errors;
+
+    private PlasticOutcome(PlasticResult result, List<String> errors) {
+        this.result = result;
+        this.errors = errors;
+    }
+
+    public static PlasticOutcome success(PlasticResult result) {
+        return new PlasticOutcome(result, List.of());
+    }
+
+    public static PlasticOutcome failure(List<String> errors) {
+        return new PlasticOutcome(null, errors);
+    }
+
+    public boolean isSuccess() {
+        return result != null;
+    }
+
+    public PlasticResult getResult() {
+        return result;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,29 @@
+package stankin.saprcadbackend.service.postprocessor;
+
+// Коэффициенты эпюр Nx, ux, σx и max |σx| всех стержней по столбцам исходных данных («структура массивов»)
+interface CoefficientKernel {
+
+    /**
+     * Результат — по столбцам: out[k * rodCount + i], k — RodResultTable.A0 … MAX_STRESS.
+     *
+     * @param startNode индексы начальных узлов стержней; null — линейная система (стержень i соединяет
+     *                  узлы i и i+1), тогда ∆ концов читаются подряд, без выборки по индексам
+     */
+    void compute(int rodCount, double[] lengths, double[] areas, double[] moduli, double[] loads,
+                 double[] displacements, int[] startNode, int[] endNode, double[] out);
+
+    // Векторное ядро, если модуль jdk.incubator.vector подключён (--add-modules) и процессор
+    // поддерживает SIMD, иначе скалярное
+    static CoefficientKernel select(boolean vectorized) {
+        if (vectorized && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                if (VectorCoefficientKernel.isSupported()) {
+                    return new VectorCoefficientKernel();
+                }
+            } catch (LinkageError e) {
+                // модуль есть, но классы недоступны — остаётся скалярное ядро
+            }
+        }
+        return new ScalarCoefficientKernel();
+    }
+}
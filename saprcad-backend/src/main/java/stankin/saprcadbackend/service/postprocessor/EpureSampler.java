@@ -0,0 +1,255 @@
+package stankin.saprcadbackend.service.postprocessor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import stankin.saprcadbackend.dto.result.FullResult;
+import stankin.saprcadbackend.dto.result.PolynomialCoeffs;
+import stankin.saprcadbackend.dto.result.ResultOutput;
+import stankin.saprcadbackend.model.RodResultTable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+/**
+ * Значения эпюр Nx(x), ux(x), σx(x) в равномерных точках каждого стержня, упакованные в двоичный
+ * формат (little-endian) для отрисовки без разбора JSON:
+ * <pre>
+ *   int32   version = 1
+ *   int32   rodCount
+ *   int32   totalSamples                 — сумма sampleCounts
+ *   int32   bytesPerValue                — 4 (float32) или 8 (float64)
+ *   int32   sampleCounts[rodCount]       — число точек n_i на стержне i (n_i ≥ 2)
+ *   нули до границы 8 байт
+ *   value   lengths[rodCount]            — длины стержней L_i
+ *   value   nx[totalSamples]             — Nx, стержень за стержнем
+ *   value   ux[totalSamples]
+ *   value   sx[totalSamples]
+ * </pre>
+ * Точки стержня i: x_k = k · L_i / (n_i − 1), k = 0..n_i−1 (локальная координата), поэтому сами x не передаются.
+ * Массивы начинаются с выровненных смещений и читаются в браузере как Float32Array/Float64Array без копирования.
+ */
+@Service
+public class EpureSampler {
+
+    public static final int VERSION = 1;
+    public static final int DEFAULT_SAMPLES = 31;  // как во фронтенде: 30 отрезков на стержень
+    public static final int MAX_SAMPLES_PER_ROD = 100_000;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Ограничение на общее число точек в ответе
+    @Value("${saprcad.epure.max-samples:20000000}")
+    private long maxSamples = 20_000_000L;
+
+    /**
+     * Число точек на каждом стержне.
+     *
+     * @param samples одинаковое число точек на всех стержнях
+     * @param width   ширина области отрисовки в пикселях: точки распределяются пропорционально длине стержня,
+     *                примерно по одной на пиксель (не меньше двух на стержень)
+     */
+    public int[] plan(FullResult result, Integer samples, Integer width) {
+        if (samples != null && width != null) {
+            throw new IllegalArgumentException("Укажите либо samples, либо width, но не оба параметра.");
+        }
+        int rodCount = result.rodCount();
+        int[] counts = new int[rodCount];
+        long total = 0;
+
+        if (width == null) {
+            int n = samples != null ? samples : DEFAULT_SAMPLES;
+            if (n < 2 || n > MAX_SAMPLES_PER_ROD) {
+                throw new IllegalArgumentException("samples должно быть от 2 до " + MAX_SAMPLES_PER_ROD + ".");
+            }
+            for (int i = 0; i < rodCount; i++) {
+                counts[i] = n;
+            }
+            total = (long) n * rodCount;
+        } else {
+            if (width < 1) {
+                throw new IllegalArgumentException("width должна быть положительной.");
+            }
+            double[] lengths = lengths(result);
+            double totalLength = 0;
+            for (double length : lengths) {
+                totalLength += length;
+            }
+            double pixelsPerUnit = width / totalLength;
+            for (int i = 0; i < rodCount; i++) {
+                double pixels = Math.ceil(lengths[i] * pixelsPerUnit);
+                counts[i] = (int) Math.max(2, Math.min(MAX_SAMPLES_PER_ROD, pixels + 1));
+                total += counts[i];
+            }
+        }
+
+        if (total > maxSamples) {
+            throw new IllegalArgumentException("Слишком много точек: " + total + " (не более " + maxSamples + ").");
+        }
+        return counts;
+    }
+
+    // Размер ответа в байтах — для заголовка Content-Length
+    public long size(int[] counts, boolean doublePrecision) {
+        long total = totalSamples(counts);
+        long bytesPerValue = doublePrecision ? 8 : 4;
+        return dataOffset(counts.length) + bytesPerValue * (counts.length + 3 * total);
+    }
+
+    public void write(FullResult result, int[] counts, boolean doublePrecision, OutputStream out) throws IOException {
+        int rodCount = counts.length;
+        long total = totalSamples(counts);
+
+        ValueWriter writer = new ValueWriter(out, doublePrecision);
+        writer.putInt(VERSION);
+        writer.putInt(rodCount);
+        writer.putInt((int) total);
+        writer.putInt(doublePrecision ? 8 : 4);
+        for (int count : counts) {
+            writer.putInt(count);
+        }
+        writer.padTo(dataOffset(rodCount));
+
+        double[] lengths = lengths(result);
+        writer.putValues(lengths, rodCount);
+
+        // Массивы функций пишутся по очереди: на каждом проходе — свой набор коэффициентов
+        int maxCount = 2;
+        for (int count : counts) {
+            maxCount = Math.max(maxCount, count);
+        }
+        double[] values = new double[maxCount];
+        for (int function = 0; function < 3; function++) {
+            RodResultTable table = result.getRodResults();
+            List<ResultOutput> outputs = table == null ? result.getResultOutput() : null;
+            for (int i = 0; i < rodCount; i++) {
+                double c0;
+                double c1;
+                double c2 = 0.0;
+                if (table != null) {
+                    switch (function) {
+                        case 0 -> {
+                            c0 = table.coeff(i, RodResultTable.A0);
+                            c1 = table.coeff(i, RodResultTable.A1);
+                        }
+                        case 1 -> {
+                            c0 = table.coeff(i, RodResultTable.B0);
+                            c1 = table.coeff(i, RodResultTable.B1);
+                            c2 = table.coeff(i, RodResultTable.B2);
+                        }
+                        default -> {
+                            c0 = table.coeff(i, RodResultTable.C0);
+                            c1 = table.coeff(i, RodResultTable.C1);
+                        }
+                    }
+                } else {
+                    ResultOutput output = outputs.get(i);
+                    PolynomialCoeffs p = function == 0 ? output.getAxialForceCoeffs()
+                            : function == 1 ? output.getDisplacementCoeffs() : output.getStressCoeffs();
+                    c0 = p.getA0();
+                    c1 = p.getA1() != null ? p.getA1() : 0.0;
+                    c2 = p.getA2() != null ? p.getA2() : 0.0;
+                }
+                sample(lengths[i], c0, c1, c2, values, counts[i]);
+                writer.putValues(values, counts[i]);
+            }
+        }
+        writer.flush();
+    }
+
+    // c0 + c1*x + c2*x² в n равномерных точках [0, L]; простой цикл без ветвлений — векторизуется JIT
+    static void sample(double length, double c0, double c1, double c2, double[] out, int n) {
+        double step = length / (n - 1);
+        for (int k = 0; k < n; k++) {
+            double x = k * step;
+            out[k] = c0 + x * (c1 + x * c2);
+        }
+    }
+
+    private static double[] lengths(FullResult result) {
+        int rodCount = result.rodCount();
+        double[] lengths = new double[rodCount];
+        RodResultTable table = result.getRodResults();
+        if (table != null) {
+            for (int i = 0; i < rodCount; i++) {
+                lengths[i] = table.structure().length(i);
+            }
+        } else {
+            List<ResultOutput> outputs = result.getResultOutput();
+            for (int i = 0; i < rodCount; i++) {
+                lengths[i] = outputs.get(i).getLength();
+            }
+        }
+        return lengths;
+    }
+
+    private static long totalSamples(int[] counts) {
+        long total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    // Заголовок и sampleCounts, дополненные до 8 байт
+    private static long dataOffset(int rodCount) {
+        long headerBytes = 16 + 4L * rodCount;
+        return (headerBytes + 7) & ~7L;
+    }
+
+    // Буферизованная запись в little-endian
+    private static final class ValueWriter {
+        private final OutputStream out;
+        private final boolean doublePrecision;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private long written;
+
+        ValueWriter(OutputStream out, boolean doublePrecision) {
+            this.out = out;
+            this.doublePrecision = doublePrecision;
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(4);
+            buffer.putInt(value);
+        }
+
+        void padTo(long offset) throws IOException {
+            while (written + buffer.position() < offset) {
+                ensure(1);
+                buffer.put((byte) 0);
+            }
+        }
+
+        void putValues(double[] values, int count) throws IOException {
+            if (doublePrecision) {
+                for (int k = 0; k < count; k++) {
+                    ensure(8);
+                    buffer.putDouble(values[k]);
+                }
+            } else {
+                for (int k = 0; k < count; k++) {
+                    ensure(4);
+                    buffer.putFloat((float) values[k]);
+                }
+            }
+        }
+
+        void flush() throws IOException {
+            out.write(buffer.array(), 0, buffer.position());
+            written += buffer.position();
+            buffer.clear();
+            out.flush();
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                out.write(buffer.array(), 0, buffer.position());
+                written += buffer.position();
+                buffer.clear();
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package stankin.saprcadbackend.service.postprocessor;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import stankin.saprcadbackend.dto.calculate.DisplacementVector;
 import stankin.saprcadbackend.dto.result.FullResult;
@@ -8,75 +9,99 @@ import stankin.saprcadbackend.dto.result.ResultOutput;
 import stankin.saprcadbackend.dto.structure.Node;
 import stankin.saprcadbackend.dto.structure.Rod;
 import stankin.saprcadbackend.dto.structure.StructureInput;
+import stankin.saprcadbackend.model.RodResultTable;
+import stankin.saprcadbackend.model.StructureModel;
+import stankin.saprcadbackend.service.processor.StructureTopology;
 
-import java.util.ArrayList;
+import java.io.IOException;
 import java.util.List;
 
 @Service
 public class ResultService {
+
+    // Векторное ядро постпроцессора (нужен запуск JVM с --add-modules jdk.incubator.vector); false — скалярное
+    @Value("${saprcad.postprocessor.vectorized:true}")
+    private boolean vectorized = true;
+
+    private volatile CoefficientKernel kernel;
+
     public FullResult calculateNds(StructureInput input, DisplacementVector delta) {
-        List<Rod> rods = input.getRods();
-        List<Node> nodes = input.getNodes();
-        List<Double> displacements = delta.getDisplacements();
-
-        List<ResultOutput> rodResults = new ArrayList<>();
-
-        for (int i = 0; i < rods.size(); i++) {
-            Rod rod = rods.get(i);
-            Node leftNode = nodes.get(i);
-            Node rightNode = nodes.get(i + 1);
-
-            double delta0 = displacements.get(i);       // ∆_i
-            double delta1 = displacements.get(i + 1);   // ∆_{i+1}
-
-            double L = rod.getLength();
-            double A = rod.getArea();
-            double E = rod.getElasticModulus();
-            double q = rod.getDistributedLoad();
-
-            // Коэффициенты для Nx(x) = a0 + a1 * x
-            double a0 = ((E*A)/L)*(delta1 - delta0) + ((q*L)/2);
-            double a1 = ((q*L)/2)*(-2/L);
-
-            // Коэффициенты для ux(x) = b0 + b1 * x + b2 * x^2
-            double b0 = delta0;
-            double b1 = (delta1- delta0)/L + (q*L*L)/(2*E*A*L);
-            double b2 = ((q*L*L)/(2*E*A*L)) * (-1/L);
-
-            // Коэффициенты для σx(x) = c0 + c1 * x
-            double c0 = a0/A;
-            double c1 = a1/A;
-
-            // Максимальное |σx| на стержне: проверяем концы x=0 и x=L, поскольку это прямая в любом случае
-            double sigma0 = c0;                  // σ(0)
-            double sigmaL = c0 + c1 * L;         // σ(L)
-            double maxStress = Math.max(Math.abs(sigma0), Math.abs(sigmaL));
-
-            // Сборка данных в объект
-            ResultOutput resultOutput = new ResultOutput();
-            resultOutput.setRodId(rod.getId());
-            resultOutput.setLength(L);
-            resultOutput.setArea(A);
-            resultOutput.setElasticModulus(E);
-            resultOutput.setAllowableStress(rod.getAllowableStress()); // [σ]i
-            resultOutput.setDistributedLoad(q);
-
-            // Узлы, к которым привязан
-            resultOutput.setNodeRelatedTo(List.of(leftNode, rightNode));
-
-            // Коэффициенты
-            resultOutput.setAxialForceCoeffs(new PolynomialCoeffs(a0, a1));           // линейная функция
-            resultOutput.setDisplacementCoeffs(new PolynomialCoeffs(b0, b1, b2));     // квадратичная функция
-            resultOutput.setStressCoeffs(new PolynomialCoeffs(c0, c1));               // линейная функция
-
-            resultOutput.setMaxStressOnTheRod(maxStress);
-
-            rodResults.add(resultOutput);
+        return calculateNds(StructureModel.of(input), delta.getDisplacements());
+    }
+
+    // Результат для конструкции во внутреннем представлении и вектора ∆ по индексам узлов:
+    // коэффициенты всех стержней пишутся в один массив, объекты на стержень не создаются
+    public FullResult calculateNds(StructureModel model, double[] displacements) {
+        return calculateNds(model, StructureTopology.of(model), displacements);
+    }
+
+    public FullResult calculateNds(StructureModel model, StructureTopology topology, double[] displacements) {
+        int rodCount = model.rodCount();
+        double[] coeffs = new double[rodCount * RodResultTable.COLUMNS];
+        // Линейная система: ∆ концов стержня i — соседние элементы, ядро читает их подряд
+        kernel().compute(rodCount, model.lengths(), model.areas(), model.elasticModuli(), model.distributedLoads(),
+                displacements, topology.isChain() ? null : topology.startNodes(),
+                topology.isChain() ? null : topology.endNodes(), coeffs);
+        return new FullResult(displacements,
+                new RodResultTable(model, topology.startNodes(), topology.endNodes(), coeffs));
+    }
+
+    // Потоковый постпроцессор: результат каждого стержня передаётся получателю сразу после вычисления
+    public void forEachRod(StructureModel model, StructureTopology topology, double[] displacements,
+                           RodResultSink sink) throws IOException {
+        double[] coeffs = new double[RodResultTable.COLUMNS];
+        for (int i = 0; i < model.rodCount(); i++) {
+            int start = topology.startNode(i);
+            int end = topology.endNode(i);
+            ScalarCoefficientKernel.calculate(model.length(i), model.area(i), model.elasticModulus(i),
+                    model.distributedLoad(i), displacements[start], displacements[end], coeffs, 0, 1);
+            sink.accept(i, start, end, coeffs);
         }
+    }
 
-        FullResult full = new FullResult();
-        full.setDisplacements(displacements);
-        full.setResultOutput(rodResults);
-        return full;
+    /**
+     * Коэффициенты эпюр одного стержня.
+     *
+     * @param delta0 ∆ в начале стержня (x = 0)
+     * @param delta1 ∆ в конце стержня (x = L)
+     */
+    public ResultOutput calculateRod(Rod rod, Node leftNode, Node rightNode, double delta0, double delta1) {
+        double[] c = new double[RodResultTable.COLUMNS];
+        ScalarCoefficientKernel.calculate(rod.getLength(), rod.getArea(), rod.getElasticModulus(),
+                rod.getDistributedLoad(), delta0, delta1, c, 0, 1);
+
+        // Сборка данных в объект
+        ResultOutput resultOutput = new ResultOutput();
+        resultOutput.setRodId(rod.getId());
+        resultOutput.setLength(rod.getLength());
+        resultOutput.setArea(rod.getArea());
+        resultOutput.setElasticModulus(rod.getElasticModulus());
+        resultOutput.setAllowableStress(rod.getAllowableStress()); // [σ]i
+        resultOutput.setDistributedLoad(rod.getDistributedLoad());
+
+        // Узлы, к которым привязан
+        resultOutput.setNodeRelatedTo(List.of(leftNode, rightNode));
+
+        // Коэффициенты
+        // линейная функция
+        resultOutput.setAxialForceCoeffs(new PolynomialCoeffs(c[RodResultTable.A0], c[RodResultTable.A1]));
+        // квадратичная функция
+        resultOutput.setDisplacementCoeffs(new PolynomialCoeffs(c[RodResultTable.B0], c[RodResultTable.B1], c[RodResultTable.B2]));
+        // линейная функция
+        resultOutput.setStressCoeffs(new PolynomialCoeffs(c[RodResultTable.C0], c[RodResultTable.C1]));
+
+        resultOutput.setMaxStressOnTheRod(c[RodResultTable.MAX_STRESS]);
+
+        return resultOutput;
+    }
+
+    // Ядро выбирается при первом расчёте, когда известна настройка
+    private CoefficientKernel kernel() {
+        CoefficientKernel selected = kernel;
+        if (selected == null) {
+            selected = CoefficientKernel.select(vectorized);
+            kernel = selected;
+        }
+        return selected;
     }
 }
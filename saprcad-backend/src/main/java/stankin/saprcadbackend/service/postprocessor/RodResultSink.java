@@ -0,0 +1,16 @@
+package stankin.saprcadbackend.service.postprocessor;
+
+import java.io.IOException;
+
+// Получатель результатов стержней по мере их вычисления (потоковый вывод без накопления результата)
+@FunctionalInterface
+public interface RodResultSink {
+
+    /**
+     * @param rod       индекс стержня
+     * @param startNode индекс начального узла
+     * @param endNode   индекс конечного узла
+     * @param coeffs    коэффициенты в раскладке RodResultTable; буфер переиспользуется между вызовами
+     */
+    void accept(int rod, int startNode, int endNode, double[] coeffs) throws IOException;
+}
@@ -0,0 +1,61 @@
+package stankin.saprcadbackend.service.postprocessor;
+
+import stankin.saprcadbackend.model.RodResultTable;
+
+// Скалярное ядро: стержень за стержнем, формулы — в calculate
+final class ScalarCoefficientKernel implements CoefficientKernel {
+
+    @Override
+    public void compute(int rodCount, double[] lengths, double[] areas, double[] moduli, double[] loads,
+                        double[] displacements, int[] startNode, int[] endNode, double[] out) {
+        computeRange(0, rodCount, rodCount, lengths, areas, moduli, loads, displacements, startNode, endNode, out);
+    }
+
+    // Стержни from .. to (хвост векторного ядра)
+    static void computeRange(int from, int to, int rodCount, double[] lengths, double[] areas, double[] moduli,
+                             double[] loads, double[] displacements, int[] startNode, int[] endNode, double[] out) {
+        for (int i = from; i < to; i++) {
+            int start = startNode != null ? startNode[i] : i;
+            int end = endNode != null ? endNode[i] : i + 1;
+            calculate(lengths[i], areas[i], moduli[i], loads[i], displacements[start], displacements[end],
+                    out, i, rodCount);
+        }
+    }
+
+    /**
+     * Коэффициенты Nx, ux, σx и max |σx| одного стержня: out[index + k * step], k — RodResultTable.A0 … MAX_STRESS.
+     * Векторное ядро повторяет эти формулы в том же порядке операций — результаты совпадают до бита.
+     *
+     * @param delta0 ∆ в начале стержня (x = 0)
+     * @param delta1 ∆ в конце стержня (x = L)
+     */
+    static void calculate(double L, double A, double E, double q, double delta0, double delta1,
+                          double[] out, int index, int step) {
+        // Коэффициенты для Nx(x) = a0 + a1 * x
+        double a0 = ((E*A)/L)*(delta1 - delta0) + ((q*L)/2);
+        double a1 = ((q*L)/2)*(-2/L);
+
+        // Коэффициенты для ux(x) = b0 + b1 * x + b2 * x^2
+        double b0 = delta0;
+        double b1 = (delta1- delta0)/L + (q*L*L)/(2*E*A*L);
+        double b2 = ((q*L*L)/(2*E*A*L)) * (-1/L);
+
+        // Коэффициенты для σx(x) = c0 + c1 * x
+        double c0 = a0/A;
+        double c1 = a1/A;
+
+        // Максимальное |σx| на стержне: проверяем концы x=0 и x=L, поскольку это прямая в любом случае
+        double sigma0 = c0;                  // σ(0)
+        double sigmaL = c0 + c1 * L;         // σ(L)
+        double maxStress = Math.max(Math.abs(sigma0), Math.abs(sigmaL));
+
+        out[index + RodResultTable.A0 * step] = a0;
+        out[index + RodResultTable.A1 * step] = a1;
+        out[index + RodResultTable.B0 * step] = b0;
+        out[index + RodResultTable.B1 * step] = b1;
+        out[index + RodResultTable.B2 * step] = b2;
+        out[index + RodResultTable.C0 * step] = c0;
+        out[index + RodResultTable.C1 * step] = c1;
+        out[index + RodResultTable.MAX_STRESS * step] = maxStress;
+    }
+}
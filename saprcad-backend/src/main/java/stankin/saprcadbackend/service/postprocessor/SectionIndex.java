@@ -0,0 +1,91 @@
+package stankin.saprcadbackend.service.postprocessor;
+
+import stankin.saprcadbackend.model.RodResultTable;
+import stankin.saprcadbackend.model.StructureModel;
+
+import java.util.Arrays;
+
+// Индекс для поиска сечений по результату расчёта: префиксные суммы длин стержней (начало каждого
+// стержня на оси линейной системы) и индекс стержня по ID. Строится за O(n), поиск точки — O(log n).
+final class SectionIndex {
+
+    private final RodResultTable table;
+    private final double[] starts;     // starts[i] — глобальная координата начала стержня i, starts[n] — полная длина
+    private final int minRodId;
+    private final int[] rodIndexById;  // ID стержней после проверки уникальны и идут подряд
+    private final boolean chain;
+
+    SectionIndex(RodResultTable table) {
+        this.table = table;
+        StructureModel structure = table.structure();
+        int rodCount = structure.rodCount();
+
+        starts = new double[rodCount + 1];
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < rodCount; i++) {
+            starts[i + 1] = starts[i] + structure.length(i);
+            min = Math.min(min, structure.rodId(i));
+            max = Math.max(max, structure.rodId(i));
+        }
+
+        minRodId = min;
+        rodIndexById = new int[max - min + 1];
+        Arrays.fill(rodIndexById, -1);
+        for (int i = 0; i < rodCount; i++) {
+            rodIndexById[structure.rodId(i) - min] = i;
+        }
+        chain = !structure.hasExplicitTopology();
+    }
+
+    // Глобальная координата определена только для линейной системы (стержни по порядку)
+    boolean isChain() {
+        return chain;
+    }
+
+    double totalLength() {
+        return starts[starts.length - 1];
+    }
+
+    int rodCount() {
+        return starts.length - 1;
+    }
+
+    // Стержень, содержащий точку x ∈ [0, L]; точка на границе относится к стержню, который в ней начинается
+    int locate(double x) {
+        int found = Arrays.binarySearch(starts, 0, rodCount(), x);
+        int rod = found >= 0 ? found : -found - 2;
+        return Math.max(0, Math.min(rod, rodCount() - 1));
+    }
+
+    double start(int rod) {
+        return starts[rod];
+    }
+
+    double length(int rod) {
+        return table.structure().length(rod);
+    }
+
+    // -1, если стержня с таким ID нет
+    int rodIndex(int rodId) {
+        long offset = (long) rodId - minRodId;
+        return offset >= 0 && offset < rodIndexById.length ? rodIndexById[(int) offset] : -1;
+    }
+
+    int rodId(int rod) {
+        return table.structure().rodId(rod);
+    }
+
+    double axialForce(int rod, double x) {
+        return table.coeff(rod, RodResultTable.A0) + table.coeff(rod, RodResultTable.A1) * x;
+    }
+
+    double stress(int rod, double x) {
+        return table.coeff(rod, RodResultTable.C0) + table.coeff(rod, RodResultTable.C1) * x;
+    }
+
+    double displacement(int rod, double x) {
+        return table.coeff(rod, RodResultTable.B0)
+                + x * (table.coeff(rod, RodResultTable.B1) + x * table.coeff(rod, RodResultTable.B2));
+    }
+}
@@ -0,0 +1,36 @@
+package stankin.saprcadbackend.service.postprocessor;
+
+import stankin.saprcadbackend.dto.section.SectionValue;
+
+import java.util.List;
+
+// Итог запроса сечений: либо значения в каждой точке (в порядке запроса), либо список ошибок
+public class SectionQueryResult {
+    private final List<SectionValue> values;
+    private final List<String> errors;
+
+    private SectionQueryResult(List<SectionValue> values, List<String> errors) {
+        this.values = values;
+        this.errors = errors;
+    }
+
+    public static SectionQueryResult success(List<SectionValue> values) {
+        return new SectionQueryResult(values, List.of());
+    }
+
+    public static SectionQueryResult failure(List<String> errors) {
+        return new SectionQueryResult(null, errors);
+    }
+
+    public boolean isSuccess() {
+        return values != null;
+    }
+
+    public List<SectionValue> getValues() {
+        return values;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
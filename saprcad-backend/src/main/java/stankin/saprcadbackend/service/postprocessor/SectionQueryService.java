@@ -0,0 +1,129 @@
+package stankin.saprcadbackend.service.postprocessor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import stankin.saprcadbackend.dto.result.FullResult;
+import stankin.saprcadbackend.dto.section.SectionPoint;
+import stankin.saprcadbackend.dto.section.SectionValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Значения Nx, σx и ux в произвольных сечениях по уже посчитанному результату.
+ * Для каждого результата один раз строится {@link SectionIndex} (префиксные суммы длин), после чего
+ * точка по глобальной координате находится двоичным поиском, а значение — по коэффициентам стержня,
+ * без пересчёта эпюр. Индекс хранится, пока жив сам результат (например, в кэше результатов).
+ */
+@Service
+public class SectionQueryService {
+
+    // Относительный допуск на выход за границы стержня/системы (ошибки округления при суммировании длин)
+    private static final double EDGE_TOLERANCE = 1e-9;
+
+    @Value("${saprcad.section.max-points:100000}")
+    private int maxPoints = 100_000;
+
+    private final Map<FullResult, SectionIndex> indexes = Collections.synchronizedMap(new WeakHashMap<>());
+
+    public SectionQueryResult query(FullResult result, List<SectionPoint> points) {
+        if (points == null || points.isEmpty()) {
+            return SectionQueryResult.failure(List.of("Не заданы точки сечений."));
+        }
+        if (maxPoints > 0 && points.size() > maxPoints) {
+            return SectionQueryResult.failure(List.of(
+                    "Слишком много точек: " + points.size() + " (не больше " + maxPoints + ")."));
+        }
+        if (result.getRodResults() == null) {
+            throw new IllegalArgumentException("Запрос сечений требует упакованного результата расчёта.");
+        }
+
+        SectionIndex index = indexes.computeIfAbsent(result, r -> new SectionIndex(r.getRodResults()));
+
+        List<String> errors = new ArrayList<>();
+        List<SectionValue> values = new ArrayList<>(points.size());
+        for (int k = 0; k < points.size(); k++) {
+            SectionValue value = evaluate(index, points.get(k), k + 1, errors);
+            if (value != null) {
+                values.add(value);
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            return SectionQueryResult.failure(errors);
+        }
+        return SectionQueryResult.success(values);
+    }
+
+    // null и сообщение в errors, если точка задана неверно
+    private SectionValue evaluate(SectionIndex index, SectionPoint point, int number, List<String> errors) {
+        String prefix = "Точка №" + number + ": ";
+        if (point == null) {
+            errors.add(prefix + "не задана.");
+            return null;
+        }
+
+        boolean global = point.getX() != null;
+        boolean local = point.getRodId() != null || point.getLocalX() != null;
+        if (global == local) {
+            errors.add(prefix + "укажите либо x, либо rodId и localX.");
+            return null;
+        }
+
+        int rod;
+        double localX;
+        Double x = null;
+        if (global) {
+            if (!index.isChain()) {
+                errors.add(prefix + "глобальная координата x определена только для линейной системы, "
+                        + "укажите rodId и localX.");
+                return null;
+            }
+            double total = index.totalLength();
+            double globalX = point.getX();
+            double tolerance = EDGE_TOLERANCE * total;
+            if (!Double.isFinite(globalX) || globalX < -tolerance || globalX > total + tolerance) {
+                errors.add(prefix + "x = " + globalX + " вне конструкции [0, " + total + "].");
+                return null;
+            }
+            globalX = Math.max(0, Math.min(globalX, total));
+            rod = index.locate(globalX);
+            localX = Math.max(0, Math.min(globalX - index.start(rod), index.length(rod)));
+            x = globalX;
+        } else {
+            if (point.getRodId() == null || point.getLocalX() == null) {
+                errors.add(prefix + "для сечения стержня нужны и rodId, и localX.");
+                return null;
+            }
+            rod = index.rodIndex(point.getRodId());
+            if (rod < 0) {
+                errors.add(prefix + "стержень с ID " + point.getRodId() + " не найден.");
+                return null;
+            }
+            double length = index.length(rod);
+            localX = point.getLocalX();
+            double tolerance = EDGE_TOLERANCE * length;
+            if (!Double.isFinite(localX) || localX < -tolerance || localX > length + tolerance) {
+                errors.add(prefix + "localX = " + localX + " вне стержня " + point.getRodId()
+                        + " [0, " + length + "].");
+                return null;
+            }
+            localX = Math.max(0, Math.min(localX, length));
+            if (index.isChain()) {
+                x = index.start(rod) + localX;
+            }
+        }
+
+        SectionValue value = new SectionValue();
+        value.setRodId(index.rodId(rod));
+        value.setLocalX(localX);
+        value.setX(x);
+        value.setAxialForce(index.axialForce(rod, localX));
+        value.setStress(index.stress(rod, localX));
+        value.setDisplacement(index.displacement(rod, localX));
+        return value;
+    }
+}
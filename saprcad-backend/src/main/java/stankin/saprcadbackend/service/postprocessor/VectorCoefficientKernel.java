@@ -0,0 +1,62 @@
+package stankin.saprcadbackend.service.postprocessor;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+import stankin.saprcadbackend.model.RodResultTable;
+
+// Векторное ядро (Java Vector API): SPECIES.length() стержней за шаг, столбцы читаются и пишутся подряд.
+// Порядок операций — как в ScalarCoefficientKernel.calculate, без FMA: результаты совпадают до бита.
+// Используется только при подключённом модуле jdk.incubator.vector (см. CoefficientKernel.select).
+final class VectorCoefficientKernel implements CoefficientKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    // Одна дорожка — SIMD нет, векторные операции были бы медленнее скалярных
+    static boolean isSupported() {
+        return SPECIES.length() > 1;
+    }
+
+    @Override
+    public void compute(int rodCount, double[] lengths, double[] areas, double[] moduli, double[] loads,
+                        double[] displacements, int[] startNode, int[] endNode, double[] out) {
+        int bound = SPECIES.loopBound(rodCount);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector L = DoubleVector.fromArray(SPECIES, lengths, i);
+            DoubleVector A = DoubleVector.fromArray(SPECIES, areas, i);
+            DoubleVector E = DoubleVector.fromArray(SPECIES, moduli, i);
+            DoubleVector q = DoubleVector.fromArray(SPECIES, loads, i);
+            DoubleVector delta0;
+            DoubleVector delta1;
+            if (startNode == null) {
+                delta0 = DoubleVector.fromArray(SPECIES, displacements, i);
+                delta1 = DoubleVector.fromArray(SPECIES, displacements, i + 1);
+            } else {
+                delta0 = DoubleVector.fromArray(SPECIES, displacements, 0, startNode, i);
+                delta1 = DoubleVector.fromArray(SPECIES, displacements, 0, endNode, i);
+            }
+
+            DoubleVector dDelta = delta1.sub(delta0);
+            DoubleVector halfQL = q.mul(L).div(2);                                   // (q*L)/2
+            DoubleVector a0 = E.mul(A).div(L).mul(dDelta).add(halfQL);
+            DoubleVector a1 = halfQL.mul(DoubleVector.broadcast(SPECIES, -2).div(L));
+            DoubleVector load = q.mul(L).mul(L).div(E.mul(2).mul(A).mul(L));       // (q*L*L)/(2*E*A*L)
+            DoubleVector b1 = dDelta.div(L).add(load);
+            DoubleVector b2 = load.mul(DoubleVector.broadcast(SPECIES, -1).div(L));
+            DoubleVector c0 = a0.div(A);
+            DoubleVector c1 = a1.div(A);
+            DoubleVector maxStress = c0.abs().max(c0.add(c1.mul(L)).abs());
+
+            a0.intoArray(out, RodResultTable.A0 * rodCount + i);
+            a1.intoArray(out, RodResultTable.A1 * rodCount + i);
+            delta0.intoArray(out, RodResultTable.B0 * rodCount + i);
+            b1.intoArray(out, RodResultTable.B1 * rodCount + i);
+            b2.intoArray(out, RodResultTable.B2 * rodCount + i);
+            c0.intoArray(out, RodResultTable.C0 * rodCount + i);
+            c1.intoArray(out, RodResultTable.C1 * rodCount + i);
+            maxStress.intoArray(out, RodResultTable.MAX_STRESS * rodCount + i);
+        }
+        ScalarCoefficientKernel.computeRange(i, rodCount, rodCount, lengths, areas, moduli, loads, displacements,
+                startNode, endNode, out);
+    }
+}
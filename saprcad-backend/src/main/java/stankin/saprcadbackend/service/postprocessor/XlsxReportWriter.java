@@ -0,0 +1,336 @@
+package stankin.saprcadbackend.service.postprocessor;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import stankin.saprcadbackend.dto.result.FullResult;
+import stankin.saprcadbackend.model.RodResultTable;
+import stankin.saprcadbackend.model.StructureModel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Отчёт по расчёту в XLSX: сводка, исходные данные стержней и узлов, вектор ∆, коэффициенты эпюр
+ * с проверкой прочности и таблица эпюр в равномерных точках (как в отчёте фронтенда).
+ * <p>
+ * Книга потоковая (SXSSF): в памяти держится только окно последних строк листа, остальные сбрасываются
+ * во временный файл, поэтому размер кучи не зависит от числа стержней. Таблицы, не помещающиеся
+ * на один лист Excel (1 048 576 строк), продолжаются на листах «Имя (2)», «Имя (3)» и т.д.
+ */
+@Service
+public class XlsxReportWriter {
+
+    public static final String MEDIA_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+    public static final int DEFAULT_SAMPLES = 11;  // 10 отрезков на стержень
+
+    private static final int MAX_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss");
+
+    // Число строк листа, которые держатся в памяти до сброса на диск
+    @Value("${saprcad.report.row-window:200}")
+    private int rowWindow = 200;
+
+    // Сжатие временных файлов листов: меньше места на диске ценой времени записи
+    @Value("${saprcad.report.compress-temp-files:true}")
+    private boolean compressTempFiles = true;
+
+    // Строк на листе, включая заголовок; дальше таблица продолжается на следующем листе
+    private final int maxRows;
+
+    public XlsxReportWriter() {
+        this(MAX_ROWS);
+    }
+
+    // Меньший лимит строк — для проверки продолжения таблиц без миллиона строк
+    XlsxReportWriter(int maxRows) {
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * @param counts число точек эпюр на каждом стержне (EpureSampler.plan) или null — без листа эпюр
+     */
+    public void write(FullResult result, int[] counts, OutputStream out) throws IOException {
+        RodResultTable table = result.getRodResults();
+        if (table == null) {
+            throw new IllegalArgumentException("Отчёт строится только по упакованным результатам расчёта.");
+        }
+
+        SXSSFWorkbook workbook = new SXSSFWorkbook(rowWindow);
+        workbook.setCompressTempFiles(compressTempFiles);
+        try {
+            Styles styles = new Styles(workbook);
+            writeSummary(workbook, styles, table);
+            writeInput(workbook, styles, table.structure());
+            writeDisplacements(workbook, styles, table.structure(), result.getDisplacements());
+            writeCoefficients(workbook, styles, table);
+            if (counts != null) {
+                writeEpures(workbook, styles, table, counts);
+            }
+            workbook.write(out);
+            out.flush();
+        } finally {
+            workbook.dispose();  // удаление временных файлов листов
+            workbook.close();
+        }
+    }
+
+    private void writeSummary(SXSSFWorkbook workbook, Styles styles, RodResultTable table) {
+        StructureModel structure = table.structure();
+        int rodCount = table.size();
+        int unsafe = 0;
+        double maxStress = 0.0;
+        int maxStressRod = -1;
+        for (int i = 0; i < rodCount; i++) {
+            double stress = table.coeff(i, RodResultTable.MAX_STRESS);
+            if (stress > structure.allowableStress(i)) {
+                unsafe++;
+            }
+            if (maxStressRod < 0 || stress > maxStress) {
+                maxStress = stress;
+                maxStressRod = structure.rodId(i);
+            }
+        }
+
+        SheetWriter sheet = new SheetWriter(workbook, styles, "Сводка", "Параметр", "Значение");
+        sheet.row().text("Дата").text(LocalDateTime.now().format(DATE));
+        sheet.row().text("Стержней").number(rodCount);
+        sheet.row().text("Узлов").number(structure.nodeCount());
+        if (maxStressRod >= 0) {
+            sheet.row().text("max|σ|, Па").number(maxStress);
+            sheet.row().text("Стержень с max|σ|").number(maxStressRod);
+        }
+        sheet.row().text("Стержней с |σ| > [σ]").number(unsafe);
+        sheet.row().text("Прочность").text(unsafe == 0 ? "✓" : "✗");
+        sheet.width(0, 24);
+        sheet.width(1, 22);
+    }
+
+    private void writeInput(SXSSFWorkbook workbook, Styles styles, StructureModel structure) {
+        boolean topology = structure.hasExplicitTopology();
+        SheetWriter rods = topology
+                ? new SheetWriter(workbook, styles, "Стержни",
+                        "ID", "L, м", "A, м²", "E, Па", "[σ], Па", "q, Н/м", "Начальный узел", "Конечный узел")
+                : new SheetWriter(workbook, styles, "Стержни",
+                        "ID", "L, м", "A, м²", "E, Па", "[σ], Па", "q, Н/м");
+        for (int i = 0; i < structure.rodCount(); i++) {
+            RowWriter row = rods.row()
+                    .number(structure.rodId(i))
+                    .number(structure.length(i))
+                    .number(structure.area(i))
+                    .number(structure.elasticModulus(i))
+                    .number(structure.allowableStress(i))
+                    .number(structure.distributedLoad(i));
+            if (topology) {
+                row.node(structure.startNodeId(i)).node(structure.endNodeId(i));
+            }
+        }
+
+        SheetWriter nodes = new SheetWriter(workbook, styles, "Узлы", "ID", "F, Н", "Заделка");
+        for (int j = 0; j < structure.nodeCount(); j++) {
+            nodes.row()
+                    .number(structure.nodeId(j))
+                    .number(structure.externalForce(j))
+                    .text(structure.isFixed(j) ? "✓" : "");
+        }
+    }
+
+    private void writeDisplacements(SXSSFWorkbook workbook, Styles styles, StructureModel structure,
+                                    double[] displacements) {
+        SheetWriter sheet = new SheetWriter(workbook, styles, "Перемещения", "Узел", "∆, м");
+        for (int j = 0; j < structure.nodeCount(); j++) {
+            sheet.row().number(structure.nodeId(j)).scientific(displacements[j]);
+        }
+    }
+
+    private void writeCoefficients(SXSSFWorkbook workbook, Styles styles, RodResultTable table) {
+        StructureModel structure = table.structure();
+        SheetWriter sheet = new SheetWriter(workbook, styles, "Результаты",
+                "Стержень", "Nx: a0", "Nx: a1", "ux: b0", "ux: b1", "ux: b2", "σx: c0", "σx: c1",
+                "N₀, Н", "Nₗ, Н", "max|σ|, Па", "[σ], Па", "Прочность");
+        for (int i = 0; i < table.size(); i++) {
+            double length = structure.length(i);
+            double maxStress = table.coeff(i, RodResultTable.MAX_STRESS);
+            sheet.row()
+                    .number(structure.rodId(i))
+                    .scientific(table.coeff(i, RodResultTable.A0))
+                    .scientific(table.coeff(i, RodResultTable.A1))
+                    .scientific(table.coeff(i, RodResultTable.B0))
+                    .scientific(table.coeff(i, RodResultTable.B1))
+                    .scientific(table.coeff(i, RodResultTable.B2))
+                    .scientific(table.coeff(i, RodResultTable.C0))
+                    .scientific(table.coeff(i, RodResultTable.C1))
+                    .scientific(table.coeff(i, RodResultTable.A0))
+                    .scientific(table.coeff(i, RodResultTable.A0) + table.coeff(i, RodResultTable.A1) * length)
+                    .scientific(maxStress)
+                    .scientific(structure.allowableStress(i))
+                    .text(maxStress <= structure.allowableStress(i) ? "✓" : "✗");
+        }
+    }
+
+    private void writeEpures(SXSSFWorkbook workbook, Styles styles, RodResultTable table, int[] counts) {
+        StructureModel structure = table.structure();
+        boolean chain = !structure.hasExplicitTopology();
+        SheetWriter sheet = chain
+                ? new SheetWriter(workbook, styles, "Эпюры",
+                        "Стержень", "x, м", "x (глоб.), м", "N(x), Н", "σ(x), Па", "u(x), м", "Граница")
+                : new SheetWriter(workbook, styles, "Эпюры",
+                        "Стержень", "x, м", "N(x), Н", "σ(x), Па", "u(x), м", "Граница");
+
+        int maxCount = 2;
+        for (int count : counts) {
+            maxCount = Math.max(maxCount, count);
+        }
+        double[] n = new double[maxCount];
+        double[] s = new double[maxCount];
+        double[] u = new double[maxCount];
+        double start = 0.0;
+        for (int i = 0; i < table.size(); i++) {
+            int count = counts[i];
+            double length = structure.length(i);
+            EpureSampler.sample(length, table.coeff(i, RodResultTable.A0), table.coeff(i, RodResultTable.A1), 0.0,
+                    n, count);
+            EpureSampler.sample(length, table.coeff(i, RodResultTable.C0), table.coeff(i, RodResultTable.C1), 0.0,
+                    s, count);
+            EpureSampler.sample(length, table.coeff(i, RodResultTable.B0), table.coeff(i, RodResultTable.B1),
+                    table.coeff(i, RodResultTable.B2), u, count);
+
+            double step = length / (count - 1);
+            for (int k = 0; k < count; k++) {
+                double x = k * step;
+                RowWriter row = sheet.row().number(structure.rodId(i)).number(x);
+                if (chain) {
+                    row.number(start + x);
+                }
+                row.scientific(n[k]).scientific(s[k]).scientific(u[k])
+                        .text(k == 0 || k == count - 1 ? "✓" : "");
+            }
+            start += length;
+        }
+    }
+
+    // Общие стили книги (в XLSX число стилей ограничено, поэтому создаются один раз)
+    // Стиль задаётся каждой ячейке явно: иначе при записи строки для каждой ячейки ищется стиль столбца
+    private static final class Styles {
+        final CellStyle plain;
+        final CellStyle header;
+        final CellStyle scientific;
+
+        Styles(SXSSFWorkbook workbook) {
+            plain = workbook.getCellStyleAt(0);
+
+            Font bold = workbook.createFont();
+            bold.setBold(true);
+            header = workbook.createCellStyle();
+            header.setFont(bold);
+
+            scientific = workbook.createCellStyle();
+            scientific.setDataFormat(workbook.createDataFormat().getFormat("0.0000E+00"));
+        }
+    }
+
+    // Лист с заголовком; при переполнении строки продолжаются на новом листе с тем же заголовком
+    private final class SheetWriter {
+        private final SXSSFWorkbook workbook;
+        private final Styles styles;
+        private final String name;
+        private final String[] columns;
+        private final RowWriter rowWriter;
+        private SXSSFSheet sheet;
+        private int part;
+        private int nextRow;
+
+        SheetWriter(SXSSFWorkbook workbook, Styles styles, String name, String... columns) {
+            this.workbook = workbook;
+            this.styles = styles;
+            this.name = name;
+            this.columns = columns;
+            this.rowWriter = new RowWriter(styles);
+            newSheet();
+        }
+
+        RowWriter row() {
+            if (nextRow == maxRows) {
+                newSheet();
+            }
+            return rowWriter.start(sheet.createRow(nextRow++));
+        }
+
+        // Ширина столбца в символах (автоподбор в потоковой книге требует отслеживать все ячейки)
+        void width(int column, int chars) {
+            sheet.setColumnWidth(column, chars * 256);
+        }
+
+        private void newSheet() {
+            part++;
+            sheet = workbook.createSheet(part == 1 ? name : name + " (" + part + ")");
+            sheet.createFreezePane(0, 1);
+            Row header = sheet.createRow(0);
+            for (int c = 0; c < columns.length; c++) {
+                header.createCell(c).setCellValue(columns[c]);
+                header.getCell(c).setCellStyle(styles.header);
+                sheet.setColumnWidth(c, Math.max(12, columns[c].length() + 2) * 256);
+            }
+            nextRow = 1;
+        }
+    }
+
+    // Последовательное заполнение ячеек строки (один объект на лист)
+    private static final class RowWriter {
+        private final Styles styles;
+        private Row row;
+        private int column;
+
+        RowWriter(Styles styles) {
+            this.styles = styles;
+        }
+
+        RowWriter start(Row row) {
+            this.row = row;
+            this.column = 0;
+            return this;
+        }
+
+        RowWriter number(double value) {
+            return cell(value, styles.plain);
+        }
+
+        RowWriter scientific(double value) {
+            return cell(value, styles.scientific);
+        }
+
+        RowWriter text(String value) {
+            if (!value.isEmpty()) {
+                Cell cell = row.createCell(column);
+                cell.setCellValue(value);
+                cell.setCellStyle(styles.plain);
+            }
+            column++;
+            return this;
+        }
+
+        // Узел стержня может быть не задан (NO_NODE) — ячейка остаётся пустой
+        RowWriter node(int nodeId) {
+            if (nodeId == StructureModel.NO_NODE) {
+                column++;
+                return this;
+            }
+            return cell(nodeId, styles.plain);
+        }
+
+        private RowWriter cell(double value, CellStyle style) {
+            Cell cell = row.createCell(column++);
+            cell.setCellValue(value);
+            cell.setCellStyle(style);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package stankin.saprcadbackend.service.preprocessor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Ошибки отдельных стержней и узлов (отрицательные ID, физические ограничения) по группам проверки проекта.
+// Их заполняет и ProjectValidator при проходе по модели, и потоковый разбор по мере чтения — поэтому
+// сообщения и их место в общем списке ошибок у обоих путей совпадают.
+final class ElementErrors {
+
+    private static final String RODS = "стержней";
+    private static final String NODES = "узлов";
+
+    private final List<String> rodIds = new ArrayList<>();
+    private final List<String> nodeIds = new ArrayList<>();
+    private final List<String> rods = new ArrayList<>();
+
+    void node(int id) {
+        if (id < 0) {
+            nodeIds.add("ID не может быть отрицательным. Найдено в " + NODES + ": " + id);
+        }
+    }
+
+    void rod(int id, double length, double area, double elasticModulus, double allowableStress) {
+        if (id < 0) {
+            rodIds.add("ID не может быть отрицательным. Найдено в " + RODS + ": " + id);
+        }
+        if (length <= 0) {
+            rods.add("Стержень ID=" + id + ": длина должна быть > 0.");
+        }
+        if (area <= 0) {
+            rods.add("Стержень ID=" + id + ": площадь сечения должна быть > 0.");
+        }
+        if (elasticModulus <= 0) {
+            rods.add("Стержень ID=" + id + ": модуль упругости должен быть > 0.");
+        }
+        if (allowableStress <= 0) {
+            rods.add("Стержень ID=" + id + ": допускаемое напряжение должно быть > 0.");
+        }
+        // distributedLoad может быть любым (отрицательным, положительным или нулем)
+    }
+
+    int count() {
+        return rodIds.size() + nodeIds.size() + rods.size();
+    }
+
+    List<String> rodIds() {
+        return rodIds;
+    }
+
+    List<String> nodeIds() {
+        return nodeIds;
+    }
+
+    List<String> rods() {
+        return rods;
+    }
+
+    // Все сообщения в порядке групп проверки проекта
+    List<String> messages() {
+        List<String> messages = new ArrayList<>(count());
+        messages.addAll(rodIds);
+        messages.addAll(nodeIds);
+        messages.addAll(rods);
+        return messages;
+    }
+}
@@ -0,0 +1,36 @@
+package stankin.saprcadbackend.service.preprocessor;
+
+import stankin.saprcadbackend.model.StructureModel;
+
+import java.util.List;
+
+// Итог разбора и проверки проекта: либо проверенная модель, либо список ошибок
+public class ParsedStructure {
+    private final StructureModel model;
+    private final List<String> errors;
+
+    private ParsedStructure(StructureModel model, List<String> errors) {
+        this.model = model;
+        this.errors = errors;
+    }
+
+    public static ParsedStructure success(StructureModel model) {
+        return new ParsedStructure(model, List.of());
+    }
+
+    public static ParsedStructure failure(List<String> errors) {
+        return new ParsedStructure(null, errors);
+    }
+
+    public boolean isSuccess() {
+        return model != null;
+    }
+
+    public StructureModel getModel() {
+        return model;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
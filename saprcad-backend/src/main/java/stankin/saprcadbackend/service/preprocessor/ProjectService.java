@@ -1,6 +1,7 @@
 package stankin.saprcadbackend.service.preprocessor;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import stankin.saprcadbackend.dto.structure.StructureInput;
 
@@ -13,8 +14,17 @@ public class ProjectService {
     @Autowired
     private ProjectValidator validator;
 
+    // Быстрый отказ: проверка останавливается после стольких ошибок (0 — собираются все)
+    @Value("${saprcad.validation.max-errors:0}")
+    private int maxErrors;
+
     public List<String> validateAndReturnErrors(StructureInput input) {
-        return validator.validate(input);
+        return validator.validate(input, maxErrors);
+    }
+
+    // Проверка вместе с внутренним представлением проекта для расчёта
+    public ParsedStructure validateAndBuild(StructureInput input) {
+        return validator.validateAndBuild(input, maxErrors);
     }
 
 }
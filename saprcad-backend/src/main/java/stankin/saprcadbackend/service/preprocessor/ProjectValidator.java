@@ -1,25 +1,40 @@
 package stankin.saprcadbackend.service.preprocessor;
 
 import org.springframework.stereotype.Component;
-import stankin.saprcadbackend.dto.structure.Node;
-import stankin.saprcadbackend.dto.structure.Rod;
 import stankin.saprcadbackend.dto.structure.StructureInput;
+import stankin.saprcadbackend.model.StructureModel;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
 @Component
 public class ProjectValidator {
 
     public List<String> validate(StructureInput input) {
+        return validate(input, 0);
+    }
+
+    /**
+     * Проверка проекта с быстрым отказом: при maxErrors > 0 проход останавливается, как только найдено
+     * maxErrors ошибок, и возвращается не больше maxErrors сообщений. Это подмножество полного отчёта в его
+     * порядке, но не обязательно его начало: ошибка поздней группы, найденная раньше, вытесняет ошибки
+     * ранних групп по дальним элементам. При maxErrors = 0 собираются все ошибки.
+     */
+    public List<String> validate(StructureInput input, int maxErrors) {
+        return validateAndBuild(input, maxErrors).getErrors();
+    }
+
+    // Проверка с сохранением построенного внутреннего представления: расчёт использует ту же модель
+    public ParsedStructure validateAndBuild(StructureInput input, int maxErrors) {
         List<String> errors = new ArrayList<>();
 
         // Проверка на null
         if (input == null) {
             errors.add("Входные данные не могут быть null.");
-            return errors;
+            return ParsedStructure.failure(errors);
         }
 
         if (input.getNodes() == null) {
@@ -31,7 +46,7 @@ public class ProjectValidator {
         }
 
         if (errors.size() > 0) {
-            return errors;
+            return ParsedStructure.failure(errors);
         }
 
         // Проверка что списки не пустые
@@ -44,239 +59,363 @@ public class ProjectValidator {
         }
 
         if (errors.size() > 0) {
-            return errors;
-        }
-
-        // Проверка количества узлов = количество стержней + 1
-        if (input.getNodes().size() != input.getRods().size() + 1) {
-            errors.add("Количество узлов должно быть на 1 больше количества стержней. Узлов: " +
-                    input.getNodes().size() + ", стержней: " + input.getRods().size());
+            return ParsedStructure.failure(errors);
         }
 
-        // Проверка уникальности ID
-        validateUniqueIds(input.getRods(), "стержней", errors);
-        validateUniqueIds(input.getNodes(), "узлов", errors);
-
-        // Проверка корректности ID (не отрицательные)
-        validateIdNonNegative(input.getRods(), "стержней", errors);
-        validateIdNonNegative(input.getNodes(), "узлов", errors);
-
-        // Проверка физических ограничений для стержней
-        for (Rod rod : input.getRods()) {
-            if (rod.getLength() <= 0) {
-                errors.add("Стержень ID=" + rod.getId() + ": длина должна быть > 0.");
-            }
-            if (rod.getArea() <= 0) {
-                errors.add("Стержень ID=" + rod.getId() + ": площадь сечения должна быть > 0.");
-            }
-            if (rod.getElasticModulus() <= 0) {
-                errors.add("Стержень ID=" + rod.getId() + ": модуль упругости должен быть > 0.");
-            }
-            if (rod.getAllowableStress() <= 0) {
-                errors.add("Стержень ID=" + rod.getId() + ": допускаемое напряжение должно быть > 0.");
-            }
-            // distributedLoad может быть любым (отрицательным, положительным или нулем)
-        }
+        // Дальнейшие проверки — по примитивному представлению (то же, что строит потоковый разбор)
+        StructureModel model = StructureModel.of(input);
+        errors = new Sweep(model, new ElementErrors(), true, maxErrors).run();
+        return errors.isEmpty() ? ParsedStructure.success(model) : ParsedStructure.failure(errors);
+    }
 
-        // Проверка последовательности ID узлов (для упрощения расчетов)
-        validateNodeIdSequence(input.getNodes(), errors);
+    // Проверка уже построенной модели (двоичный формат): те же правила и тот же порядок сообщений, что у DTO
+    public List<String> validate(StructureModel model, int maxErrors) {
+        List<String> errors = validateCounts(model);
+        return errors.isEmpty() ? new Sweep(model, new ElementErrors(), true, maxErrors).run() : errors;
+    }
 
-        // Проверка последовательности ID стержней (для упрощения расчетов)
-        validateRodIdSequence(input.getRods(), errors);
+    /**
+     * Проверки, затрагивающие всю конструкцию: количество элементов, уникальность и последовательность ID,
+     * связность и закрепления. Правила для отдельных элементов потоковый разбор проверяет по мере чтения
+     * и передаёт в elements — они встают в общий список на те же места, что при проверке DTO.
+     */
+    List<String> validateStructure(StructureModel model, ElementErrors elements, int maxErrors) {
+        List<String> errors = validateCounts(model);
+        return errors.isEmpty() ? new Sweep(model, elements, false, maxErrors).run() : errors;
+    }
 
-        // Проверка структуры стержневой системы
-        validateStructure(input.getRods(), input.getNodes(), errors);
+    private static List<String> validateCounts(StructureModel model) {
+        List<String> errors = new ArrayList<>();
 
-        // Проверка расположения опор (опоры не могут быть в середине конструкции)
-        validateSupportLocations(input.getNodes(), errors);
+        // Проверка что списки не пустые
+        if (model.nodeCount() == 0) {
+            errors.add("Список узлов не может быть пустым.");
+        }
 
-        // Проверка критических ошибок
-        validateCritical(input, errors);
+        if (model.rodCount() == 0) {
+            errors.add("Список стержней не может быть пустым.");
+        }
 
         return errors;
     }
 
-    private void validateUniqueIds(List<?> items, String type, List<String> errors) {
-        if (items == null || items.isEmpty()) {
-            return;
-        }
+    /**
+     * Все правила за один проход по узлам и один по стержням. Ошибки копятся по группам и в конце
+     * склеиваются в прежнем порядке проверок (количество, дубликаты, отрицательные ID, физика стержней,
+     * последовательность ID, заделки, связность, расположение опор), поэтому список сообщений совпадает
+     * с последовательными проверками.
+     */
+    private static final class Sweep {
+        // Группы ошибок в порядке вывода
+        private static final int COUNT = 0;
+        private static final int ROD_DUPLICATE = 1;
+        private static final int NODE_DUPLICATE = 2;
+        private static final int ROD_ID = 3;
+        private static final int NODE_ID = 4;
+        private static final int ROD = 5;
+        private static final int NODE_SEQUENCE = 6;
+        private static final int FIXED = 7;
+        private static final int ROD_SEQUENCE = 8;
+        private static final int TOPOLOGY = 9;
+        private static final int CHAIN_FIXED = 10;
+        private static final int SUPPORTS = 11;
+        private static final int GROUPS = 12;
+
+        private static final String RODS = "стержней";
+        private static final String NODES = "узлов";
+
+        private final StructureModel model;
+        private final ElementErrors elements;
+        private final boolean checkElements;   // false — правила для элементов уже проверены при разборе
+        private final int maxErrors;
+        private final boolean explicitTopology;
+
+        private final List<String>[] groups;
+        private int errorCount;
+
+        private final IdSet nodeIds;
+        private final IdSet rodIds;
+        private int[] fixedIds = new int[4];
+        private int fixedSeen;
+
+        // Явная топология: система непересекающихся множеств по индексам узлов
+        private int[] parent;
+        private boolean[] connected;
+
+        @SuppressWarnings("unchecked")
+        Sweep(StructureModel model, ElementErrors elements, boolean checkElements, int maxErrors) {
+            this.model = model;
+            this.elements = elements;
+            this.checkElements = checkElements;
+            this.maxErrors = maxErrors;
+            this.explicitTopology = model.hasExplicitTopology();
+            this.groups = new List[GROUPS];
+            this.nodeIds = new IdSet(model.nodeCount(), explicitTopology);
+            this.rodIds = new IdSet(model.rodCount(), false);
+        }
+
+        List<String> run() {
+            // Проверка количества узлов = количество стержней + 1 (только для линейной системы)
+            if (!explicitTopology && model.nodeCount() != model.rodCount() + 1) {
+                add(COUNT, "Количество узлов должно быть на 1 больше количества стержней. Узлов: " +
+                        model.nodeCount() + ", стержней: " + model.rodCount());
+            }
 
-        Set<Integer> idSet = new HashSet<>();
-        for (Object item : items) {
-            Integer id = getIdFromObject(item);
-            if (id != null) {
-                if (idSet.contains(id)) {
-                    errors.add("Найден дубликат ID " + id + " в списке " + type + ".");
-                } else {
-                    idSet.add(id);
+            sweepNodes();
+            if (explicitTopology) {
+                parent = new int[model.nodeCount()];
+                for (int j = 0; j < parent.length; j++) {
+                    parent[j] = j;
                 }
+                connected = new boolean[model.nodeCount()];
             }
-        }
-    }
+            sweepRods();
 
-    private void validateIdNonNegative(List<?> items, String type, List<String> errors) {
-        if (items == null) {
-            return;
-        }
-
-        for (Object item : items) {
-            Integer id = getIdFromObject(item);
-            if (id != null && id < 0) {
-                errors.add("ID не может быть отрицательным. Найдено в " + type + ": " + id);
+            if (!isFull()) {
+                validateIdSequence(nodeIds, NODES, NODE_SEQUENCE);
+            }
+            if (model.fixedCount() == 0) {
+                add(FIXED, "Система должна иметь хотя бы одну заделку (фиксированный узел).");
+            }
+            if (!isFull()) {
+                validateIdSequence(rodIds, RODS, ROD_SEQUENCE);
             }
-        }
-    }
-
-    private Integer getIdFromObject(Object item) {
-        if (item instanceof Rod) {
-            return ((Rod) item).getId();
-        } else if (item instanceof Node) {
-            return ((Node) item).getId();
-        }
-        return null;
-    }
-
-    private void validateNodeIdSequence(List<Node> nodes, List<String> errors) {
-        if (nodes == null || nodes.isEmpty()) {
-            return;
-        }
-
-        // Проверяем, что ID узлов идут последовательно от 0 или 1
-        Set<Integer> nodeIds = new HashSet<>();
-        int minId = Integer.MAX_VALUE;
-        int maxId = Integer.MIN_VALUE;
 
-        for (Node node : nodes) {
-            int id = node.getId();
-            nodeIds.add(id);
-            minId = Math.min(minId, id);
-            maxId = Math.max(maxId, id);
+            if (explicitTopology) {
+                validateComponents();
+            } else {
+                validateChain();
+                validateSupportLocations();
+            }
+            return collect();
         }
 
-        // Проверяем последовательность
-        if (maxId - minId + 1 != nodeIds.size()) {
-            errors.add("ID узлов должны идти последовательно без пропусков. Найдены ID от " +
-                    minId + " до " + maxId + " с пропусками.");
+        // ID, дубликаты и заделки узлов
+        private void sweepNodes() {
+            for (int j = 0; j < model.nodeCount() && !isFull(); j++) {
+                int id = model.nodeId(j);
+                if (checkElements) {
+                    elements.node(id);
+                }
+                if (!nodeIds.add(id, j)) {
+                    add(NODE_DUPLICATE, "Найден дубликат ID " + id + " в списке " + NODES + ".");
+                }
+                if (model.isFixed(j)) {
+                    if (fixedSeen == fixedIds.length) {
+                        fixedIds = Arrays.copyOf(fixedIds, fixedSeen * 2);
+                    }
+                    fixedIds[fixedSeen++] = id;
+                }
+            }
         }
 
-        // Рекомендуем начинать с 0 или 1
-        if (minId != 0 && minId != 1) {
-            errors.add("Рекомендуется начинать нумерацию узлов с 0 или 1. Найден минимальный ID: " + minId);
+        // ID, физические ограничения, дубликаты стержней; при явной топологии — ссылки на узлы и связность
+        private void sweepRods() {
+            for (int i = 0; i < model.rodCount() && !isFull(); i++) {
+                int id = model.rodId(i);
+                if (checkElements) {
+                    elements.rod(id, model.length(i), model.area(i), model.elasticModulus(i),
+                            model.allowableStress(i));
+                }
+                if (!rodIds.add(id, i)) {
+                    add(ROD_DUPLICATE, "Найден дубликат ID " + id + " в списке " + RODS + ".");
+                }
+                if (explicitTopology) {
+                    connect(i, id);
+                }
+            }
         }
 
-        // Проверяем наличие хотя бы одной заделки (фиксированного узла)
-        boolean hasFixedSupport = false;
-        for (Node node : nodes) {
-            if (node.isFixed()) {
-                hasFixedSupport = true;
-                break;
+        private void connect(int i, int rodId) {
+            int startId = model.startNodeId(i);
+            int endId = model.endNodeId(i);
+            if (startId == StructureModel.NO_NODE || endId == StructureModel.NO_NODE) {
+                add(TOPOLOGY, "Стержень ID=" + rodId + ": не заданы начальный и конечный узлы. " +
+                        "Если узлы указаны хотя бы у одного стержня, они должны быть указаны у всех.");
+                return;
             }
-        }
-        if (!hasFixedSupport) {
-            errors.add("Система должна иметь хотя бы одну заделку (фиксированный узел).");
+            int start = nodeIds.indexOf(startId);
+            int end = nodeIds.indexOf(endId);
+            if (start < 0 || end < 0) {
+                add(TOPOLOGY, "Стержень ID=" + rodId + " ссылается на несуществующий узел " +
+                        "(начальный ID=" + startId + ", конечный ID=" + endId + ").");
+                return;
+            }
+            if (start == end) {
+                add(TOPOLOGY, "Стержень ID=" + rodId + ": начальный и конечный узлы совпадают (ID=" +
+                        startId + ").");
+                return;
+            }
+            connected[start] = true;
+            connected[end] = true;
+            parent[find(parent, start)] = find(parent, end);
         }
 
-    }
+        private void validateIdSequence(IdSet ids, String type, int group) {
+            // Проверяем последовательность
+            if ((long) ids.maxId - ids.minId + 1 != ids.distinct) {
+                add(group, "ID " + type + " должны идти последовательно без пропусков. Найдены ID от " +
+                        ids.minId + " до " + ids.maxId + " с пропусками.");
+            }
 
-    private void validateRodIdSequence(List<Rod> rods, List<String> errors) {
-        if (rods == null || rods.isEmpty()) {
-            return;
+            // Рекомендуем начинать с 0 или 1
+            if (ids.minId != 0 && ids.minId != 1) {
+                add(group, "Рекомендуется начинать нумерацию " + type + " с 0 или 1. Найден минимальный ID: " + ids.minId);
+            }
         }
 
-        // Проверяем, что ID стержней идут последовательно от 0 или 1
-        Set<Integer> rodIds = new HashSet<>();
-        int minId = Integer.MAX_VALUE;
-        int maxId = Integer.MIN_VALUE;
+        // Линейная система: стержень i соединяет узлы с ID i и i+1
+        private void validateChain() {
+            int rodCount = model.rodCount();
+            // Узлы 0..rodCount все на месте — проверять стержни по одному не нужно
+            boolean complete = nodeIds.minId == 0 && nodeIds.maxId == rodCount && nodeIds.distinct == rodCount + 1;
+            for (int i = 0; i < rodCount && !complete && !isFull(); i++) {
+                if (!nodeIds.contains(i) || !nodeIds.contains(i + 1)) {
+                    add(TOPOLOGY, "Нарушена последовательность соединения стержней. " +
+                            "Стержень " + model.rodId(i) + " должен соединять узлы " + i + " и " + (i + 1));
+                }
+            }
 
-        for (Rod rod : rods) {
-            int id = rod.getId();
-            rodIds.add(id);
-            minId = Math.min(minId, id);
-            maxId = Math.max(maxId, id);
+            if (model.fixedCount() == 0) {
+                add(CHAIN_FIXED, "Система должна иметь хотя бы одну заделку (фиксированный узел).");
+            }
         }
 
-        // Проверяем последовательность
-        if (maxId - minId + 1 != rodIds.size()) {
-            errors.add("ID стержней должны идти последовательно без пропусков. Найдены ID от " +
-                    minId + " до " + maxId + " с пропусками.");
+        // Опоры линейной системы — только на крайних узлах
+        private void validateSupportLocations() {
+            if (model.nodeCount() < 3) {
+                return; // Для менее чем 3 узлов не может быть "середины"
+            }
+            int minId = nodeIds.minId;
+            int maxId = nodeIds.maxId;
+            for (int k = 0; k < fixedSeen && !isFull(); k++) {
+                int nodeId = fixedIds[k];
+                if (nodeId != minId && nodeId != maxId) {
+                    add(SUPPORTS, "Фиксированная опора не может находиться в середине конструкции. " +
+                            "Узел ID=" + nodeId + " является фиксированной опорой, но не находится на конце конструкции. " +
+                            "Опоры могут быть только на крайних узлах (ID: " + minId + " или " + maxId + ").");
+                }
+            }
         }
 
-        // Рекомендуем начинать с 0 или 1
-        if (minId != 0 && minId != 1) {
-            errors.add("Рекомендуется начинать нумерацию стержней с 0 или 1. Найден минимальный ID: " + minId);
-        }
-    }
+        // Явная топология: висящие узлы и заделка в каждой связной части (иначе матрица жёсткости вырождена)
+        private void validateComponents() {
+            if (isFull()) {
+                return;
+            }
+            int nodeCount = model.nodeCount();
+            for (int j = 0; j < nodeCount; j++) {
+                if (!connected[j]) {
+                    add(TOPOLOGY, "Узел ID=" + model.nodeId(j) + " не соединён ни с одним стержнем.");
+                }
+            }
 
-    private void validateStructure(List<Rod> rods, List<Node> nodes, List<String> errors) {
-        if (rods == null || nodes == null || rods.isEmpty() || nodes.isEmpty()) {
-            return;
+            boolean[] componentFixed = new boolean[nodeCount];
+            for (int j = 0; j < nodeCount; j++) {
+                if (model.isFixed(j)) {
+                    componentFixed[find(parent, j)] = true;
+                }
+            }
+            for (int j = 0; j < nodeCount; j++) {
+                int root = find(parent, j);
+                if (connected[j] && !componentFixed[root]) {
+                    add(TOPOLOGY, "Часть конструкции, содержащая узел ID=" + model.nodeId(j) +
+                            ", не имеет ни одной заделки.");
+                    componentFixed[root] = true; // сообщаем один раз на часть
+                }
+            }
         }
 
-        // Создаем множество ID узлов для быстрой проверки
-        Set<Integer> nodeIds = new HashSet<>();
-        for (Node node : nodes) {
-            nodeIds.add(node.getId());
+        private static int find(int[] parent, int i) {
+            while (parent[i] != i) {
+                parent[i] = parent[parent[i]];
+                i = parent[i];
+            }
+            return i;
         }
 
-        // Для линейной системы стержней проверяем, что узлы соединены последовательно
-        // В линейной системе стержень i соединяет узел i и узел i+1
-        for (int i = 0; i < rods.size(); i++) {
-            Rod rod = rods.get(i);
-            int expectedStartNode = i;
-            int expectedEndNode = i + 1;
-
-            // Проверяем существование ожидаемых узлов
-            if (!nodeIds.contains(expectedStartNode) || !nodeIds.contains(expectedEndNode)) {
-                errors.add("Нарушена последовательность соединения стержней. " +
-                        "Стержень " + rod.getId() + " должен соединять узлы " +
-                        expectedStartNode + " и " + expectedEndNode);
+        private void add(int group, String message) {
+            if (groups[group] == null) {
+                groups[group] = new ArrayList<>();
             }
+            groups[group].add(message);
+            errorCount++;
         }
 
-        // Проверяем наличие хотя бы одной заделки (фиксированного узла)
-        boolean hasFixedSupport = false;
-        for (Node node : nodes) {
-            if (node.isFixed()) {
-                hasFixedSupport = true;
-                break;
-            }
+        private boolean isFull() {
+            return maxErrors > 0 && errorCount + elements.count() >= maxErrors;
         }
 
-        if (!hasFixedSupport) {
-            errors.add("Система должна иметь хотя бы одну заделку (фиксированный узел).");
+        private List<String> collect() {
+            groups[ROD_ID] = elements.rodIds();
+            groups[NODE_ID] = elements.nodeIds();
+            groups[ROD] = elements.rods();
+            List<String> errors = new ArrayList<>(errorCount + elements.count());
+            for (List<String> group : groups) {
+                if (group != null) {
+                    errors.addAll(group);
+                }
+            }
+            return maxErrors > 0 && errors.size() > maxErrors ? errors.subList(0, maxErrors) : errors;
         }
     }
 
-    /**
-     * Проверяет, что фиксированные опоры находятся только на концах конструкции
-     * Опоры не могут быть расположены в середине конструкции
-     */
-    private void validateSupportLocations(List<Node> nodes, List<String> errors) {
-        if (nodes == null || nodes.size() < 3) {
-            return; // Для менее чем 3 узлов не может быть "середины"
-        }
+    // Множество ID за один проход: битовая карта long[] для ID из [0, 4n + 16), остальные (отрицательные
+    // и очень большие) — в HashMap. Попутно считает минимум, максимум и число различных ID; при indexed
+    // хранит индекс первого элемента с каждым ID.
+    private static final class IdSet {
+        private final int denseLimit;
+        private final long[] bits;
+        private final int[] indexById;
+        private Map<Integer, Integer> outliers;
+
+        private int minId = Integer.MAX_VALUE;
+        private int maxId = Integer.MIN_VALUE;
+        private int distinct;
 
-        // Находим минимальный и максимальный ID узлов
-        int minId = Integer.MAX_VALUE;
-        int maxId = Integer.MIN_VALUE;
+        IdSet(int count, boolean indexed) {
+            denseLimit = (int) Math.min(4L * count + 16, Integer.MAX_VALUE - 64);
+            bits = new long[(denseLimit + 63) >>> 6];
+            indexById = indexed ? new int[denseLimit] : null;
+        }
 
-        for (Node node : nodes) {
-            int id = node.getId();
+        // false, если такой ID уже встречался
+        boolean add(int id, int index) {
             minId = Math.min(minId, id);
             maxId = Math.max(maxId, id);
+            if (id >= 0 && id < denseLimit) {
+                long mask = 1L << id;
+                if ((bits[id >>> 6] & mask) != 0) {
+                    return false;
+                }
+                bits[id >>> 6] |= mask;
+                if (indexById != null) {
+                    indexById[id] = index;
+                }
+            } else {
+                if (outliers == null) {
+                    outliers = new HashMap<>();
+                }
+                if (outliers.putIfAbsent(id, index) != null) {
+                    return false;
+                }
+            }
+            distinct++;
+            return true;
         }
 
-        // Проверяем каждый фиксированный узел
-        for (Node node : nodes) {
-            if (node.isFixed()) {
-                int nodeId = node.getId();
-                // Если узел не первый и не последний - это ошибка
-                if (nodeId != minId && nodeId != maxId) {
-                    errors.add("Фиксированная опора не может находиться в середине конструкции. " +
-                            "Узел ID=" + nodeId + " является фиксированной опорой, но не находится на конце конструкции. " +
-                            "Опоры могут быть только на крайних узлах (ID: " + minId + " или " + maxId + ").");
-                }
+        boolean contains(int id) {
+            if (id >= 0 && id < denseLimit) {
+                return (bits[id >>> 6] & (1L << id)) != 0;
             }
+            return outliers != null && outliers.containsKey(id);
+        }
+
+        int indexOf(int id) {
+            if (!contains(id)) {
+                return -1;
+            }
+            return id >= 0 && id < denseLimit ? indexById[id] : outliers.get(id);
         }
     }
 
@@ -290,45 +429,4 @@ public class ProjectValidator {
         List<String> errors = validate(input);
         return errors.isEmpty() ? null : errors.get(0);
     }
-
-    // Метод для быстрой проверки только критических ошибок
-    public List<String> validateCritical(StructureInput input,List<String> errors) {
-
-        if (input == null) {
-            errors.add("Входные данные не могут быть null.");
-            return errors;
-        }
-
-        if (input.getNodes() == null || input.getNodes().isEmpty()) {
-            errors.add("Список узлов не может быть пустым.");
-        }
-
-        if (input.getRods() == null || input.getRods().isEmpty()) {
-            errors.add("Список стержней не может быть пустым.");
-        }
-
-        if (errors.size() > 0) {
-            return errors;
-        }
-
-        // Проверка количества узлов
-        if (input.getNodes().size() != input.getRods().size() + 1) {
-            errors.add("Количество узлов должно быть на 1 больше количества стержней.");
-        }
-
-        // Проверка наличия фиксированной опоры
-        boolean hasFixedSupport = false;
-        for (Node node : input.getNodes()) {
-            if (node.isFixed()) {
-                hasFixedSupport = true;
-                break;
-            }
-        }
-
-        if (!hasFixedSupport) {
-            errors.add("Система должна иметь хотя бы одну заделку.");
-        }
-
-        return errors;
-    }
 }
\ No newline at end of file
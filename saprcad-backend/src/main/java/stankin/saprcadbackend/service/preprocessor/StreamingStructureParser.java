@@ -0,0 +1,361 @@
+package stankin.saprcadbackend.service.preprocessor;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import stankin.saprcadbackend.model.StructureModel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+// Потоковый разбор проекта: JSON читается по токенам и складывается сразу в примитивные массивы
+// StructureModel, без промежуточных объектов Rod/Node. Правила для отдельных стержней и узлов
+// проверяются по мере чтения, проверки всей конструкции — после разбора; сообщения и их порядок
+// совпадают с проверкой DTO (ProjectValidator.validateAndBuild).
+@Component
+public class StreamingStructureParser {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final String ROD = "Стержень";
+    private static final String NODE = "Узел";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProjectValidator validator;
+
+    // Тот же быстрый отказ, что у проверки DTO: разбор прекращается после maxErrors ошибок
+    @Value("${saprcad.validation.max-errors:0}")
+    private int maxErrors = 0;
+
+    public ParsedStructure parse(InputStream body) throws IOException {
+        List<String> errors = new ArrayList<>();
+        ElementErrors elements = new ElementErrors();
+        RodColumns rods = null;
+        NodeColumns nodes = null;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            // Разбор чисел без промежуточной строки на каждое значение
+            parser.enable(StreamReadFeature.USE_FAST_DOUBLE_PARSER.mappedFeature());
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.VALUE_NULL) {
+                errors.add("Входные данные не могут быть null.");
+                return ParsedStructure.failure(errors);
+            }
+            if (token != JsonToken.START_OBJECT) {
+                errors.add("Ожидался JSON-объект проекта.");
+                return ParsedStructure.failure(errors);
+            }
+
+            while (!isFull(errors, elements) && parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                token = parser.nextToken();
+                if (token == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                if ("rods".equals(field) || "nodes".equals(field)) {
+                    if (token != JsonToken.START_ARRAY) {
+                        errors.add("Поле \"" + field + "\" должно быть массивом.");
+                        parser.skipChildren();
+                    } else if ("rods".equals(field)) {
+                        rods = parseRods(parser, errors, elements);
+                    } else {
+                        nodes = parseNodes(parser, errors, elements);
+                    }
+                } else {
+                    parser.skipChildren(); // неизвестные поля пропускаются, как и при обычной десериализации
+                }
+            }
+        } catch (JsonProcessingException e) {
+            errors.add("Некорректный JSON: " + e.getOriginalMessage());
+            return ParsedStructure.failure(errors);
+        }
+
+        if (!errors.isEmpty() || isFull(errors, elements)) {
+            // Ошибки формата — перед ошибками элементов: без них модель не строится. При достигнутом
+            // пределе разбор прерван, и структурные проверки по неполной модели не выполняются
+            errors.addAll(elements.messages());
+            return ParsedStructure.failure(limit(errors));
+        }
+        if (nodes == null) {
+            errors.add("Список узлов не может быть null.");
+        }
+        if (rods == null) {
+            errors.add("Список стержней не может быть null.");
+        }
+        if (!errors.isEmpty()) {
+            return ParsedStructure.failure(errors);
+        }
+
+        rods.trim();
+        nodes.trim();
+        StructureModel model = new StructureModel(rods.size, rods.ids, rods.lengths, rods.areas, rods.moduli,
+                rods.stresses, rods.loads, rods.densities, rods.starts, rods.ends,
+                nodes.size, nodes.ids, nodes.forces, nodes.fixed);
+        errors = validator.validateStructure(model, elements, maxErrors);
+        return errors.isEmpty() ? ParsedStructure.success(model) : ParsedStructure.failure(errors);
+    }
+
+    private RodColumns parseRods(JsonParser parser, List<String> errors, ElementErrors elements) throws IOException {
+        RodColumns rods = new RodColumns();
+        JsonToken token;
+        while (!isFull(errors, elements) && (token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            int number = rods.size + 1;
+            if (token != JsonToken.START_OBJECT) {
+                errors.add("Стержень №" + number + ": ожидался объект.");
+                parser.skipChildren();
+                continue;
+            }
+
+            int i = rods.append();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "id" -> rods.ids[i] = readInt(parser, ROD, number, field, errors);
+                    case "length" -> rods.lengths[i] = readDouble(parser, ROD, number, field, errors);
+                    case "area" -> rods.areas[i] = readDouble(parser, ROD, number, field, errors);
+                    case "elasticModulus" -> rods.moduli[i] = readDouble(parser, ROD, number, field, errors);
+                    case "allowableStress" -> rods.stresses[i] = readDouble(parser, ROD, number, field, errors);
+                    case "distributedLoad" -> rods.loads[i] = readDouble(parser, ROD, number, field, errors);
+                    case "density" -> {
+                        // Столбец плотностей — только если есть ненулевая, как в StructureModel.of
+                        double density = readDouble(parser, ROD, number, field, errors);
+                        if (density != 0.0) {
+                            rods.densities()[i] = density;
+                        }
+                    }
+                    case "startNodeId", "endNodeId" -> {
+                        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                            break;
+                        }
+                        int nodeId = readInt(parser, ROD, number, field, errors);
+                        rods.explicitTopology();
+                        if (field.equals("startNodeId")) {
+                            rods.starts[i] = nodeId;
+                        } else {
+                            rods.ends[i] = nodeId;
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+
+            // Правила для отдельного стержня — сразу после его чтения
+            elements.rod(rods.ids[i], rods.lengths[i], rods.areas[i], rods.moduli[i], rods.stresses[i]);
+        }
+        return rods;
+    }
+
+    private NodeColumns parseNodes(JsonParser parser, List<String> errors, ElementErrors elements)
+            throws IOException {
+        NodeColumns nodes = new NodeColumns();
+        JsonToken token;
+        while (!isFull(errors, elements) && (token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            int number = nodes.size + 1;
+            if (token != JsonToken.START_OBJECT) {
+                errors.add("Узел №" + number + ": ожидался объект.");
+                parser.skipChildren();
+                continue;
+            }
+
+            int j = nodes.append();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "id" -> nodes.ids[j] = readInt(parser, NODE, number, field, errors);
+                    case "externalForce" -> nodes.forces[j] = readDouble(parser, NODE, number, field, errors);
+                    case "fixed" -> {
+                        if (readBoolean(parser, NODE, number, field, errors)) {
+                            nodes.fixed.set(j);
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+
+            elements.node(nodes.ids[j]);
+        }
+        return nodes;
+    }
+
+    private boolean isFull(List<String> errors, ElementErrors elements) {
+        return maxErrors > 0 && errors.size() + elements.count() >= maxErrors;
+    }
+
+    private List<String> limit(List<String> errors) {
+        return maxErrors > 0 && errors.size() > maxErrors ? errors.subList(0, maxErrors) : errors;
+    }
+
+    // null даёт значение по умолчанию, как у примитивных полей DTO
+    private static double readDouble(JsonParser parser, String element, int number, String field,
+                                     List<String> errors) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return parser.getDoubleValue();
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return 0.0;
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                return Double.parseDouble(parser.getText().trim());
+            } catch (NumberFormatException e) {
+                // ниже — общее сообщение об ошибке
+            }
+        }
+        errors.add(element + " №" + number + ": поле \"" + field + "\" должно быть числом.");
+        parser.skipChildren();
+        return 0.0;
+    }
+
+    private static int readInt(JsonParser parser, String element, int number, String field,
+                                     List<String> errors) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT && parser.getNumberType() == JsonParser.NumberType.INT) {
+            return parser.getIntValue();
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return 0;
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                return Integer.parseInt(parser.getText().trim());
+            } catch (NumberFormatException e) {
+                // ниже — общее сообщение об ошибке
+            }
+        }
+        errors.add(element + " №" + number + ": поле \"" + field + "\" должно быть целым числом.");
+        parser.skipChildren();
+        return 0;
+    }
+
+    private static boolean readBoolean(JsonParser parser, String element, int number, String field,
+                                     List<String> errors) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE) {
+            return token == JsonToken.VALUE_TRUE;
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return false;
+        }
+        errors.add(element + " №" + number + ": поле \"" + field + "\" должно быть логическим значением.");
+        parser.skipChildren();
+        return false;
+    }
+
+    // Растущие столбцы стержней (ёмкость увеличивается в 1.5 раза)
+    private static class RodColumns {
+        int size;
+        int[] ids = new int[INITIAL_CAPACITY];
+        double[] lengths = new double[INITIAL_CAPACITY];
+        double[] areas = new double[INITIAL_CAPACITY];
+        double[] moduli = new double[INITIAL_CAPACITY];
+        double[] stresses = new double[INITIAL_CAPACITY];
+        double[] loads = new double[INITIAL_CAPACITY];
+        double[] densities; // создаётся при первом стержне с плотностью
+        int[] starts;  // создаются при первом стержне с явно заданными узлами
+        int[] ends;
+
+        int append() {
+            if (size == ids.length) {
+                int capacity = ids.length + (ids.length >> 1);
+                ids = Arrays.copyOf(ids, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+                areas = Arrays.copyOf(areas, capacity);
+                moduli = Arrays.copyOf(moduli, capacity);
+                stresses = Arrays.copyOf(stresses, capacity);
+                loads = Arrays.copyOf(loads, capacity);
+                if (densities != null) {
+                    densities = Arrays.copyOf(densities, capacity);
+                }
+                if (starts != null) {
+                    starts = grow(starts, capacity);
+                    ends = grow(ends, capacity);
+                }
+            }
+            if (starts != null) {
+                starts[size] = StructureModel.NO_NODE;
+                ends[size] = StructureModel.NO_NODE;
+            }
+            return size++;
+        }
+
+        double[] densities() {
+            if (densities == null) {
+                densities = new double[ids.length];
+            }
+            return densities;
+        }
+
+        // Столбцы ровно по числу стержней — такие же, как у StructureModel.of
+        void trim() {
+            if (size == ids.length) {
+                return;
+            }
+            ids = Arrays.copyOf(ids, size);
+            lengths = Arrays.copyOf(lengths, size);
+            areas = Arrays.copyOf(areas, size);
+            moduli = Arrays.copyOf(moduli, size);
+            stresses = Arrays.copyOf(stresses, size);
+            loads = Arrays.copyOf(loads, size);
+            if (densities != null) {
+                densities = Arrays.copyOf(densities, size);
+            }
+            if (starts != null) {
+                starts = Arrays.copyOf(starts, size);
+                ends = Arrays.copyOf(ends, size);
+            }
+        }
+
+        void explicitTopology() {
+            if (starts == null) {
+                starts = new int[ids.length];
+                ends = new int[ids.length];
+                Arrays.fill(starts, StructureModel.NO_NODE);
+                Arrays.fill(ends, StructureModel.NO_NODE);
+            }
+        }
+
+        private static int[] grow(int[] column, int capacity) {
+            int[] grown = Arrays.copyOf(column, capacity);
+            Arrays.fill(grown, column.length, capacity, StructureModel.NO_NODE);
+            return grown;
+        }
+    }
+
+    private static class NodeColumns {
+        int size;
+        int[] ids = new int[INITIAL_CAPACITY];
+        double[] forces = new double[INITIAL_CAPACITY];
+        BitSet fixed = new BitSet();
+
+        int append() {
+            if (size == ids.length) {
+                int capacity = ids.length + (ids.length >> 1);
+                ids = Arrays.copyOf(ids, capacity);
+                forces = Arrays.copyOf(forces, capacity);
+            }
+            return size++;
+        }
+
+        void trim() {
+            if (size != ids.length) {
+                ids = Arrays.copyOf(ids, size);
+                forces = Arrays.copyOf(forces, size);
+            }
+        }
+    }
+}
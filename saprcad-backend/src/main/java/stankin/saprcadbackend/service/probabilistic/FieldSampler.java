@@ -0,0 +1,49 @@
+package stankin.saprcadbackend.service.probabilistic;
+
+import stankin.saprcadbackend.dto.probabilistic.Distribution;
+import stankin.saprcadbackend.dto.probabilistic.RandomField;
+
+import java.util.random.RandomGenerator;
+
+// Случайное значение параметра вокруг номинального μ со стандартным отклонением cov * |μ|.
+// Нулевое номинальное значение (например, отсутствующая нагрузка) остаётся нулём.
+final class FieldSampler {
+
+    private final Distribution distribution;
+    private final double cov;
+    private final boolean positive;   // E и A: значения ≤ 0 отбрасываются и разыгрываются заново
+    private final double sigmaLn;     // логнормальное: σ логарифма
+    private final double halfWidth;   // равномерное: полуширина интервала в долях μ, cov * √3
+
+    private FieldSampler(Distribution distribution, double cov, boolean positive) {
+        this.distribution = distribution;
+        this.cov = cov;
+        this.positive = positive;
+        this.sigmaLn = Math.sqrt(Math.log1p(cov * cov));
+        this.halfWidth = cov * Math.sqrt(3.0);
+    }
+
+    // null — параметр детерминированный
+    static FieldSampler of(RandomField field, boolean positive) {
+        return field == null ? null : new FieldSampler(field.getDistribution(), field.getCov(), positive);
+    }
+
+    double sample(double nominal, RandomGenerator random) {
+        if (nominal == 0.0) {
+            return 0.0;
+        }
+        switch (distribution) {
+            case LOGNORMAL:
+                // Среднее exp(σ²/2) компенсируется сдвигом, чтобы среднее значение осталось равным μ
+                return nominal * Math.exp(sigmaLn * random.nextGaussian() - 0.5 * sigmaLn * sigmaLn);
+            case UNIFORM:
+                return nominal * (1.0 + halfWidth * (2.0 * random.nextDouble() - 1.0));
+            default:
+                double value;
+                do {
+                    value = nominal * (1.0 + cov * random.nextGaussian());
+                } while (positive && value <= 0.0);
+                return value;
+        }
+    }
+}
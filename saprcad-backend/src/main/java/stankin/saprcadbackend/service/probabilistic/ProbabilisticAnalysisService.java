@@ -0,0 +1,273 @@
+package stankin.saprcadbackend.service.probabilistic;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import stankin.saprcadbackend.dto.probabilistic.Distribution;
+import stankin.saprcadbackend.dto.probabilistic.NodeStatistics;
+import stankin.saprcadbackend.dto.probabilistic.ProbabilisticInput;
+import stankin.saprcadbackend.dto.probabilistic.ProbabilisticResult;
+import stankin.saprcadbackend.dto.probabilistic.RandomField;
+import stankin.saprcadbackend.dto.probabilistic.RodReliability;
+import stankin.saprcadbackend.model.StructureModel;
+import stankin.saprcadbackend.service.preprocessor.ParsedStructure;
+import stankin.saprcadbackend.service.preprocessor.ProjectService;
+import stankin.saprcadbackend.service.processor.CalculateDisplacementsService;
+import stankin.saprcadbackend.service.processor.RefactorableStructure;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Вероятностный расчёт методом Монте-Карло: E, A, q и F — случайные величины, на выходе — среднее,
+ * стандартное отклонение, экстремумы и квантили max |σx| стержней и ∆ узлов, вероятность превышения [σ].
+ * <p>
+ * Испытания делятся на блоки по BLOCK_SIZE; у каждого блока свой поток случайных чисел, полученный
+ * SplittableRandom.split() от генератора с заданным seed, поэтому результат зависит только от seed
+ * и не зависит от числа потоков. Блоки считаются параллельно в calculationExecutor, статистика
+ * накапливается потоково (SampleAccumulator) — память не зависит от числа испытаний.
+ * Топология и шаблон матрицы строятся один раз (RefactorableStructure); у каждого потока —
+ * свои рабочие массивы (SampleRunner).
+ */
+@Service
+public class ProbabilisticAnalysisService {
+
+    public static final int DEFAULT_SAMPLES = 10000;
+    public static final long DEFAULT_SEED = 0L;
+    private static final double[] DEFAULT_QUANTILES = {0.05, 0.5, 0.95};
+
+    private static final int BLOCK_SIZE = 1024;
+    // Пробная выборка для диапазонов гистограмм (свой поток случайных чисел, в статистику не входит)
+    private static final int PILOT_SAMPLES = 512;
+    private static final int MIN_HISTOGRAM_BINS = 16;
+
+    @Value("${saprcad.probabilistic.max-samples:10000000}")
+    private int maxSamples = 10000000;
+
+    @Value("${saprcad.probabilistic.histogram-bins:512}")
+    private int histogramBins = 512;
+
+    // Ограничение памяти одного накопителя: (стержни + узлы) × интервалы гистограммы
+    @Value("${saprcad.probabilistic.max-histogram-cells:16777216}")
+    private long maxHistogramCells = 16777216;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private CalculateDisplacementsService calculateDisplacementsService;
+
+    @Autowired
+    @Qualifier("calculationExecutor")
+    private ExecutorService calculationExecutor;
+
+    public ProbabilisticOutcome analyze(ProbabilisticInput input) {
+        return analyze(input, fraction -> {
+        });
+    }
+
+    // progress получает долю выполненных испытаний после каждого блока (фоновые задания)
+    public ProbabilisticOutcome analyze(ProbabilisticInput input, DoubleConsumer progress) {
+        if (input == null || input.getStructure() == null) {
+            return ProbabilisticOutcome.failure(List.of("Не задана конструкция."));
+        }
+
+        List<String> errors = new ArrayList<>();
+        int samples = input.getSamples() != null ? input.getSamples() : DEFAULT_SAMPLES;
+        if (samples < 1 || samples > maxSamples) {
+            errors.add("samples должно быть от 1 до " + maxSamples + ".");
+        }
+        double[] levels = levels(input.getQuantiles(), errors);
+        validateField("elasticModulus", input.getElasticModulus(), true, errors);
+        validateField("area", input.getArea(), true, errors);
+        validateField("distributedLoad", input.getDistributedLoad(), false, errors);
+        validateField("externalForce", input.getExternalForce(), false, errors);
+        if (input.getElasticModulus() == null && input.getArea() == null
+                && input.getDistributedLoad() == null && input.getExternalForce() == null) {
+            errors.add("Не задан разброс ни одного параметра (elasticModulus, area, distributedLoad, externalForce).");
+        }
+        if (!errors.isEmpty()) {
+            return ProbabilisticOutcome.failure(errors);
+        }
+
+        ParsedStructure validated = projectService.validateAndBuild(input.getStructure());
+        if (!validated.isSuccess()) {
+            return ProbabilisticOutcome.failure(validated.getErrors());
+        }
+        StructureModel model = validated.getModel();
+
+        int quantities = model.rodCount() + model.nodeCount();
+        int bins = levels.length == 0 ? 0 : (int) Math.min(histogramBins, maxHistogramCells / quantities);
+        if (levels.length > 0 && bins < MIN_HISTOGRAM_BINS) {
+            return ProbabilisticOutcome.failure(List.of("Слишком много стержней и узлов (" + quantities
+                    + ") для оценки квантилей; передайте пустой список quantiles."));
+        }
+
+        long seed = input.getSeed() != null ? input.getSeed() : DEFAULT_SEED;
+        try {
+            return ProbabilisticOutcome.success(run(model, input, samples, seed, levels, bins, progress));
+        } catch (IllegalArgumentException e) {
+            return ProbabilisticOutcome.failure(List.of(e.getMessage()));
+        }
+    }
+
+    private ProbabilisticResult run(StructureModel model, ProbabilisticInput input, int samples, long seed,
+                                    double[] levels, int bins, DoubleConsumer progress) {
+        RefactorableStructure structure = calculateDisplacementsService.prepareRefactorable(model);
+        FieldSampler elasticModulus = FieldSampler.of(input.getElasticModulus(), true);
+        FieldSampler area = FieldSampler.of(input.getArea(), true);
+        FieldSampler distributedLoad = FieldSampler.of(input.getDistributedLoad(), false);
+        FieldSampler externalForce = FieldSampler.of(input.getExternalForce(), false);
+        // aborted — ошибка или отмена: блоки в работе прекращают испытания, ещё не начатые не начинаются
+        AtomicBoolean aborted = new AtomicBoolean();
+        ConcurrentLinkedQueue<SampleRunner> runners = new ConcurrentLinkedQueue<>();
+        runners.add(new SampleRunner(model, structure, elasticModulus, area, distributedLoad, externalForce,
+                aborted));
+
+        // Пробная выборка → диапазоны гистограмм
+        SplittableRandom root = new SplittableRandom(seed);
+        SampleAccumulator pilot = new SampleAccumulator(model.rodCount() + model.nodeCount(), model.rodCount());
+        runners.peek().run(root.split(), Math.min(samples, PILOT_SAMPLES), pilot);
+        SampleAccumulator total = pilot.withHistograms(bins);
+
+        // Не больше window блоков в работе: память — на window накопителей, а не на все блоки
+        int window = Runtime.getRuntime().availableProcessors() + 1;
+        ConcurrentLinkedQueue<SampleAccumulator> spare = new ConcurrentLinkedQueue<>();
+        ArrayDeque<CompletableFuture<SampleAccumulator>> pending = new ArrayDeque<>();
+        try {
+            for (int start = 0; start < samples; start += BLOCK_SIZE) {
+                if (pending.size() >= window) {
+                    mergeNext(pending, total, spare);
+                    progress.accept((double) total.count() / samples);
+                }
+                SplittableRandom stream = root.split();
+                int count = Math.min(BLOCK_SIZE, samples - start);
+                pending.add(CompletableFuture.supplyAsync(() -> {
+                    SampleAccumulator block = spare.poll();
+                    if (block == null) {
+                        block = total.emptyCopy();
+                    }
+                    if (aborted.get()) {
+                        return block;
+                    }
+                    SampleRunner runner = runners.poll();
+                    if (runner == null) {
+                        runner = new SampleRunner(model, structure, elasticModulus, area, distributedLoad,
+                                externalForce, aborted);
+                    }
+                    try {
+                        runner.run(stream, count, block);
+                    } catch (RuntimeException e) {
+                        aborted.set(true);
+                        throw e;
+                    } finally {
+                        runners.add(runner);
+                    }
+                    return block;
+                }, calculationExecutor));
+            }
+            while (!pending.isEmpty()) {
+                mergeNext(pending, total, spare);
+                progress.accept((double) total.count() / samples);
+            }
+        } catch (RuntimeException e) {
+            aborted.set(true);
+            pending.forEach(future -> future.cancel(false));
+            throw e;
+        }
+
+        int rodCount = model.rodCount();
+        List<RodReliability> rods = new ArrayList<>(rodCount);
+        for (int i = 0; i < rodCount; i++) {
+            RodReliability rod = new RodReliability();
+            rod.setRodId(model.rodId(i));
+            rod.setAllowableStress(model.allowableStress(i));
+            rod.setStress(total.statistics(i, levels));
+            rod.setFailureProbability(total.failureProbability(i));
+            rods.add(rod);
+        }
+        List<NodeStatistics> nodes = new ArrayList<>(model.nodeCount());
+        for (int j = 0; j < model.nodeCount(); j++) {
+            NodeStatistics node = new NodeStatistics();
+            node.setNodeId(model.nodeId(j));
+            node.setDisplacement(total.statistics(rodCount + j, levels));
+            nodes.add(node);
+        }
+
+        ProbabilisticResult result = new ProbabilisticResult();
+        result.setSamples(samples);
+        result.setSeed(seed);
+        result.setQuantileLevels(levels);
+        result.setFailureProbability(total.systemFailureProbability());
+        result.setRods(rods);
+        result.setNodes(nodes);
+        return result;
+    }
+
+    // Блоки объединяются строго по порядку — суммы с плавающей точкой не зависят от расписания потоков
+    private static void mergeNext(ArrayDeque<CompletableFuture<SampleAccumulator>> pending, SampleAccumulator total,
+                                  ConcurrentLinkedQueue<SampleAccumulator> spare) {
+        SampleAccumulator block;
+        try {
+            block = pending.poll().get();
+        } catch (InterruptedException e) {
+            // Отмена фонового задания: флаг прерывания сохраняется до конца задания
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Расчёт отменён.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        total.merge(block);
+        block.reset();
+        spare.add(block);
+    }
+
+    private static double[] levels(List<Double> quantiles, List<String> errors) {
+        if (quantiles == null) {
+            return DEFAULT_QUANTILES.clone();
+        }
+        double[] levels = new double[quantiles.size()];
+        for (int k = 0; k < levels.length; k++) {
+            Double level = quantiles.get(k);
+            if (level == null || !(level > 0 && level < 1)) {
+                errors.add("Уровни квантилей должны быть в интервале (0, 1).");
+                return levels;
+            }
+            levels[k] = level;
+        }
+        return levels;
+    }
+
+    // positive — величина обязана оставаться > 0 (E, A): ограничение разброса для нормального и равномерного
+    private static void validateField(String name, RandomField field, boolean positive, List<String> errors) {
+        if (field == null) {
+            return;
+        }
+        if (field.getDistribution() == null) {
+            errors.add(name + ": не задан закон распределения (NORMAL, LOGNORMAL, UNIFORM).");
+            return;
+        }
+        double cov = field.getCov();
+        if (!(cov > 0 && Double.isFinite(cov))) {
+            errors.add(name + ": коэффициент вариации cov должен быть > 0.");
+        } else if (positive && field.getDistribution() == Distribution.NORMAL && cov > 0.5) {
+            errors.add(name + ": для нормального закона cov должен быть не больше 0.5 "
+                    + "(иначе заметная доля значений ≤ 0; используйте LOGNORMAL).");
+        } else if (positive && field.getDistribution() == Distribution.UNIFORM && cov * Math.sqrt(3.0) >= 1) {
+            errors.add(name + ": для равномерного закона cov должен быть меньше 1/√3 ≈ 0.577.");
+        }
+    }
+}
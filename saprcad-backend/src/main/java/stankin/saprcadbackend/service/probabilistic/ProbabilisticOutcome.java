@@ -0,0 +1,36 @@
+package stankin.saprcadbackend.service.probabilistic;
+
+import stankin.saprcadbackend.dto.probabilistic.ProbabilisticResult;
+
+import java.util.List;
+
+// Итог вероятностного расчёта: либо результат, либо список ошибок входных данных
+public class ProbabilisticOutcome {
+    private final ProbabilisticResult result;
+    private final List<String> errors;
+
+    private ProbabilisticOutcome(ProbabilisticResult result, List<String> errors) {
+        this.result = result;
+        this.errors = errors;
+    }
+
+    public static ProbabilisticOutcome success(ProbabilisticResult result) {
+        return new ProbabilisticOutcome(result, List.of());
+    }
+
+    public static ProbabilisticOutcome failure(List<String> errors) {
+        return new ProbabilisticOutcome(null, errors);
+    }
+
+    public boolean isSuccess() {
+        return result != null;
+    }
+
+    public ProbabilisticResult getResult() {
+        return result;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
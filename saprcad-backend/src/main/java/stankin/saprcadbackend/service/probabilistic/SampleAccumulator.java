@@ -0,0 +1,178 @@
+package stankin.saprcadbackend.service.probabilistic;
+
+import stankin.saprcadbackend.dto.probabilistic.QuantityStatistics;
+
+import java.util.Arrays;
+
+// Потоковая статистика по испытаниям без хранения самих испытаний: на каждую величину — суммы,
+// экстремумы и гистограмма для квантилей; на каждый стержень — число превышений [σ].
+// Накопители блоков складываются в порядке номеров блоков, поэтому результат не зависит от числа потоков.
+final class SampleAccumulator {
+
+    // Запас диапазона гистограммы по обе стороны от размаха пробной выборки (в долях размаха)
+    private static final double RANGE_MARGIN = 0.5;
+
+    private final int quantities;
+    private final int bins;           // 0 — без гистограмм (только суммы и экстремумы)
+    private final double[] shift;     // суммы считаются от сдвига — без потери точности при |μ| >> σ
+    private final double[] lower;
+    private final double[] inverseWidth;
+
+    private long count;
+    private long systemFailures;
+    private final double[] sum;
+    private final double[] sumSquares;
+    private final double[] min;
+    private final double[] max;
+    private final long[] exceedances;
+    private final int[] histogram;    // quantities × bins
+
+    // Пробный накопитель: только суммы и экстремумы, по ним строятся диапазоны гистограмм
+    SampleAccumulator(int quantities, int rodCount) {
+        this(quantities, rodCount, 0, new double[quantities], null, null);
+    }
+
+    private SampleAccumulator(int quantities, int rodCount, int bins, double[] shift, double[] lower,
+                              double[] inverseWidth) {
+        this.quantities = quantities;
+        this.bins = bins;
+        this.shift = shift;
+        this.lower = lower;
+        this.inverseWidth = inverseWidth;
+        this.sum = new double[quantities];
+        this.sumSquares = new double[quantities];
+        this.min = new double[quantities];
+        this.max = new double[quantities];
+        this.exceedances = new long[rodCount];
+        this.histogram = new int[quantities * bins];
+        reset();
+    }
+
+    // Пустой накопитель с гистограммами по диапазонам этой (пробной) выборки; сдвиг — её среднее
+    SampleAccumulator withHistograms(int histogramBins) {
+        double[] center = new double[quantities];
+        double[] low = new double[quantities];
+        double[] inverse = new double[quantities];
+        for (int q = 0; q < quantities; q++) {
+            center[q] = mean(q);
+            double span = max[q] - min[q];
+            if (!(span > 0.0)) {
+                span = Math.max(Math.abs(max[q]) * 1e-9, Double.MIN_NORMAL);
+            }
+            low[q] = min[q] - RANGE_MARGIN * span;
+            inverse[q] = histogramBins / ((1 + 2 * RANGE_MARGIN) * span);
+        }
+        return new SampleAccumulator(quantities, exceedances.length, histogramBins, center,
+                histogramBins > 0 ? low : null, histogramBins > 0 ? inverse : null);
+    }
+
+    // Такой же пустой накопитель (для следующего блока)
+    SampleAccumulator emptyCopy() {
+        return new SampleAccumulator(quantities, exceedances.length, bins, shift, lower, inverseWidth);
+    }
+
+    void reset() {
+        count = 0;
+        systemFailures = 0;
+        Arrays.fill(sum, 0.0);
+        Arrays.fill(sumSquares, 0.0);
+        Arrays.fill(min, Double.POSITIVE_INFINITY);
+        Arrays.fill(max, Double.NEGATIVE_INFINITY);
+        Arrays.fill(exceedances, 0);
+        Arrays.fill(histogram, 0);
+    }
+
+    void add(int q, double value) {
+        double centered = value - shift[q];
+        sum[q] += centered;
+        sumSquares[q] += centered * centered;
+        if (value < min[q]) {
+            min[q] = value;
+        }
+        if (value > max[q]) {
+            max[q] = value;
+        }
+        if (bins > 0) {
+            int bin = (int) ((value - lower[q]) * inverseWidth[q]);
+            histogram[q * bins + Math.max(0, Math.min(bins - 1, bin))]++;
+        }
+    }
+
+    void exceeded(int rod) {
+        exceedances[rod]++;
+    }
+
+    // Конец испытания
+    void completeSample(boolean failed) {
+        count++;
+        if (failed) {
+            systemFailures++;
+        }
+    }
+
+    void merge(SampleAccumulator other) {
+        count += other.count;
+        systemFailures += other.systemFailures;
+        for (int q = 0; q < quantities; q++) {
+            sum[q] += other.sum[q];
+            sumSquares[q] += other.sumSquares[q];
+            min[q] = Math.min(min[q], other.min[q]);
+            max[q] = Math.max(max[q], other.max[q]);
+        }
+        for (int i = 0; i < exceedances.length; i++) {
+            exceedances[i] += other.exceedances[i];
+        }
+        for (int k = 0; k < histogram.length; k++) {
+            histogram[k] += other.histogram[k];
+        }
+    }
+
+    long count() {
+        return count;
+    }
+
+    double failureProbability(int rod) {
+        return (double) exceedances[rod] / count;
+    }
+
+    double systemFailureProbability() {
+        return (double) systemFailures / count;
+    }
+
+    double mean(int q) {
+        return shift[q] + sum[q] / count;
+    }
+
+    QuantityStatistics statistics(int q, double[] levels) {
+        QuantityStatistics statistics = new QuantityStatistics();
+        double mean = sum[q] / count;
+        double variance = count > 1 ? Math.max(0.0, (sumSquares[q] - mean * sum[q]) / (count - 1)) : 0.0;
+        statistics.setMean(shift[q] + mean);
+        statistics.setStandardDeviation(Math.sqrt(variance));
+        statistics.setMin(min[q]);
+        statistics.setMax(max[q]);
+        double[] quantiles = new double[levels.length];
+        for (int k = 0; k < levels.length; k++) {
+            quantiles[k] = quantile(q, levels[k]);
+        }
+        statistics.setQuantiles(quantiles);
+        return statistics;
+    }
+
+    // Линейная интерполяция внутри интервала гистограммы; крайние интервалы ограничены min и max
+    private double quantile(int q, double level) {
+        double target = level * count;
+        double width = 1.0 / inverseWidth[q];
+        long cumulative = 0;
+        for (int k = 0; k < bins; k++) {
+            int inBin = histogram[q * bins + k];
+            if (inBin > 0 && cumulative + inBin >= target) {
+                double from = k == 0 ? min[q] : Math.max(min[q], lower[q] + k * width);
+                double to = k == bins - 1 ? max[q] : Math.min(max[q], lower[q] + (k + 1) * width);
+                return from + (to - from) * (target - cumulative) / inBin;
+            }
+            cumulative += inBin;
+        }
+        return max[q];
+    }
+}
@@ -0,0 +1,94 @@
+package stankin.saprcadbackend.service.probabilistic;
+
+import stankin.saprcadbackend.model.StructureModel;
+import stankin.saprcadbackend.service.processor.RefactorableStructure;
+import stankin.saprcadbackend.service.processor.StructureTopology;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.random.RandomGenerator;
+
+// Испытания одного потока: случайные E, A, q, F → ∆ → max |σx| стержней.
+// Все массивы (и рабочие массивы решателя) выделяются один раз и переиспользуются от испытания к испытанию.
+final class SampleRunner {
+
+    private final StructureModel model;
+    private final StructureTopology topology;
+    private final RefactorableStructure.Workspace workspace;
+    private final FieldSampler elasticModulus;
+    private final FieldSampler area;
+    private final FieldSampler distributedLoad;
+    private final FieldSampler externalForce;
+    private final AtomicBoolean aborted;
+
+    private final double[] areas;
+    private final double[] rodLoads;
+    private final double[] stiffness;
+    private final double[] loads;
+
+    SampleRunner(StructureModel model, RefactorableStructure structure, FieldSampler elasticModulus,
+                 FieldSampler area, FieldSampler distributedLoad, FieldSampler externalForce,
+                 AtomicBoolean aborted) {
+        this.model = model;
+        this.topology = structure.getTopology();
+        this.workspace = structure.newWorkspace();
+        this.elasticModulus = elasticModulus;
+        this.area = area;
+        this.distributedLoad = distributedLoad;
+        this.externalForce = externalForce;
+        this.aborted = aborted;
+        this.areas = new double[model.rodCount()];
+        this.rodLoads = new double[model.rodCount()];
+        this.stiffness = new double[model.rodCount()];
+        this.loads = new double[model.nodeCount()];
+    }
+
+    // count испытаний из потока random; величины: сначала max |σx| стержней, затем ∆ узлов.
+    // После aborted испытания прекращаются — результат блока уже не нужен
+    void run(RandomGenerator random, int count, SampleAccumulator accumulator) {
+        int rodCount = model.rodCount();
+        for (int s = 0; s < count && !aborted.get(); s++) {
+            // Порядок розыгрыша фиксирован (стержень за стержнем, затем узлы) — результат воспроизводим
+            Arrays.fill(loads, 0.0);
+            for (int i = 0; i < rodCount; i++) {
+                double e = draw(elasticModulus, model.elasticModulus(i), random);
+                double a = draw(area, model.area(i), random);
+                double q = draw(distributedLoad, model.distributedLoad(i), random);
+                double length = model.length(i);
+                areas[i] = a;
+                rodLoads[i] = q;
+                stiffness[i] = e * a / length;
+                double equivForce = q * length / 2.0;
+                loads[topology.startNode(i)] += equivForce;
+                loads[topology.endNode(i)] += equivForce;
+            }
+            for (int j = 0; j < loads.length; j++) {
+                if (!model.isFixed(j)) {
+                    loads[j] += draw(externalForce, model.externalForce(j), random);
+                }
+            }
+
+            double[] delta = workspace.solve(stiffness, loads);
+
+            boolean failed = false;
+            for (int i = 0; i < rodCount; i++) {
+                double qL = rodLoads[i] * model.length(i);
+                double n0 = stiffness[i] * (delta[topology.endNode(i)] - delta[topology.startNode(i)]) + qL / 2;
+                double stress = Math.max(Math.abs(n0), Math.abs(n0 - qL)) / areas[i];
+                accumulator.add(i, stress);
+                if (stress > model.allowableStress(i)) {
+                    accumulator.exceeded(i);
+                    failed = true;
+                }
+            }
+            for (int j = 0; j < delta.length; j++) {
+                accumulator.add(rodCount + j, delta[j]);
+            }
+            accumulator.completeSample(failed);
+        }
+    }
+
+    private static double draw(FieldSampler sampler, double nominal, RandomGenerator random) {
+        return sampler != null ? sampler.sample(nominal, random) : nominal;
+    }
+}
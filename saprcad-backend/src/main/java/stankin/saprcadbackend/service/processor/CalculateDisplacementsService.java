@@ -1,104 +1,204 @@
 package stankin.saprcadbackend.service.processor;
 
-import org.ejml.simple.SimpleMatrix;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import stankin.saprcadbackend.dto.calculate.DisplacementVector;
-import stankin.saprcadbackend.dto.structure.Rod;
 import stankin.saprcadbackend.dto.structure.StructureInput;
-
-
-import java.util.ArrayList;
-import java.util.List;
+import stankin.saprcadbackend.model.StructureModel;
+import stankin.saprcadbackend.service.metrics.PipelineStage;
+import stankin.saprcadbackend.service.metrics.StageTimings;
+import stankin.saprcadbackend.service.processor.solver.ConjugateGradientSolver;
+import stankin.saprcadbackend.service.processor.solver.CsrMatrix;
+import stankin.saprcadbackend.service.processor.solver.LinearSystemSolver;
+import stankin.saprcadbackend.service.processor.solver.ParallelTridiagonalSolver;
+import stankin.saprcadbackend.service.processor.solver.SparseCholeskySolver;
+import stankin.saprcadbackend.service.processor.solver.SparseSolverMethod;
+import stankin.saprcadbackend.service.processor.solver.TridiagonalSolver;
+
+import java.util.concurrent.ForkJoinPool;
 
 @Service
 public class CalculateDisplacementsService {
 
+    @Value("${saprcad.solver.sparse-method:AUTO}")
+    private SparseSolverMethod sparseMethod = SparseSolverMethod.AUTO;
+
+    // Максимальное заполнение (число ненулевых элементов L), при котором AUTO выбирает прямой решатель
+    @Value("${saprcad.solver.direct-fill-limit:200000000}")
+    private long directFillLimit = 200_000_000L;
+
+    @Value("${saprcad.solver.cg-tolerance:1e-10}")
+    private double cgTolerance = 1e-10;
+
+    // 0 — по умолчанию 10 * n итераций
+    @Value("${saprcad.solver.cg-max-iterations:0}")
+    private int cgMaxIterations = 0;
+
+    // Линейная система не меньше стольких узлов решается параллельно (декомпозиция на отрезки); 0 — никогда
+    @Value("${saprcad.solver.parallel-chain-threshold:1000000}")
+    private int parallelChainThreshold = 1_000_000;
+
+    // Отрезков на поток пула: больше — ровнее загрузка ядер, но больше система для разделителей
+    @Value("${saprcad.solver.parallel-segments-per-thread:4}")
+    private int segmentsPerThread = 4;
+
+    // Без Spring (тесты, бенчмарки) — общий пул ForkJoinPool
+    @Autowired(required = false)
+    @Qualifier("solverPool")
+    private ForkJoinPool solverPool;
+
     public DisplacementVector calculateDisplacements(StructureInput input) {
-        int n = input.getNodes().size(); // количество узлов = размерность задачи
-
-        // Глобальная матрица жёсткости A (n x n)
-        double[][] A = new double[n][n];
-        // Вектор нагрузок F (размер n)
-        double[] b = new double[n];
-
-        // Этап 1: Сборка A и F от стержней
-        for (int i = 0; i < input.getRods().size(); i++) {
-            Rod rod = input.getRods().get(i);
-            double k = rod.getElasticModulus() * rod.getArea() / rod.getLength(); // жёсткость стержня EA/L
-
-            // Стержень i соединяет узлы i и i+1
-            int nodeA = i;
-            int nodeB = i + 1;
-
-            // Добавляем в глобальную матрицу жёсткости
-            A[nodeA][nodeA] += k;
-            A[nodeA][nodeB] -= k;
-            A[nodeB][nodeA] -= k;
-            A[nodeB][nodeB] += k;
-
-            // Эквивалентные узловые силы от равномерной погонной нагрузки qi:
-            // Для стержня: F_A += qi * L / 2, F_B += qi * L / 2
-            double equivForce = rod.getDistributedLoad() * rod.getLength() / 2.0;
-            b[nodeA] += equivForce;
-            b[nodeB] += equivForce;
-        }
+        return new DisplacementVector(solveDisplacements(StructureModel.of(input)));
+    }
+
+    // Полный вектор перемещений ∆ по индексам узлов
+    public double[] solveDisplacements(StructureModel model) {
+        FactorizedStructure structure = prepare(model);
+        return structure.solve(FactorizedStructure.loadVector(model, structure.getTopology()));
+    }
+
+    // Сборка и разложение матрицы жёсткости без нагрузок (нагрузки подаются в FactorizedStructure.solve)
+    public FactorizedStructure prepare(StructureInput input) {
+        return prepare(StructureModel.of(input));
+    }
 
-        // Этап 2: Добавляем сосредоточенные силы Fj
-        for (int j = 0; j < input.getNodes().size(); j++) {
-            b[j] += input.getNodes().get(j).getExternalForce();
+    public FactorizedStructure prepare(StructureModel model) {
+        return prepare(model, StageTimings.NONE);
+    }
+
+    // То же с замером этапов assemble / reduce / factorize
+    public FactorizedStructure prepare(StructureModel model, StageTimings timings) {
+        timings.start(PipelineStage.ASSEMBLE);
+        StructureTopology topology = StructureTopology.of(model);
+
+        double[] lengths = new double[model.rodCount()];
+        for (int i = 0; i < lengths.length; i++) {
+            lengths[i] = model.length(i);
+        }
+        boolean[] fixed = new boolean[model.nodeCount()];
+        for (int j = 0; j < fixed.length; j++) {
+            fixed[j] = model.isFixed(j);
         }
 
-        // Этап 3: Учёт граничных условий (isFixed)
-        List<Integer> freeNodes = new ArrayList<>();
-        for (int i = 0; i < n; i++) {
-            if (!input.getNodes().get(i).isFixed()) {
-                freeNodes.add(i);
-            }
+        if (!topology.isChain()) {
+            return prepareSparse(model, topology, lengths, fixed, timings);
         }
 
-        int m = freeNodes.size();
-        if (m == 0) {
-            // Все узлы закреплены → все перемещения = 0
-            List<Double> zeroDelta = new ArrayList<>();
-            for (int i = 0; i < n; i++) {
-                zeroDelta.add(0.0);
+        int n = model.nodeCount(); // количество узлов = размерность задачи
+
+        // Стержень i соединяет узлы i и i+1, поэтому матрица жёсткости трёхдиагональная:
+        // храним только главную диагональ и наддиагональ вместо плотной матрицы n x n
+        double[] diag = new double[n];
+        double[] off = new double[n - 1];
+
+        // Этап 1: Сборка диагоналей от стержней
+        for (int i = 0; i < model.rodCount(); i++) {
+            double k = model.stiffness(i); // жёсткость стержня EA/L
+
+            // Добавляем вклад стержня в узлы i и i+1
+            diag[i] += k;
+            diag[i + 1] += k;
+            off[i] -= k;
+        }
+        timings.stop(PipelineStage.ASSEMBLE);
+
+        // Этап 2: Учёт граничных условий (isFixed).
+        // Вместо вырезания сокращённой матрицы заменяем строку и столбец закреплённого узла единичными:
+        // ∆_j = 0, а связи с соседями обнуляются — система остаётся трёхдиагональной и симметричной
+        timings.start(PipelineStage.REDUCE);
+        for (int j = 0; j < n; j++) {
+            if (fixed[j]) {
+                diag[j] = 1.0;
+                if (j > 0) {
+                    off[j - 1] = 0.0;
+                }
+                if (j < n - 1) {
+                    off[j] = 0.0;
+                }
             }
-            return new DisplacementVector(zeroDelta);
         }
 
-        // Формируем сокращённую матрицу A_reduced и вектор F_reduced
-        double[][] K_reduced = new double[m][m];
-        double[] F_reduced = new double[m];
+        timings.stop(PipelineStage.REDUCE);
 
-        for (int i = 0; i < m; i++) {
-            for (int j = 0; j < m; j++) {
-                K_reduced[i][j] = A[freeNodes.get(i)][freeNodes.get(j)];
-            }
-            F_reduced[i] = b[freeNodes.get(i)];
+        // Этап 3: Разложение за O(n); очень длинная цепочка — по отрезкам параллельно
+        timings.start(PipelineStage.FACTORIZE);
+        ForkJoinPool pool = solverPool != null ? solverPool : ForkJoinPool.commonPool();
+        LinearSystemSolver solver;
+        if (parallelChainThreshold > 0 && n >= parallelChainThreshold && pool.getParallelism() > 1) {
+            solver = ParallelTridiagonalSolver.factorize(diag, off, pool.getParallelism() * segmentsPerThread, pool);
+        } else {
+            solver = TridiagonalSolver.factorize(diag, off);
         }
+        timings.stop(PipelineStage.FACTORIZE);
+        return new FactorizedStructure(topology, lengths, fixed, solver, null);
+    }
 
-        // Этап 4: Решаем A_reduced * ∆_free = F_reduced
-        SimpleMatrix Kmat = new SimpleMatrix(K_reduced);
-        SimpleMatrix Fvec = new SimpleMatrix(F_reduced.length, 1, true, F_reduced);
+    // Произвольная топология: разреженная сборка в CSR, перенумерация RCM, прямой или итерационный решатель
+    private FactorizedStructure prepareSparse(StructureModel model, StructureTopology topology,
+                                              double[] lengths, boolean[] fixed, StageTimings timings) {
+        SparseStiffnessSystem system = SparseStiffnessAssembler.assemble(model, topology);
+        timings.stop(PipelineStage.ASSEMBLE);
 
-        SimpleMatrix deltaFree = Kmat.solve(Fvec); // ∆ для свободных узлов
+        timings.start(PipelineStage.FACTORIZE);
+        LinearSystemSolver solver = system.matrix().size() == 0 ? null : createSparseSolver(system.matrix());
+        timings.stop(PipelineStage.FACTORIZE);
+        return new FactorizedStructure(topology, lengths, fixed, solver, system);
+    }
 
-        // Этап 5: Формируем полный вектор ∆ (с нулями в закреплённых узлах)
-        double[] fullDelta = new double[n];
-        for (int i = 0; i < n; i++) {
-            if (input.getNodes().get(i).isFixed()) {
-                fullDelta[i] = 0.0;
-            }
+    // Подготовка к серии расчётов с меняющимися площадями стержней (подбор сечений): всё, что не зависит
+    // от жёсткостей, строится один раз. Выбор прямого или итерационного решателя — как в prepare
+    public RefactorableStructure prepareRefactorable(StructureModel model) {
+        StructureTopology topology = StructureTopology.of(model);
+        double[] lengths = new double[model.rodCount()];
+        for (int i = 0; i < lengths.length; i++) {
+            lengths[i] = model.length(i);
         }
-        for (int i = 0; i < m; i++) {
-            fullDelta[freeNodes.get(i)] = deltaFree.get(i, 0);
+        boolean[] fixed = new boolean[model.nodeCount()];
+        for (int j = 0; j < fixed.length; j++) {
+            fixed[j] = model.isFixed(j);
+        }
+        if (topology.isChain()) {
+            return new RefactorableStructure(topology, lengths, fixed, null, null, cgTolerance, 0);
         }
 
-        List<Double> deltaList = new ArrayList<>();
-        for (double d : fullDelta) deltaList.add(d);
-
-        return new DisplacementVector(deltaList);
+        SparseStiffnessSystem system = SparseStiffnessAssembler.assemble(model, topology);
+        CsrMatrix matrix = system.matrix();
+        SparseCholeskySolver.Symbolic symbolic = null;
+        if (sparseMethod != SparseSolverMethod.CG && matrix.size() > 0) {
+            symbolic = SparseCholeskySolver.analyze(matrix);
+            if (sparseMethod == SparseSolverMethod.AUTO && symbolic.factorNonZeros() > directFillLimit) {
+                symbolic = null;
+            }
+        }
+        int maxIterations = cgMaxIterations > 0 ? cgMaxIterations : Math.max(100, 10 * matrix.size());
+        return new RefactorableStructure(topology, lengths, fixed, system, symbolic, cgTolerance, maxIterations);
+    }
 
+    // Только прямое разложение — для задач с множеством решений по одной матрице (модальный анализ),
+    // где итерационный решатель неприменим; при заполнении больше direct-fill-limit — ошибка
+    public SparseCholeskySolver factorizeDirect(CsrMatrix matrix) {
+        SparseCholeskySolver.Symbolic symbolic = SparseCholeskySolver.analyze(matrix);
+        if (symbolic.factorNonZeros() > directFillLimit) {
+            throw new IllegalArgumentException("Разложение матрицы жёсткости слишком велико: " +
+                    symbolic.factorNonZeros() + " элементов при пределе " + directFillLimit + ".");
+        }
+        return SparseCholeskySolver.factorize(matrix, symbolic);
+    }
 
+    LinearSystemSolver createSparseSolver(CsrMatrix matrix) {
+        if (sparseMethod == SparseSolverMethod.DIRECT) {
+            return SparseCholeskySolver.factorize(matrix);
+        }
+        if (sparseMethod == SparseSolverMethod.AUTO) {
+            // Символьный этап дешёвый (O(n) памяти) и точно говорит, сколько памяти займёт разложение
+            SparseCholeskySolver.Symbolic symbolic = SparseCholeskySolver.analyze(matrix);
+            if (symbolic.factorNonZeros() <= directFillLimit) {
+                return SparseCholeskySolver.factorize(matrix, symbolic);
+            }
+        }
+        int maxIterations = cgMaxIterations > 0 ? cgMaxIterations : Math.max(100, 10 * matrix.size());
+        return new ConjugateGradientSolver(matrix, cgTolerance, maxIterations);
     }
 }
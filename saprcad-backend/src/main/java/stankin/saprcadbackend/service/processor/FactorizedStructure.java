@@ -0,0 +1,103 @@
+package stankin.saprcadbackend.service.processor;
+
+import stankin.saprcadbackend.dto.structure.StructureInput;
+import stankin.saprcadbackend.model.StructureModel;
+import stankin.saprcadbackend.service.processor.solver.LinearSystemSolver;
+
+// Собранная и разложенная матрица жёсткости конструкции.
+// Зависит только от геометрии, материалов и закреплений, поэтому одно разложение
+// обслуживает любое число векторов нагрузок (решение — только прямой и обратный ход).
+public class FactorizedStructure {
+
+    private final StructureTopology topology;
+    private final double[] lengths;               // Li — для эквивалентных узловых сил от qi
+    private final boolean[] fixed;
+    private final LinearSystemSolver solver;
+    private final SparseStiffnessSystem sparseSystem; // null для линейной системы (решатель на все n узлов)
+
+    FactorizedStructure(StructureTopology topology, double[] lengths, boolean[] fixed,
+                        LinearSystemSolver solver, SparseStiffnessSystem sparseSystem) {
+        this.topology = topology;
+        this.lengths = lengths;
+        this.fixed = fixed;
+        this.solver = solver;
+        this.sparseSystem = sparseSystem;
+    }
+
+    public StructureTopology getTopology() {
+        return topology;
+    }
+
+    public int nodeCount() {
+        return topology.nodeCount();
+    }
+
+    public int rodCount() {
+        return topology.rodCount();
+    }
+
+    public boolean isFixed(int node) {
+        return fixed[node];
+    }
+
+    // Вектор нагрузок F из сосредоточенных сил узлов и погонных нагрузок стержней проекта
+    public static double[] loadVector(StructureInput input, StructureTopology topology) {
+        return loadVector(StructureModel.of(input), topology);
+    }
+
+    public static double[] loadVector(StructureModel model, StructureTopology topology) {
+        double[] loads = new double[topology.nodeCount()];
+        for (int i = 0; i < topology.rodCount(); i++) {
+            // Эквивалентные узловые силы от равномерной погонной нагрузки qi: по qi * L / 2 в каждый узел
+            double equivForce = model.distributedLoad(i) * model.length(i) / 2.0;
+            loads[topology.startNode(i)] += equivForce;
+            loads[topology.endNode(i)] += equivForce;
+        }
+        for (int j = 0; j < loads.length; j++) {
+            loads[j] += model.externalForce(j);
+        }
+        return loads;
+    }
+
+    /**
+     * Вектор нагрузок F для произвольного нагружения той же конструкции.
+     *
+     * @param nodeForces сосредоточенные силы Fj по индексам узлов
+     * @param rodLoads   погонные нагрузки qi по индексам стержней
+     */
+    public double[] loadVector(double[] nodeForces, double[] rodLoads) {
+        double[] loads = nodeForces.clone();
+        for (int i = 0; i < lengths.length; i++) {
+            double equivForce = rodLoads[i] * lengths[i] / 2.0;
+            loads[topology.startNode(i)] += equivForce;
+            loads[topology.endNode(i)] += equivForce;
+        }
+        return loads;
+    }
+
+    // Полный вектор перемещений ∆ (нули в заделках) для вектора нагрузок F
+    public double[] solve(double[] loads) {
+        return solve(loads, null);
+    }
+
+    // То же с начальным приближением ∆ (используется итерационным решателем, может быть null)
+    public double[] solve(double[] loads, double[] initialGuess) {
+        if (sparseSystem != null) {
+            if (solver == null) {
+                // Все узлы закреплены → все перемещения = 0
+                return new double[nodeCount()];
+            }
+            double[] guess = initialGuess != null ? sparseSystem.reduce(initialGuess) : null;
+            return sparseSystem.expand(solver.solve(sparseSystem.reduce(loads), guess));
+        }
+
+        // Линейная система: строки заделок в матрице единичные, правая часть в них — ноль
+        double[] rhs = loads.clone();
+        for (int j = 0; j < rhs.length; j++) {
+            if (fixed[j]) {
+                rhs[j] = 0.0;
+            }
+        }
+        return solver.solve(rhs);
+    }
+}
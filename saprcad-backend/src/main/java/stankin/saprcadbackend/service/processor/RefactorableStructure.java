@@ -0,0 +1,170 @@
+package stankin.saprcadbackend.service.processor;
+
+import stankin.saprcadbackend.service.processor.solver.ConjugateGradientSolver;
+import stankin.saprcadbackend.service.processor.solver.CsrMatrix;
+import stankin.saprcadbackend.service.processor.solver.LinearSystemSolver;
+import stankin.saprcadbackend.service.processor.solver.SparseCholeskySolver;
+import stankin.saprcadbackend.service.processor.solver.TridiagonalSolver;
+
+import java.util.Arrays;
+
+// Конструкция, у которой между расчётами меняются только жёсткости стержней EA/L (подбор сечений).
+// Топология, шаблон CSR, перенумерация RCM и символьное разложение строятся один раз,
+// на каждую новую жёсткость — только заполнение значений и численное разложение.
+public class RefactorableStructure {
+
+    private final StructureTopology topology;
+    private final double[] lengths;
+    private final boolean[] fixed;
+
+    // Произвольная топология: позиции вкладов стержня (aa, bb, ab, ba) в values, -1 — вклад в заделку
+    private final SparseStiffnessSystem sparseSystem;
+    private final int[] slots;
+    private final SparseCholeskySolver.Symbolic symbolic; // null — итерационный решатель
+    private final double cgTolerance;
+    private final int cgMaxIterations;
+
+    RefactorableStructure(StructureTopology topology, double[] lengths, boolean[] fixed,
+                          SparseStiffnessSystem sparseSystem, SparseCholeskySolver.Symbolic symbolic,
+                          double cgTolerance, int cgMaxIterations) {
+        this.topology = topology;
+        this.lengths = lengths;
+        this.fixed = fixed;
+        this.sparseSystem = sparseSystem;
+        this.symbolic = symbolic;
+        this.cgTolerance = cgTolerance;
+        this.cgMaxIterations = cgMaxIterations;
+        this.slots = sparseSystem != null ? slots(topology, sparseSystem) : null;
+    }
+
+    public StructureTopology getTopology() {
+        return topology;
+    }
+
+    // Сборка и разложение для жёсткостей стержней stiffness[i] = EiAi/Li
+    public FactorizedStructure factorize(double[] stiffness) {
+        if (sparseSystem == null) {
+            return factorizeChain(stiffness);
+        }
+
+        CsrMatrix pattern = sparseSystem.matrix();
+        if (pattern.size() == 0) {
+            return new FactorizedStructure(topology, lengths, fixed, null, sparseSystem);
+        }
+        // Новый массив значений: итерационный решатель хранит ссылку на матрицу предыдущего разложения
+        double[] values = new double[pattern.nonZeros()];
+        for (int i = 0; i < stiffness.length; i++) {
+            double k = stiffness[i];
+            int base = 4 * i;
+            if (slots[base] >= 0) values[slots[base]] += k;
+            if (slots[base + 1] >= 0) values[slots[base + 1]] += k;
+            if (slots[base + 2] >= 0) values[slots[base + 2]] -= k;
+            if (slots[base + 3] >= 0) values[slots[base + 3]] -= k;
+        }
+        CsrMatrix matrix = new CsrMatrix(pattern.size(), pattern.rowPtr(), pattern.colIdx(), values);
+
+        LinearSystemSolver solver = symbolic != null
+                ? SparseCholeskySolver.factorize(matrix, symbolic)
+                : new ConjugateGradientSolver(matrix, cgTolerance, cgMaxIterations);
+        return new FactorizedStructure(topology, lengths, fixed, solver, sparseSystem);
+    }
+
+    // Рабочие массивы для многократных расчётов в одном потоке (на каждый поток — свой экземпляр)
+    public Workspace newWorkspace() {
+        return new Workspace();
+    }
+
+    public final class Workspace {
+        private final double[] diag;
+        private final double[] off;
+        private final double[] delta;
+        private double[] previous; // ∆ прошлого расчёта — начальное приближение итерационного решателя
+
+        private Workspace() {
+            int n = sparseSystem == null ? topology.nodeCount() : 0;
+            this.diag = new double[n];
+            this.off = new double[Math.max(n - 1, 0)];
+            this.delta = new double[n];
+        }
+
+        /**
+         * ∆ для жёсткостей stiffness[i] = EiAi/Li и вектора нагрузок loads.
+         * Для линейной системы разложение и решение идут на месте без выделения памяти,
+         * возвращаемый массив перезаписывается следующим вызовом.
+         */
+        public double[] solve(double[] stiffness, double[] loads) {
+            if (sparseSystem != null) {
+                previous = factorize(stiffness).solve(loads, previous);
+                return previous;
+            }
+
+            Arrays.fill(diag, 0.0);
+            Arrays.fill(off, 0.0);
+            for (int i = 0; i < stiffness.length; i++) {
+                diag[i] += stiffness[i];
+                diag[i + 1] += stiffness[i];
+                off[i] -= stiffness[i];
+            }
+            for (int j = 0; j < delta.length; j++) {
+                delta[j] = loads[j];
+                if (fixed[j]) {
+                    diag[j] = 1.0;
+                    delta[j] = 0.0;
+                    if (j > 0) {
+                        off[j - 1] = 0.0;
+                    }
+                    if (j < off.length) {
+                        off[j] = 0.0;
+                    }
+                }
+            }
+            TridiagonalSolver.factorizeAndSolveInPlace(diag, off, delta);
+            return delta;
+        }
+    }
+
+    // Линейная система: трёхдиагональная матрица, строки заделок единичные (как в CalculateDisplacementsService)
+    private FactorizedStructure factorizeChain(double[] stiffness) {
+        int n = topology.nodeCount();
+        double[] diag = new double[n];
+        double[] off = new double[n - 1];
+        for (int i = 0; i < stiffness.length; i++) {
+            diag[i] += stiffness[i];
+            diag[i + 1] += stiffness[i];
+            off[i] -= stiffness[i];
+        }
+        for (int j = 0; j < n; j++) {
+            if (fixed[j]) {
+                diag[j] = 1.0;
+                if (j > 0) {
+                    off[j - 1] = 0.0;
+                }
+                if (j < n - 1) {
+                    off[j] = 0.0;
+                }
+            }
+        }
+        return new FactorizedStructure(topology, lengths, fixed, TridiagonalSolver.factorize(diag, off), null);
+    }
+
+    private static int[] slots(StructureTopology topology, SparseStiffnessSystem system) {
+        CsrMatrix matrix = system.matrix();
+        int[] slots = new int[4 * topology.rodCount()];
+        Arrays.fill(slots, -1);
+        for (int i = 0; i < topology.rodCount(); i++) {
+            int a = system.reducedIndex(topology.startNode(i));
+            int b = system.reducedIndex(topology.endNode(i));
+            if (a >= 0) {
+                slots[4 * i] = matrix.indexOf(a, a);
+            }
+            if (b >= 0) {
+                slots[4 * i + 1] = matrix.indexOf(b, b);
+            }
+            if (a >= 0 && b >= 0) {
+                slots[4 * i + 2] = matrix.indexOf(a, b);
+                slots[4 * i + 3] = matrix.indexOf(b, a);
+            }
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,47 @@
+package stankin.saprcadbackend.service.processor;
+
+import stankin.saprcadbackend.dto.modal.MassMatrixType;
+import stankin.saprcadbackend.model.StructureModel;
+import stankin.saprcadbackend.service.processor.solver.CsrMatrix;
+
+// Сборка матрицы масс в той же сокращённой нумерации (без заделок, после RCM), что и матрица жёсткости.
+// Согласованная матрица стержня — ρAL/6 · [[2, 1], [1, 2]], её шаблон совпадает с шаблоном K;
+// сосредоточенная — по ρAL/2 в каждый узел, матрица диагональная.
+public final class SparseMassAssembler {
+
+    private SparseMassAssembler() {
+    }
+
+    public static CsrMatrix assemble(StructureModel model, StructureTopology topology, SparseStiffnessSystem system,
+                                     MassMatrixType type) {
+        int rodCount = topology.rodCount();
+        int size = system.matrix().size();
+        boolean consistent = type == MassMatrixType.CONSISTENT;
+
+        int[] edgeA = new int[consistent ? rodCount : 0];
+        int[] edgeB = new int[consistent ? rodCount : 0];
+        for (int i = 0; i < edgeA.length; i++) {
+            edgeA[i] = system.reducedIndex(topology.startNode(i));
+            edgeB[i] = system.reducedIndex(topology.endNode(i));
+        }
+        CsrMatrix matrix = CsrMatrix.pattern(size, edgeA, edgeB);
+
+        for (int i = 0; i < rodCount; i++) {
+            double mass = model.density(i) * model.area(i) * model.length(i); // масса стержня ρAL
+            int a = system.reducedIndex(topology.startNode(i));
+            int b = system.reducedIndex(topology.endNode(i));
+            double diagonal = consistent ? mass / 3.0 : mass / 2.0;
+            if (a >= 0) {
+                matrix.add(a, a, diagonal);
+            }
+            if (b >= 0) {
+                matrix.add(b, b, diagonal);
+            }
+            if (consistent && a >= 0 && b >= 0) {
+                matrix.add(a, b, mass / 6.0);
+                matrix.add(b, a, mass / 6.0);
+            }
+        }
+        return matrix;
+    }
+}
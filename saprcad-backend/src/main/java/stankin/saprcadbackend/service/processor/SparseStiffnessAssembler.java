@@ -0,0 +1,81 @@
+package stankin.saprcadbackend.service.processor;
+
+import stankin.saprcadbackend.dto.structure.StructureInput;
+import stankin.saprcadbackend.model.StructureModel;
+import stankin.saprcadbackend.service.processor.solver.CsrMatrix;
+import stankin.saprcadbackend.service.processor.solver.ReverseCuthillMcKee;
+
+import java.util.Arrays;
+
+// Сборка матрицы жёсткости произвольной стержневой системы в формате CSR.
+// Закреплённые узлы исключаются сразу, свободные перенумеровываются RCM для уменьшения профиля.
+public final class SparseStiffnessAssembler {
+
+    private SparseStiffnessAssembler() {
+    }
+
+    public static SparseStiffnessSystem assemble(StructureInput input, StructureTopology topology) {
+        return assemble(StructureModel.of(input), topology);
+    }
+
+    public static SparseStiffnessSystem assemble(StructureModel model, StructureTopology topology) {
+        int n = topology.nodeCount();
+        int rodCount = topology.rodCount();
+
+        // Этап 1: нумерация свободных узлов в исходном порядке
+        int[] natural = new int[n];
+        int freeCount = 0;
+        for (int j = 0; j < n; j++) {
+            natural[j] = model.isFixed(j) ? -1 : freeCount++;
+        }
+
+        // Этап 2: граф связей между свободными узлами и перенумерация RCM
+        int[] edgeA = new int[rodCount];
+        int[] edgeB = new int[rodCount];
+        for (int i = 0; i < rodCount; i++) {
+            edgeA[i] = natural[topology.startNode(i)];
+            edgeB[i] = natural[topology.endNode(i)];
+        }
+        int[] rcm = ReverseCuthillMcKee.order(CsrMatrix.pattern(freeCount, edgeA, edgeB));
+
+        int[] freeOrder = new int[freeCount];
+        int[] position = new int[n];
+        Arrays.fill(position, -1);
+        int[] naturalToNode = new int[freeCount];
+        for (int j = 0; j < n; j++) {
+            if (natural[j] >= 0) {
+                naturalToNode[natural[j]] = j;
+            }
+        }
+        for (int reduced = 0; reduced < freeCount; reduced++) {
+            int node = naturalToNode[rcm[reduced]];
+            freeOrder[reduced] = node;
+            position[node] = reduced;
+        }
+
+        // Этап 3: шаблон в новой нумерации и значения EA/L
+        for (int i = 0; i < rodCount; i++) {
+            edgeA[i] = position[topology.startNode(i)];
+            edgeB[i] = position[topology.endNode(i)];
+        }
+        CsrMatrix matrix = CsrMatrix.pattern(freeCount, edgeA, edgeB);
+
+        for (int i = 0; i < rodCount; i++) {
+            double k = model.stiffness(i); // жёсткость стержня EA/L
+            int a = edgeA[i];
+            int b = edgeB[i];
+            if (a >= 0) {
+                matrix.add(a, a, k);
+            }
+            if (b >= 0) {
+                matrix.add(b, b, k);
+            }
+            if (a >= 0 && b >= 0) {
+                matrix.add(a, b, -k);
+                matrix.add(b, a, -k);
+            }
+        }
+
+        return new SparseStiffnessSystem(n, freeOrder, position, matrix);
+    }
+}
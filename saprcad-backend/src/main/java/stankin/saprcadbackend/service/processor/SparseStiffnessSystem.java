@@ -0,0 +1,55 @@
+package stankin.saprcadbackend.service.processor;
+
+import stankin.saprcadbackend.service.processor.solver.CsrMatrix;
+
+// Собранная разреженная система произвольной топологии.
+// Матрица содержит только свободные узлы, перенумерованные алгоритмом RCM.
+public class SparseStiffnessSystem {
+
+    private final int nodeCount;
+    private final int[] freeOrder;  // freeOrder[reduced] = индекс узла
+    private final int[] position;   // position[узел] = индекс в сокращённой системе или -1 для заделки
+    private final CsrMatrix matrix;
+
+    public SparseStiffnessSystem(int nodeCount, int[] freeOrder, int[] position, CsrMatrix matrix) {
+        this.nodeCount = nodeCount;
+        this.freeOrder = freeOrder;
+        this.position = position;
+        this.matrix = matrix;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public CsrMatrix matrix() {
+        return matrix;
+    }
+
+    // Полный вектор нагрузок -> правая часть сокращённой системы
+    public double[] reduce(double[] fullLoads) {
+        double[] reduced = new double[freeOrder.length];
+        for (int i = 0; i < freeOrder.length; i++) {
+            reduced[i] = fullLoads[freeOrder[i]];
+        }
+        return reduced;
+    }
+
+    // Решение сокращённой системы -> полный вектор ∆ (нули в заделках)
+    public double[] expand(double[] reducedSolution) {
+        double[] full = new double[nodeCount];
+        for (int i = 0; i < freeOrder.length; i++) {
+            full[freeOrder[i]] = reducedSolution[i];
+        }
+        return full;
+    }
+
+    public boolean isFree(int node) {
+        return position[node] >= 0;
+    }
+
+    // Индекс узла в сокращённой системе или -1 для заделки
+    public int reducedIndex(int node) {
+        return position[node];
+    }
+}
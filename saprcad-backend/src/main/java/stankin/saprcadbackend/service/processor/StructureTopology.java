@@ -0,0 +1,151 @@
+package stankin.saprcadbackend.service.processor;
+
+import stankin.saprcadbackend.dto.structure.Rod;
+import stankin.saprcadbackend.dto.structure.StructureInput;
+import stankin.saprcadbackend.model.StructureModel;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Связность стержневой системы: для каждого стержня — индексы (позиции в списке узлов) его концов.
+// Линейная система (стержень i соединяет узлы i и i+1) распознаётся отдельно — для неё есть решатель O(n).
+public class StructureTopology {
+
+    private final int nodeCount;
+    private final int[] startNode; // индекс начального узла стержня i
+    private final int[] endNode;   // индекс конечного узла стержня i
+    private final boolean chain;
+
+    private StructureTopology(int nodeCount, int[] startNode, int[] endNode, boolean chain) {
+        this.nodeCount = nodeCount;
+        this.startNode = startNode;
+        this.endNode = endNode;
+        this.chain = chain;
+    }
+
+    public static StructureTopology of(StructureInput input) {
+        return of(StructureModel.of(input));
+    }
+
+    public static StructureTopology of(StructureModel model) {
+        int rodCount = model.rodCount();
+        int nodeCount = model.nodeCount();
+
+        int[] start = new int[rodCount];
+        int[] end = new int[rodCount];
+
+        if (!model.hasExplicitTopology()) {
+            if (nodeCount != rodCount + 1) {
+                throw new IllegalArgumentException("Количество узлов должно быть на 1 больше количества стержней. Узлов: " +
+                        nodeCount + ", стержней: " + rodCount);
+            }
+            for (int i = 0; i < rodCount; i++) {
+                start[i] = i;
+                end[i] = i + 1;
+            }
+            return new StructureTopology(nodeCount, start, end, true);
+        }
+
+        NodeIndex index = new NodeIndex(model);
+        boolean chain = nodeCount == rodCount + 1;
+        for (int i = 0; i < rodCount; i++) {
+            if (model.startNodeId(i) == StructureModel.NO_NODE || model.endNodeId(i) == StructureModel.NO_NODE) {
+                throw new IllegalArgumentException("Стержень ID=" + model.rodId(i) + ": не заданы начальный и конечный узлы.");
+            }
+            start[i] = index.indexOf(model.startNodeId(i), model.rodId(i));
+            end[i] = index.indexOf(model.endNodeId(i), model.rodId(i));
+            chain &= start[i] == i && end[i] == i + 1;
+        }
+        return new StructureTopology(nodeCount, start, end, chain);
+    }
+
+    // Топология задана явно, если хотя бы у одного стержня указаны узлы
+    public static boolean hasExplicitTopology(StructureInput input) {
+        for (Rod rod : input.getRods()) {
+            if (rod.getStartNodeId() != null || rod.getEndNodeId() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public int rodCount() {
+        return startNode.length;
+    }
+
+    public int startNode(int rod) {
+        return startNode[rod];
+    }
+
+    public int endNode(int rod) {
+        return endNode[rod];
+    }
+
+    // Массивы индексов концов стержней без копирования; изменять нельзя
+    public int[] startNodes() {
+        return startNode;
+    }
+
+    public int[] endNodes() {
+        return endNode;
+    }
+
+    // true — стержень i соединяет узлы i и i+1 (матрица жёсткости трёхдиагональная)
+    public boolean isChain() {
+        return chain;
+    }
+
+    // Отображение ID узла в его позицию в списке: массив по диапазону ID, если он плотный, иначе HashMap
+    private static class NodeIndex {
+        private int minId;
+        private int[] byId;
+        private Map<Integer, Integer> byIdMap;
+
+        NodeIndex(StructureModel model) {
+            int n = model.nodeCount();
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int j = 0; j < n; j++) {
+                min = Math.min(min, model.nodeId(j));
+                max = Math.max(max, model.nodeId(j));
+            }
+
+            long range = (long) max - min + 1;
+            if (range <= 4L * n + 16) {
+                minId = min;
+                byId = new int[(int) range];
+                Arrays.fill(byId, -1);
+                for (int j = 0; j < n; j++) {
+                    byId[model.nodeId(j) - min] = j;
+                }
+            } else {
+                byIdMap = new HashMap<>();
+                for (int j = 0; j < n; j++) {
+                    byIdMap.put(model.nodeId(j), j);
+                }
+            }
+        }
+
+        int indexOf(int nodeId, int rodId) {
+            int index = -1;
+            if (byId != null) {
+                long offset = (long) nodeId - minId;
+                if (offset >= 0 && offset < byId.length) {
+                    index = byId[(int) offset];
+                }
+            } else {
+                index = byIdMap.getOrDefault(nodeId, -1);
+            }
+            if (index < 0) {
+                throw new IllegalArgumentException("Стержень ID=" + rodId +
+                        " ссылается на несуществующий узел ID=" + nodeId + ".");
+            }
+            return index;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package stankin.saprcadbackend.service.processor;
+
+import org.ejml.simple.SimpleMatrix;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Разложенная матрица жёсткости с накопленными изменениями жёсткостей отдельных стержней.
+// Изменение EA/L стержня (a, b) на Δk — поправка ранга 1: K' = K + Δk * v * vᵀ, v = e_a - e_b.
+// Решение с r поправками по формуле Шермана — Моррисона — Вудбери:
+//   K'⁻¹F = K⁻¹F - Z * (C⁻¹ + Vᵀ Z)⁻¹ * Vᵀ K⁻¹F,  Z = K⁻¹V, C = diag(Δk),
+// то есть исходное разложение не пересчитывается, а на каждую поправку хранится один столбец Z.
+public class UpdatableStructure {
+
+    private final FactorizedStructure base;
+    private final int maxRank;
+
+    private final List<Integer> startNodes = new ArrayList<>();
+    private final List<Integer> endNodes = new ArrayList<>();
+    private final List<Double> stiffnessDeltas = new ArrayList<>();
+    private final List<double[]> columns = new ArrayList<>(); // столбцы Z = K⁻¹ v
+
+    public UpdatableStructure(FactorizedStructure base, int maxRank) {
+        this.base = base;
+        this.maxRank = maxRank;
+    }
+
+    public FactorizedStructure getBase() {
+        return base;
+    }
+
+    public int rank() {
+        return columns.size();
+    }
+
+    /**
+     * Добавляет изменение жёсткости стержня.
+     *
+     * @return false, если лимит ранга исчерпан — нужна повторная факторизация
+     */
+    public boolean addStiffnessChange(int rodIndex, double stiffnessDelta) {
+        int a = base.getTopology().startNode(rodIndex);
+        int b = base.getTopology().endNode(rodIndex);
+        boolean freeA = !base.isFixed(a);
+        boolean freeB = !base.isFixed(b);
+        if (stiffnessDelta == 0.0 || (!freeA && !freeB)) {
+            return true; // стержень между двумя заделками не входит в систему
+        }
+        if (columns.size() >= maxRank) {
+            return false;
+        }
+
+        double[] v = new double[base.nodeCount()];
+        if (freeA) v[a] = 1.0;
+        if (freeB) v[b] = -1.0;
+
+        startNodes.add(freeA ? a : -1);
+        endNodes.add(freeB ? b : -1);
+        stiffnessDeltas.add(stiffnessDelta);
+        columns.add(base.solve(v));
+        return true;
+    }
+
+    // Полный вектор перемещений ∆ для изменённой матрицы жёсткости
+    public double[] solve(double[] loads) {
+        double[] x = base.solve(loads);
+        int r = columns.size();
+        if (r == 0) {
+            return x;
+        }
+
+        // S = C⁻¹ + Vᵀ Z, w = Vᵀ x — вычисляются за O(r²), так как у v не больше двух ненулевых элементов
+        SimpleMatrix s = new SimpleMatrix(r, r);
+        SimpleMatrix w = new SimpleMatrix(r, 1);
+        for (int i = 0; i < r; i++) {
+            for (int j = 0; j < r; j++) {
+                s.set(i, j, project(i, columns.get(j)));
+            }
+            s.set(i, i, s.get(i, i) + 1.0 / stiffnessDeltas.get(i));
+            w.set(i, 0, project(i, x));
+        }
+        SimpleMatrix y = s.solve(w);
+
+        for (int j = 0; j < r; j++) {
+            double yj = y.get(j, 0);
+            double[] z = columns.get(j);
+            for (int k = 0; k < x.length; k++) {
+                x[k] -= z[k] * yj;
+            }
+        }
+        return x;
+    }
+
+    // vᵢᵀ * u
+    private double project(int i, double[] u) {
+        double value = 0.0;
+        int a = startNodes.get(i);
+        int b = endNodes.get(i);
+        if (a >= 0) value += u[a];
+        if (b >= 0) value -= u[b];
+        return value;
+    }
+}
@@ -0,0 +1,22 @@
+package stankin.saprcadbackend.service.processor.solver;
+
+import java.util.concurrent.CancellationException;
+
+// Точки отмены в долгих циклах: фоновое задание отменяется прерыванием своего потока.
+// Проверка флага прерывания почти бесплатна, поэтому её можно делать на каждой итерации.
+public final class Cancellation {
+
+    private Cancellation() {
+    }
+
+    public static void checkpoint() {
+        checkpoint(Thread.currentThread());
+    }
+
+    // Для задач в чужом пуле потоков: прерывают поток, который ждёт результата, а не рабочий поток пула
+    public static void checkpoint(Thread owner) {
+        if (owner.isInterrupted()) {
+            throw new CancellationException("Расчёт отменён.");
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package stankin.saprcadbackend.service.processor.solver;
+
+// Итерационный решатель: метод сопряжённых градиентов с предобусловливателем Якоби (диагональ K).
+// Память O(nnz), факторизация не строится — подходит для систем, профиль которых не помещается в память.
+public class ConjugateGradientSolver implements LinearSystemSolver {
+
+    private final CsrMatrix matrix;
+    private final double[] inverseDiagonal;
+    private final double tolerance;    // относительная невязка ||F - K∆|| / ||F||
+    private final int maxIterations;
+
+    public ConjugateGradientSolver(CsrMatrix matrix, double tolerance, int maxIterations) {
+        this.matrix = matrix;
+        this.tolerance = tolerance;
+        this.maxIterations = maxIterations;
+
+        double[] diag = matrix.diagonal();
+        this.inverseDiagonal = new double[diag.length];
+        for (int i = 0; i < diag.length; i++) {
+            if (diag[i] <= 0) {
+                throw new IllegalArgumentException("Матрица жёсткости вырождена (степень свободы " + i + "). " +
+                        "Проверьте, что каждая часть конструкции имеет заделку.");
+            }
+            inverseDiagonal[i] = 1.0 / diag[i];
+        }
+    }
+
+    @Override
+    public int size() {
+        return matrix.size();
+    }
+
+    @Override
+    public double[] solve(double[] rhs) {
+        return solve(rhs, null);
+    }
+
+    // Начальное приближение сокращает число итераций, если решение близко к предыдущему
+    @Override
+    public double[] solve(double[] rhs, double[] initialGuess) {
+        int n = matrix.size();
+        if (rhs.length != n) {
+            throw new IllegalArgumentException("Размер правой части " + rhs.length + " не совпадает с размером системы " + n);
+        }
+
+        double[] x = initialGuess != null ? initialGuess.clone() : new double[n];
+        double[] r = rhs.clone();      // невязка r = F - K*x, при x = 0 равна F
+        double[] z = new double[n];    // предобусловленная невязка
+        double[] p = new double[n];    // направление спуска
+        double[] kp = new double[n];   // K * p
+
+        double rhsNorm = Math.sqrt(dot(rhs, rhs));
+        if (rhsNorm == 0.0) {
+            return new double[n];
+        }
+        double threshold = tolerance * rhsNorm;
+
+        if (initialGuess != null) {
+            matrix.multiply(x, kp);
+            double residualNorm = 0.0;
+            for (int i = 0; i < n; i++) {
+                r[i] -= kp[i];
+                residualNorm += r[i] * r[i];
+            }
+            if (Math.sqrt(residualNorm) <= threshold) {
+                return x;
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            z[i] = inverseDiagonal[i] * r[i];
+            p[i] = z[i];
+        }
+        double rz = dot(r, z);
+
+        for (int iteration = 1; iteration <= maxIterations; iteration++) {
+            Cancellation.checkpoint();
+            matrix.multiply(p, kp);
+            double pkp = dot(p, kp);
+            if (pkp <= 0) {
+                throw new IllegalArgumentException("Матрица жёсткости не является положительно определённой. " +
+                        "Проверьте, что каждая часть конструкции имеет заделку.");
+            }
+            double alpha = rz / pkp;
+
+            double residualNorm = 0.0;
+            for (int i = 0; i < n; i++) {
+                x[i] += alpha * p[i];
+                r[i] -= alpha * kp[i];
+                residualNorm += r[i] * r[i];
+            }
+            if (Math.sqrt(residualNorm) <= threshold) {
+                return x;
+            }
+
+            double rzNext = 0.0;
+            for (int i = 0; i < n; i++) {
+                z[i] = inverseDiagonal[i] * r[i];
+                rzNext += r[i] * z[i];
+            }
+            double beta = rzNext / rz;
+            rz = rzNext;
+            for (int i = 0; i < n; i++) {
+                p[i] = z[i] + beta * p[i];
+            }
+        }
+
+        throw new IllegalStateException("Метод сопряжённых градиентов не сошёлся за " + maxIterations +
+                " итераций (требуемая относительная невязка " + tolerance + ").");
+    }
+
+    private static double dot(double[] a, double[] b) {
+        double sum = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}
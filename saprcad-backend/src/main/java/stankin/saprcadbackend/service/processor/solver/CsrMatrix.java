@@ -0,0 +1,140 @@
+package stankin.saprcadbackend.service.processor.solver;
+
+import java.util.Arrays;
+
+// Разреженная симметричная матрица в формате CSR (хранятся обе половины).
+// Столбцы внутри каждой строки отсортированы по возрастанию.
+public class CsrMatrix {
+
+    private final int size;
+    private final int[] rowPtr;   // начало строки i в colIdx/values, rowPtr[size] = nnz
+    private final int[] colIdx;
+    private final double[] values;
+
+    public CsrMatrix(int size, int[] rowPtr, int[] colIdx, double[] values) {
+        this.size = size;
+        this.rowPtr = rowPtr;
+        this.colIdx = colIdx;
+        this.values = values;
+    }
+
+    /**
+     * Строит шаблон (структуру ненулевых элементов) по списку рёбер графа.
+     * Диагональ присутствует всегда, повторяющиеся рёбра объединяются, значения — нули.
+     *
+     * @param size  размерность матрицы
+     * @param edgeA первый конец ребра (-1 — ребро пропускается)
+     * @param edgeB второй конец ребра (-1 — ребро пропускается)
+     */
+    public static CsrMatrix pattern(int size, int[] edgeA, int[] edgeB) {
+        int[] counts = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            counts[i + 1] = 1; // диагональ
+        }
+        for (int e = 0; e < edgeA.length; e++) {
+            int a = edgeA[e];
+            int b = edgeB[e];
+            if (a < 0 || b < 0 || a == b) {
+                continue;
+            }
+            counts[a + 1]++;
+            counts[b + 1]++;
+        }
+        for (int i = 0; i < size; i++) {
+            counts[i + 1] += counts[i];
+        }
+
+        // Заполняем столбцы с возможными повторами
+        int[] raw = new int[counts[size]];
+        int[] fill = Arrays.copyOf(counts, size);
+        for (int i = 0; i < size; i++) {
+            raw[fill[i]++] = i;
+        }
+        for (int e = 0; e < edgeA.length; e++) {
+            int a = edgeA[e];
+            int b = edgeB[e];
+            if (a < 0 || b < 0 || a == b) {
+                continue;
+            }
+            raw[fill[a]++] = b;
+            raw[fill[b]++] = a;
+        }
+
+        // Сортируем каждую строку и удаляем повторы
+        int[] rowPtr = new int[size + 1];
+        int nnz = 0;
+        for (int i = 0; i < size; i++) {
+            int from = counts[i];
+            int to = counts[i + 1];
+            Arrays.sort(raw, from, to);
+            rowPtr[i] = nnz;
+            for (int k = from; k < to; k++) {
+                if (k == from || raw[k] != raw[k - 1]) {
+                    raw[nnz++] = raw[k];
+                }
+            }
+        }
+        rowPtr[size] = nnz;
+
+        return new CsrMatrix(size, rowPtr, Arrays.copyOf(raw, nnz), new double[nnz]);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int nonZeros() {
+        return rowPtr[size];
+    }
+
+    public int[] rowPtr() {
+        return rowPtr;
+    }
+
+    public int[] colIdx() {
+        return colIdx;
+    }
+
+    public double[] values() {
+        return values;
+    }
+
+    // Позиция элемента (row, col) в values или -1, если его нет в шаблоне
+    public int indexOf(int row, int col) {
+        int pos = Arrays.binarySearch(colIdx, rowPtr[row], rowPtr[row + 1], col);
+        return pos >= 0 ? pos : -1;
+    }
+
+    public void add(int row, int col, double value) {
+        int pos = indexOf(row, col);
+        if (pos < 0) {
+            throw new IllegalArgumentException("Элемент (" + row + ", " + col + ") отсутствует в шаблоне матрицы.");
+        }
+        values[pos] += value;
+    }
+
+    public double[] diagonal() {
+        double[] diag = new double[size];
+        for (int i = 0; i < size; i++) {
+            int pos = indexOf(i, i);
+            diag[i] = pos >= 0 ? values[pos] : 0.0;
+        }
+        return diag;
+    }
+
+    // y = K * x
+    public void multiply(double[] x, double[] y) {
+        for (int i = 0; i < size; i++) {
+            double sum = 0.0;
+            for (int k = rowPtr[i]; k < rowPtr[i + 1]; k++) {
+                sum += values[k] * x[colIdx[k]];
+            }
+            y[i] = sum;
+        }
+    }
+
+    // Первый (минимальный) столбец в строке i — граница профиля нижнего треугольника
+    public int firstColumn(int row) {
+        return rowPtr[row] < rowPtr[row + 1] ? Math.min(colIdx[rowPtr[row]], row) : row;
+    }
+}
@@ -0,0 +1,17 @@
+package stankin.saprcadbackend.service.processor.solver;
+
+// Решатель системы K * ∆ = F с уже подготовленной матрицей K.
+// Прямые решатели хранят факторизацию, поэтому solve() можно вызывать для многих правых частей.
+public interface LinearSystemSolver {
+
+    int size();
+
+    // Решение для новой правой части, rhs не изменяется
+    double[] solve(double[] rhs);
+
+    // Решение с начальным приближением (близкое решение предыдущей задачи).
+    // Прямым решателям приближение не нужно, итерационные начинают с него вместо нуля
+    default double[] solve(double[] rhs, double[] initialGuess) {
+        return solve(rhs);
+    }
+}
@@ -0,0 +1,252 @@
+package stankin.saprcadbackend.service.processor.solver;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Параллельный решатель симметричной трёхдиагональной системы (очень длинные цепочки стержней):
+ * декомпозиция области со статической конденсацией.
+ * <p>
+ * Узлы делятся на segments отрезков, между соседними отрезками — один узел-разделитель. Внутренние узлы
+ * разных отрезков связаны только через разделители, поэтому каждый отрезок раскладывается независимо
+ * (fork/join), а для разделителей остаётся малая трёхдиагональная система — дополнение Шура
+ * S = K_SS − K_SI · K_II⁻¹ · K_IS размером segments − 1.
+ * <p>
+ * Разложение: L·D·Lᵀ каждого отрезка и столбцы K_II⁻¹ для его крайних узлов (wL, wR), по ним — S.
+ * Решение: K_II · y = F_I по отрезкам параллельно → S · ∆_S = F_S − K_SI · y последовательно →
+ * ∆_I = y − wL · (K·∆)_лев − wR · (K·∆)_прав по отрезкам параллельно.
+ * <p>
+ * Разделители конденсируются вычитанием близких чисел (K_SS и K_SI · K_II⁻¹ · K_IS отличаются в длину отрезка
+ * раз), поэтому на плохо обусловленных цепочках погрешность заметно выше, чем у последовательного прохода.
+ * Её снимает один шаг уточнения: r = F − K·∆, ∆ += K⁻¹·r тем же разложением.
+ * Работы примерно вшестеро больше, чем у TridiagonalSolver, но она делится между ядрами почти без остатка.
+ */
+public class ParallelTridiagonalSolver implements LinearSystemSolver {
+
+    // Относительный порог, ниже которого ведущий элемент считается нулевым — как в TridiagonalSolver
+    private static final double SINGULAR_TOLERANCE = 1e-12;
+
+    private final ForkJoinPool pool;
+    private final int segments;
+    private final int[] first;      // первый внутренний узел отрезка k; разделитель k — узел last[k] + 1
+    private final int[] last;       // последний внутренний узел отрезка k
+    private final double[] diag;    // главная диагональ K: для невязки при уточнении
+    private final double[] off;     // наддиагональ K: связи с разделителями и невязка
+    private final double[] d;       // диагональ D разложений отрезков
+    private final double[] l;       // поддиагональ L разложений отрезков (на последнем узле отрезка не используется)
+    private final double[] wL;      // K_II⁻¹ · e_first по отрезкам (у первого отрезка — нули)
+    private final double[] wR;      // K_II⁻¹ · e_last по отрезкам (у последнего отрезка — нули)
+    private final TridiagonalSolver schur;
+
+    private ParallelTridiagonalSolver(ForkJoinPool pool, int segments, int[] first, int[] last, double[] diag,
+                                      double[] off, double[] d, double[] l, double[] wL, double[] wR, TridiagonalSolver schur) {
+        this.pool = pool;
+        this.segments = segments;
+        this.first = first;
+        this.last = last;
+        this.diag = diag;
+        this.off = off;
+        this.d = d;
+        this.l = l;
+        this.wL = wL;
+        this.wR = wR;
+        this.schur = schur;
+    }
+
+    /**
+     * Разложение по отрезкам; diag и off сохраняются в решателе без копирования и не должны изменяться.
+     *
+     * @param diag     главная диагональ (размер n)
+     * @param off      наддиагональ = поддиагональ (размер n - 1)
+     * @param segments число отрезков; уменьшается, если отрезков не хватает хотя бы на два узла
+     */
+    public static ParallelTridiagonalSolver factorize(double[] diag, double[] off, int segments, ForkJoinPool pool) {
+        int n = diag.length;
+        if (off.length != Math.max(n - 1, 0)) {
+            throw new IllegalArgumentException("Размер наддиагонали должен быть на 1 меньше размера диагонали.");
+        }
+        int count = Math.min(segments, (n + 1) / 2);
+        if (count < 2) {
+            throw new IllegalArgumentException("Для параллельного решения нужно хотя бы два отрезка.");
+        }
+
+        // Отрезки почти равной длины: отрезок k — узлы [k·(n+1)/count, (k+1)·(n+1)/count − 1),
+        // последний узел диапазона (кроме последнего отрезка) — разделитель
+        int[] first = new int[count];
+        int[] last = new int[count];
+        for (int k = 0; k < count; k++) {
+            first[k] = (int) ((long) k * (n + 1) / count);
+            last[k] = (int) ((long) (k + 1) * (n + 1) / count) - 2;
+        }
+        last[count - 1] = n - 1;
+
+        double[] d = new double[n];
+        double[] l = new double[n];
+        double[] wL = new double[n];
+        double[] wR = new double[n];
+        invoke(pool, count, k -> {
+            int lo = first[k];
+            int hi = last[k];
+            for (int i = lo; i <= hi; i++) {
+                double pivot = diag[i];
+                if (i > lo) {
+                    l[i - 1] = off[i - 1] / d[i - 1];
+                    pivot -= l[i - 1] * off[i - 1];
+                }
+                if (Math.abs(pivot) <= SINGULAR_TOLERANCE * Math.abs(diag[i])) {
+                    throw new IllegalArgumentException("Матрица жёсткости вырождена (узел " + i + "). " +
+                            "Проверьте наличие заделки.");
+                }
+                d[i] = pivot;
+            }
+            if (k > 0) {
+                wL[lo] = 1.0;
+                solveSegment(lo, hi, d, l, wL);
+            }
+            if (k < count - 1) {
+                // Прямой ход для e_last ничего не меняет, остаются деление и обратный ход
+                wR[hi] = 1.0 / d[hi];
+                for (int i = hi - 1; i >= lo; i--) {
+                    wR[i] = -l[i] * wR[i + 1];
+                }
+            }
+        });
+
+        // Дополнение Шура для разделителей s_k = last[k] + 1: вклад отрезка k (слева) и k + 1 (справа)
+        double[] schurDiag = new double[count - 1];
+        double[] schurOff = new double[count - 2];
+        for (int k = 0; k < count - 1; k++) {
+            int s = last[k] + 1;
+            double left = off[s - 1];
+            double right = off[s];
+            schurDiag[k] = diag[s] - left * left * wR[last[k]] - right * right * wL[first[k + 1]];
+            if (k < count - 2) {
+                schurOff[k] = -right * wR[first[k + 1]] * off[last[k + 1]];
+            }
+        }
+        TridiagonalSolver schur;
+        try {
+            schur = TridiagonalSolver.factorize(schurDiag, schurOff);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Матрица жёсткости вырождена. Проверьте наличие заделки.", e);
+        }
+        return new ParallelTridiagonalSolver(pool, count, first, last, diag, off, d, l, wL, wR, schur);
+    }
+
+    @Override
+    public int size() {
+        return d.length;
+    }
+
+    @Override
+    public double[] solve(double[] rhs) {
+        if (rhs.length != d.length) {
+            throw new IllegalArgumentException("Размер правой части " + rhs.length + " не совпадает с размером системы "
+                    + d.length);
+        }
+        double[] x = condense(rhs);
+
+        // Шаг уточнения: невязка по отрезкам вместе с их правыми разделителями
+        double[] residual = new double[x.length];
+        invoke(pool, segments, k -> {
+            int hi = k < segments - 1 ? last[k] + 1 : last[k];
+            for (int i = first[k]; i <= hi; i++) {
+                double product = diag[i] * x[i];
+                if (i > 0) {
+                    product += off[i - 1] * x[i - 1];
+                }
+                if (i < x.length - 1) {
+                    product += off[i] * x[i + 1];
+                }
+                residual[i] = rhs[i] - product;
+            }
+        });
+        double[] correction = condense(residual);
+        invoke(pool, segments, k -> {
+            int hi = k < segments - 1 ? last[k] + 1 : last[k];
+            for (int i = first[k]; i <= hi; i++) {
+                x[i] += correction[i];
+            }
+        });
+        return x;
+    }
+
+    // Одно решение через конденсацию, без уточнения
+    private double[] condense(double[] rhs) {
+        double[] x = rhs.clone();
+
+        // y = K_II⁻¹ · F_I; в разделителях пока F_S
+        invoke(pool, segments, k -> solveSegment(first[k], last[k], d, l, x));
+
+        // S · ∆_S = F_S − K_SI · y
+        double[] g = new double[segments - 1];
+        for (int k = 0; k < segments - 1; k++) {
+            int s = last[k] + 1;
+            g[k] = x[s] - off[s - 1] * x[last[k]] - off[s] * x[first[k + 1]];
+        }
+        schur.solveInPlace(g);
+        for (int k = 0; k < segments - 1; k++) {
+            x[last[k] + 1] = g[k];
+        }
+
+        // ∆_I = y − K_II⁻¹ · K_IS · ∆_S
+        invoke(pool, segments, k -> {
+            int lo = first[k];
+            int hi = last[k];
+            double left = k > 0 ? off[lo - 1] * x[lo - 1] : 0.0;
+            double right = k < segments - 1 ? off[hi] * x[hi + 1] : 0.0;
+            for (int i = lo; i <= hi; i++) {
+                x[i] -= left * wL[i] + right * wR[i];
+            }
+        });
+        return x;
+    }
+
+    // Прямой и обратный ход разложения одного отрезка на месте
+    private static void solveSegment(int lo, int hi, double[] d, double[] l, double[] x) {
+        for (int i = lo + 1; i <= hi; i++) {
+            x[i] -= l[i - 1] * x[i - 1];
+        }
+        for (int i = lo; i <= hi; i++) {
+            x[i] /= d[i];
+        }
+        for (int i = hi - 1; i >= lo; i--) {
+            x[i] -= l[i] * x[i + 1];
+        }
+    }
+
+    // Ожидание pool.invoke не прерывается, поэтому каждый отрезок перед работой проверяет прерывание вызвавшего
+    // потока: отменённое задание останавливается после уже начатых отрезков, а CancellationException доходит до него
+    private static void invoke(ForkJoinPool pool, int segments, IntConsumer action) {
+        Thread owner = Thread.currentThread();
+        Cancellation.checkpoint(owner);
+        pool.invoke(new SegmentTask(0, segments, owner, action));
+    }
+
+    // Отрезки [from, to): делится пополам, пока не останется один
+    private static final class SegmentTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final Thread owner;
+        private final IntConsumer action;
+
+        SegmentTask(int from, int to, Thread owner, IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.owner = owner;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                Cancellation.checkpoint(owner);
+                action.accept(from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SegmentTask(from, middle, owner, action), new SegmentTask(middle, to, owner, action));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package stankin.saprcadbackend.service.processor.solver;
+
+import java.util.Arrays;
+
+// Обратный алгоритм Катхилла–Макки: перенумерация узлов, уменьшающая ширину ленты и профиль матрицы.
+// Для прямого профильного решателя это определяет и память, и время факторизации.
+public final class ReverseCuthillMcKee {
+
+    // Сколько раз уточняем псевдопериферийный узел
+    private static final int PERIPHERAL_PASSES = 8;
+
+    private ReverseCuthillMcKee() {
+    }
+
+    /**
+     * @param pattern симметричный шаблон матрицы (граф смежности)
+     * @return order[newIndex] = oldIndex
+     */
+    public static int[] order(CsrMatrix pattern) {
+        int n = pattern.size();
+        int[] rowPtr = pattern.rowPtr();
+        int[] colIdx = pattern.colIdx();
+
+        int[] degree = new int[n];
+        for (int i = 0; i < n; i++) {
+            degree[i] = rowPtr[i + 1] - rowPtr[i] - 1; // без диагонали
+        }
+
+        int[] order = new int[n];
+        boolean[] visited = new boolean[n];
+
+        // Рабочие массивы поиска в ширину для выбора корня
+        int[] queue = new int[n];
+        int[] level = new int[n];
+        int[] mark = new int[n];
+        int stamp = 0;
+
+        int count = 0;
+        for (int seed = 0; seed < n; seed++) {
+            if (visited[seed]) {
+                continue;
+            }
+
+            // Каждая компонента связности нумеруется от псевдопериферийного узла:
+            // повторяем BFS от узла последнего уровня с минимальной степенью, пока эксцентриситет растёт
+            int root = seed;
+            int eccentricity = -1;
+            for (int pass = 0; pass < PERIPHERAL_PASSES; pass++) {
+                stamp++;
+                int tail = 0;
+                queue[tail] = root;
+                level[tail++] = 0;
+                mark[root] = stamp;
+                for (int head = 0; head < tail; head++) {
+                    int v = queue[head];
+                    for (int k = rowPtr[v]; k < rowPtr[v + 1]; k++) {
+                        int u = colIdx[k];
+                        if (mark[u] != stamp) {
+                            mark[u] = stamp;
+                            queue[tail] = u;
+                            level[tail++] = level[head] + 1;
+                        }
+                    }
+                }
+
+                int lastLevel = level[tail - 1];
+                if (lastLevel <= eccentricity) {
+                    break;
+                }
+                eccentricity = lastLevel;
+
+                int best = root;
+                int bestDegree = Integer.MAX_VALUE;
+                for (int i = tail - 1; i >= 0 && level[i] == lastLevel; i--) {
+                    if (degree[queue[i]] < bestDegree) {
+                        bestDegree = degree[queue[i]];
+                        best = queue[i];
+                    }
+                }
+                root = best;
+            }
+
+            // Катхилл–Макки: BFS, соседи добавляются по возрастанию степени
+            int head = count;
+            order[count++] = root;
+            visited[root] = true;
+            while (head < count) {
+                int v = order[head++];
+                int firstNew = count;
+                for (int k = rowPtr[v]; k < rowPtr[v + 1]; k++) {
+                    int u = colIdx[k];
+                    if (!visited[u]) {
+                        visited[u] = true;
+                        order[count++] = u;
+                    }
+                }
+                sortByDegree(order, firstNew, count, degree);
+            }
+        }
+
+        // Обращаем порядок
+        for (int i = 0, j = n - 1; i < j; i++, j--) {
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        return order;
+    }
+
+    private static void sortByDegree(int[] order, int from, int to, int[] degree) {
+        int length = to - from;
+        if (length < 2) {
+            return;
+        }
+        if (length <= 16) {
+            // Обычно соседей немного — сортировка вставками
+            for (int i = from + 1; i < to; i++) {
+                int v = order[i];
+                int j = i - 1;
+                while (j >= from && degree[order[j]] > degree[v]) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = v;
+            }
+            return;
+        }
+        // Узлы-"хабы" с большим числом соседей: сортировка упакованных пар (степень, узел)
+        long[] keys = new long[length];
+        for (int i = 0; i < length; i++) {
+            int v = order[from + i];
+            keys[i] = ((long) degree[v] << 32) | v;
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < length; i++) {
+            order[from + i] = (int) keys[i];
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package stankin.saprcadbackend.service.processor.solver;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Низшие собственные пары обобщённой задачи K·φ = λ·M·φ: метод Ланцоша со сдвигом-обращением (сдвиг 0).
+ * <p>
+ * Итерации идут с оператором K⁻¹·M: шаг — одно умножение на M и одно решение по готовому разложению K.
+ * Оператор самосопряжён в M-скалярном произведении, его наибольшие собственные значения θ = 1/λ отвечают
+ * низшим частотам и сходятся первыми. Плотная задача решается только для проекции T = Vᵀ·M·K⁻¹·M·V
+ * размером с базис (десятки векторов), поэтому память — O(basisSize · n), а не O(n²).
+ * <p>
+ * Базис V M-ортонормирован с полной переортогонализацией (дважды классический Грам–Шмидт) — без ложных
+ * копий собственных значений. Перезапуск «толстый» (thick restart): в базисе остаются лучшие векторы Ритца
+ * и последний вектор невязки, а проекция дальше снова строится из скалярных произведений.
+ */
+public final class ShiftInvertLanczos {
+
+    // Невязка короче этой доли ||K⁻¹·M·v||_M — найдено инвариантное подпространство
+    private static final double BREAKDOWN = 1e-12;
+    // Строк векторов за раз при пересчёте базиса на месте (V·Y) — рабочий массив basisSize × RESTART_BLOCK
+    private static final int RESTART_BLOCK = 4096;
+    private static final int MAX_JACOBI_SWEEPS = 100;
+
+    private ShiftInvertLanczos() {
+    }
+
+    // Собственные пары по возрастанию λ; векторы M-нормированы (φᵀ·M·φ = 1), в сокращённой нумерации
+    public static class Result {
+        private final double[] eigenvalues;
+        private final double[][] vectors;
+        private final int operatorApplications;
+        private final int restarts;
+
+        private Result(double[] eigenvalues, double[][] vectors, int operatorApplications, int restarts) {
+            this.eigenvalues = eigenvalues;
+            this.vectors = vectors;
+            this.operatorApplications = operatorApplications;
+            this.restarts = restarts;
+        }
+
+        public double[] getEigenvalues() {
+            return eigenvalues;
+        }
+
+        public double[][] getVectors() {
+            return vectors;
+        }
+
+        // Число применений K⁻¹·M (решений по разложению K)
+        public int getOperatorApplications() {
+            return operatorApplications;
+        }
+
+        public int getRestarts() {
+            return restarts;
+        }
+    }
+
+    /**
+     * @param stiffness   разложенная матрица жёсткости (решатель K·x = b)
+     * @param mass        матрица масс в той же нумерации
+     * @param count       число низших пар, от 1 до размера системы
+     * @param basisSize   размер базиса; 0 — max(2·count + 10, 20), не больше размера системы
+     * @param tolerance   относительная невязка пары Ритца ||K⁻¹·M·x − θ·x||_M / θ
+     * @param maxRestarts перезапусков до отказа
+     * @param seed        начальный вектор — псевдослучайный, результат воспроизводим
+     * @throws IllegalArgumentException если за maxRestarts перезапусков сошлись не все пары
+     */
+    public static Result lowestModes(LinearSystemSolver stiffness, CsrMatrix mass, int count, int basisSize,
+                                     double tolerance, int maxRestarts, long seed) {
+        int n = mass.size();
+        if (stiffness.size() != n) {
+            throw new IllegalArgumentException("Размеры матриц жёсткости и масс не совпадают: " + stiffness.size()
+                    + " и " + n + ".");
+        }
+        if (count < 1 || count > n) {
+            throw new IllegalArgumentException("Число собственных форм должно быть от 1 до " + n + ".");
+        }
+        int m = Math.min(n, basisSize > 0 ? Math.max(basisSize, count + 1) : Math.max(2 * count + 10, 20));
+
+        SplittableRandom random = new SplittableRandom(seed);
+        double[][] v = new double[m + 1][];
+        double[][] t = new double[m][m];
+        double[] coef = new double[m];
+        double[] mw = new double[n];
+
+        v[0] = randomVector(n, random);
+        double norm = orthogonalize(v, 0, v[0], mass, mw, null);
+        if (!(norm > 0)) {
+            throw new IllegalArgumentException("Матрица масс вырождена: проверьте плотности стержней.");
+        }
+        scale(v[0], 1.0 / norm);
+
+        int kept = 0;
+        int applications = 0;
+        int restarts = 0;
+        double[] theta = new double[m];
+        double[][] y = new double[m][m];
+        while (true) {
+            // Расширение базиса до m векторов; v[m] — нормированная невязка, residual — её длина
+            double residual = 0.0;
+            for (int j = kept; j < m; j++) {
+                Cancellation.checkpoint();
+                mass.multiply(v[j], mw);
+                double[] w = stiffness.solve(mw);
+                applications++;
+
+                Arrays.fill(coef, 0.0);
+                double beta = orthogonalize(v, j + 1, w, mass, mw, coef);
+                double total = beta * beta;
+                for (int i = 0; i <= j; i++) {
+                    t[i][j] = coef[i];
+                    t[j][i] = coef[i];
+                    total += coef[i] * coef[i];
+                }
+                if (beta <= BREAKDOWN * Math.sqrt(total)) {
+                    if (j == m - 1) {
+                        break;
+                    }
+                    // Инвариантное подпространство исчерпано — продолжаем с нового направления, ортогонального V
+                    w = randomVector(n, random);
+                    beta = orthogonalize(v, j + 1, w, mass, mw, null);
+                } else if (j == m - 1) {
+                    residual = beta;
+                }
+                scale(w, 1.0 / beta);
+                v[j + 1] = w;
+            }
+
+            symmetricEigen(t, m, theta, y);
+            boolean converged = true;
+            for (int i = 0; i < count && converged; i++) {
+                converged = residual * Math.abs(y[m - 1][i]) <= tolerance * Math.abs(theta[i]);
+            }
+            if (converged || m == n) {
+                break;
+            }
+            if (restarts == maxRestarts) {
+                throw new IllegalArgumentException("Метод Ланцоша не сошёлся за " + maxRestarts
+                        + " перезапусков. Увеличьте размер базиса или допуск.");
+            }
+
+            // Толстый перезапуск: kept лучших векторов Ритца + невязка, проекция — диагональ из θ
+            kept = Math.min(m - 1, count + (m - count) / 2);
+            combine(v, y, m, kept, n);
+            v[kept] = v[m];
+            for (double[] row : t) {
+                Arrays.fill(row, 0.0);
+            }
+            for (int i = 0; i < kept; i++) {
+                t[i][i] = theta[i];
+            }
+            restarts++;
+        }
+
+        combine(v, y, m, count, n);
+        double[] eigenvalues = new double[count];
+        double[][] vectors = new double[count][];
+        for (int i = 0; i < count; i++) {
+            if (!(theta[i] > 0)) {
+                throw new IllegalArgumentException("Матрицы жёсткости и масс должны быть положительно определены.");
+            }
+            eigenvalues[i] = 1.0 / theta[i];
+            vectors[i] = v[i];
+            // Знак формы: наибольшая по модулю компонента положительна
+            int largest = 0;
+            for (int r = 1; r < n; r++) {
+                if (Math.abs(v[i][r]) > Math.abs(v[i][largest])) {
+                    largest = r;
+                }
+            }
+            if (v[i][largest] < 0) {
+                scale(v[i], -1.0);
+            }
+        }
+        return new Result(eigenvalues, vectors, applications, restarts);
+    }
+
+    // Двукратная M-ортогонализация w к v[0..count) на месте; коэффициенты прибавляются к coef (если не null).
+    // Возвращает ||w||_M после ортогонализации, в mw остаётся M·w
+    private static double orthogonalize(double[][] v, int count, double[] w, CsrMatrix mass, double[] mw,
+                                        double[] coef) {
+        double[] h = new double[count];
+        for (int pass = 0; pass < 2 && count > 0; pass++) {
+            mass.multiply(w, mw);
+            for (int i = 0; i < count; i++) {
+                h[i] = dot(v[i], mw);
+            }
+            for (int i = 0; i < count; i++) {
+                double[] vi = v[i];
+                double hi = h[i];
+                for (int r = 0; r < w.length; r++) {
+                    w[r] -= hi * vi[r];
+                }
+                if (coef != null) {
+                    coef[i] += hi;
+                }
+            }
+        }
+        mass.multiply(w, mw);
+        return Math.sqrt(Math.max(dot(w, mw), 0.0));
+    }
+
+    // v[0..count) := V·Y[:, 0..count) на месте, по блокам строк
+    private static void combine(double[][] v, double[][] y, int m, int count, int n) {
+        double[][] block = new double[count][RESTART_BLOCK];
+        for (int from = 0; from < n; from += RESTART_BLOCK) {
+            int length = Math.min(RESTART_BLOCK, n - from);
+            for (int i = 0; i < count; i++) {
+                double[] target = block[i];
+                Arrays.fill(target, 0, length, 0.0);
+                for (int j = 0; j < m; j++) {
+                    double yji = y[j][i];
+                    double[] vj = v[j];
+                    for (int r = 0; r < length; r++) {
+                        target[r] += yji * vj[from + r];
+                    }
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                System.arraycopy(block[i], 0, v[i], from, length);
+            }
+        }
+    }
+
+    /**
+     * Собственные пары плотной симметричной матрицы a[0..size)² циклическим методом Якоби (a не изменяется).
+     * values — по убыванию, vectors[строка][номер пары].
+     */
+    static void symmetricEigen(double[][] a, int size, double[] values, double[][] vectors) {
+        double[][] s = new double[size][];
+        for (int i = 0; i < size; i++) {
+            s[i] = Arrays.copyOf(a[i], size);
+            Arrays.fill(vectors[i], 0, size, 0.0);
+            vectors[i][i] = 1.0;
+        }
+
+        for (int sweep = 0; sweep < MAX_JACOBI_SWEEPS; sweep++) {
+            double off = 0.0;
+            double total = 0.0;
+            for (int p = 0; p < size; p++) {
+                total += s[p][p] * s[p][p];
+                for (int q = p + 1; q < size; q++) {
+                    off += s[p][q] * s[p][q];
+                }
+            }
+            total += 2 * off;
+            if (off <= 1e-32 * total) {
+                break;
+            }
+            for (int p = 0; p < size - 1; p++) {
+                for (int q = p + 1; q < size; q++) {
+                    double apq = s[p][q];
+                    if (apq == 0.0) {
+                        continue;
+                    }
+                    // Поворот, обнуляющий s[p][q]
+                    double phi = (s[q][q] - s[p][p]) / (2.0 * apq);
+                    double tan = Math.signum(phi) / (Math.abs(phi) + Math.sqrt(phi * phi + 1.0));
+                    if (phi == 0.0) {
+                        tan = 1.0;
+                    }
+                    double c = 1.0 / Math.sqrt(tan * tan + 1.0);
+                    double sn = tan * c;
+                    for (int k = 0; k < size; k++) {
+                        double skp = s[k][p];
+                        double skq = s[k][q];
+                        s[k][p] = c * skp - sn * skq;
+                        s[k][q] = sn * skp + c * skq;
+                    }
+                    for (int k = 0; k < size; k++) {
+                        double spk = s[p][k];
+                        double sqk = s[q][k];
+                        s[p][k] = c * spk - sn * sqk;
+                        s[q][k] = sn * spk + c * sqk;
+                    }
+                    for (int k = 0; k < size; k++) {
+                        double vkp = vectors[k][p];
+                        double vkq = vectors[k][q];
+                        vectors[k][p] = c * vkp - sn * vkq;
+                        vectors[k][q] = sn * vkp + c * vkq;
+                    }
+                }
+            }
+        }
+
+        // Сортировка пар по убыванию собственного значения
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (x, z) -> Double.compare(s[z][z], s[x][x]));
+        double[][] sorted = new double[size][size];
+        for (int i = 0; i < size; i++) {
+            values[i] = s[order[i]][order[i]];
+            for (int k = 0; k < size; k++) {
+                sorted[k][i] = vectors[k][order[i]];
+            }
+        }
+        for (int k = 0; k < size; k++) {
+            System.arraycopy(sorted[k], 0, vectors[k], 0, size);
+        }
+    }
+
+    private static double[] randomVector(int n, SplittableRandom random) {
+        double[] w = new double[n];
+        for (int r = 0; r < n; r++) {
+            w[r] = random.nextDouble(-1.0, 1.0);
+        }
+        return w;
+    }
+
+    private static void scale(double[] x, double factor) {
+        for (int r = 0; r < x.length; r++) {
+            x[r] *= factor;
+        }
+    }
+
+    private static double dot(double[] a, double[] b) {
+        double sum = 0.0;
+        for (int r = 0; r < a.length; r++) {
+            sum += a[r] * b[r];
+        }
+        return sum;
+    }
+}
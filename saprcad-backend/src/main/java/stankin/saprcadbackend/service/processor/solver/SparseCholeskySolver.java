@@ -0,0 +1,189 @@
+package stankin.saprcadbackend.service.processor.solver;
+
+// Прямой разреженный решатель: разложение K = L * D * Lᵀ по дереву исключения (алгоритм LDL Т. Дэвиса).
+// Хранятся и вычисляются только фактические ненулевые элементы L, поэтому память и время
+// определяются заполнением, которое уменьшает предварительная перенумерация RCM.
+public class SparseCholeskySolver implements LinearSystemSolver {
+
+    // Относительный порог, ниже которого ведущий элемент считается нулевым (матрица вырождена)
+    private static final double SINGULAR_TOLERANCE = 1e-12;
+
+    private final int n;
+    private final int[] lp;      // начало столбца j в li/lx
+    private final int[] li;      // номера строк L (все > j)
+    private final double[] lx;   // значения L
+    private final double[] d;    // диагональ D
+
+    private SparseCholeskySolver(int n, int[] lp, int[] li, double[] lx, double[] d) {
+        this.n = n;
+        this.lp = lp;
+        this.li = li;
+        this.lx = lx;
+        this.d = d;
+    }
+
+    // Символьный этап: дерево исключения и число ненулевых элементов в каждом столбце L
+    public static class Symbolic {
+        private final int[] parent;
+        private final long[] columnPointers;
+
+        private Symbolic(int[] parent, long[] columnPointers) {
+            this.parent = parent;
+            this.columnPointers = columnPointers;
+        }
+
+        // Число ненулевых элементов L (без диагонали)
+        public long factorNonZeros() {
+            return columnPointers[columnPointers.length - 1];
+        }
+    }
+
+    public static Symbolic analyze(CsrMatrix matrix) {
+        int n = matrix.size();
+        int[] rowPtr = matrix.rowPtr();
+        int[] colIdx = matrix.colIdx();
+
+        int[] parent = new int[n];
+        int[] flag = new int[n];
+        long[] lnz = new long[n + 1];
+        for (int k = 0; k < n; k++) {
+            Cancellation.checkpoint();
+            parent[k] = -1;
+            flag[k] = k;
+            // Строка k матрицы (столбцы < k) = столбец k верхнего треугольника
+            for (int p = rowPtr[k]; p < rowPtr[k + 1]; p++) {
+                int i = colIdx[p];
+                if (i >= k) {
+                    break;
+                }
+                // Поднимаемся по дереву исключения от i до уже отмеченного узла
+                for (; flag[i] != k; i = parent[i]) {
+                    if (parent[i] == -1) {
+                        parent[i] = k;
+                    }
+                    lnz[i + 1]++;
+                    flag[i] = k;
+                }
+            }
+        }
+        for (int k = 0; k < n; k++) {
+            lnz[k + 1] += lnz[k];
+        }
+        return new Symbolic(parent, lnz);
+    }
+
+    public static SparseCholeskySolver factorize(CsrMatrix matrix) {
+        return factorize(matrix, analyze(matrix));
+    }
+
+    public static SparseCholeskySolver factorize(CsrMatrix matrix, Symbolic symbolic) {
+        if (symbolic.factorNonZeros() > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Разложение матрицы жёсткости слишком велико для прямого решателя: " +
+                    symbolic.factorNonZeros() + " элементов. Используйте итерационный решатель.");
+        }
+
+        int n = matrix.size();
+        int[] rowPtr = matrix.rowPtr();
+        int[] colIdx = matrix.colIdx();
+        double[] a = matrix.values();
+        int[] parent = symbolic.parent;
+
+        int[] lp = new int[n + 1];
+        for (int k = 0; k <= n; k++) {
+            lp[k] = (int) symbolic.columnPointers[k];
+        }
+        int[] li = new int[lp[n]];
+        double[] lx = new double[lp[n]];
+        double[] d = new double[n];
+
+        double[] y = new double[n];
+        int[] pattern = new int[n];
+        int[] flag = new int[n];
+        int[] lnz = new int[n];
+
+        for (int k = 0; k < n; k++) {
+            Cancellation.checkpoint();
+            // Разреженная треугольная система: шаблон строки k матрицы L
+            y[k] = 0.0;
+            int top = n;
+            flag[k] = k;
+            lnz[k] = 0;
+            double diagonal = 0.0;
+            for (int p = rowPtr[k]; p < rowPtr[k + 1]; p++) {
+                int i = colIdx[p];
+                if (i > k) {
+                    break;
+                }
+                y[i] += a[p];
+                if (i == k) {
+                    diagonal = a[p];
+                }
+                int len = 0;
+                for (; flag[i] != k; i = parent[i]) {
+                    pattern[len++] = i;
+                    flag[i] = k;
+                }
+                while (len > 0) {
+                    pattern[--top] = pattern[--len];
+                }
+            }
+
+            // Численный этап: L[k][i] и D[k]
+            d[k] = y[k];
+            y[k] = 0.0;
+            for (; top < n; top++) {
+                int i = pattern[top];
+                double yi = y[i];
+                y[i] = 0.0;
+                int end = lp[i] + lnz[i];
+                for (int p = lp[i]; p < end; p++) {
+                    y[li[p]] -= lx[p] * yi;
+                }
+                double lki = yi / d[i];
+                d[k] -= lki * yi;
+                li[end] = k;
+                lx[end] = lki;
+                lnz[i]++;
+            }
+            if (d[k] <= SINGULAR_TOLERANCE * Math.abs(diagonal)) {
+                throw new IllegalArgumentException("Матрица жёсткости вырождена (степень свободы " + k + "). " +
+                        "Проверьте, что каждая часть конструкции имеет заделку.");
+            }
+        }
+        return new SparseCholeskySolver(n, lp, li, lx, d);
+    }
+
+    @Override
+    public int size() {
+        return n;
+    }
+
+    @Override
+    public double[] solve(double[] rhs) {
+        if (rhs.length != n) {
+            throw new IllegalArgumentException("Размер правой части " + rhs.length + " не совпадает с размером системы " + n);
+        }
+        double[] x = rhs.clone();
+
+        // L * y = F (по столбцам L)
+        for (int j = 0; j < n; j++) {
+            double xj = x[j];
+            for (int p = lp[j]; p < lp[j + 1]; p++) {
+                x[li[p]] -= lx[p] * xj;
+            }
+        }
+        // D * z = y
+        for (int j = 0; j < n; j++) {
+            x[j] /= d[j];
+        }
+        // Lᵀ * ∆ = z
+        for (int j = n - 1; j >= 0; j--) {
+            double sum = x[j];
+            for (int p = lp[j]; p < lp[j + 1]; p++) {
+                sum -= lx[p] * x[li[p]];
+            }
+            x[j] = sum;
+        }
+        return x;
+    }
+}
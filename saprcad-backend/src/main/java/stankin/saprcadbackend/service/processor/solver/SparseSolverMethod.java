@@ -0,0 +1,8 @@
+package stankin.saprcadbackend.service.processor.solver;
+
+// Способ решения разреженной системы произвольной топологии
+public enum SparseSolverMethod {
+    AUTO,   // прямой, если заполнение L помещается в лимит, иначе итерационный
+    DIRECT, // разреженное разложение L * D * Lᵀ после перенумерации RCM
+    CG      // метод сопряжённых градиентов с предобусловливателем Якоби
+}
@@ -0,0 +1,119 @@
+package stankin.saprcadbackend.service.processor.solver;
+
+// Решатель симметричной трёхдиагональной системы K * ∆ = F за O(n).
+// Хранит разложение K = L * D * Lᵀ, поэтому одну факторизацию можно использовать для многих правых частей.
+public class TridiagonalSolver implements LinearSystemSolver {
+
+    // Относительный порог, ниже которого ведущий элемент считается нулевым (матрица вырождена)
+    private static final double SINGULAR_TOLERANCE = 1e-12;
+
+    private final double[] d; // диагональ D
+    private final double[] l; // поддиагональ L (l[i] связывает строки i и i+1)
+
+    private TridiagonalSolver(double[] d, double[] l) {
+        this.d = d;
+        this.l = l;
+    }
+
+    /**
+     * Разложение L * D * Lᵀ для симметричной трёхдиагональной матрицы.
+     *
+     * @param diag главная диагональ (размер n)
+     * @param off  наддиагональ = поддиагональ (размер n - 1)
+     */
+    public static TridiagonalSolver factorize(double[] diag, double[] off) {
+        int n = diag.length;
+        if (off.length != Math.max(n - 1, 0)) {
+            throw new IllegalArgumentException("Размер наддиагонали должен быть на 1 меньше размера диагонали.");
+        }
+
+        double[] d = new double[n];
+        double[] l = new double[Math.max(n - 1, 0)];
+
+        for (int i = 0; i < n; i++) {
+            double pivot = diag[i];
+            if (i > 0) {
+                pivot -= l[i - 1] * off[i - 1];
+            }
+            if (Math.abs(pivot) <= SINGULAR_TOLERANCE * Math.abs(diag[i])) {
+                throw new IllegalArgumentException("Матрица жёсткости вырождена (узел " + i + "). " +
+                        "Проверьте наличие заделки.");
+            }
+            d[i] = pivot;
+            if (i < n - 1) {
+                l[i] = off[i] / pivot;
+            }
+        }
+        return new TridiagonalSolver(d, l);
+    }
+
+    /**
+     * Разложение и решение за один проход без выделения памяти (многократные расчёты в одном потоке).
+     * diag и off портятся: на выходе в них 1 / D и L. На ведущий элемент — одно деление,
+     * остальное — умножения: в последовательной цепочке прямого хода нет второго деления.
+     *
+     * @param x на входе — правая часть, на выходе — решение
+     */
+    public static void factorizeAndSolveInPlace(double[] diag, double[] off, double[] x) {
+        int n = diag.length;
+        double previousL = 0.0;
+        double previousOff = 0.0;
+        double previousY = 0.0;
+        for (int i = 0; i < n; i++) {
+            double pivot = diag[i] - previousL * previousOff;
+            if (Math.abs(pivot) <= SINGULAR_TOLERANCE * Math.abs(diag[i])) {
+                throw new IllegalArgumentException("Матрица жёсткости вырождена (узел " + i + "). " +
+                        "Проверьте наличие заделки.");
+            }
+            double inverse = 1.0 / pivot;
+            diag[i] = inverse;
+            previousY = x[i] - previousL * previousY;  // прямой ход: L * y = F
+            x[i] = previousY;
+            if (i < n - 1) {
+                previousOff = off[i];
+                previousL = previousOff * inverse;
+                off[i] = previousL;
+            }
+        }
+        // D * z = y и обратный ход Lᵀ * ∆ = z
+        if (n > 0) {
+            x[n - 1] *= diag[n - 1];
+        }
+        for (int i = n - 2; i >= 0; i--) {
+            x[i] = x[i] * diag[i] - off[i] * x[i + 1];
+        }
+    }
+
+    @Override
+    public int size() {
+        return d.length;
+    }
+
+    @Override
+    public double[] solve(double[] rhs) {
+        double[] x = rhs.clone();
+        solveInPlace(x);
+        return x;
+    }
+
+    // Решение "на месте": x на входе — правая часть, на выходе — перемещения
+    public void solveInPlace(double[] x) {
+        int n = d.length;
+        if (x.length != n) {
+            throw new IllegalArgumentException("Размер правой части " + x.length + " не совпадает с размером системы " + n);
+        }
+
+        // Прямой ход: L * y = F
+        for (int i = 1; i < n; i++) {
+            x[i] -= l[i - 1] * x[i - 1];
+        }
+        // D * z = y
+        for (int i = 0; i < n; i++) {
+            x[i] /= d[i];
+        }
+        // Обратный ход: Lᵀ * ∆ = z
+        for (int i = n - 2; i >= 0; i--) {
+            x[i] -= l[i] * x[i + 1];
+        }
+    }
+}
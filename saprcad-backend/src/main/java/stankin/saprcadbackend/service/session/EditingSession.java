@@ -0,0 +1,38 @@
+package stankin.saprcadbackend.service.session;
+
+import stankin.saprcadbackend.dto.result.ResultOutput;
+import stankin.saprcadbackend.dto.structure.StructureInput;
+import stankin.saprcadbackend.service.processor.UpdatableStructure;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Состояние сессии редактирования: проект, жёсткости стержней, вектор нагрузок,
+// разложение матрицы жёсткости и последний результат. Доступ — под монитором самой сессии.
+class EditingSession {
+
+    final String id;
+    final StructureInput input;
+    final Map<Integer, Integer> rodIndex = new HashMap<>();   // ID стержня -> индекс
+    final Map<Integer, Integer> nodeIndex = new HashMap<>();  // ID узла -> индекс
+
+    double[] stiffness;       // EA/L по индексам стержней
+    double[] loads;           // F по индексам узлов
+    UpdatableStructure structure;
+    double[] displacements;   // ∆ по индексам узлов
+    List<ResultOutput> results;
+
+    volatile long lastAccess;
+
+    EditingSession(String id, StructureInput input) {
+        this.id = id;
+        this.input = input;
+        for (int i = 0; i < input.getRods().size(); i++) {
+            rodIndex.put(input.getRods().get(i).getId(), i);
+        }
+        for (int j = 0; j < input.getNodes().size(); j++) {
+            nodeIndex.put(input.getNodes().get(j).getId(), j);
+        }
+    }
+}
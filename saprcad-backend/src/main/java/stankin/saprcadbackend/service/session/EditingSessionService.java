@@ -0,0 +1,333 @@
+package stankin.saprcadbackend.service.session;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import stankin.saprcadbackend.dto.result.FullResult;
+import stankin.saprcadbackend.dto.result.ResultOutput;
+import stankin.saprcadbackend.dto.session.DisplacementChange;
+import stankin.saprcadbackend.dto.session.NodePatch;
+import stankin.saprcadbackend.dto.session.RodPatch;
+import stankin.saprcadbackend.dto.session.SessionState;
+import stankin.saprcadbackend.dto.session.SessionUpdate;
+import stankin.saprcadbackend.dto.session.StructurePatch;
+import stankin.saprcadbackend.dto.structure.Node;
+import stankin.saprcadbackend.dto.structure.Rod;
+import stankin.saprcadbackend.dto.structure.StructureInput;
+import stankin.saprcadbackend.service.postprocessor.ResultService;
+import stankin.saprcadbackend.service.preprocessor.ProjectService;
+import stankin.saprcadbackend.service.processor.CalculateDisplacementsService;
+import stankin.saprcadbackend.service.processor.FactorizedStructure;
+import stankin.saprcadbackend.service.processor.StructureTopology;
+import stankin.saprcadbackend.service.processor.UpdatableStructure;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Сессии интерактивного редактирования: проект и разложение его матрицы жёсткости хранятся на сервере,
+// изменение отдельных стержней и узлов пересчитывается без повторной сборки и факторизации
+// (поправка низкого ранга), а в ответ уходят только изменившиеся перемещения и результаты стержней.
+@Service
+public class EditingSessionService {
+
+    // Перемещение считается изменившимся, если отличается больше чем на 1e-12 от max |∆|
+    private static final double CHANGE_TOLERANCE = 1e-12;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private CalculateDisplacementsService calculateDisplacementsService;
+
+    @Autowired
+    private ResultService resultService;
+
+    @Value("${saprcad.session.max-sessions:100}")
+    private int maxSessions = 100;
+
+    @Value("${saprcad.session.idle-timeout:30m}")
+    private Duration idleTimeout = Duration.ofMinutes(30);
+
+    // Число накопленных поправок ранга 1, после которого матрица раскладывается заново
+    @Value("${saprcad.session.max-update-rank:8}")
+    private int maxUpdateRank = 8;
+
+    // accessOrder = true: при переполнении закрывается давно не использованная сессия
+    private final LinkedHashMap<String, EditingSession> sessions = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Открывает сессию для проверенного проекта; проект переходит во владение сессии
+    public SessionState create(StructureInput input) {
+        EditingSession session = new EditingSession(UUID.randomUUID().toString(), input);
+        synchronized (session) {
+            refactorize(session);
+            session.stiffness = new double[input.getRods().size()];
+            for (int i = 0; i < session.stiffness.length; i++) {
+                session.stiffness[i] = stiffness(input.getRods().get(i));
+            }
+            session.loads = FactorizedStructure.loadVector(input, session.structure.getBase().getTopology());
+            session.displacements = session.structure.solve(session.loads);
+
+            List<ResultOutput> results = new ArrayList<>(input.getRods().size());
+            for (int i = 0; i < input.getRods().size(); i++) {
+                results.add(calculateRod(session, i));
+            }
+            session.results = results;
+        }
+        register(session);
+        return state(session);
+    }
+
+    // null — сессии нет или она закрыта по времени простоя
+    public SessionState get(String id) {
+        EditingSession session = find(id);
+        if (session == null) {
+            return null;
+        }
+        synchronized (session) {
+            return state(session);
+        }
+    }
+
+    public boolean close(String id) {
+        synchronized (sessions) {
+            return sessions.remove(id) != null;
+        }
+    }
+
+    // null — сессии нет или она закрыта по времени простоя
+    public SessionPatchResult patch(String id, StructurePatch patch) {
+        EditingSession session = find(id);
+        if (session == null) {
+            return null;
+        }
+        synchronized (session) {
+            List<String> errors = validatePatch(session, patch);
+            if (!errors.isEmpty()) {
+                return SessionPatchResult.failure(errors);
+            }
+            return SessionPatchResult.success(apply(session, patch));
+        }
+    }
+
+    private List<String> validatePatch(EditingSession session, StructurePatch patch) {
+        List<String> errors = new ArrayList<>();
+        if (patch == null || (isEmpty(patch.getRods()) && isEmpty(patch.getNodes()))) {
+            errors.add("Список изменений не может быть пустым.");
+            return errors;
+        }
+
+        if (patch.getRods() != null) {
+            for (RodPatch rodPatch : patch.getRods()) {
+                if (!session.rodIndex.containsKey(rodPatch.getId())) {
+                    errors.add("Стержень ID=" + rodPatch.getId() + " не существует.");
+                    continue;
+                }
+                if (rodPatch.getLength() != null && !(rodPatch.getLength() > 0)) {
+                    errors.add("Стержень ID=" + rodPatch.getId() + ": длина должна быть > 0.");
+                }
+                if (rodPatch.getArea() != null && !(rodPatch.getArea() > 0)) {
+                    errors.add("Стержень ID=" + rodPatch.getId() + ": площадь сечения должна быть > 0.");
+                }
+                if (rodPatch.getElasticModulus() != null && !(rodPatch.getElasticModulus() > 0)) {
+                    errors.add("Стержень ID=" + rodPatch.getId() + ": модуль упругости должен быть > 0.");
+                }
+                if (rodPatch.getAllowableStress() != null && !(rodPatch.getAllowableStress() > 0)) {
+                    errors.add("Стержень ID=" + rodPatch.getId() + ": допускаемое напряжение должно быть > 0.");
+                }
+            }
+        }
+
+        boolean fixityChanged = false;
+        if (patch.getNodes() != null) {
+            for (NodePatch nodePatch : patch.getNodes()) {
+                Integer j = session.nodeIndex.get(nodePatch.getId());
+                if (j == null) {
+                    errors.add("Узел ID=" + nodePatch.getId() + " не существует.");
+                } else if (nodePatch.getFixed() != null
+                        && nodePatch.getFixed() != session.input.getNodes().get(j).isFixed()) {
+                    fixityChanged = true;
+                }
+            }
+        }
+
+        // Допустимость расстановки заделок зависит от всей конструкции — проверяем проект целиком
+        if (errors.isEmpty() && fixityChanged) {
+            List<Node> nodes = session.input.getNodes();
+            boolean[] previous = new boolean[nodes.size()];
+            for (int j = 0; j < previous.length; j++) {
+                previous[j] = nodes.get(j).isFixed();
+            }
+            for (NodePatch nodePatch : patch.getNodes()) {
+                if (nodePatch.getFixed() != null) {
+                    nodes.get(session.nodeIndex.get(nodePatch.getId())).setFixed(nodePatch.getFixed());
+                }
+            }
+            errors.addAll(projectService.validateAndReturnErrors(session.input));
+            for (int j = 0; j < previous.length; j++) {
+                nodes.get(j).setFixed(previous[j]);
+            }
+        }
+        return errors;
+    }
+
+    private SessionUpdate apply(EditingSession session, StructurePatch patch) {
+        List<Rod> rods = session.input.getRods();
+        List<Node> nodes = session.input.getNodes();
+        StructureTopology topology = session.structure.getBase().getTopology();
+
+        boolean[] rodChanged = new boolean[rods.size()];
+        boolean[] nodeChanged = new boolean[nodes.size()];
+        boolean refactorize = false;
+
+        // Этап 1: изменения узлов — нагрузки правятся на месте, смена заделки требует новой факторизации
+        if (patch.getNodes() != null) {
+            for (NodePatch nodePatch : patch.getNodes()) {
+                int j = session.nodeIndex.get(nodePatch.getId());
+                Node node = nodes.get(j);
+                if (nodePatch.getExternalForce() != null) {
+                    session.loads[j] += nodePatch.getExternalForce() - node.getExternalForce();
+                    node.setExternalForce(nodePatch.getExternalForce());
+                }
+                if (nodePatch.getFixed() != null && nodePatch.getFixed() != node.isFixed()) {
+                    node.setFixed(nodePatch.getFixed());
+                    refactorize = true;
+                }
+                nodeChanged[j] = true;
+            }
+        }
+
+        // Этап 2: изменения стержней — эквивалентные узловые силы и поправки жёсткости EA/L
+        if (patch.getRods() != null) {
+            for (RodPatch rodPatch : patch.getRods()) {
+                int i = session.rodIndex.get(rodPatch.getId());
+                Rod rod = rods.get(i);
+                int start = topology.startNode(i);
+                int end = topology.endNode(i);
+
+                double oldEquivForce = rod.getDistributedLoad() * rod.getLength() / 2.0;
+                if (rodPatch.getLength() != null) rod.setLength(rodPatch.getLength());
+                if (rodPatch.getArea() != null) rod.setArea(rodPatch.getArea());
+                if (rodPatch.getElasticModulus() != null) rod.setElasticModulus(rodPatch.getElasticModulus());
+                if (rodPatch.getAllowableStress() != null) rod.setAllowableStress(rodPatch.getAllowableStress());
+                if (rodPatch.getDistributedLoad() != null) rod.setDistributedLoad(rodPatch.getDistributedLoad());
+
+                double equivForceDelta = rod.getDistributedLoad() * rod.getLength() / 2.0 - oldEquivForce;
+                session.loads[start] += equivForceDelta;
+                session.loads[end] += equivForceDelta;
+
+                double k = stiffness(rod);
+                double stiffnessDelta = k - session.stiffness[i];
+                session.stiffness[i] = k;
+                if (!refactorize && !session.structure.addStiffnessChange(i, stiffnessDelta)) {
+                    refactorize = true; // лимит поправок исчерпан
+                }
+                rodChanged[i] = true;
+            }
+        }
+
+        // Этап 3: решение с изменённой матрицей
+        if (refactorize) {
+            refactorize(session);
+        }
+        double[] previous = session.displacements;
+        double[] current = session.structure.solve(session.loads);
+        session.displacements = current;
+
+        double scale = 0.0;
+        for (int j = 0; j < current.length; j++) {
+            scale = Math.max(scale, Math.max(Math.abs(current[j]), Math.abs(previous[j])));
+        }
+        double tolerance = CHANGE_TOLERANCE * scale;
+
+        List<DisplacementChange> displacementChanges = new ArrayList<>();
+        for (int j = 0; j < current.length; j++) {
+            if (Math.abs(current[j] - previous[j]) > tolerance) {
+                nodeChanged[j] = true;
+                displacementChanges.add(new DisplacementChange(j, nodes.get(j).getId(), current[j]));
+            }
+        }
+
+        // Этап 4: постпроцессор только для стержней, затронутых изменением
+        List<ResultOutput> resultChanges = new ArrayList<>();
+        for (int i = 0; i < rods.size(); i++) {
+            if (rodChanged[i] || nodeChanged[topology.startNode(i)] || nodeChanged[topology.endNode(i)]) {
+                ResultOutput output = calculateRod(session, i);
+                session.results.set(i, output);
+                resultChanges.add(output);
+            }
+        }
+
+        SessionUpdate update = new SessionUpdate();
+        update.setSessionId(session.id);
+        update.setDisplacements(displacementChanges);
+        update.setResultOutput(resultChanges);
+        update.setRefactorized(refactorize);
+        return update;
+    }
+
+    private void refactorize(EditingSession session) {
+        FactorizedStructure factorized = calculateDisplacementsService.prepare(session.input);
+        session.structure = new UpdatableStructure(factorized, maxUpdateRank);
+    }
+
+    private ResultOutput calculateRod(EditingSession session, int i) {
+        StructureTopology topology = session.structure.getBase().getTopology();
+        int start = topology.startNode(i);
+        int end = topology.endNode(i);
+        return resultService.calculateRod(session.input.getRods().get(i),
+                session.input.getNodes().get(start), session.input.getNodes().get(end),
+                session.displacements[start], session.displacements[end]);
+    }
+
+    private SessionState state(EditingSession session) {
+        FullResult full = new FullResult(session.displacements.clone(), new ArrayList<>(session.results));
+        return new SessionState(session.id, full);
+    }
+
+    private void register(EditingSession session) {
+        synchronized (sessions) {
+            evictExpired(System.nanoTime());
+            session.lastAccess = System.nanoTime();
+            sessions.put(session.id, session);
+            Iterator<EditingSession> iterator = sessions.values().iterator();
+            while (sessions.size() > maxSessions && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    private EditingSession find(String id) {
+        synchronized (sessions) {
+            long now = System.nanoTime();
+            evictExpired(now);
+            EditingSession session = sessions.get(id);
+            if (session != null) {
+                session.lastAccess = now;
+            }
+            return session;
+        }
+    }
+
+    // Порядок обхода — от давно использованных сессий, поэтому достаточно пройти голову списка
+    private void evictExpired(long now) {
+        long timeout = idleTimeout.toNanos();
+        Iterator<Map.Entry<String, EditingSession>> iterator = sessions.entrySet().iterator();
+        while (iterator.hasNext() && now - iterator.next().getValue().lastAccess > timeout) {
+            iterator.remove();
+        }
+    }
+
+    private static double stiffness(Rod rod) {
+        return rod.getElasticModulus() * rod.getArea() / rod.getLength();
+    }
+
+    private static boolean isEmpty(List<?> list) {
+        return list == null || list.isEmpty();
+    }
+}
@@ -0,0 +1,36 @@
+package stankin.saprcadbackend.service.session;
+
+import stankin.saprcadbackend.dto.session.SessionUpdate;
+
+import java.util.List;
+
+// Итог изменения проекта в сессии: либо изменившиеся результаты, либо список ошибок
+public class SessionPatchResult {
+    private final SessionUpdate update;
+    private final List<String> errors;
+
+    private SessionPatchResult(SessionUpdate update, List<String> errors) {
+        this.update = update;
+        this.errors = errors;
+    }
+
+    public static SessionPatchResult success(SessionUpdate update) {
+        return new SessionPatchResult(update, List.of());
+    }
+
+    public static SessionPatchResult failure(List<String> errors) {
+        return new SessionPatchResult(null, errors);
+    }
+
+    public boolean isSuccess() {
+        return update != null;
+    }
+
+    public SessionUpdate getUpdate() {
+        return update;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
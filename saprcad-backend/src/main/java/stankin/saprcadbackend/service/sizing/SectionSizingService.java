@@ -0,0 +1,273 @@
+package stankin.saprcadbackend.service.sizing;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import stankin.saprcadbackend.dto.result.FullResult;
+import stankin.saprcadbackend.dto.sizing.RodSizing;
+import stankin.saprcadbackend.dto.sizing.SizingInput;
+import stankin.saprcadbackend.dto.sizing.SizingResult;
+import stankin.saprcadbackend.model.RodResultTable;
+import stankin.saprcadbackend.model.StructureModel;
+import stankin.saprcadbackend.service.postprocessor.ResultService;
+import stankin.saprcadbackend.service.preprocessor.ParsedStructure;
+import stankin.saprcadbackend.service.preprocessor.ProjectService;
+import stankin.saprcadbackend.service.processor.CalculateDisplacementsService;
+import stankin.saprcadbackend.service.processor.FactorizedStructure;
+import stankin.saprcadbackend.service.processor.RefactorableStructure;
+import stankin.saprcadbackend.service.processor.StructureTopology;
+import stankin.saprcadbackend.service.processor.solver.Cancellation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Подбор площадей сечений минимального объёма (массы при заданной плотности) при условии max |σx| ≤ [σ].
+ * <p>
+ * Этап 1 — равнонапряжённый проект (fully stressed design): Ai ← max(Amin, max|Ni| / [σ]i), пока площади
+ * меняются больше tolerance. Для статически определимой системы усилия от площадей не зависят и ответ
+ * получается за один расчёт; для неопределимой усилия перераспределяются и нужны повторные расчёты.
+ * Этап 2 (если задан каталог) — каждая площадь округляется вверх до размера из каталога, затем стержни
+ * с превышением [σ] увеличиваются до следующего подходящего размера, пока проект не станет допустимым.
+ * <p>
+ * Повторные расчёты используют RefactorableStructure: топология, шаблон матрицы и символьное разложение
+ * строятся один раз, итерационный решатель стартует с перемещений предыдущего шага.
+ */
+@Service
+public class SectionSizingService {
+
+    public static final int DEFAULT_MAX_ITERATIONS = 100;
+    public static final double DEFAULT_TOLERANCE = 1e-6;
+
+    // Нижняя граница площади по умолчанию — доля наименьшей начальной площади
+    // (стержень без усилия не может получить нулевую жёсткость)
+    private static final double MIN_AREA_FRACTION = 1e-3;
+
+    @Value("${saprcad.sizing.max-iterations:1000}")
+    private int iterationLimit = 1000;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private CalculateDisplacementsService calculateDisplacementsService;
+
+    @Autowired
+    private ResultService resultService;
+
+    public SizingOutcome optimize(SizingInput input) {
+        return optimize(input, fraction -> {
+        });
+    }
+
+    // progress получает долю исчерпанных итераций после каждого расчёта (фоновые задания)
+    public SizingOutcome optimize(SizingInput input, DoubleConsumer progress) {
+        if (input == null || input.getStructure() == null) {
+            return SizingOutcome.failure(List.of("Не задана конструкция."));
+        }
+
+        List<String> errors = new ArrayList<>();
+        int maxIterations = input.getMaxIterations() != null ? input.getMaxIterations() : DEFAULT_MAX_ITERATIONS;
+        if (maxIterations < 1 || maxIterations > iterationLimit) {
+            errors.add("maxIterations должно быть от 1 до " + iterationLimit + ".");
+        }
+        double tolerance = input.getTolerance() != null ? input.getTolerance() : DEFAULT_TOLERANCE;
+        if (!(tolerance > 0 && tolerance < 1)) {
+            errors.add("tolerance должна быть в интервале (0, 1).");
+        }
+        if (input.getMinArea() != null && !isPositive(input.getMinArea())) {
+            errors.add("minArea должна быть > 0.");
+        }
+        if (input.getDensity() != null && !isPositive(input.getDensity())) {
+            errors.add("density должна быть > 0.");
+        }
+        double[] catalogue = catalogue(input.getCatalogue(), errors);
+        if (!errors.isEmpty()) {
+            return SizingOutcome.failure(errors);
+        }
+
+        ParsedStructure validated = projectService.validateAndBuild(input.getStructure());
+        if (!validated.isSuccess()) {
+            return SizingOutcome.failure(validated.getErrors());
+        }
+
+        try {
+            return SizingOutcome.success(optimize(validated.getModel(), catalogue, input.getMinArea(),
+                    maxIterations, tolerance, input.getDensity(), progress));
+        } catch (IllegalArgumentException e) {
+            return SizingOutcome.failure(List.of(e.getMessage()));
+        }
+    }
+
+    private SizingResult optimize(StructureModel model, double[] catalogue, Double minArea, int maxIterations,
+                                  double tolerance, Double density, DoubleConsumer progress) {
+        int rodCount = model.rodCount();
+        double[] initialAreas = new double[rodCount];
+        double smallestArea = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < rodCount; i++) {
+            initialAreas[i] = model.area(i);
+            smallestArea = Math.min(smallestArea, initialAreas[i]);
+        }
+        double lowerBound = minArea != null ? minArea
+                : catalogue != null ? catalogue[0]
+                : MIN_AREA_FRACTION * smallestArea;
+
+        Analysis analysis = new Analysis(model, calculateDisplacementsService.prepareRefactorable(model));
+        double[] areas = initialAreas.clone();
+
+        // Этап 1: равнонапряжённый проект (с каталогом — первая половина шкалы прогресса)
+        double phaseShare = catalogue != null ? 0.5 : 1.0;
+        boolean converged = false;
+        int iterations = 0;
+        for (int step = 0; step < maxIterations && !converged; step++) {
+            double[] forces = analysis.maxForces(areas);
+            double change = 0.0;
+            for (int i = 0; i < rodCount; i++) {
+                double required = Math.max(lowerBound, forces[i] / model.allowableStress(i));
+                change = Math.max(change, Math.abs(required - areas[i]) / areas[i]);
+                areas[i] = required;
+            }
+            converged = change <= tolerance;
+            iterations++;
+            progress.accept(phaseShare * (step + 1) / maxIterations);
+        }
+
+        // Этап 2: размеры из каталога, только в сторону увеличения — число шагов конечно
+        if (catalogue != null) {
+            for (int i = 0; i < rodCount; i++) {
+                areas[i] = roundUp(catalogue, areas[i]);
+            }
+            boolean raised = true;
+            for (int step = 0; step < maxIterations && raised; step++) {
+                double[] forces = analysis.maxForces(areas);
+                raised = false;
+                for (int i = 0; i < rodCount; i++) {
+                    double required = forces[i] / model.allowableStress(i);
+                    if (required > areas[i] * (1 + tolerance)) {
+                        double next = roundUp(catalogue, required);
+                        if (next > areas[i]) {
+                            areas[i] = next;
+                            raised = true;
+                        }
+                    }
+                }
+                iterations++;
+                progress.accept(0.5 + 0.5 * (step + 1) / maxIterations);
+            }
+            converged &= !raised;
+        }
+
+        // Итоговый расчёт подобранной конструкции
+        StructureModel sized = model.withAreas(areas);
+        double[] delta = analysis.displacements(areas);
+        FullResult full = resultService.calculateNds(sized, analysis.topology(), delta);
+        RodResultTable table = full.getRodResults();
+
+        boolean feasible = true;
+        double initialVolume = 0.0;
+        double volume = 0.0;
+        // Масса — по плотностям стержней; плотность из запроса только для стержней, где она не задана
+        Double mass = 0.0;
+        List<RodSizing> rods = new ArrayList<>(rodCount);
+        for (int i = 0; i < rodCount; i++) {
+            double maxStress = table.coeff(i, RodResultTable.MAX_STRESS);
+            feasible &= maxStress <= model.allowableStress(i) * (1 + tolerance);
+            initialVolume += initialAreas[i] * model.length(i);
+            volume += areas[i] * model.length(i);
+            double rho = model.hasDensities() && model.density(i) > 0 ? model.density(i)
+                    : density != null ? density : 0.0;
+            mass = mass != null && rho > 0 ? mass + rho * areas[i] * model.length(i) : null;
+            rods.add(new RodSizing(model.rodId(i), initialAreas[i], areas[i], maxStress, model.allowableStress(i)));
+        }
+
+        SizingResult result = new SizingResult();
+        result.setConverged(converged);
+        result.setFeasible(feasible);
+        result.setIterations(iterations);
+        result.setInitialVolume(initialVolume);
+        result.setVolume(volume);
+        result.setMass(mass);
+        result.setRods(rods);
+        result.setResult(full);
+        return result;
+    }
+
+    // Каталог по возрастанию без повторов или null, если не задан
+    private static double[] catalogue(List<Double> sizes, List<String> errors) {
+        if (sizes == null || sizes.isEmpty()) {
+            return null;
+        }
+        for (Double size : sizes) {
+            if (size == null || !isPositive(size)) {
+                errors.add("Площади в каталоге должны быть > 0.");
+                return null;
+            }
+        }
+        return sizes.stream().mapToDouble(Double::doubleValue).sorted().distinct().toArray();
+    }
+
+    // Наименьший размер каталога не меньше area; если такого нет — наибольший
+    private static double roundUp(double[] catalogue, double area) {
+        int pos = Arrays.binarySearch(catalogue, area);
+        if (pos < 0) {
+            pos = -pos - 1;
+        }
+        return catalogue[Math.min(pos, catalogue.length - 1)];
+    }
+
+    private static boolean isPositive(double value) {
+        return value > 0 && Double.isFinite(value);
+    }
+
+    // Расчёт усилий при заданных площадях. Вектор нагрузок от площадей не зависит и собирается один раз
+    private static final class Analysis {
+        private final StructureModel model;
+        private final RefactorableStructure structure;
+        private final double[] loads;
+        private final double[] stiffness;
+        private double[] solvedAreas;
+        private double[] delta;
+
+        Analysis(StructureModel model, RefactorableStructure structure) {
+            this.model = model;
+            this.structure = structure;
+            this.loads = FactorizedStructure.loadVector(model, structure.getTopology());
+            this.stiffness = new double[model.rodCount()];
+        }
+
+        StructureTopology topology() {
+            return structure.getTopology();
+        }
+
+        // ∆ для площадей areas; повторный вызов с теми же площадями не пересчитывает систему
+        double[] displacements(double[] areas) {
+            if (solvedAreas != null && Arrays.equals(solvedAreas, areas)) {
+                return delta;
+            }
+            Cancellation.checkpoint();
+            for (int i = 0; i < stiffness.length; i++) {
+                stiffness[i] = model.elasticModulus(i) * areas[i] / model.length(i);
+            }
+            FactorizedStructure factorized = structure.factorize(stiffness);
+            delta = factorized.solve(loads, delta);  // начальное приближение — ∆ предыдущего шага
+            solvedAreas = areas.clone();
+            return delta;
+        }
+
+        // max |Nx| на каждом стержне: Nx линейна, поэтому достаточно концов (как в ResultService)
+        double[] maxForces(double[] areas) {
+            double[] displacements = displacements(areas);
+            StructureTopology topology = structure.getTopology();
+            double[] forces = new double[stiffness.length];
+            for (int i = 0; i < forces.length; i++) {
+                double qL = model.distributedLoad(i) * model.length(i);
+                double n0 = stiffness[i] * (displacements[topology.endNode(i)] - displacements[topology.startNode(i)])
+                        + qL / 2;
+                forces[i] = Math.max(Math.abs(n0), Math.abs(n0 - qL));
+            }
+            return forces;
+        }
+    }
+}
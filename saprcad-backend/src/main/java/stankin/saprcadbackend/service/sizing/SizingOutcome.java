@@ -0,0 +1,36 @@
+package stankin.saprcadbackend.service.sizing;
+
+import stankin.saprcadbackend.dto.sizing.SizingResult;
+
+import java.util.List;
+
+// Итог подбора сечений: либо результат, либо список ошибок входных данных
+public class SizingOutcome {
+    private final SizingResult result;
+    private final List<String> errors;
+
+    private SizingOutcome(SizingResult result, List<String> errors) {
+        this.result = result;
+        this.errors = errors;
+    }
+
+    public static SizingOutcome success(SizingResult result) {
+        return new SizingOutcome(result, List.of());
+    }
+
+    public static SizingOutcome failure(List<String> errors) {
+        return new SizingOutcome(null, errors);
+    }
+
+    public boolean isSuccess() {
+        return result != null;
+    }
+
+    public SizingResult getResult() {
+        return result;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
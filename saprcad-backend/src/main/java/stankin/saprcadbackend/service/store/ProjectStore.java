@@ -0,0 +1,481 @@
+package stankin.saprcadbackend.service.store;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import stankin.saprcadbackend.dto.result.FullResult;
+import stankin.saprcadbackend.dto.store.StoreStats;
+import stankin.saprcadbackend.dto.store.StoredProjectInfo;
+import stankin.saprcadbackend.model.StructureModel;
+import stankin.saprcadbackend.service.metrics.StageTimings;
+import stankin.saprcadbackend.service.pipeline.CalculationPipelineService;
+import stankin.saprcadbackend.service.wire.BinaryResultReader;
+import stankin.saprcadbackend.service.wire.BinaryResultWriter;
+import stankin.saprcadbackend.service.wire.BinaryStructureReader;
+import stankin.saprcadbackend.service.wire.BinaryStructureWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Хранилище проектов и результатов полного расчёта: один файл, только дозапись, чтение — через отображение в память.
+ * <p>
+ * Запись (все числа little-endian, границы — по 8 байт):
+ * <pre>
+ *   int32   magic = "SAPR"
+ *   int32   type                         — 1: проект, 2: результат полного расчёта
+ *   int32   version                      — версия проекта (у результата — версия, для которой он посчитан)
+ *   int32   idLength
+ *   int64   savedAt                      — мс от начала эпохи
+ *   int64   payloadLength
+ *   uint8   id[idLength]                 — UTF-8, нули до границы 8 байт
+ *   payload                              — проект или результат в формате BinaryWireFormat, нули до границы 8 байт
+ *   int32   crc32c(payload)
+ *   int32   magic = "END."
+ * </pre>
+ * Записи не изменяются: сохранение проекта добавляет новую версию, результат версии дописывается один раз
+ * (при первом запросе) и дальше отдаётся без пересчёта. При открытии файл просматривается по заголовкам,
+ * строится индекс id → версия → смещения. Недописанный хвост (сбой во время записи) отрезается: это последняя
+ * запись без окончания "END." до конца файла или с неверной суммой. Испорченная запись, за которой есть целые,
+ * хвостом не считается — хранилище не открывается, файл не изменяется.
+ * Файл открывается при первом обращении к хранилищу, а не при старте приложения.
+ * <p>
+ * Данные записи отображаются в память при первом обращении: двоичный ответ пишется прямо из отображения,
+ * для JSON столбцы переносятся в массивы целиком, без разбора. Контрольная сумма проверяется один раз.
+ */
+@Service
+public class ProjectStore {
+
+    private static final int MAGIC = 0x52504153;     // "SAPR"
+    private static final int END_MAGIC = 0x2E444E45; // "END."
+    private static final int TYPE_PROJECT = 1;
+    private static final int TYPE_RESULT = 2;
+    private static final int HEADER_BYTES = 32;
+    private static final int TRAILER_BYTES = 8;
+    // Заголовок двоичного проекта/результата: version, rodCount, nodeCount, flags
+    private static final int PAYLOAD_HEADER_BYTES = 16;
+    private static final int MAX_ID_BYTES = 128;
+    // Порция файла при поиске окончаний записей за испорченной
+    private static final int SCAN_CHUNK_BYTES = 64 * 1024;
+    private static final Pattern ID_PATTERN = Pattern.compile("[A-Za-z0-9._-]{1," + MAX_ID_BYTES + "}");
+
+    @Value("${saprcad.store.path:./data/saprcad.store}")
+    private String path = "./data/saprcad.store";
+
+    @Value("${saprcad.store.sync:true}")
+    private boolean sync = true;
+
+    @Autowired
+    private BinaryStructureWriter structureWriter;
+
+    @Autowired
+    private BinaryStructureReader structureReader;
+
+    @Autowired
+    private BinaryResultWriter resultWriter;
+
+    @Autowired
+    private BinaryResultReader resultReader;
+
+    @Autowired
+    private CalculationPipelineService pipelineService;
+
+    private final Map<String, ConcurrentSkipListMap<Integer, StoredVersion>> index = new ConcurrentHashMap<>();
+    private FileChannel channel;
+    // Файл просмотрен и индекс построен
+    private volatile boolean opened;
+    // Конец последней целой записи; дозапись — под монитором хранилища
+    private long end;
+    private long truncatedBytes;
+
+    // Открытие при первом обращении; повторные вызовы — без блокировки
+    private void ensureOpen() {
+        if (opened) {
+            return;
+        }
+        synchronized (this) {
+            if (!opened) {
+                try {
+                    open();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Не удалось открыть хранилище " + path, e);
+                }
+            }
+        }
+    }
+
+    private void open() throws IOException {
+        Path file = Path.of(path);
+        if (file.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+
+        long size = channel.size();
+        long position = 0;
+        try {
+            while (position < size) {
+                long next = scanRecord(position, size);
+                if (next < 0) {
+                    break;
+                }
+                position = next;
+            }
+        } catch (IOException e) {
+            index.clear();
+            channel.close();
+            throw e;
+        }
+        if (position < size) {
+            truncatedBytes = size - position;
+            channel.truncate(position);
+            channel.force(true);
+        }
+        end = position;
+        opened = true;
+    }
+
+    @PreDestroy
+    synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Сохранение проверенного проекта новой версией.
+     *
+     * @throws IllegalArgumentException недопустимый id или проект больше 2 ГБ в двоичном формате
+     */
+    public StoredProjectInfo save(String id, StructureModel model) throws IOException {
+        checkId(id);
+        long size = structureWriter.size(model);
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Проект слишком велик для хранилища: " + size + " байт.");
+        }
+        ensureOpen();
+
+        synchronized (this) {
+            ConcurrentSkipListMap<Integer, StoredVersion> versions = index.get(id);
+            int version = versions == null ? 1 : versions.lastKey() + 1;
+            long savedAt = System.currentTimeMillis();
+            StoredRecord record = append(TYPE_PROJECT, id, version, savedAt, size,
+                    out -> structureWriter.write(model, out));
+            StoredVersion stored = new StoredVersion(id, version, savedAt, model.rodCount(), model.nodeCount(), record);
+            index.computeIfAbsent(id, key -> new ConcurrentSkipListMap<>()).put(version, stored);
+            return stored.info();
+        }
+    }
+
+    // Все версии всех проектов: по id, затем по версии
+    public List<StoredProjectInfo> list() {
+        ensureOpen();
+        List<String> ids = new ArrayList<>(index.keySet());
+        ids.sort(null);
+        List<StoredProjectInfo> infos = new ArrayList<>();
+        for (String id : ids) {
+            for (StoredVersion stored : index.get(id).values()) {
+                infos.add(stored.info());
+            }
+        }
+        return infos;
+    }
+
+    // version == null — последняя версия; null — такой версии нет
+    public StoredProjectInfo info(String id, Integer version) {
+        ensureOpen();
+        StoredVersion stored = find(id, version);
+        return stored != null ? stored.info() : null;
+    }
+
+    public StructureModel model(String id, Integer version) {
+        ensureOpen();
+        StoredVersion stored = find(id, version);
+        return stored != null ? model(stored) : null;
+    }
+
+    // Проект в двоичном формате — буфер только для чтения поверх отображения файла
+    public ByteBuffer projectBytes(String id, Integer version) {
+        ensureOpen();
+        StoredVersion stored = find(id, version);
+        return stored != null ? payload(stored.project()) : null;
+    }
+
+    // Результат версии: сохранённый читается из файла, иначе считается и дописывается
+    public FullResult result(String id, Integer version) throws IOException {
+        ensureOpen();
+        StoredVersion stored = find(id, version);
+        if (stored == null) {
+            return null;
+        }
+        StoredRecord record = stored.result();
+        if (record != null) {
+            return resultReader.read(payload(record), model(stored));
+        }
+        FullResult result = pipelineService.calculateCached(model(stored), StageTimings.NONE);
+        storeResult(stored, result);
+        return result;
+    }
+
+    public ByteBuffer resultBytes(String id, Integer version) throws IOException {
+        ensureOpen();
+        StoredVersion stored = find(id, version);
+        if (stored == null) {
+            return null;
+        }
+        if (stored.result() == null) {
+            storeResult(stored, pipelineService.calculateCached(model(stored), StageTimings.NONE));
+        }
+        return payload(stored.result());
+    }
+
+    public synchronized StoreStats stats() {
+        ensureOpen();
+        StoreStats stats = new StoreStats();
+        stats.setPath(Path.of(path).toAbsolutePath().normalize().toString());
+        stats.setFileBytes(end);
+        stats.setProjects(index.size());
+        int versions = 0;
+        int results = 0;
+        for (ConcurrentSkipListMap<Integer, StoredVersion> byVersion : index.values()) {
+            versions += byVersion.size();
+            for (StoredVersion stored : byVersion.values()) {
+                if (stored.result() != null) {
+                    results++;
+                }
+            }
+        }
+        stats.setVersions(versions);
+        stats.setResults(results);
+        stats.setTruncatedBytes(truncatedBytes);
+        return stats;
+    }
+
+    private StoredVersion find(String id, Integer version) {
+        ConcurrentSkipListMap<Integer, StoredVersion> versions = index.get(id);
+        if (versions == null) {
+            return null;
+        }
+        return version != null ? versions.get(version) : versions.lastEntry().getValue();
+    }
+
+    private StructureModel model(StoredVersion stored) {
+        return structureReader.decode(payload(stored.project()));
+    }
+
+    private void storeResult(StoredVersion stored, FullResult result) throws IOException {
+        long size = resultWriter.size(result);
+        if (size > Integer.MAX_VALUE) {
+            return; // не помещается в одно отображение — результат отдаётся, но не сохраняется
+        }
+        synchronized (this) {
+            if (stored.result() != null) {
+                return; // уже дописан параллельным запросом
+            }
+            stored.setResult(append(TYPE_RESULT, stored.id(), stored.version(), System.currentTimeMillis(), size,
+                    out -> resultWriter.write(result, out)));
+        }
+    }
+
+    // Данные записи: отображение в память при первом обращении, тогда же проверка контрольной суммы
+    private ByteBuffer payload(StoredRecord record) {
+        MappedByteBuffer mapped = record.mapped();
+        if (mapped == null) {
+            synchronized (record) {
+                mapped = record.mapped();
+                if (mapped == null) {
+                    try {
+                        mapped = channel.map(FileChannel.MapMode.READ_ONLY, record.payloadOffset(),
+                                record.payloadLength());
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Не удалось прочитать запись хранилища: " + e.getMessage(), e);
+                    }
+                    if (checksum(mapped) != record.checksum()) {
+                        throw new IllegalStateException("Запись хранилища повреждена (не совпадает контрольная сумма).");
+                    }
+                    record.setMapped(mapped);
+                }
+            }
+        }
+        return mapped.duplicate();
+    }
+
+    /**
+     * Разбор записи при открытии: добавляет её в индекс.
+     *
+     * @return смещение следующей записи или -1, если запись не целая (с неё начинается отрезаемый хвост)
+     * @throws CorruptRecordException запись не читается, но дальше в файле есть окончание записи
+     */
+    private long scanRecord(long position, long size) throws IOException {
+        if (size - position < HEADER_BYTES + TRAILER_BYTES) {
+            return -1; // в остатке не помещается ни одна запись
+        }
+        ByteBuffer header = read(position, HEADER_BYTES);
+        int magic = header.getInt();
+        int type = header.getInt();
+        int version = header.getInt();
+        int idLength = header.getInt();
+        long savedAt = header.getLong();
+        long payloadLength = header.getLong();
+        if (magic != MAGIC || (type != TYPE_PROJECT && type != TYPE_RESULT) || version < 1
+                || idLength < 1 || idLength > MAX_ID_BYTES
+                || payloadLength < PAYLOAD_HEADER_BYTES || payloadLength > Integer.MAX_VALUE) {
+            return torn(position, size, "имеет неверный заголовок");
+        }
+        long payloadOffset = position + HEADER_BYTES + align(idLength);
+        long trailerOffset = payloadOffset + align(payloadLength);
+        long next = trailerOffset + TRAILER_BYTES;
+        if (next > size) {
+            return torn(position, size, "выходит за конец файла");
+        }
+        ByteBuffer trailer = read(trailerOffset, TRAILER_BYTES);
+        int checksum = trailer.getInt();
+        if (trailer.getInt() != END_MAGIC) {
+            return torn(position, size, "не имеет окончания");
+        }
+        StoredRecord record = new StoredRecord(payloadOffset, (int) payloadLength, checksum);
+        // Данные последней записи могли не дойти до диска целиком — её сумма проверяется сразу
+        if (next == size && checksum(channel.map(FileChannel.MapMode.READ_ONLY, payloadOffset, payloadLength))
+                != checksum) {
+            return -1;
+        }
+
+        String id = StandardCharsets.UTF_8.decode(read(position + HEADER_BYTES, idLength)).toString();
+        if (type == TYPE_PROJECT) {
+            ByteBuffer counts = read(payloadOffset, PAYLOAD_HEADER_BYTES);
+            ConcurrentSkipListMap<Integer, StoredVersion> versions =
+                    index.computeIfAbsent(id, key -> new ConcurrentSkipListMap<>());
+            versions.putIfAbsent(version,
+                    new StoredVersion(id, version, savedAt, counts.getInt(4), counts.getInt(8), record));
+        } else {
+            StoredVersion stored = find(id, version);
+            if (stored == null) {
+                throw new CorruptRecordException(position, "содержит результат проекта " + id + " версии " + version
+                        + ", которого нет в хранилище");
+            }
+            if (stored.result() == null) {
+                stored.setResult(record);
+            }
+        }
+        return next;
+    }
+
+    // Нечитаемая запись — недописанный хвост, только если до конца файла нет ни одного окончания записи
+    private long torn(long position, long size, String reason) throws IOException {
+        // Записи и их окончания выровнены по 8 байт: "END." — во второй половине 8-байтового слова
+        for (long offset = position; offset + TRAILER_BYTES <= size; offset += SCAN_CHUNK_BYTES) {
+            int length = (int) Math.min(SCAN_CHUNK_BYTES, (size - offset) / TRAILER_BYTES * TRAILER_BYTES);
+            ByteBuffer chunk = read(offset, length);
+            for (int i = 4; i < length; i += TRAILER_BYTES) {
+                if (chunk.getInt(i) == END_MAGIC) {
+                    throw new CorruptRecordException(position, reason);
+                }
+            }
+        }
+        return -1;
+    }
+
+    // Дозапись в конец файла; при ошибке файл обрезается до прежнего конца
+    private StoredRecord append(int type, String id, int version, long savedAt, long payloadLength,
+                                PayloadWriter payload) throws IOException {
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        long start = end;
+        long payloadOffset = start + HEADER_BYTES + align(idBytes.length);
+        long payloadEnd = payloadOffset + payloadLength;
+        long trailerOffset = payloadOffset + align(payloadLength);
+        try {
+            ByteBuffer header = ByteBuffer.allocate((int) (payloadOffset - start)).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(type).putInt(version).putInt(idBytes.length)
+                    .putLong(savedAt).putLong(payloadLength).put(idBytes);
+            write(header.clear(), start);
+
+            CRC32C crc = new CRC32C();
+            channel.position(payloadOffset);
+            // Поток не закрывается: close() закрыл бы и канал
+            payload.write(new CheckedOutputStream(Channels.newOutputStream(channel), crc));
+            if (channel.position() != payloadEnd) {
+                throw new IllegalStateException("Размер записанных данных " + (channel.position() - payloadOffset)
+                        + " байт не совпадает с ожидаемым " + payloadLength + ".");
+            }
+
+            ByteBuffer trailer = ByteBuffer.allocate((int) (trailerOffset - payloadEnd) + TRAILER_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            trailer.position(trailer.capacity() - TRAILER_BYTES);
+            trailer.putInt((int) crc.getValue()).putInt(END_MAGIC);
+            write(trailer.clear(), payloadEnd);
+            if (sync) {
+                channel.force(false);
+            }
+            end = trailerOffset + TRAILER_BYTES;
+            return new StoredRecord(payloadOffset, (int) payloadLength, (int) crc.getValue());
+        } catch (IOException | RuntimeException e) {
+            channel.truncate(start);
+            throw e;
+        }
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Неожиданный конец файла хранилища.");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private void write(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    private static int checksum(ByteBuffer data) {
+        CRC32C crc = new CRC32C();
+        crc.update(data.duplicate());
+        return (int) crc.getValue();
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    private static void checkId(String id) {
+        if (id == null || !ID_PATTERN.matcher(id).matches()) {
+            throw new IllegalArgumentException("id проекта — от 1 до " + MAX_ID_BYTES
+                    + " символов: латинские буквы, цифры, '.', '_', '-'.");
+        }
+    }
+
+    // Запись данных проекта или результата в поток хранилища
+    private interface PayloadWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    // Нечитаемая запись, за которой в файле есть целые: файл испорчен не сбоем дозаписи
+    private static final class CorruptRecordException extends IOException {
+        CorruptRecordException(long position, String reason) {
+            super("Хранилище повреждено: запись по смещению " + position + " " + reason + ". Файл не изменён.");
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package stankin.saprcadbackend.service.store;
+
+import java.nio.MappedByteBuffer;
+
+// Положение данных записи в файле хранилища; отображение в память создаётся при первом обращении
+final class StoredRecord {
+
+    private final long payloadOffset;
+    private final int payloadLength;
+    private final int checksum;           // CRC32C данных
+    private volatile MappedByteBuffer mapped;
+
+    StoredRecord(long payloadOffset, int payloadLength, int checksum) {
+        this.payloadOffset = payloadOffset;
+        this.payloadLength = payloadLength;
+        this.checksum = checksum;
+    }
+
+    long payloadOffset() {
+        return payloadOffset;
+    }
+
+    int payloadLength() {
+        return payloadLength;
+    }
+
+    int checksum() {
+        return checksum;
+    }
+
+    MappedByteBuffer mapped() {
+        return mapped;
+    }
+
+    void setMapped(MappedByteBuffer mapped) {
+        this.mapped = mapped;
+    }
+}
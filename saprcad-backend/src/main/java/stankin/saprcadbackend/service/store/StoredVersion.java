@@ -0,0 +1,58 @@
+package stankin.saprcadbackend.service.store;
+
+import stankin.saprcadbackend.dto.store.StoredProjectInfo;
+
+import java.time.Instant;
+
+// Версия проекта в индексе хранилища: запись проекта и (если уже посчитан) запись результата
+final class StoredVersion {
+
+    private final String id;
+    private final int version;
+    private final long savedAt;
+    private final int rodCount;
+    private final int nodeCount;
+    private final StoredRecord project;
+    private volatile StoredRecord result;
+
+    StoredVersion(String id, int version, long savedAt, int rodCount, int nodeCount, StoredRecord project) {
+        this.id = id;
+        this.version = version;
+        this.savedAt = savedAt;
+        this.rodCount = rodCount;
+        this.nodeCount = nodeCount;
+        this.project = project;
+    }
+
+    String id() {
+        return id;
+    }
+
+    int version() {
+        return version;
+    }
+
+    StoredRecord project() {
+        return project;
+    }
+
+    StoredRecord result() {
+        return result;
+    }
+
+    void setResult(StoredRecord result) {
+        this.result = result;
+    }
+
+    StoredProjectInfo info() {
+        StoredProjectInfo info = new StoredProjectInfo();
+        info.setId(id);
+        info.setVersion(version);
+        info.setSavedAt(Instant.ofEpochMilli(savedAt));
+        info.setRodCount(rodCount);
+        info.setNodeCount(nodeCount);
+        info.setProjectBytes(project.payloadLength());
+        info.setResultStored(result != null);
+        return info;
+    }
+}
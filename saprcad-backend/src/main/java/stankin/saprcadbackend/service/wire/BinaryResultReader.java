@@ -0,0 +1,50 @@
+package stankin.saprcadbackend.service.wire;
+
+import org.springframework.stereotype.Component;
+import stankin.saprcadbackend.dto.result.FullResult;
+import stankin.saprcadbackend.model.RodResultTable;
+import stankin.saprcadbackend.model.StructureModel;
+import stankin.saprcadbackend.service.processor.StructureTopology;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+// Чтение результатов в двоичном формате (BinaryWireFormat) обратно в упакованную таблицу постпроцессора.
+// Узлы стержней берутся из конструкции, для которой результат был записан.
+@Component
+public class BinaryResultReader {
+
+    public FullResult read(ByteBuffer data, StructureModel model) {
+        ByteBuffer in = data.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int version = in.getInt();
+        int rodCount = in.getInt();
+        int nodeCount = in.getInt();
+        in.getInt(); // flags
+        long intCount = 3L * rodCount + nodeCount;
+        long expected = BinaryWireFormat.dataOffset(intCount)
+                + 8L * (nodeCount + (long) BinaryResultWriter.COEFFS.length * rodCount);
+        if (version != BinaryWireFormat.VERSION || rodCount != model.rodCount() || nodeCount != model.nodeCount()
+                || expected != data.remaining()) {
+            throw new IllegalArgumentException("Двоичные данные результата не соответствуют конструкции.");
+        }
+
+        // ID стержней и узлов совпадают с конструкцией — столбцы ID пропускаются
+        in.position((int) BinaryWireFormat.dataOffset(intCount));
+        double[] displacements = BinaryStructureReader.doubles(in, nodeCount);
+        // Столбцы формата совпадают со столбцами таблицы — копируются целиком
+        double[] coeffs = new double[rodCount * RodResultTable.COLUMNS];
+        for (int k : BinaryResultWriter.COEFFS) {
+            in.asDoubleBuffer().get(coeffs, k * rodCount, rodCount);
+            in.position(in.position() + 8 * rodCount);
+        }
+
+        StructureTopology topology = StructureTopology.of(model);
+        int[] startNode = new int[rodCount];
+        int[] endNode = new int[rodCount];
+        for (int i = 0; i < rodCount; i++) {
+            startNode[i] = topology.startNode(i);
+            endNode[i] = topology.endNode(i);
+        }
+        return new FullResult(displacements, new RodResultTable(model, startNode, endNode, coeffs));
+    }
+}
@@ -0,0 +1,91 @@
+package stankin.saprcadbackend.service.wire;
+
+import org.springframework.stereotype.Component;
+import stankin.saprcadbackend.dto.result.FullResult;
+import stankin.saprcadbackend.model.RodResultTable;
+import stankin.saprcadbackend.model.StructureModel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Запись результатов в двоичном формате (BinaryWireFormat) прямо из упакованной таблицы постпроцессора
+@Component
+public class BinaryResultWriter {
+
+    // Порядок столбцов коэффициентов в ответе
+    static final int[] COEFFS = {
+            RodResultTable.A0, RodResultTable.A1,
+            RodResultTable.B0, RodResultTable.B1, RodResultTable.B2,
+            RodResultTable.C0, RodResultTable.C1,
+            RodResultTable.MAX_STRESS
+    };
+
+    // Размер ответа в байтах — для заголовка Content-Length
+    public long size(FullResult result) {
+        RodResultTable table = table(result);
+        long rodCount = table.size();
+        long nodeCount = table.structure().nodeCount();
+        return BinaryWireFormat.dataOffset(3 * rodCount + nodeCount) + 8 * (nodeCount + COEFFS.length * rodCount);
+    }
+
+    public long size(double[] displacements) {
+        return 8 + 8L * displacements.length;
+    }
+
+    public void write(FullResult result, OutputStream out) throws IOException {
+        RodResultTable table = table(result);
+        StructureModel structure = table.structure();
+        int rodCount = table.size();
+        int nodeCount = structure.nodeCount();
+
+        ColumnWriter writer = new ColumnWriter(out);
+        writer.putInt(BinaryWireFormat.VERSION);
+        writer.putInt(rodCount);
+        writer.putInt(nodeCount);
+        writer.putInt(0);
+        for (int i = 0; i < rodCount; i++) {
+            writer.putInt(structure.rodId(i));
+        }
+        for (int i = 0; i < rodCount; i++) {
+            writer.putInt(structure.nodeId(table.startNode(i)));
+        }
+        for (int i = 0; i < rodCount; i++) {
+            writer.putInt(structure.nodeId(table.endNode(i)));
+        }
+        for (int j = 0; j < nodeCount; j++) {
+            writer.putInt(structure.nodeId(j));
+        }
+        writer.padTo(BinaryWireFormat.dataOffset(3L * rodCount + nodeCount));
+
+        double[] displacements = result.getDisplacements();
+        for (int j = 0; j < nodeCount; j++) {
+            writer.putDouble(displacements[j]);
+        }
+        // Коэффициенты лежат в таблице построчно, в ответ идут столбцами
+        for (int k : COEFFS) {
+            for (int i = 0; i < rodCount; i++) {
+                writer.putDouble(table.coeff(i, k));
+            }
+        }
+        writer.flush();
+    }
+
+    public void write(double[] displacements, OutputStream out) throws IOException {
+        ColumnWriter writer = new ColumnWriter(out);
+        writer.putInt(BinaryWireFormat.VERSION);
+        writer.putInt(displacements.length);
+        for (double value : displacements) {
+            writer.putDouble(value);
+        }
+        writer.flush();
+    }
+
+    // Результаты конвейера всегда упакованы; результат, собранный из DTO (сессии), так не передаётся
+    private static RodResultTable table(FullResult result) {
+        RodResultTable table = result.getRodResults();
+        if (table == null) {
+            throw new IllegalArgumentException("Двоичный формат поддерживается только для упакованных результатов.");
+        }
+        return table;
+    }
+}
@@ -0,0 +1,221 @@
+package stankin.saprcadbackend.service.wire;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import stankin.saprcadbackend.model.StructureModel;
+import stankin.saprcadbackend.service.preprocessor.ParsedStructure;
+import stankin.saprcadbackend.service.preprocessor.ProjectValidator;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+// Чтение проекта в двоичном формате (BinaryWireFormat) сразу в столбцы StructureModel:
+// без разбора текста и без объектов Rod/Node. Проверки — те же, что у потокового разбора JSON.
+@Component
+public class BinaryStructureReader {
+
+    // Верхняя граница числа стержней/узлов: массивы выделяются по заголовку до чтения данных
+    private static final int MAX_ELEMENTS = 1 << 26;
+
+    @Autowired
+    private ProjectValidator validator;
+
+    @Value("${saprcad.validation.max-errors:0}")
+    private int maxErrors = 0;
+
+    /**
+     * @param contentLength длина тела из заголовка Content-Length или -1; если известна, должна
+     *                      совпадать с размером, вычисленным по заголовку формата
+     */
+    public ParsedStructure read(InputStream body, long contentLength) throws IOException {
+        List<String> errors = new ArrayList<>();
+        ColumnReader in = new ColumnReader(body);
+        try {
+            int version = in.readInt();
+            int rodCount = in.readInt();
+            int nodeCount = in.readInt();
+            int flags = in.readInt();
+            if (version != BinaryWireFormat.VERSION) {
+                errors.add("Неподдерживаемая версия двоичного формата: " + version + ".");
+                return ParsedStructure.failure(errors);
+            }
+            if (rodCount < 0 || rodCount > MAX_ELEMENTS || nodeCount < 0 || nodeCount > MAX_ELEMENTS) {
+                errors.add("Некорректное число стержней или узлов: " + rodCount + ", " + nodeCount + ".");
+                return ParsedStructure.failure(errors);
+            }
+            boolean topology = (flags & BinaryWireFormat.FLAG_TOPOLOGY) != 0;
+            boolean density = (flags & BinaryWireFormat.FLAG_DENSITY) != 0;
+            long expected = size(rodCount, nodeCount, flags);
+            if (contentLength >= 0 && contentLength != expected) {
+                errors.add("Размер тела " + contentLength + " байт не совпадает с заголовком (ожидалось "
+                        + expected + ").");
+                return ParsedStructure.failure(errors);
+            }
+
+            int[] rodIds = in.readInts(rodCount);
+            int[] starts = topology ? in.readInts(rodCount) : null;
+            int[] ends = topology ? in.readInts(rodCount) : null;
+            int[] nodeIds = in.readInts(nodeCount);
+            in.skip(BinaryWireFormat.dataOffset((topology ? 3L : 1L) * rodCount + nodeCount) - in.position());
+
+            double[] lengths = in.readDoubles(rodCount);
+            double[] areas = in.readDoubles(rodCount);
+            double[] moduli = in.readDoubles(rodCount);
+            double[] stresses = in.readDoubles(rodCount);
+            double[] loads = in.readDoubles(rodCount);
+            double[] densities = density ? in.readDoubles(rodCount) : null;
+            double[] forces = in.readDoubles(nodeCount);
+            BitSet fixed = BitSet.valueOf(in.readBytes((nodeCount + 7) / 8));
+            if (fixed.length() > nodeCount) {
+                fixed.clear(nodeCount, fixed.length());
+            }
+            if (body.read() != -1) {
+                errors.add("Лишние данные после конца проекта.");
+                return ParsedStructure.failure(errors);
+            }
+
+            // Все проверки сразу по готовым столбцам — сообщения и порядок те же, что у JSON
+            StructureModel model = new StructureModel(rodCount, rodIds, lengths, areas, moduli, stresses, loads,
+                    densities, starts, ends, nodeCount, nodeIds, forces, fixed);
+            errors.addAll(validator.validate(model, maxErrors));
+            return errors.isEmpty() ? ParsedStructure.success(model) : ParsedStructure.failure(errors);
+        } catch (EOFException e) {
+            errors.add("Неожиданный конец двоичных данных (прочитано " + in.position() + " байт).");
+            return ParsedStructure.failure(errors);
+        }
+    }
+
+    /**
+     * Проект из буфера в том же формате — например, отображённой в память записи хранилища.
+     * Столбцы копируются в массивы целиком, без разбора; проверок нет: проект проверен при сохранении,
+     * а целостность записи — контрольной суммой хранилища.
+     */
+    public StructureModel decode(ByteBuffer data) {
+        ByteBuffer in = data.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int version = in.getInt();
+        int rodCount = in.getInt();
+        int nodeCount = in.getInt();
+        int flags = in.getInt();
+        boolean topology = (flags & BinaryWireFormat.FLAG_TOPOLOGY) != 0;
+        boolean density = (flags & BinaryWireFormat.FLAG_DENSITY) != 0;
+        if (version != BinaryWireFormat.VERSION || rodCount < 0 || rodCount > MAX_ELEMENTS
+                || nodeCount < 0 || nodeCount > MAX_ELEMENTS || size(rodCount, nodeCount, flags) != data.remaining()) {
+            throw new IllegalArgumentException("Повреждённые двоичные данные проекта.");
+        }
+
+        int[] rodIds = ints(in, rodCount);
+        int[] starts = topology ? ints(in, rodCount) : null;
+        int[] ends = topology ? ints(in, rodCount) : null;
+        int[] nodeIds = ints(in, nodeCount);
+        in.position((int) BinaryWireFormat.dataOffset((topology ? 3L : 1L) * rodCount + nodeCount));
+
+        double[] lengths = doubles(in, rodCount);
+        double[] areas = doubles(in, rodCount);
+        double[] moduli = doubles(in, rodCount);
+        double[] stresses = doubles(in, rodCount);
+        double[] loads = doubles(in, rodCount);
+        double[] densities = density ? doubles(in, rodCount) : null;
+        double[] forces = doubles(in, nodeCount);
+        BitSet fixed = BitSet.valueOf(in);
+        if (fixed.length() > nodeCount) {
+            fixed.clear(nodeCount, fixed.length());
+        }
+        return new StructureModel(rodCount, rodIds, lengths, areas, moduli, stresses, loads,
+                densities, starts, ends, nodeCount, nodeIds, forces, fixed);
+    }
+
+    static int[] ints(ByteBuffer in, int count) {
+        int[] values = new int[count];
+        in.asIntBuffer().get(values);
+        in.position(in.position() + 4 * count);
+        return values;
+    }
+
+    static double[] doubles(ByteBuffer in, int count) {
+        double[] values = new double[count];
+        in.asDoubleBuffer().get(values);
+        in.position(in.position() + 8 * count);
+        return values;
+    }
+
+    // Размер тела в байтах по заголовку
+    static long size(int rodCount, int nodeCount, int flags) {
+        long ints = ((flags & BinaryWireFormat.FLAG_TOPOLOGY) != 0 ? 3L : 1L) * rodCount + nodeCount;
+        long rodColumns = (flags & BinaryWireFormat.FLAG_DENSITY) != 0 ? 6L : 5L;
+        return BinaryWireFormat.dataOffset(ints) + 8L * (rodColumns * rodCount + nodeCount) + (nodeCount + 7) / 8;
+    }
+
+    // Буферизованное чтение little-endian столбцов из потока
+    private static final class ColumnReader {
+        private final InputStream in;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BinaryWireFormat.BUFFER_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        private long position;
+
+        ColumnReader(InputStream in) {
+            this.in = in;
+        }
+
+        long position() {
+            return position;
+        }
+
+        int readInt() throws IOException {
+            fill(4);
+            return buffer.getInt(0);
+        }
+
+        int[] readInts(int count) throws IOException {
+            int[] values = new int[count];
+            int perChunk = buffer.capacity() / 4;
+            for (int offset = 0; offset < count; offset += perChunk) {
+                int n = Math.min(perChunk, count - offset);
+                fill(4 * n);
+                buffer.asIntBuffer().get(values, offset, n);
+            }
+            return values;
+        }
+
+        double[] readDoubles(int count) throws IOException {
+            double[] values = new double[count];
+            int perChunk = buffer.capacity() / 8;
+            for (int offset = 0; offset < count; offset += perChunk) {
+                int n = Math.min(perChunk, count - offset);
+                fill(8 * n);
+                buffer.asDoubleBuffer().get(values, offset, n);
+            }
+            return values;
+        }
+
+        byte[] readBytes(int count) throws IOException {
+            byte[] values = new byte[count];
+            if (in.readNBytes(values, 0, count) < count) {
+                throw new EOFException();
+            }
+            position += count;
+            return values;
+        }
+
+        void skip(long bytes) throws IOException {
+            fill((int) bytes);
+        }
+
+        // Ровно bytes байт в начало буфера
+        private void fill(int bytes) throws IOException {
+            buffer.clear();
+            int read = in.readNBytes(buffer.array(), 0, bytes);
+            position += read;
+            if (read < bytes) {
+                throw new EOFException();
+            }
+            buffer.limit(bytes);
+        }
+    }
+}
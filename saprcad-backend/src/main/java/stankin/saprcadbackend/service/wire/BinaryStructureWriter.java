@@ -0,0 +1,83 @@
+package stankin.saprcadbackend.service.wire;
+
+import org.springframework.stereotype.Component;
+import stankin.saprcadbackend.model.StructureModel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Запись проекта в двоичном формате (BinaryWireFormat) из столбцов StructureModel — обратное к BinaryStructureReader
+@Component
+public class BinaryStructureWriter {
+
+    public long size(StructureModel model) {
+        return BinaryStructureReader.size(model.rodCount(), model.nodeCount(), flags(model));
+    }
+
+    public void write(StructureModel model, OutputStream out) throws IOException {
+        int rodCount = model.rodCount();
+        int nodeCount = model.nodeCount();
+        boolean topology = model.hasExplicitTopology();
+
+        ColumnWriter writer = new ColumnWriter(out);
+        writer.putInt(BinaryWireFormat.VERSION);
+        writer.putInt(rodCount);
+        writer.putInt(nodeCount);
+        writer.putInt(flags(model));
+        for (int i = 0; i < rodCount; i++) {
+            writer.putInt(model.rodId(i));
+        }
+        if (topology) {
+            for (int i = 0; i < rodCount; i++) {
+                writer.putInt(model.startNodeId(i));
+            }
+            for (int i = 0; i < rodCount; i++) {
+                writer.putInt(model.endNodeId(i));
+            }
+        }
+        for (int j = 0; j < nodeCount; j++) {
+            writer.putInt(model.nodeId(j));
+        }
+        writer.padTo(BinaryWireFormat.dataOffset((topology ? 3L : 1L) * rodCount + nodeCount));
+
+        for (int i = 0; i < rodCount; i++) {
+            writer.putDouble(model.length(i));
+        }
+        for (int i = 0; i < rodCount; i++) {
+            writer.putDouble(model.area(i));
+        }
+        for (int i = 0; i < rodCount; i++) {
+            writer.putDouble(model.elasticModulus(i));
+        }
+        for (int i = 0; i < rodCount; i++) {
+            writer.putDouble(model.allowableStress(i));
+        }
+        for (int i = 0; i < rodCount; i++) {
+            writer.putDouble(model.distributedLoad(i));
+        }
+        if (model.hasDensities()) {
+            for (int i = 0; i < rodCount; i++) {
+                writer.putDouble(model.density(i));
+            }
+        }
+        for (int j = 0; j < nodeCount; j++) {
+            writer.putDouble(model.externalForce(j));
+        }
+        // Битовая маска заделок: узел j — бит j % 8 байта j / 8
+        for (int base = 0; base < nodeCount; base += 8) {
+            int bits = 0;
+            for (int j = base; j < Math.min(base + 8, nodeCount); j++) {
+                if (model.isFixed(j)) {
+                    bits |= 1 << (j - base);
+                }
+            }
+            writer.putByte((byte) bits);
+        }
+        writer.flush();
+    }
+
+    private static int flags(StructureModel model) {
+        return (model.hasExplicitTopology() ? BinaryWireFormat.FLAG_TOPOLOGY : 0)
+                | (model.hasDensities() ? BinaryWireFormat.FLAG_DENSITY : 0);
+    }
+}
@@ -0,0 +1,67 @@
+package stankin.saprcadbackend.service.wire;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Двоичный формат проекта и результатов для автоматических клиентов (вместо JSON при больших конструкциях).
+ * Все числа little-endian, данные лежат столбцами — по массиву на поле, как в StructureModel и RodResultTable.
+ * Массивы float64 начинаются с границы 8 байт и читаются как Float64Array без копирования.
+ * <p>
+ * Проект (тело запроса, Content-Type: application/x-saprcad-binary):
+ * <pre>
+ *   int32   version = 1
+ *   int32   rodCount   (m)
+ *   int32   nodeCount  (n)
+ *   int32   flags                        — бит 0: у стержней заданы узлы (произвольная топология);
+ *                                          бит 1: у стержней задана плотность
+ *   int32   rodIds[m]
+ *   int32   startNodeIds[m]              — только при бите 0; Integer.MIN_VALUE — узел не задан
+ *   int32   endNodeIds[m]                — только при бите 0
+ *   int32   nodeIds[n]
+ *   нули до границы 8 байт
+ *   float64 lengths[m], areas[m], elasticModuli[m], allowableStresses[m], distributedLoads[m]
+ *   float64 densities[m]                 — только при бите 1
+ *   float64 externalForces[n]
+ *   uint8   fixed[(n + 7) / 8]           — битовая маска заделок: узел j — бит j % 8 байта j / 8
+ * </pre>
+ * Полный расчёт (ответ /full-calculation при Accept: application/x-saprcad-binary):
+ * <pre>
+ *   int32   version = 1
+ *   int32   rodCount   (m)
+ *   int32   nodeCount  (n)
+ *   int32   flags = 0
+ *   int32   rodIds[m]
+ *   int32   startNodeIds[m], endNodeIds[m] — ID узлов стержня
+ *   int32   nodeIds[n]
+ *   нули до границы 8 байт
+ *   float64 displacements[n]             — ∆ в порядке nodeIds
+ *   float64 a0[m], a1[m]                 — Nx(x) = a0 + a1·x
+ *   float64 b0[m], b1[m], b2[m]          — ux(x) = b0 + b1·x + b2·x²
+ *   float64 c0[m], c1[m]                 — σx(x) = c0 + c1·x
+ *   float64 maxStress[m]                 — max |σx| на стержне
+ * </pre>
+ * Вектор перемещений (ответ /calculate-structure): int32 version, int32 nodeCount, float64 displacements[nodeCount].
+ * <p>
+ * Ошибки проверки всегда возвращаются JSON-списком строк со статусом 400.
+ */
+public final class BinaryWireFormat {
+
+    public static final String MEDIA_TYPE_VALUE = "application/x-saprcad-binary";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    public static final int VERSION = 1;
+    public static final int FLAG_TOPOLOGY = 1;
+    public static final int FLAG_DENSITY = 2;
+
+    static final int HEADER_BYTES = 16;
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private BinaryWireFormat() {
+    }
+
+    // Заголовок и целочисленные столбцы, дополненные до 8 байт
+    static long dataOffset(long intCount) {
+        long bytes = HEADER_BYTES + 4 * intCount;
+        return (bytes + 7) & ~7L;
+    }
+}
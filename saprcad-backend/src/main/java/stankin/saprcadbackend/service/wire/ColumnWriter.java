@@ -0,0 +1,55 @@
+package stankin.saprcadbackend.service.wire;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+// Буферизованная запись столбцов в little-endian
+final class ColumnWriter {
+    private final OutputStream out;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BinaryWireFormat.BUFFER_SIZE)
+            .order(ByteOrder.LITTLE_ENDIAN);
+    private long written;
+
+    ColumnWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    void putInt(int value) throws IOException {
+        ensure(4);
+        buffer.putInt(value);
+    }
+
+    void putDouble(double value) throws IOException {
+        ensure(8);
+        buffer.putDouble(value);
+    }
+
+    void putByte(byte value) throws IOException {
+        ensure(1);
+        buffer.put(value);
+    }
+
+    void padTo(long offset) throws IOException {
+        while (written + buffer.position() < offset) {
+            ensure(1);
+            buffer.put((byte) 0);
+        }
+    }
+
+    void flush() throws IOException {
+        out.write(buffer.array(), 0, buffer.position());
+        written += buffer.position();
+        buffer.clear();
+        out.flush();
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            out.write(buffer.array(), 0, buffer.position());
+            written += buffer.position();
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package stankin.saprcadbackend;
+
+import stankin.saprcadbackend.dto.structure.Node;
+import stankin.saprcadbackend.dto.structure.Rod;
+import stankin.saprcadbackend.dto.structure.StructureInput;
+import stankin.saprcadbackend.model.StructureModel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+
+// Тестовые конструкции: линейная цепочка из n стержней с ID 1..n и узлов с ID 0..n (стержень i соединяет
+// узлы i и i + 1). По умолчанию L = A = E = [σ] = 1, без нагрузок и заделок; узлы и силы задаются индексами.
+public final class StructureBuilder {
+
+    private final double[] lengths;
+    private double area = 1.0;
+    private double elasticModulus = 1.0;
+    private double allowableStress = 1.0;
+    private double distributedLoad;
+    private double density;
+    private boolean topology;
+    private final boolean[] fixed;
+    private final Map<Integer, Double> forces = new HashMap<>();
+    private final List<ObjIntConsumer<Rod>> rodEditors = new ArrayList<>();
+    private final List<ObjIntConsumer<Node>> nodeEditors = new ArrayList<>();
+
+    private StructureBuilder(double[] lengths) {
+        this.lengths = lengths;
+        this.fixed = new boolean[lengths.length + 1];
+    }
+
+    // n стержней длины 1
+    public static StructureBuilder chain(int rodsCount) {
+        double[] lengths = new double[rodsCount];
+        Arrays.fill(lengths, 1.0);
+        return new StructureBuilder(lengths);
+    }
+
+    // Стержни заданных длин
+    public static StructureBuilder chain(double... lengths) {
+        return new StructureBuilder(lengths.clone());
+    }
+
+    // Консоль: заделка в узле 0, сила force на свободном конце
+    public static StructureBuilder cantilever(int rodsCount, double force) {
+        return chain(rodsCount).fixed(0).force(rodsCount, force);
+    }
+
+    public StructureBuilder length(double length) {
+        Arrays.fill(lengths, length);
+        return this;
+    }
+
+    public StructureBuilder area(double area) {
+        this.area = area;
+        return this;
+    }
+
+    public StructureBuilder elasticModulus(double elasticModulus) {
+        this.elasticModulus = elasticModulus;
+        return this;
+    }
+
+    public StructureBuilder allowableStress(double allowableStress) {
+        this.allowableStress = allowableStress;
+        return this;
+    }
+
+    public StructureBuilder distributedLoad(double distributedLoad) {
+        this.distributedLoad = distributedLoad;
+        return this;
+    }
+
+    public StructureBuilder density(double density) {
+        this.density = density;
+        return this;
+    }
+
+    // Заделки в узлах с указанными индексами
+    public StructureBuilder fixed(int... nodes) {
+        for (int j : nodes) {
+            fixed[j] = true;
+        }
+        return this;
+    }
+
+    public StructureBuilder force(int node, double force) {
+        forces.put(node, force);
+        return this;
+    }
+
+    // Явная топология: у каждого стержня заданы ID начального и конечного узлов
+    public StructureBuilder topology() {
+        this.topology = true;
+        return this;
+    }
+
+    // Свойства отдельных стержней и узлов: editor получает элемент и его индекс после общих настроек
+    public StructureBuilder eachRod(ObjIntConsumer<Rod> editor) {
+        rodEditors.add(editor);
+        return this;
+    }
+
+    public StructureBuilder eachNode(ObjIntConsumer<Node> editor) {
+        nodeEditors.add(editor);
+        return this;
+    }
+
+    public StructureInput build() {
+        List<Rod> rods = new ArrayList<>(lengths.length);
+        for (int i = 0; i < lengths.length; i++) {
+            Rod rod = new Rod();
+            rod.setId(i + 1);
+            rod.setLength(lengths[i]);
+            rod.setArea(area);
+            rod.setElasticModulus(elasticModulus);
+            rod.setAllowableStress(allowableStress);
+            rod.setDistributedLoad(distributedLoad);
+            rod.setDensity(density);
+            if (topology) {
+                rod.setStartNodeId(i);
+                rod.setEndNodeId(i + 1);
+            }
+            for (ObjIntConsumer<Rod> editor : rodEditors) {
+                editor.accept(rod, i);
+            }
+            rods.add(rod);
+        }
+        List<Node> nodes = new ArrayList<>(fixed.length);
+        for (int j = 0; j < fixed.length; j++) {
+            Node node = new Node();
+            node.setId(j);
+            node.setFixed(fixed[j]);
+            node.setExternalForce(forces.getOrDefault(j, 0.0));
+            for (ObjIntConsumer<Node> editor : nodeEditors) {
+                editor.accept(node, j);
+            }
+            nodes.add(node);
+        }
+        StructureInput input = new StructureInput();
+        input.setRods(rods);
+        input.setNodes(nodes);
+        return input;
+    }
+
+    public StructureModel model() {
+        return StructureModel.of(build());
+    }
+}
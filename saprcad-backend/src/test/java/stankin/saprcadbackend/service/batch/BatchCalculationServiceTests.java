@@ -0,0 +1,83 @@
+package stankin.saprcadbackend.service.batch;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import stankin.saprcadbackend.dto.batch.BatchItemResult;
+import stankin.saprcadbackend.dto.structure.StructureInput;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static stankin.saprcadbackend.StructureBuilder.cantilever;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BatchCalculationServiceTests {
+
+    @Autowired
+    private BatchCalculationService batchService;
+
+    @Test
+    void resultsFollowInputOrder() {
+        // Разные размеры проектов: длинные считаются дольше и завершаются позже коротких
+        int[] sizes = {2_000, 1, 500, 3, 10_000, 7, 50, 1_000, 2, 20};
+        List<StructureInput> inputs = new ArrayList<>();
+        for (int size : sizes) {
+            inputs.add(cantilever(size, 1.0 + size).build());
+        }
+
+        List<BatchItemResult> results = batchService.calculateAll(inputs);
+
+        assertEquals(sizes.length, results.size());
+        for (int i = 0; i < sizes.length; i++) {
+            BatchItemResult item = results.get(i);
+            assertEquals(i, item.getIndex());
+            assertTrue(item.getErrors() == null || item.getErrors().isEmpty());
+            double[] delta = item.getResult().getDisplacements();
+            assertEquals(sizes[i] + 1, delta.length);
+            // Консоль из одинаковых стержней с силой F на конце: ∆ = F * n * L / (EA)
+            assertEquals((1.0 + sizes[i]) * sizes[i], delta[sizes[i]], 1e-6 * (1.0 + sizes[i]) * sizes[i]);
+        }
+    }
+
+    @Test
+    void invalidItemsDoNotStopTheBatch() {
+        StructureInput mismatched = cantilever(3, 1.0).build();
+        mismatched.getNodes().remove(3);
+        StructureInput zeroLength = cantilever(2, 1.0).build();
+        zeroLength.getRods().get(1).setLength(0.0);
+
+        List<BatchItemResult> results = batchService.calculateAll(
+                Arrays.asList(cantilever(4, 1.0).build(), null, mismatched, cantilever(2, 5.0).build(),
+                        zeroLength));
+
+        assertEquals(5, results.size());
+        assertSucceeded(results.get(0), 0);
+        assertFailed(results.get(1), 1, "Входные данные не могут быть null.");
+        assertFailed(results.get(2), 2,
+                "Количество узлов должно быть на 1 больше количества стержней. Узлов: 3, стержней: 3");
+        assertSucceeded(results.get(3), 3);
+        assertFailed(results.get(4), 4, "Стержень ID=2: длина должна быть > 0.");
+    }
+
+    private static void assertSucceeded(BatchItemResult item, int index) {
+        assertEquals(index, item.getIndex());
+        assertNotNull(item.getResult());
+        assertTrue(item.getErrors() == null || item.getErrors().isEmpty());
+    }
+
+    private static void assertFailed(BatchItemResult item, int index, String error) {
+        assertEquals(index, item.getIndex());
+        assertNull(item.getResult());
+        assertFalse(item.getErrors().isEmpty());
+        assertEquals(error, item.getErrors().get(0));
+    }
+}
@@ -0,0 +1,95 @@
+package stankin.saprcadbackend.service.cache;
+
+import org.junit.jupiter.api.Test;
+import stankin.saprcadbackend.dto.result.FullResult;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ResultCacheTests {
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedByWeight() {
+        ResultCache cache = new ResultCache(true, 10, Duration.ofMinutes(10));
+        FullResult a = result(4);
+        FullResult b = result(4);
+        cache.put(key(1), a);
+        cache.put(key(2), b);
+        // Обращение к первой записи делает давно использованной вторую
+        assertSame(a, cache.get(key(1)));
+
+        cache.put(key(3), result(4));
+
+        assertNull(cache.get(key(2)));
+        assertSame(a, cache.get(key(1)));
+        assertEquals(1, cache.stats().getEvictions());
+        assertEquals(2, cache.stats().getEntries());
+        assertEquals(8, cache.stats().getWeight());
+    }
+
+    @Test
+    void resultHeavierThanLimitIsNotCached() {
+        ResultCache cache = new ResultCache(true, 10, Duration.ofMinutes(10));
+        cache.put(key(1), result(3));
+
+        cache.put(key(2), result(11));
+
+        assertNull(cache.get(key(2)));
+        assertEquals(0, cache.stats().getEvictions());
+        assertEquals(3, cache.stats().getWeight());
+    }
+
+    @Test
+    void replacingEntryKeepsWeight() {
+        ResultCache cache = new ResultCache(true, 10, Duration.ofMinutes(10));
+        cache.put(key(1), result(6));
+        FullResult replacement = result(2);
+
+        cache.put(key(1), replacement);
+
+        assertSame(replacement, cache.get(key(1)));
+        assertEquals(1, cache.stats().getEntries());
+        assertEquals(2, cache.stats().getWeight());
+    }
+
+    @Test
+    void expiredEntryIsMissAndIsRemoved() throws InterruptedException {
+        ResultCache cache = new ResultCache(true, 100, Duration.ofMillis(20));
+        cache.put(key(1), result(5));
+        cache.put(key(2), result(5));
+        Thread.sleep(60);
+
+        assertNull(cache.get(key(1)));
+        assertEquals(1, cache.stats().getExpirations());
+        assertEquals(1, cache.stats().getMisses());
+
+        // Истёкшие записи в голове списка убираются при следующей записи, не считаясь вытеснением
+        cache.put(key(3), result(5));
+        assertEquals(2, cache.stats().getExpirations());
+        assertEquals(0, cache.stats().getEvictions());
+        assertEquals(1, cache.stats().getEntries());
+        assertEquals(5, cache.stats().getWeight());
+    }
+
+    @Test
+    void disabledCacheStoresNothing() {
+        ResultCache cache = new ResultCache(false, 100, Duration.ofMinutes(10));
+        cache.put(key(1), result(1));
+
+        assertNull(cache.get(key(1)));
+        assertEquals(0, cache.stats().getEntries());
+    }
+
+    private static StructureKey key(int id) {
+        return new StructureKey(new byte[]{(byte) id});
+    }
+
+    // Вес результата без стержней — число узлов
+    private static FullResult result(int nodes) {
+        return new FullResult(new double[nodes], List.of());
+    }
+}
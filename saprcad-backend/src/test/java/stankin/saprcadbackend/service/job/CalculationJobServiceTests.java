@@ -0,0 +1,133 @@
+package stankin.saprcadbackend.service.job;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import stankin.saprcadbackend.dto.job.JobState;
+import stankin.saprcadbackend.dto.job.JobStatus;
+import stankin.saprcadbackend.service.processor.solver.ConjugateGradientSolver;
+import stankin.saprcadbackend.service.processor.solver.CsrMatrix;
+import stankin.saprcadbackend.service.processor.solver.SparseCholeskySolver;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CalculationJobServiceTests {
+
+    private static final long WAIT_SECONDS = 10;
+
+    @Autowired
+    private CalculationJobService jobService;
+
+    @Test
+    void cancelStopsConjugateGradient() throws InterruptedException {
+        CsrMatrix matrix = chainMatrix(20_000);
+        double[] rhs = new double[matrix.size()];
+        rhs[rhs.length - 1] = 1.0;
+        ConjugateGradientSolver solver = new ConjugateGradientSolver(matrix, 1e-14, Integer.MAX_VALUE);
+
+        // Решения повторяются без конца: остановить цикл может только точка отмены внутри решателя
+        assertStoppedByCancel(() -> {
+            while (true) {
+                solver.solve(rhs);
+            }
+        });
+    }
+
+    @Test
+    void cancelStopsCholeskyFactorization() throws InterruptedException {
+        CsrMatrix matrix = chainMatrix(200_000);
+        SparseCholeskySolver.Symbolic symbolic = SparseCholeskySolver.analyze(matrix);
+
+        assertStoppedByCancel(() -> {
+            while (true) {
+                SparseCholeskySolver.factorize(matrix, symbolic);
+            }
+        });
+    }
+
+    @Test
+    void interruptedThreadDoesNotStartSolve() {
+        CsrMatrix matrix = chainMatrix(10);
+        double[] rhs = new double[10];
+        rhs[9] = 1.0;
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(CancellationException.class,
+                    () -> new ConjugateGradientSolver(matrix, 1e-12, 100).solve(rhs));
+            assertThrows(CancellationException.class, () -> SparseCholeskySolver.factorize(matrix));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    // Задание с бесконечной работой отменяется во время выполнения и должно завершиться CANCELLED
+    // исключением отмены из самой работы
+    private void assertStoppedByCancel(Runnable endless) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicReference<Throwable> stoppedBy = new AtomicReference<>();
+        JobSubmission submission = jobService.submit("test", 1, context -> {
+            started.countDown();
+            try {
+                endless.run();
+            } catch (RuntimeException e) {
+                stoppedBy.set(e);
+                throw e;
+            }
+            return JobOutcome.success(null);
+        });
+        assertTrue(submission.isAccepted());
+        String id = submission.getStatus().getId();
+        assertTrue(started.await(WAIT_SECONDS, TimeUnit.SECONDS), "задание не запустилось");
+        Thread.sleep(50);
+
+        jobService.cancel(id);
+
+        JobStatus status = awaitFinished(id);
+        assertEquals(JobState.CANCELLED, status.getState());
+        assertInstanceOf(CancellationException.class, stoppedBy.get());
+    }
+
+    private JobStatus awaitFinished(String id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(WAIT_SECONDS);
+        while (System.nanoTime() < deadline) {
+            JobStatus status = jobService.status(id);
+            if (status.getState().isFinished()) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        fail("задание не остановилось за " + WAIT_SECONDS + " с после отмены");
+        return null;
+    }
+
+    // Матрица жёсткости цепочки пружин k = 1 с заделкой в начале: 2 на диагонали, -1 рядом, 1 в последней строке
+    private static CsrMatrix chainMatrix(int size) {
+        int[] from = new int[size - 1];
+        int[] to = new int[size - 1];
+        for (int i = 0; i < size - 1; i++) {
+            from[i] = i;
+            to[i] = i + 1;
+        }
+        CsrMatrix matrix = CsrMatrix.pattern(size, from, to);
+        for (int i = 0; i < size; i++) {
+            matrix.add(i, i, i == size - 1 ? 1.0 : 2.0);
+            if (i + 1 < size) {
+                matrix.add(i, i + 1, -1.0);
+                matrix.add(i + 1, i, -1.0);
+            }
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,117 @@
+package stankin.saprcadbackend.service.loadcase;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import stankin.saprcadbackend.dto.loadcase.LoadCase;
+import stankin.saprcadbackend.dto.loadcase.LoadCaseInput;
+import stankin.saprcadbackend.dto.loadcase.LoadCaseResult;
+import stankin.saprcadbackend.dto.loadcase.LoadCaseResultItem;
+import stankin.saprcadbackend.dto.loadcase.LoadCombination;
+import stankin.saprcadbackend.dto.loadcase.RodEnvelope;
+import stankin.saprcadbackend.dto.structure.StructureInput;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static stankin.saprcadbackend.StructureBuilder.chain;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LoadCaseServiceTests {
+
+    @Autowired
+    private LoadCaseService loadCaseService;
+
+    @Test
+    void combinationsAreLinearInCases() {
+        LoadCaseResult result = loadCaseService.calculate(input());
+
+        List<LoadCaseResultItem> cases = result.getCases();
+        assertEquals(List.of("F", "q", "F-q", "0.1F-q"), cases.stream().map(LoadCaseResultItem::getName).toList());
+        assertFalse(cases.get(0).isCombination());
+        assertFalse(cases.get(1).isCombination());
+        assertTrue(cases.get(2).isCombination());
+        assertTrue(cases.get(3).isCombination());
+
+        // Консоль из двух стержней L = 1, EA = 1: F = 10 на конце даёт ∆ = 10x, q = 2 по всей длине — 4x - x²
+        assertArrayEquals(new double[]{0, 10, 20}, displacements(cases.get(0)), 1e-12);
+        assertArrayEquals(new double[]{0, 3, 4}, displacements(cases.get(1)), 1e-12);
+        assertArrayEquals(new double[]{0, 7, 16}, displacements(cases.get(2)), 1e-12);
+        assertArrayEquals(new double[]{0, -2, -2}, displacements(cases.get(3)), 1e-12);
+    }
+
+    @Test
+    void envelopeCoversRodEndsAndParabolaVertex() {
+        List<RodEnvelope> envelope = loadCaseService.calculate(input()).getEnvelope();
+
+        assertEquals(2, envelope.size());
+        RodEnvelope first = envelope.get(0);
+        assertEquals(1, first.getRodId());
+        assertEquals(-3.0, first.getMinAxialForce(), 1e-12);
+        assertEquals(10.0, first.getMaxAxialForce(), 1e-12);
+        assertEquals(-1.5, first.getMinStress(), 1e-12);
+        assertEquals(5.0, first.getMaxStress(), 1e-12);
+        assertEquals(-2.0, first.getMinDisplacement(), 1e-12);
+        assertEquals(10.0, first.getMaxDisplacement(), 1e-12);
+
+        RodEnvelope second = envelope.get(1);
+        assertEquals(2, second.getRodId());
+        assertEquals(-1.0, second.getMinAxialForce(), 1e-12);
+        assertEquals(10.0, second.getMaxAxialForce(), 1e-12);
+        assertEquals(-0.5, second.getMinStress(), 1e-12);
+        assertEquals(5.0, second.getMaxStress(), 1e-12);
+        // В сочетании 0.1F - q прогиб второго стержня x² - 3x: минимум -2.25 в его середине, не на концах
+        assertEquals(-2.25, second.getMinDisplacement(), 1e-12);
+        assertEquals(20.0, second.getMaxDisplacement(), 1e-12);
+    }
+
+    @Test
+    void combinationWithUnknownCaseIsRejected() {
+        LoadCaseInput input = input();
+        input.getCombinations().add(combination("G", Map.of("wind", 1.0)));
+
+        assertEquals(List.of("Сочетание \"G\" ссылается на несуществующий случай \"wind\"."),
+                loadCaseService.validate(input));
+    }
+
+    private static double[] displacements(LoadCaseResultItem item) {
+        return item.getResult().getDisplacements();
+    }
+
+    // Консоль: стержни ID 1, 2 (L = 1, A = 2, E = 0.5), заделка в узле 0.
+    // Случаи: F = 10 в узле 2 и q = 2 на обоих стержнях; сочетания F - q и 0.1F - q
+    private static LoadCaseInput input() {
+        StructureInput structure = chain(2).area(2.0).elasticModulus(0.5).allowableStress(100.0).fixed(0).build();
+
+        LoadCase force = new LoadCase();
+        force.setName("F");
+        force.setNodeForces(Map.of(2, 10.0));
+        LoadCase distributed = new LoadCase();
+        distributed.setName("q");
+        distributed.setDistributedLoads(Map.of(1, 2.0, 2, 2.0));
+
+        List<LoadCombination> combinations = new ArrayList<>();
+        combinations.add(combination("F-q", Map.of("F", 1.0, "q", -1.0)));
+        combinations.add(combination("0.1F-q", Map.of("F", 0.1, "q", -1.0)));
+
+        LoadCaseInput input = new LoadCaseInput();
+        input.setStructure(structure);
+        input.setLoadCases(List.of(force, distributed));
+        input.setCombinations(combinations);
+        return input;
+    }
+
+    private static LoadCombination combination(String name, Map<String, Double> factors) {
+        LoadCombination combination = new LoadCombination();
+        combination.setName(name);
+        combination.setFactors(factors);
+        return combination;
+    }
+}
@@ -0,0 +1,62 @@
+package stankin.saprcadbackend.service.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PipelineMetricsTests {
+
+    @Test
+    void recordedStagesBecomeTimersBySize() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        PipelineMetrics metrics = new PipelineMetrics(registry, true);
+        StageTimings timings = metrics.newTimings();
+        timings.start(PipelineStage.VALIDATE);
+        timings.stop(PipelineStage.VALIDATE);
+        timings.start(PipelineStage.SOLVE);
+        timings.stop(PipelineStage.SOLVE);
+
+        metrics.record(timings, 250, 251, "ok");
+        metrics.record(timings, 7, 8, "ok");
+
+        assertEquals(1, registry.find("saprcad.stage").tag("stage", "solve").tag("size", "le1000").timer().count());
+        assertEquals(1, registry.find("saprcad.stage").tag("stage", "validate").tag("size", "le10").timer().count());
+        assertEquals(timings.nanos(PipelineStage.SOLVE), registry.find("saprcad.stage").tag("stage", "solve")
+                .tag("size", "le10").timer().totalTime(TimeUnit.NANOSECONDS), 1.0);
+        // Незамеренные этапы не регистрируются
+        assertNull(registry.find("saprcad.stage").tag("stage", "factorize").tag("size", "le10").timer());
+
+        assertEquals(2, registry.find("saprcad.calculation.rods").tag("outcome", "ok").summary().count());
+        assertEquals(257.0, registry.find("saprcad.calculation.rods").tag("outcome", "ok").summary().totalAmount());
+        assertEquals(259.0, registry.find("saprcad.calculation.nodes").tag("outcome", "ok").summary().totalAmount());
+        assertEquals(1.0, registry.find("saprcad.calculations").tag("outcome", "ok").tag("size", "le10")
+                .counter().count());
+    }
+
+    @Test
+    void disabledMetricsRecordNothing() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        PipelineMetrics metrics = new PipelineMetrics(registry, false);
+        StageTimings timings = metrics.newTimings();
+        assertSame(StageTimings.NONE, timings);
+
+        metrics.record(timings, 10, 11, "ok");
+
+        assertNull(registry.find("saprcad.calculations").tag("outcome", "ok").tag("size", "le10").counter());
+    }
+
+    @Test
+    void sizeBucketsByOrderOfMagnitude() {
+        assertEquals("le10", PipelineMetrics.sizeBucket(0));
+        assertEquals("le10", PipelineMetrics.sizeBucket(10));
+        assertEquals("le100", PipelineMetrics.sizeBucket(11));
+        assertEquals("le100000", PipelineMetrics.sizeBucket(100_000));
+        assertEquals("gt100000", PipelineMetrics.sizeBucket(100_001));
+    }
+}
@@ -0,0 +1,195 @@
+package stankin.saprcadbackend.service.pipeline;
+
+import org.junit.jupiter.api.Test;
+import stankin.saprcadbackend.dto.result.FullResult;
+import stankin.saprcadbackend.service.cache.StructureHasher;
+import stankin.saprcadbackend.service.cache.StructureKey;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+import static stankin.saprcadbackend.StructureBuilder.cantilever;
+
+class CalculationCoalescerTests {
+
+    private static final long WAIT_SECONDS = 10;
+    // Консоль из одного стержня: ключ, общий для всех запросов теста
+    private static final StructureKey KEY = StructureHasher.hash(cantilever(1, 1.0).build());
+
+    @Test
+    void concurrentIdenticalCalculationsRunOnce() throws Exception {
+        // Первый запрос держит расчёт, пока три одинаковых не начнут ждать; все четыре получают его итог
+        CalculationCoalescer coalescer = new CalculationCoalescer(true, Duration.ofSeconds(30));
+        AtomicInteger calculations = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        PipelineResult computed = PipelineResult.success(new FullResult());
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<CompletableFuture<PipelineResult>> requests = new ArrayList<>();
+            for (int r = 0; r < 4; r++) {
+                requests.add(submit(pool, coalescer, () -> {
+                    calculations.incrementAndGet();
+                    awaitRelease(release);
+                    return computed;
+                }));
+            }
+            awaitCondition(() -> coalescer.stats().getWaiting() == 3, "три запроса не начали ждать");
+            release.countDown();
+
+            for (CompletableFuture<PipelineResult> request : requests) {
+                assertSame(computed, request.get(WAIT_SECONDS, TimeUnit.SECONDS));
+            }
+            assertEquals(1, calculations.get());
+            assertEquals(1L, coalescer.stats().getLeaders());
+            assertEquals(3L, coalescer.stats().getCoalesced());
+            assertEquals(0L, coalescer.stats().getTimeouts());
+            assertEquals(0, coalescer.stats().getInFlight());
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void timedOutWaitersElectSingleNewLeader() throws Exception {
+        // Первый расчёт зависает дольше timeout. Из трёх ждавших считает заново только один,
+        // двое других ждут уже его итог, а не запускают свои расчёты
+        CalculationCoalescer coalescer = new CalculationCoalescer(true, Duration.ofMillis(300));
+        AtomicInteger calculations = new AtomicInteger();
+        CountDownLatch releaseStuck = new CountDownLatch(1);
+        CountDownLatch releaseRetry = new CountDownLatch(1);
+        PipelineResult stuck = PipelineResult.success(new FullResult());
+        PipelineResult retried = PipelineResult.success(new FullResult());
+        Supplier<PipelineResult> calculation = () -> {
+            if (calculations.incrementAndGet() == 1) {
+                awaitRelease(releaseStuck);
+                return stuck;
+            }
+            awaitRelease(releaseRetry);
+            return retried;
+        };
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            CompletableFuture<PipelineResult> first = submit(pool, coalescer, calculation);
+            awaitCondition(() -> calculations.get() == 1, "первый расчёт не начался");
+            List<CompletableFuture<PipelineResult>> waiters = new ArrayList<>();
+            for (int r = 0; r < 3; r++) {
+                waiters.add(submit(pool, coalescer, calculation));
+            }
+
+            // После трёх истёкших ожиданий ждут только новый расчёт
+            awaitCondition(() -> coalescer.stats().getTimeouts() == 3 && coalescer.stats().getWaiting() == 2,
+                    "двое не ждут новый расчёт");
+            releaseRetry.countDown();
+            for (CompletableFuture<PipelineResult> waiter : waiters) {
+                assertSame(retried, waiter.get(WAIT_SECONDS, TimeUnit.SECONDS));
+            }
+            assertEquals(2, calculations.get());
+            assertEquals(2L, coalescer.stats().getLeaders());
+            assertEquals(2L, coalescer.stats().getCoalesced());
+
+            // Зависший расчёт, закончившись, не убирает из таблицы чужой и отдаёт итог своему запросу
+            releaseStuck.countDown();
+            assertSame(stuck, first.get(WAIT_SECONDS, TimeUnit.SECONDS));
+            assertEquals(0, coalescer.stats().getInFlight());
+        } finally {
+            releaseStuck.countDown();
+            releaseRetry.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void cancelledLeaderHandsCalculationToWaiter() throws Exception {
+        // Отмена первого запроса (фоновое задание) не передаётся ждущему: он считает сам
+        CalculationCoalescer coalescer = new CalculationCoalescer(true, Duration.ofSeconds(30));
+        AtomicInteger calculations = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        PipelineResult computed = PipelineResult.success(new FullResult());
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<PipelineResult> cancelled = submit(pool, coalescer, () -> {
+                calculations.incrementAndGet();
+                awaitRelease(release);
+                throw new CancellationException("Расчёт отменён.");
+            });
+            awaitCondition(() -> calculations.get() == 1, "первый расчёт не начался");
+            CompletableFuture<PipelineResult> waiter = submit(pool, coalescer, () -> {
+                calculations.incrementAndGet();
+                return computed;
+            });
+            awaitCondition(() -> coalescer.stats().getWaiting() == 1, "второй запрос не начал ждать");
+            release.countDown();
+
+            assertSame(computed, waiter.get(WAIT_SECONDS, TimeUnit.SECONDS));
+            ExecutionException failure = assertThrows(ExecutionException.class,
+                    () -> cancelled.get(WAIT_SECONDS, TimeUnit.SECONDS));
+            assertInstanceOf(CancellationException.class, failure.getCause());
+            assertEquals(2, calculations.get());
+            assertEquals(2L, coalescer.stats().getLeaders());
+            assertEquals(0L, coalescer.stats().getCoalesced());
+            assertEquals(0, coalescer.stats().getInFlight());
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void disabledCoalescerRunsEveryCalculation() {
+        CalculationCoalescer coalescer = new CalculationCoalescer(false, Duration.ofSeconds(30));
+        AtomicInteger calculations = new AtomicInteger();
+
+        for (int r = 0; r < 3; r++) {
+            coalescer.execute(KEY, () -> {
+                calculations.incrementAndGet();
+                return PipelineResult.success(new FullResult());
+            });
+        }
+
+        assertEquals(3, calculations.get());
+        assertEquals(0L, coalescer.stats().getLeaders());
+    }
+
+    private static CompletableFuture<PipelineResult> submit(ExecutorService pool, CalculationCoalescer coalescer,
+                                                           Supplier<PipelineResult> calculation) {
+        return CompletableFuture.supplyAsync(() -> coalescer.execute(KEY, calculation), pool);
+    }
+
+    private static void awaitRelease(CountDownLatch release) {
+        try {
+            if (!release.await(WAIT_SECONDS, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("расчёт не отпустили за " + WAIT_SECONDS + " с");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitCondition(BooleanSupplier condition, String message) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(WAIT_SECONDS);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail(message);
+            }
+            Thread.sleep(1);
+        }
+    }
+}
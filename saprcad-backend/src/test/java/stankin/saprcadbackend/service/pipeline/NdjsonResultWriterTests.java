@@ -0,0 +1,97 @@
+package stankin.saprcadbackend.service.pipeline;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static stankin.saprcadbackend.StructureBuilder.cantilever;
+import static stankin.saprcadbackend.StructureBuilder.chain;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class NdjsonResultWriterTests {
+
+    @Autowired
+    private NdjsonResultWriter writer;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void everyRecordIsOneLine() throws IOException {
+        int n = 3;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(cantilever(n, 6.0).elasticModulus(2.0).model(), out);
+
+        List<JsonNode> lines = lines(out);
+        assertEquals(1 + (n + 1) + n + 1, lines.size());
+        assertEquals("header", lines.get(0).get("type").asText());
+        assertEquals(n + 1, lines.get(0).get("nodeCount").asInt());
+        assertEquals(n, lines.get(0).get("rodCount").asInt());
+        for (int j = 0; j <= n; j++) {
+            JsonNode node = lines.get(1 + j);
+            assertEquals("node", node.get("type").asText());
+            assertEquals(j, node.get("id").asInt());
+            // F = 6 на конце консоли с EA = 2: ∆ = 3x
+            assertEquals(3.0 * j, node.get("displacement").asDouble(), 1e-12);
+        }
+        for (int i = 0; i < n; i++) {
+            JsonNode rod = lines.get(2 + n + i);
+            assertEquals("rod", rod.get("type").asText());
+            assertEquals(i + 1, rod.get("rodId").asInt());
+            assertEquals(i, rod.get("startNodeId").asInt());
+            assertEquals(i + 1, rod.get("endNodeId").asInt());
+        }
+        assertEquals("end", lines.get(lines.size() - 1).get("type").asText());
+    }
+
+    @Test
+    void calculationFailureEndsWithErrorLine() throws IOException {
+        // Без опор матрица вырождена: заголовок уже отправлен, ошибка — последней строкой
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(chain(2).force(2, 6.0).model(), out);
+
+        List<JsonNode> lines = lines(out);
+        assertEquals(2, lines.size());
+        assertEquals("header", lines.get(0).get("type").asText());
+        assertEquals("error", lines.get(1).get("type").asText());
+        assertTrue(lines.get(1).get("message").asText().startsWith("Ошибка расчёта: "));
+    }
+
+    @Test
+    void errorsWithLineBreaksStayOnOneLine() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeErrors(List.of("первая\nстрока", "вторая"), out);
+
+        List<JsonNode> lines = lines(out);
+        assertEquals(2, lines.size());
+        assertEquals("первая\nстрока", lines.get(0).get("message").asText());
+        assertEquals("вторая", lines.get(1).get("message").asText());
+    }
+
+    // Каждая строка завершается '\n' и разбирается отдельно как один JSON-объект
+    private List<JsonNode> lines(ByteArrayOutputStream out) throws IOException {
+        String text = out.toString(StandardCharsets.UTF_8);
+        assertTrue(text.endsWith("\n"));
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : text.substring(0, text.length() - 1).split("\n", -1)) {
+            assertFalse(line.isEmpty());
+            JsonNode node = objectMapper.readTree(line);
+            assertTrue(node.isObject());
+            lines.add(node);
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,157 @@
+package stankin.saprcadbackend.service.plastic;
+
+import org.junit.jupiter.api.Test;
+import stankin.saprcadbackend.dto.plastic.LoadStep;
+import stankin.saprcadbackend.dto.plastic.NewtonIteration;
+import stankin.saprcadbackend.dto.plastic.PlasticResult;
+import stankin.saprcadbackend.dto.plastic.RodPlasticState;
+import stankin.saprcadbackend.dto.structure.StructureInput;
+import stankin.saprcadbackend.model.StructureModel;
+import stankin.saprcadbackend.service.processor.CalculateDisplacementsService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static stankin.saprcadbackend.StructureBuilder.chain;
+
+class ElastoplasticAnalysisServiceTests {
+
+    private static final double MODULUS = 1000.0;
+
+    private final CalculateDisplacementsService displacementsService = new CalculateDisplacementsService();
+    private final ElastoplasticAnalysisService plastic = new ElastoplasticAnalysisService();
+
+    @Test
+    void elastoplasticBarBetweenSupports() {
+        // Стержни 1 и 3 между заделками, E = 1000, A = 1, σт = 100, сила в среднем узле. Короткий стержень
+        // несёт 3/4 силы и течёт при F = 400/3, ∆ = 0.1; дальше жёсткость узла Eт + 1000/3.
+        // Без упрочнения предельная сила 2σтA = 200
+        StructureModel model = StructureModel.of(betweenSupports(new double[]{1.0, 3.0}, 150.0));
+        double[] yieldStress = {100.0, 100.0};
+
+        PlasticResult hardening = analyze(model, yieldStress, new double[]{10.0, 10.0}, 5, 1.0);
+        double expected = 0.1 + (150.0 - 400.0 / 3) / (10.0 + 1000.0 / 3);
+        assertTrue(hardening.isCompleted());
+        assertEquals(expected, hardening.getDisplacements()[1], 1e-9);
+        assertEquals(100.0 + 10.0 * (expected - 0.1), hardening.getRods().get(0).getAxialForce(), 1e-7);
+        assertTrue(hardening.getRods().get(0).isYielded());
+        assertFalse(hardening.getRods().get(1).isYielded());
+        // Упругие шаги решаются начальным разложением
+        assertEquals(0, hardening.getSteps().get(0).getFactorizations());
+
+        PlasticResult perfect = analyze(model, yieldStress, new double[]{0.0, 0.0}, 10, 2.0);
+        assertFalse(perfect.isCompleted());
+        assertEquals(200.0 / 150.0, perfect.getReachedLoadFactor(), 1e-3);
+    }
+
+    @Test
+    void lineSearchStretchesStaleElasticCorrection() {
+        // Та же система: на последнем шаге короткий стержень начинает течь. Поправка по упругой матрице
+        // (жёсткость узла 4000/3) почти вчетверо короче нужной (10 + 1000/3) — линейный поиск удлиняет её
+        // без нового разложения
+        StructureModel model = StructureModel.of(betweenSupports(new double[]{1.0, 3.0}, 150.0));
+
+        PlasticResult result = analyze(model, new double[]{100.0, 100.0}, new double[]{10.0, 10.0}, 5, 1.0);
+
+        assertTrue(result.isCompleted());
+        assertEquals(1, result.getFactorizations());
+        List<NewtonIteration> last = result.getSteps().get(4).getHistory();
+        assertEquals(2, last.size());
+        assertEquals(1.0, last.get(0).getLineSearch());
+        assertTrue(last.get(1).getLineSearch() > 3.0, "α = " + last.get(1).getLineSearch());
+        for (LoadStep step : result.getSteps()) {
+            assertEquals(0, step.getFactorizations());
+        }
+    }
+
+    @Test
+    void stalledStepRefactorizesTangent() {
+        // Три стержня между заделками, силы в обоих внутренних узлах. На втором шаге текут два стержня сразу:
+        // невязка за итерацию падает меньше чем вдвое, и касательная матрица раскладывается заново посреди шага
+        double[] lengths = {1.0, 2.0, 4.0};
+        StructureInput input = betweenSupports(lengths, 200.0);
+        input.getNodes().get(2).setExternalForce(100.0);
+        StructureModel model = StructureModel.of(input);
+        double[] yieldStress = {100.0, 80.0, 100.0};
+        double[] hardening = {300.0, 5.0, 20.0};
+
+        PlasticResult result = analyze(model, yieldStress, hardening, 2, 1.0);
+
+        assertTrue(result.isCompleted());
+        assertEquals(2, result.getFactorizations());
+        LoadStep second = result.getSteps().get(1);
+        assertEquals(1, second.getFactorizations());
+        assertTrue(second.getHistory().get(0).isRefactorized());
+        assertEquals(2, second.getYieldedRods());
+
+        // Равновесие внутренних узлов: N1 − N2 = F1, N2 − N3 = F2
+        List<RodPlasticState> rods = result.getRods();
+        assertEquals(200.0, rods.get(0).getAxialForce() - rods.get(1).getAxialForce(), 1e-7);
+        assertEquals(100.0, rods.get(1).getAxialForce() - rods.get(2).getAxialForce(), 1e-7);
+        // Совместность: суммарное удлинение между заделками равно нулю
+        double elongation = 0.0;
+        for (int i = 0; i < lengths.length; i++) {
+            elongation += rods.get(i).getStrain() * lengths[i];
+        }
+        assertEquals(0.0, elongation, 1e-12);
+        // Нагружение монотонное: напряжение на билинейной диаграмме σт + Eт·(|ε| − σт/E)
+        for (int i = 0; i < lengths.length; i++) {
+            RodPlasticState rod = rods.get(i);
+            double strain = Math.abs(rod.getStrain());
+            double stress = rod.isYielded()
+                    ? yieldStress[i] + hardening[i] * (strain - yieldStress[i] / MODULUS)
+                    : MODULUS * strain;
+            assertEquals(Math.signum(rod.getStrain()) * stress, rod.getStress(), 1e-7);
+        }
+    }
+
+    @Test
+    void unloadingIsElasticFromCommittedPlasticStrain() {
+        // E = 1000, σт = 100, Eт = 100: H = E·Eт / (E − Eт) = 1000/9
+        BilinearMaterial material = new BilinearMaterial(new double[]{MODULUS}, new double[]{100.0},
+                new double[]{100.0});
+        double plasticModulus = MODULUS * 100.0 / (MODULUS - 100.0);
+
+        // Растяжение до ε = 0.2: σ = σт + Eт·(ε − σт/E) = 110, εп = 0.09
+        material.update(new double[]{0.2});
+        material.commit();
+        assertEquals(110.0, material.stress(0), 1e-9);
+        assertEquals(0.09, material.plasticStrain(0), 1e-12);
+        assertTrue(material.yielded(0));
+
+        // Разгрузка идёт по упругой прямой от остаточной деформации, εп не меняется
+        material.update(new double[]{0.15});
+        assertEquals(MODULUS * (0.15 - 0.09), material.stress(0), 1e-9);
+        assertEquals(MODULUS, material.tangent(0));
+        assertEquals(0, material.plasticCount());
+        material.update(new double[]{0.0});
+        assertEquals(-90.0, material.stress(0), 1e-9);
+        assertEquals(0, material.plasticCount());
+        material.commit();
+        assertEquals(0.09, material.plasticStrain(0), 1e-12);
+
+        // Сжатие: изотропное упрочнение расширило поверхность текучести до 110 — течь начинает при |σ| > 110
+        material.update(new double[]{-0.05});
+        double trial = MODULUS * (-0.05 - 0.09);
+        double increment = (Math.abs(trial) - 110.0) / (MODULUS + plasticModulus);
+        assertEquals(-(110.0 + plasticModulus * increment), material.stress(0), 1e-9);
+        assertEquals(1, material.plasticCount());
+        // Пробное состояние не принято: возврат к ε = 0 снова упругий от εп = 0.09
+        material.update(new double[]{0.0});
+        assertEquals(-90.0, material.stress(0), 1e-9);
+    }
+
+    private PlasticResult analyze(StructureModel model, double[] yieldStress, double[] hardening, int steps,
+                                  double loadFactor) {
+        return plastic.analyze(model, displacementsService.prepareRefactorable(model), yieldStress, hardening, steps,
+                loadFactor, 1e-10, 50);
+    }
+
+    // Стержни заданных длин (A = 1, E = 1000) между заделками, сила force во втором узле
+    private static StructureInput betweenSupports(double[] lengths, double force) {
+        return chain(lengths).elasticModulus(MODULUS).allowableStress(100.0).fixed(0, lengths.length)
+                .force(1, force).build();
+    }
+}
@@ -0,0 +1,130 @@
+package stankin.saprcadbackend.service.postprocessor;
+
+import org.junit.jupiter.api.Test;
+import stankin.saprcadbackend.model.RodResultTable;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class CoefficientKernelTests {
+
+    // Числа стержней от одного до нескольких полных шагов с любым остатком при ширине вектора до 8 дорожек
+    private static final int MAX_SMALL_COUNT = 35;
+    private static final int LARGE_COUNT = 1003;
+
+    private final CoefficientKernel scalar = new ScalarCoefficientKernel();
+
+    @Test
+    void scalarSelectedWhenVectorizationDisabled() {
+        assertInstanceOf(ScalarCoefficientKernel.class, CoefficientKernel.select(false));
+    }
+
+    @Test
+    void chainMatchesScalarKernelBitForBit() {
+        CoefficientKernel vector = vectorKernel();
+        Random random = new Random(1);
+        for (int rodCount = 1; rodCount <= MAX_SMALL_COUNT; rodCount++) {
+            assertSameCoefficients(vector, Columns.chain(rodCount, random));
+        }
+        assertSameCoefficients(vector, Columns.chain(LARGE_COUNT, random));
+    }
+
+    @Test
+    void explicitTopologyMatchesScalarKernelBitForBit() {
+        CoefficientKernel vector = vectorKernel();
+        Random random = new Random(2);
+        for (int rodCount = 1; rodCount <= MAX_SMALL_COUNT; rodCount++) {
+            assertSameCoefficients(vector, Columns.shuffled(rodCount, random));
+        }
+        assertSameCoefficients(vector, Columns.shuffled(LARGE_COUNT, random));
+    }
+
+    // Без модуля jdk.incubator.vector или без SIMD select возвращает скалярное ядро — сравнивать не с чем
+    private static CoefficientKernel vectorKernel() {
+        CoefficientKernel selected = CoefficientKernel.select(true);
+        assumeTrue(selected instanceof VectorCoefficientKernel, "векторное ядро недоступно");
+        return selected;
+    }
+
+    private void assertSameCoefficients(CoefficientKernel vector, Columns columns) {
+        double[] expected = columns.compute(scalar);
+        double[] actual = columns.compute(vector);
+        int rodCount = columns.rodCount;
+        for (int k = 0; k < RodResultTable.COLUMNS; k++) {
+            for (int i = 0; i < rodCount; i++) {
+                int index = k * rodCount + i;
+                // assertEquals(double, double) сравнивает по doubleToLongBits — то есть до бита
+                assertEquals(expected[index], actual[index],
+                        "стержней " + rodCount + ", столбец " + k + ", стержень " + i);
+            }
+        }
+    }
+
+    // Исходные данные ядра по столбцам; startNode == null — линейная система
+    private static final class Columns {
+
+        private final int rodCount;
+        private final double[] lengths;
+        private final double[] areas;
+        private final double[] moduli;
+        private final double[] loads;
+        private final double[] displacements;
+        private final int[] startNode;
+        private final int[] endNode;
+
+        private Columns(int rodCount, Random random, int[] startNode, int[] endNode) {
+            this.rodCount = rodCount;
+            this.lengths = new double[rodCount];
+            this.areas = new double[rodCount];
+            this.moduli = new double[rodCount];
+            this.loads = new double[rodCount];
+            this.displacements = new double[rodCount + 1];
+            this.startNode = startNode;
+            this.endNode = endNode;
+            for (int i = 0; i < rodCount; i++) {
+                lengths[i] = 0.1 + 3 * random.nextDouble();
+                areas[i] = 0.5 + 10 * random.nextDouble();
+                moduli[i] = 1e3 + 2e5 * random.nextDouble();
+                // Каждый третий стержень без распределённой нагрузки
+                loads[i] = i % 3 == 0 ? 0.0 : 20 * random.nextDouble() - 10;
+            }
+            for (int j = 0; j <= rodCount; j++) {
+                displacements[j] = 1e-3 * (random.nextDouble() - 0.5);
+            }
+        }
+
+        static Columns chain(int rodCount, Random random) {
+            return new Columns(rodCount, random, null, null);
+        }
+
+        // Узлы перенумерованы случайной перестановкой: ∆ концов стержней идут вразброс
+        static Columns shuffled(int rodCount, Random random) {
+            int[] order = new int[rodCount + 1];
+            for (int j = 0; j <= rodCount; j++) {
+                order[j] = j;
+            }
+            for (int j = rodCount; j > 0; j--) {
+                int other = random.nextInt(j + 1);
+                int tmp = order[j];
+                order[j] = order[other];
+                order[other] = tmp;
+            }
+            int[] startNode = new int[rodCount];
+            int[] endNode = new int[rodCount];
+            for (int i = 0; i < rodCount; i++) {
+                startNode[i] = order[i];
+                endNode[i] = order[i + 1];
+            }
+            return new Columns(rodCount, random, startNode, endNode);
+        }
+
+        double[] compute(CoefficientKernel kernel) {
+            double[] out = new double[RodResultTable.COLUMNS * rodCount];
+            kernel.compute(rodCount, lengths, areas, moduli, loads, displacements, startNode, endNode, out);
+            return out;
+        }
+    }
+}
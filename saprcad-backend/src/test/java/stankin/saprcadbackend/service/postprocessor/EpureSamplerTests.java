@@ -0,0 +1,163 @@
+package stankin.saprcadbackend.service.postprocessor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import stankin.saprcadbackend.dto.result.FullResult;
+import stankin.saprcadbackend.dto.result.PolynomialCoeffs;
+import stankin.saprcadbackend.dto.result.ResultOutput;
+import stankin.saprcadbackend.service.pipeline.CalculationPipelineService;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static stankin.saprcadbackend.StructureBuilder.chain;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EpureSamplerTests {
+
+    @Autowired
+    private CalculationPipelineService pipelineService;
+
+    @Autowired
+    private EpureSampler sampler;
+
+    private FullResult result;
+
+    @BeforeEach
+    void calculate() {
+        // Три стержня (заголовок 16 + 3·4 = 28 байт — дополняется до 32), q ≠ 0: ux(x) квадратичная
+        result = pipelineService.calculate(chain(1.0, 3.0, 2.0).area(2.0).elasticModulus(10.0)
+                .allowableStress(100.0).distributedLoad(2.0).fixed(0).force(3, 5.0).model());
+    }
+
+    @Test
+    void headerIsPaddedToEightBytes() throws IOException {
+        int[] counts = {3, 5, 4};
+        ByteBuffer data = write(result, counts, false);
+
+        assertEquals(EpureSampler.VERSION, data.getInt(0));
+        assertEquals(3, data.getInt(4));
+        assertEquals(12, data.getInt(8));
+        assertEquals(4, data.getInt(12));
+        assertEquals(3, data.getInt(16));
+        assertEquals(5, data.getInt(20));
+        assertEquals(4, data.getInt(24));
+        assertEquals(0, data.getInt(28));
+        // Длины стержней — с первого выровненного смещения
+        assertEquals(1.0f, data.getFloat(32));
+        assertEquals(3.0f, data.getFloat(36));
+        assertEquals(2.0f, data.getFloat(40));
+
+        assertEquals(1.0, write(result, counts, true).getDouble(32));
+
+        // Два стержня: 16 + 2·4 = 24 байта, дополнять нечего
+        assertEquals(24 + 8 * (2 + 3 * 4), sampler.size(new int[] {2, 2}, true));
+    }
+
+    @Test
+    void sizeMatchesWrittenBytes() throws IOException {
+        for (int[] counts : List.of(new int[] {3, 5, 4}, new int[] {2, 2, 2}, new int[] {31, 100, 7})) {
+            for (boolean doublePrecision : new boolean[] {false, true}) {
+                assertEquals(sampler.size(counts, doublePrecision), write(result, counts, doublePrecision).limit(),
+                        "double = " + doublePrecision);
+            }
+        }
+    }
+
+    @Test
+    void endValuesMatchRodCoefficients() throws IOException {
+        int[] counts = {3, 5, 4};
+        List<ResultOutput> outputs = result.getResultOutput();
+
+        for (boolean doublePrecision : new boolean[] {false, true}) {
+            ByteBuffer data = write(result, counts, doublePrecision);
+            int bytes = doublePrecision ? 8 : 4;
+            int total = 12;
+            int offset = 32 + bytes * counts.length;
+            for (int i = 0; i < counts.length; i++) {
+                ResultOutput output = outputs.get(i);
+                double length = output.getLength();
+                int first = offset;
+                int last = offset + bytes * (counts[i] - 1);
+                List<PolynomialCoeffs> functions = List.of(output.getAxialForceCoeffs(),
+                        output.getDisplacementCoeffs(), output.getStressCoeffs());
+                for (int function = 0; function < 3; function++) {
+                    PolynomialCoeffs p = functions.get(function);
+                    int shift = bytes * total * function;
+                    assertValue(value(p, 0.0), data, first + shift, doublePrecision);
+                    assertValue(value(p, length), data, last + shift, doublePrecision);
+                }
+                offset += bytes * counts[i];
+            }
+        }
+    }
+
+    @Test
+    void coefficientListAndTableGiveSameBytes() throws IOException {
+        // Результат без упакованной таблицы (например, после патча сессии) пишется из списка ResultOutput
+        int[] counts = {3, 5, 4};
+        FullResult fromList = new FullResult(result.getDisplacements(), new ArrayList<>(result.getResultOutput()));
+
+        assertEquals(write(result, counts, true), write(fromList, counts, true));
+    }
+
+    @Test
+    void planChecksSamplesAndWidth() {
+        assertArrayEquals(new int[] {31, 31, 31}, sampler.plan(result, null, null));
+        assertArrayEquals(new int[] {2, 2, 2}, sampler.plan(result, 2, null));
+        assertThrows(IllegalArgumentException.class, () -> sampler.plan(result, 10, 600));
+        assertThrows(IllegalArgumentException.class, () -> sampler.plan(result, 1, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> sampler.plan(result, EpureSampler.MAX_SAMPLES_PER_ROD + 1, null));
+        assertThrows(IllegalArgumentException.class, () -> sampler.plan(result, null, 0));
+
+        // 12 пикселей на длину 6: по точке на пиксель плюс конец стержня
+        assertArrayEquals(new int[] {3, 7, 5}, sampler.plan(result, null, 12));
+        // Узкая область: не меньше двух точек на стержень
+        assertArrayEquals(new int[] {2, 2, 2}, sampler.plan(result, null, 1));
+    }
+
+    @Test
+    void planRejectsMoreThanMaxSamples() {
+        EpureSampler limited = new EpureSampler();
+        ReflectionTestUtils.setField(limited, "maxSamples", 12L);
+
+        assertArrayEquals(new int[] {4, 4, 4}, limited.plan(result, 4, null));
+        IllegalArgumentException failure = assertThrows(IllegalArgumentException.class,
+                () -> limited.plan(result, 5, null));
+        assertEquals("Слишком много точек: 15 (не более 12).", failure.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> limited.plan(result, null, 12));
+    }
+
+    private ByteBuffer write(FullResult result, int[] counts, boolean doublePrecision) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        sampler.write(result, counts, doublePrecision, out);
+        return ByteBuffer.wrap(out.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static double value(PolynomialCoeffs p, double x) {
+        double a1 = p.getA1() != null ? p.getA1() : 0.0;
+        double a2 = p.getA2() != null ? p.getA2() : 0.0;
+        return p.getA0() + a1 * x + a2 * x * x;
+    }
+
+    private static void assertValue(double expected, ByteBuffer data, int offset, boolean doublePrecision) {
+        if (doublePrecision) {
+            assertEquals(expected, data.getDouble(offset), 1e-12 * Math.max(1.0, Math.abs(expected)));
+        } else {
+            assertEquals((float) expected, data.getFloat(offset), 1e-6f * Math.max(1.0f, Math.abs((float) expected)));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package stankin.saprcadbackend.service.postprocessor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import stankin.saprcadbackend.dto.result.FullResult;
+import stankin.saprcadbackend.dto.section.SectionPoint;
+import stankin.saprcadbackend.dto.section.SectionValue;
+import stankin.saprcadbackend.service.pipeline.CalculationPipelineService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static stankin.saprcadbackend.StructureBuilder.chain;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SectionQueryServiceTests {
+
+    @Autowired
+    private CalculationPipelineService pipelineService;
+
+    @Autowired
+    private SectionQueryService sectionQueryService;
+
+    private FullResult result;
+
+    @BeforeEach
+    void calculate() {
+        // Консоль: стержни L = 1, 2, 0.5 и A = 1, 2, 3 (E = 1), F = 12 на конце.
+        // Nx = 12 везде, σx = 12, 6, 4; ux на границах 0, 12, 24, 26
+        result = pipelineService.calculate(chain(1.0, 2.0, 0.5).allowableStress(100.0)
+                .eachRod((rod, i) -> rod.setArea(i + 1.0)).fixed(0).force(3, 12.0).model());
+    }
+
+    @Test
+    void boundaryPointBelongsToRodStartingThere() {
+        List<SectionValue> values = query(global(0.0), global(1.0), global(3.0), global(3.5));
+
+        assertSection(values.get(0), 1, 0.0, 0.0, 12.0, 0.0);
+        assertSection(values.get(1), 2, 0.0, 1.0, 6.0, 12.0);
+        assertSection(values.get(2), 3, 0.0, 3.0, 4.0, 24.0);
+        // Конец системы — конец последнего стержня, а не начало несуществующего
+        assertSection(values.get(3), 3, 0.5, 3.5, 4.0, 26.0);
+    }
+
+    @Test
+    void pointsJustInsideBoundaryStayOnTheirRod() {
+        List<SectionValue> values = query(global(1.0 - 1e-9), global(1.0 + 1e-9));
+
+        assertEquals(1, values.get(0).getRodId());
+        assertEquals(12.0, values.get(0).getStress(), 1e-12);
+        assertEquals(2, values.get(1).getRodId());
+        assertEquals(6.0, values.get(1).getStress(), 1e-12);
+        assertEquals(values.get(0).getDisplacement(), values.get(1).getDisplacement(), 1e-7);
+    }
+
+    @Test
+    void roundingOutsideSystemIsClampedToEnds() {
+        List<SectionValue> values = query(global(-1e-12), global(3.5 + 1e-12), local(3, 0.5 + 1e-12));
+
+        assertSection(values.get(0), 1, 0.0, 0.0, 12.0, 0.0);
+        assertSection(values.get(1), 3, 0.5, 3.5, 4.0, 26.0);
+        assertSection(values.get(2), 3, 0.5, 3.5, 4.0, 26.0);
+    }
+
+    @Test
+    void rodEndAndNextRodStartMeetInNode() {
+        List<SectionValue> values = query(local(1, 1.0), local(2, 0.0), local(2, 2.0), local(3, 0.0));
+
+        assertSection(values.get(0), 1, 1.0, 1.0, 12.0, 12.0);
+        assertSection(values.get(1), 2, 0.0, 1.0, 6.0, 12.0);
+        assertSection(values.get(2), 2, 2.0, 3.0, 6.0, 24.0);
+        assertSection(values.get(3), 3, 0.0, 3.0, 4.0, 24.0);
+    }
+
+    @Test
+    void pointsOutsideSystemAreRejected() {
+        SectionQueryResult outcome = sectionQueryService.query(result,
+                List.of(global(3.6), local(2, 2.1), local(4, 0.0)));
+
+        assertFalse(outcome.isSuccess());
+        assertEquals(List.of(
+                "Точка №1: x = 3.6 вне конструкции [0, 3.5].",
+                "Точка №2: localX = 2.1 вне стержня 2 [0, 2.0].",
+                "Точка №3: стержень с ID 4 не найден."
+        ), outcome.getErrors());
+    }
+
+    private List<SectionValue> query(SectionPoint... points) {
+        SectionQueryResult outcome = sectionQueryService.query(result, List.of(points));
+        assertTrue(outcome.isSuccess(), String.valueOf(outcome.getErrors()));
+        return outcome.getValues();
+    }
+
+    private static void assertSection(SectionValue value, int rodId, double localX, double x,
+                                      double stress, double displacement) {
+        assertEquals(rodId, value.getRodId());
+        assertEquals(localX, value.getLocalX(), 1e-12);
+        assertEquals(x, value.getX(), 1e-12);
+        assertEquals(12.0, value.getAxialForce(), 1e-12);
+        assertEquals(stress, value.getStress(), 1e-12);
+        assertEquals(displacement, value.getDisplacement(), 1e-9);
+    }
+
+    private static SectionPoint global(double x) {
+        SectionPoint point = new SectionPoint();
+        point.setX(x);
+        return point;
+    }
+
+    private static SectionPoint local(int rodId, double localX) {
+        SectionPoint point = new SectionPoint();
+        point.setRodId(rodId);
+        point.setLocalX(localX);
+        return point;
+    }
+}
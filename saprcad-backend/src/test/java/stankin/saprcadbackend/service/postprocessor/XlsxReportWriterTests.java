@@ -0,0 +1,148 @@
+package stankin.saprcadbackend.service.postprocessor;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import stankin.saprcadbackend.dto.result.FullResult;
+import stankin.saprcadbackend.service.pipeline.CalculationPipelineService;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static stankin.saprcadbackend.StructureBuilder.chain;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class XlsxReportWriterTests {
+
+    @Autowired
+    private CalculationPipelineService pipelineService;
+
+    @Test
+    void reportHasAllSheetsWithHeadersAndValues() throws IOException {
+        // Консоль: стержни L = 1, 2, 0.5 и A = 1, 2, 3 (E = 1), F = 12 на конце.
+        // Nx = 12 везде, σx = 12, 6, 4; ux на границах 0, 12, 24, 26
+        FullResult result = pipelineService.calculate(chain(1.0, 2.0, 0.5).allowableStress(10.0)
+                .eachRod((rod, i) -> rod.setArea(i + 1.0)).fixed(0).force(3, 12.0).model());
+
+        try (XSSFWorkbook workbook = write(new XlsxReportWriter(), result, new int[] {3, 2, 2})) {
+            assertEquals(List.of("Сводка", "Стержни", "Узлы", "Перемещения", "Результаты", "Эпюры"),
+                    sheetNames(workbook));
+
+            Sheet summary = workbook.getSheet("Сводка");
+            assertEquals(List.of("Параметр", "Значение"), header(summary));
+            assertEquals("Стержней", summary.getRow(2).getCell(0).getStringCellValue());
+            assertEquals(3.0, summary.getRow(2).getCell(1).getNumericCellValue());
+            // Первый стержень перегружен: σ = 12 > [σ] = 10
+            assertEquals(12.0, summary.getRow(4).getCell(1).getNumericCellValue(), 1e-9);
+            assertEquals(1.0, summary.getRow(5).getCell(1).getNumericCellValue());
+            assertEquals(1.0, summary.getRow(6).getCell(1).getNumericCellValue());
+            assertEquals("✗", summary.getRow(7).getCell(1).getStringCellValue());
+
+            Sheet rods = workbook.getSheet("Стержни");
+            assertEquals(List.of("ID", "L, м", "A, м²", "E, Па", "[σ], Па", "q, Н/м"), header(rods));
+            assertEquals(4, rods.getPhysicalNumberOfRows());
+            assertEquals(2.0, rods.getRow(2).getCell(0).getNumericCellValue());
+            assertEquals(2.0, rods.getRow(2).getCell(1).getNumericCellValue());
+            assertEquals(2.0, rods.getRow(2).getCell(2).getNumericCellValue());
+
+            Sheet nodes = workbook.getSheet("Узлы");
+            assertEquals("✓", nodes.getRow(1).getCell(2).getStringCellValue());
+            assertNull(nodes.getRow(2).getCell(2));
+            assertEquals(12.0, nodes.getRow(4).getCell(1).getNumericCellValue());
+
+            Sheet displacements = workbook.getSheet("Перемещения");
+            double[] expected = {0.0, 12.0, 24.0, 26.0};
+            for (int j = 0; j < expected.length; j++) {
+                assertEquals(j, displacements.getRow(j + 1).getCell(0).getNumericCellValue());
+                assertEquals(expected[j], displacements.getRow(j + 1).getCell(1).getNumericCellValue(), 1e-9);
+            }
+
+            Sheet coefficients = workbook.getSheet("Результаты");
+            assertEquals("Стержень", coefficients.getRow(0).getCell(0).getStringCellValue());
+            assertEquals("Прочность", coefficients.getRow(0).getCell(12).getStringCellValue());
+            assertEquals(12.0, coefficients.getRow(3).getCell(9).getNumericCellValue(), 1e-9);
+            assertEquals(4.0, coefficients.getRow(3).getCell(10).getNumericCellValue(), 1e-9);
+            assertEquals("✗", coefficients.getRow(1).getCell(12).getStringCellValue());
+            assertEquals("✓", coefficients.getRow(3).getCell(12).getStringCellValue());
+
+            Sheet epures = workbook.getSheet("Эпюры");
+            assertEquals(List.of("Стержень", "x, м", "x (глоб.), м", "N(x), Н", "σ(x), Па", "u(x), м", "Граница"),
+                    header(epures));
+            assertEquals(1 + 3 + 2 + 2, epures.getPhysicalNumberOfRows());
+            // Середина первого стержня и конец второго
+            assertEquals(0.5, epures.getRow(2).getCell(1).getNumericCellValue(), 1e-12);
+            assertEquals(6.0, epures.getRow(2).getCell(5).getNumericCellValue(), 1e-9);
+            Row end = epures.getRow(5);
+            assertEquals(2.0, end.getCell(0).getNumericCellValue());
+            assertEquals(3.0, end.getCell(2).getNumericCellValue(), 1e-12);
+            assertEquals(6.0, end.getCell(4).getNumericCellValue(), 1e-9);
+            assertEquals(24.0, end.getCell(5).getNumericCellValue(), 1e-9);
+            assertEquals("✓", end.getCell(6).getStringCellValue());
+        }
+
+        // Без точек эпюр лист не создаётся
+        try (XSSFWorkbook workbook = write(new XlsxReportWriter(), result, null)) {
+            assertEquals(List.of("Сводка", "Стержни", "Узлы", "Перемещения", "Результаты"), sheetNames(workbook));
+        }
+    }
+
+    @Test
+    void longTablesContinueOnNumberedSheets() throws IOException {
+        // Четыре строки на лист: заголовок и три строки данных
+        FullResult result = pipelineService.calculate(chain(7).fixed(0).force(7, 1.0).model());
+
+        try (XSSFWorkbook workbook = write(new XlsxReportWriter(4), result, null)) {
+            assertEquals(List.of("Сводка", "Сводка (2)", "Сводка (3)",
+                    "Стержни", "Стержни (2)", "Стержни (3)",
+                    "Узлы", "Узлы (2)", "Узлы (3)",
+                    "Перемещения", "Перемещения (2)", "Перемещения (3)",
+                    "Результаты", "Результаты (2)", "Результаты (3)"), sheetNames(workbook));
+
+            int id = 1;
+            for (String name : List.of("Стержни", "Стержни (2)", "Стержни (3)")) {
+                Sheet sheet = workbook.getSheet(name);
+                assertEquals(List.of("ID", "L, м", "A, м²", "E, Па", "[σ], Па", "q, Н/м"), header(sheet));
+                for (int r = 1; r <= sheet.getLastRowNum(); r++) {
+                    assertEquals(id++, sheet.getRow(r).getCell(0).getNumericCellValue());
+                }
+            }
+            assertEquals(8, id);
+            assertEquals(3, workbook.getSheet("Стержни (2)").getLastRowNum());
+            assertEquals(1, workbook.getSheet("Стержни (3)").getLastRowNum());
+            assertEquals(2, workbook.getSheet("Узлы (3)").getLastRowNum());
+        }
+    }
+
+    private static XSSFWorkbook write(XlsxReportWriter writer, FullResult result, int[] counts) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(result, counts, out);
+        return new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    private static List<String> sheetNames(XSSFWorkbook workbook) {
+        List<String> names = new ArrayList<>();
+        for (Sheet sheet : workbook) {
+            names.add(sheet.getSheetName());
+        }
+        return names;
+    }
+
+    private static List<String> header(Sheet sheet) {
+        List<String> columns = new ArrayList<>();
+        Row row = sheet.getRow(0);
+        for (int c = 0; c < row.getLastCellNum(); c++) {
+            columns.add(row.getCell(c).getStringCellValue());
+        }
+        return columns;
+    }
+}
@@ -0,0 +1,86 @@
+package stankin.saprcadbackend.service.preprocessor;
+
+import org.junit.jupiter.api.Test;
+import stankin.saprcadbackend.dto.structure.Rod;
+import stankin.saprcadbackend.dto.structure.StructureInput;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static stankin.saprcadbackend.StructureBuilder.chain;
+
+class ProjectValidatorTests {
+
+    private final ProjectValidator validator = new ProjectValidator();
+
+    @Test
+    void errorsKeepOrderOfSequentialChecks() {
+        // Количество, дубликаты, отрицательные ID, физика стержней, последовательность ID, связность, опоры —
+        // в том же порядке, что и у проверок до перехода на StructureModel
+        assertEquals(List.of(
+                "Количество узлов должно быть на 1 больше количества стержней. Узлов: 3, стержней: 3",
+                "Найден дубликат ID 2 в списке стержней.",
+                "ID не может быть отрицательным. Найдено в узлов: -1",
+                "Стержень ID=2: длина должна быть > 0.",
+                "ID узлов должны идти последовательно без пропусков. Найдены ID от -1 до 2 с пропусками.",
+                "Рекомендуется начинать нумерацию узлов с 0 или 1. Найден минимальный ID: -1",
+                "Нарушена последовательность соединения стержней. Стержень 1 должен соединять узлы 0 и 1",
+                "Нарушена последовательность соединения стержней. Стержень 2 должен соединять узлы 1 и 2",
+                "Нарушена последовательность соединения стержней. Стержень 2 должен соединять узлы 2 и 3",
+                "Фиксированная опора не может находиться в середине конструкции. Узел ID=0 является фиксированной "
+                        + "опорой, но не находится на конце конструкции. Опоры могут быть только на крайних узлах "
+                        + "(ID: -1 или 2)."
+        ), validator.validate(invalidChain()));
+    }
+
+    @Test
+    void failFastReturnsAtMostMaxErrorsInOutputOrder() {
+        StructureInput input = invalidChain();
+        List<String> all = validator.validate(input);
+
+        assertEquals(all, validator.validate(input, 0));
+        for (int maxErrors = 1; maxErrors <= all.size() + 1; maxErrors++) {
+            List<String> errors = validator.validate(input, maxErrors);
+            assertEquals(Math.min(maxErrors, all.size()), errors.size());
+            // Не обязательно начало полного списка, но его подпоследовательность: порядок групп сохраняется
+            int previous = -1;
+            for (String error : errors) {
+                int position = all.indexOf(error);
+                assertTrue(position > previous, error);
+                previous = position;
+            }
+        }
+    }
+
+    @Test
+    void failFastStopsAtFirstErrorsOfLongProject() {
+        StructureInput input = chain(100_000).fixed(0).build();
+        for (Rod rod : input.getRods()) {
+            rod.setArea(-1.0);
+        }
+
+        assertEquals(List.of(
+                "Стержень ID=1: площадь сечения должна быть > 0.",
+                "Стержень ID=2: площадь сечения должна быть > 0.",
+                "Стержень ID=3: площадь сечения должна быть > 0."
+        ), validator.validate(input, 3));
+        assertEquals(100_000, validator.validate(input).size());
+    }
+
+    @Test
+    void validChainHasNoErrors() {
+        assertEquals(List.of(), validator.validate(chain(5).fixed(0).build()));
+    }
+
+    // Ошибки почти всех групп: количество, дубликат, отрицательный ID, длина, последовательности, опоры
+    private static StructureInput invalidChain() {
+        StructureInput input = chain(3).fixed(0).build();
+        input.getRods().get(2).setId(2);
+        input.getRods().get(1).setLength(0.0);
+        input.getNodes().remove(3);
+        input.getNodes().get(1).setId(-1);
+        input.getNodes().get(1).setFixed(true);
+        return input;
+    }
+}
@@ -0,0 +1,237 @@
+package stankin.saprcadbackend.service.preprocessor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import stankin.saprcadbackend.dto.structure.Rod;
+import stankin.saprcadbackend.dto.structure.StructureInput;
+import stankin.saprcadbackend.model.StructureModel;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static stankin.saprcadbackend.StructureBuilder.chain;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class StreamingStructureParserTests {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StreamingStructureParser parser;
+
+    @Autowired
+    private ProjectValidator validator;
+
+    @Test
+    void validChainMatchesDtoPath() throws Exception {
+        // Больше начальной ёмкости столбцов (1024): разбор растит и обрезает массивы
+        StructureInput input = chain(1500).fixed(0).build();
+        input.getRods().get(7).setDistributedLoad(-2.5);
+        input.getNodes().get(1500).setExternalForce(10.0);
+
+        ParsedStructure parsed = assertSameAsDto(objectMapper.writeValueAsString(input));
+
+        assertTrue(parsed.isSuccess());
+        assertEquals(1500, parsed.getModel().lengths().length);
+        assertFalse(parsed.getModel().hasExplicitTopology());
+    }
+
+    @Test
+    void explicitTopologyMatchesDtoPath() throws Exception {
+        // Звезда: три стержня из узла 1, заделки на концах
+        ParsedStructure parsed = assertSameAsDto("""
+                {"rods": [
+                  {"id": 1, "length": 1, "area": 2, "elasticModulus": 3, "allowableStress": 4,
+                   "startNodeId": 1, "endNodeId": 2},
+                  {"id": 2, "length": 2, "area": 1, "elasticModulus": 3, "allowableStress": 4,
+                   "startNodeId": 1, "endNodeId": 3},
+                  {"id": 3, "length": 3, "area": 1, "elasticModulus": 3, "allowableStress": 4,
+                   "endNodeId": 4, "startNodeId": 1}
+                 ],
+                 "nodes": [
+                  {"id": 1, "externalForce": 5},
+                  {"id": 2, "fixed": true},
+                  {"id": 3, "fixed": true},
+                  {"id": 4, "fixed": true}
+                 ]}
+                """);
+
+        assertTrue(parsed.isSuccess());
+        assertTrue(parsed.getModel().hasExplicitTopology());
+    }
+
+    @Test
+    void densityColumnMatchesDtoPath() throws Exception {
+        // Столбец плотностей появляется со второго стержня, нулевые плотности его не создают
+        String template = """
+                {"rods": [
+                  {"id": 1, "length": 1, "area": 1, "elasticModulus": 1, "allowableStress": 1, "density": 0},
+                  {"id": 2, "length": 1, "area": 1, "elasticModulus": 1, "allowableStress": 1, "density": %s}
+                 ],
+                 "nodes": [{"id": 0, "fixed": true}, {"id": 1}, {"id": 2}]}
+                """;
+
+        ParsedStructure dense = assertSameAsDto(template.formatted("7800"));
+        assertTrue(dense.getModel().hasDensities());
+        assertEquals(7800.0, dense.getModel().density(1));
+
+        ParsedStructure light = assertSameAsDto(template.formatted("0.0"));
+        assertFalse(light.getModel().hasDensities());
+    }
+
+    @Test
+    void unknownAndNullFieldsMatchDtoPath() throws Exception {
+        // Неизвестные поля пропускаются, null в числовых полях — значение по умолчанию, null у узлов стержня —
+        // не явная топология
+        ParsedStructure parsed = assertSameAsDto("""
+                {"name": {"title": "проект", "tags": [1, 2]},
+                 "rods": [
+                  {"id": 1, "length": 2, "area": 1, "elasticModulus": 1, "allowableStress": 1,
+                   "distributedLoad": null, "startNodeId": null, "endNodeId": null, "color": "red"}
+                 ],
+                 "version": 3,
+                 "nodes": [{"id": 0, "fixed": true, "label": null}, {"id": 1, "externalForce": null}]}
+                """);
+
+        assertTrue(parsed.isSuccess());
+        assertFalse(parsed.getModel().hasExplicitTopology());
+    }
+
+    @Test
+    void invalidProjectReportsSameErrors() throws Exception {
+        // Ошибки элементов вперемешку со структурными: порядок групп тот же, что у проверки DTO
+        ParsedStructure parsed = assertSameAsDto("""
+                {"rods": [
+                  {"id": 1, "length": 1, "area": -1, "elasticModulus": 1, "allowableStress": 1},
+                  {"id": -2, "length": 0, "area": 1, "elasticModulus": 1, "allowableStress": 0},
+                  {"id": 1, "length": 1, "area": 1, "elasticModulus": 1, "allowableStress": 1}
+                 ],
+                 "nodes": [{"id": 0}, {"id": -1, "fixed": true}, {"id": 2}]}
+                """);
+
+        assertFalse(parsed.isSuccess());
+        assertEquals(List.of(
+                "Количество узлов должно быть на 1 больше количества стержней. Узлов: 3, стержней: 3",
+                "Найден дубликат ID 1 в списке стержней.",
+                "ID не может быть отрицательным. Найдено в стержней: -2",
+                "ID не может быть отрицательным. Найдено в узлов: -1",
+                "Стержень ID=1: площадь сечения должна быть > 0.",
+                "Стержень ID=-2: длина должна быть > 0.",
+                "Стержень ID=-2: допускаемое напряжение должно быть > 0."
+        ), parsed.getErrors().subList(0, 7));
+
+        // Пустые и отсутствующие списки
+        assertSameAsDto("""
+                {"rods": [], "nodes": [{"id": 0, "fixed": true}]}
+                """);
+        assertSameAsDto("""
+                {"nodes": [{"id": 0, "fixed": true}]}
+                """);
+    }
+
+    @Test
+    void failFastStopsParsingAtMaxErrors() throws Exception {
+        StructureInput input = chain(100_000).fixed(0).build();
+        for (Rod rod : input.getRods()) {
+            rod.setArea(-1.0);
+        }
+        // Обрезанный конец тела: разбор, остановленный на пределе, до него не доходит
+        String json = objectMapper.writeValueAsString(input);
+        String truncated = json.substring(0, json.length() - 100);
+
+        ReflectionTestUtils.setField(parser, "maxErrors", 3);
+        try {
+            assertEquals(List.of(
+                    "Стержень ID=1: площадь сечения должна быть > 0.",
+                    "Стержень ID=2: площадь сечения должна быть > 0.",
+                    "Стержень ID=3: площадь сечения должна быть > 0."
+            ), parse(truncated).getErrors());
+            assertEquals(validator.validate(input, 3), parse(json).getErrors());
+        } finally {
+            ReflectionTestUtils.setField(parser, "maxErrors", 0);
+        }
+        assertEquals(100_000, parse(json).getErrors().size());
+    }
+
+    @Test
+    void failFastReturnsSubsetOfFullReport() throws Exception {
+        String json = """
+                {"rods": [
+                  {"id": 1, "length": 1, "area": -1, "elasticModulus": 1, "allowableStress": 1},
+                  {"id": -2, "length": 0, "area": 1, "elasticModulus": 1, "allowableStress": 0},
+                  {"id": 1, "length": 1, "area": 1, "elasticModulus": 1, "allowableStress": 1}
+                 ],
+                 "nodes": [{"id": 0}, {"id": -1, "fixed": true}, {"id": 2}]}
+                """;
+        List<String> all = parse(json).getErrors();
+
+        try {
+            for (int maxErrors = 1; maxErrors <= all.size() + 1; maxErrors++) {
+                ReflectionTestUtils.setField(parser, "maxErrors", maxErrors);
+                List<String> errors = parse(json).getErrors();
+                assertEquals(Math.min(maxErrors, all.size()), errors.size());
+                int previous = -1;
+                for (String error : errors) {
+                    int position = all.indexOf(error);
+                    assertTrue(position > previous, error);
+                    previous = position;
+                }
+            }
+        } finally {
+            ReflectionTestUtils.setField(parser, "maxErrors", 0);
+        }
+    }
+
+    private ParsedStructure parse(String json) throws Exception {
+        return parser.parse(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // Один и тот же JSON через потоковый разбор и через DTO: одинаковые столбцы модели и список ошибок
+    private ParsedStructure assertSameAsDto(String json) throws Exception {
+        ParsedStructure expected = validator.validateAndBuild(objectMapper.readValue(json, StructureInput.class), 0);
+        ParsedStructure actual = parse(json);
+
+        assertEquals(expected.getErrors(), actual.getErrors());
+        assertEquals(expected.isSuccess(), actual.isSuccess());
+        if (expected.isSuccess()) {
+            assertSameModel(expected.getModel(), actual.getModel());
+        }
+        return actual;
+    }
+
+    private static void assertSameModel(StructureModel expected, StructureModel actual) {
+        assertEquals(expected.rodCount(), actual.rodCount());
+        assertEquals(expected.nodeCount(), actual.nodeCount());
+        assertEquals(expected.lengths().length, actual.lengths().length);
+        assertEquals(expected.hasDensities(), actual.hasDensities());
+        assertEquals(expected.hasExplicitTopology(), actual.hasExplicitTopology());
+        for (int i = 0; i < expected.rodCount(); i++) {
+            assertEquals(expected.rodId(i), actual.rodId(i));
+            assertEquals(expected.length(i), actual.length(i));
+            assertEquals(expected.area(i), actual.area(i));
+            assertEquals(expected.elasticModulus(i), actual.elasticModulus(i));
+            assertEquals(expected.allowableStress(i), actual.allowableStress(i));
+            assertEquals(expected.distributedLoad(i), actual.distributedLoad(i));
+            assertEquals(expected.density(i), actual.density(i));
+            if (expected.hasExplicitTopology()) {
+                assertEquals(expected.startNodeId(i), actual.startNodeId(i));
+                assertEquals(expected.endNodeId(i), actual.endNodeId(i));
+            }
+        }
+        for (int j = 0; j < expected.nodeCount(); j++) {
+            assertEquals(expected.nodeId(j), actual.nodeId(j));
+            assertEquals(expected.externalForce(j), actual.externalForce(j));
+            assertEquals(expected.isFixed(j), actual.isFixed(j));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package stankin.saprcadbackend.service.probabilistic;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import stankin.saprcadbackend.dto.probabilistic.Distribution;
+import stankin.saprcadbackend.dto.probabilistic.ProbabilisticInput;
+import stankin.saprcadbackend.dto.probabilistic.ProbabilisticResult;
+import stankin.saprcadbackend.dto.probabilistic.QuantityStatistics;
+import stankin.saprcadbackend.dto.probabilistic.RandomField;
+import stankin.saprcadbackend.service.preprocessor.ProjectService;
+import stankin.saprcadbackend.service.processor.CalculateDisplacementsService;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static stankin.saprcadbackend.StructureBuilder.cantilever;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProbabilisticAnalysisServiceTests {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private CalculateDisplacementsService calculateDisplacementsService;
+
+    @Test
+    void fixedSeedGivesSameResultForAnyPoolSize() {
+        // 5000 испытаний — несколько блоков и неполный последний
+        ProbabilisticResult reference = analyze(1, 42L);
+        for (int threads : new int[]{2, 3, 8}) {
+            assertSameResult(reference, analyze(threads, 42L));
+        }
+    }
+
+    @Test
+    void differentSeedGivesDifferentSamples() {
+        ProbabilisticResult first = analyze(4, 1L);
+        ProbabilisticResult second = analyze(4, 2L);
+
+        assertEquals(1L, first.getSeed());
+        assertNotEquals(first.getNodes().get(3).getDisplacement().getMean(),
+                second.getNodes().get(3).getDisplacement().getMean());
+    }
+
+    @Test
+    void meanDisplacementMatchesDeterministicSolution() {
+        // Нормальная F с cov 0.2 и логнормальный E с cov 0.05: среднее ∆ конца близко к F·L/(EA) = 3
+        ProbabilisticResult result = analyze(4, 7L);
+        QuantityStatistics tip = result.getNodes().get(3).getDisplacement();
+
+        assertEquals(5000, result.getSamples());
+        assertEquals(3.0, tip.getMean(), 0.03);
+        assertTrue(tip.getMin() < tip.getQuantiles()[0] && tip.getQuantiles()[2] < tip.getMax());
+    }
+
+    private ProbabilisticResult analyze(int threads, long seed) {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            ProbabilisticAnalysisService service = new ProbabilisticAnalysisService();
+            ReflectionTestUtils.setField(service, "projectService", projectService);
+            ReflectionTestUtils.setField(service, "calculateDisplacementsService", calculateDisplacementsService);
+            ReflectionTestUtils.setField(service, "calculationExecutor", pool);
+
+            ProbabilisticOutcome outcome = service.analyze(input(seed));
+            assertTrue(outcome.isSuccess(), String.valueOf(outcome.getErrors()));
+            return outcome.getResult();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void assertSameResult(ProbabilisticResult expected, ProbabilisticResult actual) {
+        assertEquals(expected.getFailureProbability(), actual.getFailureProbability());
+        for (int i = 0; i < expected.getRods().size(); i++) {
+            assertEquals(expected.getRods().get(i).getFailureProbability(),
+                    actual.getRods().get(i).getFailureProbability());
+            assertSameStatistics(expected.getRods().get(i).getStress(), actual.getRods().get(i).getStress());
+        }
+        for (int j = 0; j < expected.getNodes().size(); j++) {
+            assertSameStatistics(expected.getNodes().get(j).getDisplacement(),
+                    actual.getNodes().get(j).getDisplacement());
+        }
+    }
+
+    // Побитовое совпадение: блоки сливаются в порядке номеров, а не завершения
+    private static void assertSameStatistics(QuantityStatistics expected, QuantityStatistics actual) {
+        assertEquals(expected.getMean(), actual.getMean());
+        assertEquals(expected.getStandardDeviation(), actual.getStandardDeviation());
+        assertEquals(expected.getMin(), actual.getMin());
+        assertEquals(expected.getMax(), actual.getMax());
+        assertArrayEquals(expected.getQuantiles(), actual.getQuantiles());
+    }
+
+    // Консоль из трёх стержней L = 1, A = 1, E = 100 ([σ] = 110), F = 100 на конце
+    private static ProbabilisticInput input(long seed) {
+        ProbabilisticInput input = new ProbabilisticInput();
+        input.setStructure(cantilever(3, 100.0).elasticModulus(100.0).allowableStress(110.0).build());
+        input.setSamples(5000);
+        input.setSeed(seed);
+        input.setElasticModulus(field(Distribution.LOGNORMAL, 0.05));
+        input.setExternalForce(field(Distribution.NORMAL, 0.2));
+        return input;
+    }
+
+    private static RandomField field(Distribution distribution, double cov) {
+        RandomField field = new RandomField();
+        field.setDistribution(distribution);
+        field.setCov(cov);
+        return field;
+    }
+}
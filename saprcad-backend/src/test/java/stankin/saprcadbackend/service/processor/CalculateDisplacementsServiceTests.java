@@ -0,0 +1,154 @@
+package stankin.saprcadbackend.service.processor;
+
+import org.junit.jupiter.api.Test;
+import stankin.saprcadbackend.StructureBuilder;
+import stankin.saprcadbackend.dto.structure.Node;
+import stankin.saprcadbackend.dto.structure.Rod;
+import stankin.saprcadbackend.dto.structure.StructureInput;
+import stankin.saprcadbackend.service.processor.solver.ConjugateGradientSolver;
+import stankin.saprcadbackend.service.processor.solver.SparseCholeskySolver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static stankin.saprcadbackend.StructureBuilder.chain;
+
+class CalculateDisplacementsServiceTests {
+
+    private final CalculateDisplacementsService service = new CalculateDisplacementsService();
+
+    @Test
+    void twoRodsFixedAtBothEnds() {
+        // sapr_structure_1: EA/L = 1 у обоих стержней, q = 0, F = 24 в среднем узле
+        StructureInput input = chain(2).fixed(0, 2).force(1, 24.0).build();
+
+        double[] delta = service.calculateDisplacements(input).getDisplacements();
+
+        assertEquals(0.0, delta[0], 1e-12);
+        assertEquals(12.0, delta[1], 1e-12);
+        assertEquals(0.0, delta[2], 1e-12);
+    }
+
+    @Test
+    void longCantileverWithDistributedLoad() {
+        // Консоль из n одинаковых стержней под q: ∆(x) = q * (L*x - x²/2) / (EA), L — полная длина
+        int n = 200_000;
+        StructureInput input = chain(n).area(2.0).elasticModulus(3.0).distributedLoad(0.5).fixed(0).build();
+
+        double[] delta = service.calculateDisplacements(input).getDisplacements();
+
+        double total = n;
+        double ea = 6.0;
+        double expectedTip = 0.5 * (total * total - total * total / 2) / ea;
+        assertEquals(n + 1, delta.length);
+        assertEquals(expectedTip, delta[n], expectedTip * 1e-6);
+    }
+
+    @Test
+    void explicitTopologyMatchesChain() {
+        // Та же консоль, но узлы перечислены в обратном порядке, а стержни ссылаются на них по ID
+        int n = 50;
+        StructureBuilder cantilever = chain(n).length(2.0).area(3.0).elasticModulus(5.0).distributedLoad(-1.5)
+                .fixed(0).force(n, 7.0);
+        StructureInput reference = cantilever.build();
+
+        StructureInput shuffled = cantilever.topology().build();
+        Collections.reverse(shuffled.getNodes());
+
+        double[] expected = service.calculateDisplacements(reference).getDisplacements();
+        double[] actual = service.calculateDisplacements(shuffled).getDisplacements();
+
+        for (int i = 0; i <= n; i++) {
+            assertEquals(expected[i], actual[n - i], 1e-9);
+        }
+    }
+
+    @Test
+    void branchedStructureWithIntermediateSupport() {
+        // Узел 1 — точка ветвления: стержни 1 (0-1), 2 (1-2), 3 (1-3); заделки в узлах 0 и 3, сила в узле 2
+        StructureInput input = chain(3).fixed(0, 3).force(2, 3.0).build();
+        int[][] ends = {{0, 1}, {1, 2}, {1, 3}};
+        for (int i = 0; i < 3; i++) {
+            input.getRods().get(i).setStartNodeId(ends[i][0]);
+            input.getRods().get(i).setEndNodeId(ends[i][1]);
+        }
+
+        double[] delta = service.calculateDisplacements(input).getDisplacements();
+
+        // Узел 1 держат две пружины k = 1 параллельно, узел 2 — последовательно: ∆1 = 3/2, ∆2 = ∆1 + 3
+        assertEquals(0.0, delta[0], 1e-12);
+        assertEquals(1.5, delta[1], 1e-12);
+        assertEquals(4.5, delta[2], 1e-12);
+        assertEquals(0.0, delta[3], 1e-12);
+    }
+
+    @Test
+    void conjugateGradientMatchesDirectSolver() {
+        // Решётка 30 x 30 узлов, закреплена по левому краю
+        int side = 30;
+        StructureInput input = chain(2 * side * (side - 1)).distributedLoad(0.1).build();
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < side * side; i++) {
+            Node node = new Node();
+            node.setId(i);
+            node.setFixed(i % side == 0);
+            node.setExternalForce(i % 7 == 0 ? 1.0 : 0.0);
+            nodes.add(node);
+        }
+        input.setNodes(nodes);
+        int rod = 0;
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                int id = r * side + c;
+                if (c + 1 < side) {
+                    input.getRods().get(rod).setStartNodeId(id);
+                    input.getRods().get(rod++).setEndNodeId(id + 1);
+                }
+                if (r + 1 < side) {
+                    input.getRods().get(rod).setStartNodeId(id);
+                    input.getRods().get(rod++).setEndNodeId(id + side);
+                }
+            }
+        }
+
+        StructureTopology topology = StructureTopology.of(input);
+        SparseStiffnessSystem system = SparseStiffnessAssembler.assemble(input, topology);
+        double[] rhs = system.reduce(FactorizedStructure.loadVector(input, topology));
+        double[] direct = SparseCholeskySolver.factorize(system.matrix()).solve(rhs);
+        double[] iterative = new ConjugateGradientSolver(system.matrix(), 1e-12, 10_000).solve(rhs);
+
+        for (int i = 0; i < direct.length; i++) {
+            assertEquals(direct[i], iterative[i], 1e-8 * Math.max(1.0, Math.abs(direct[i])));
+        }
+    }
+
+    @Test
+    void lowRankUpdateMatchesRefactorization() {
+        // Консоль с двумя заделками: меняем площади трёх стержней поправками ранга 1 и сравниваем с новой сборкой
+        int n = 40;
+        StructureInput input = chain(n).length(1.5).area(2.0).elasticModulus(4.0).distributedLoad(0.3)
+                .fixed(0, n).force(n / 2, -5.0).build();
+
+        UpdatableStructure updatable = new UpdatableStructure(service.prepare(input), 8);
+        int[] changedRods = {0, 17, n - 1};
+        double[] newAreas = {0.5, 6.0, 3.0};
+        for (int k = 0; k < changedRods.length; k++) {
+            Rod rod = input.getRods().get(changedRods[k]);
+            double before = rod.getElasticModulus() * rod.getArea() / rod.getLength();
+            rod.setArea(newAreas[k]);
+            double after = rod.getElasticModulus() * rod.getArea() / rod.getLength();
+            updatable.addStiffnessChange(changedRods[k], after - before);
+        }
+
+        double[] loads = FactorizedStructure.loadVector(input, updatable.getBase().getTopology());
+        double[] updated = updatable.solve(loads);
+        double[] expected = service.calculateDisplacements(input).getDisplacements();
+
+        assertEquals(3, updatable.rank());
+        for (int j = 0; j <= n; j++) {
+            assertEquals(expected[j], updated[j], 1e-10 * Math.max(1.0, Math.abs(expected[j])));
+        }
+    }
+}
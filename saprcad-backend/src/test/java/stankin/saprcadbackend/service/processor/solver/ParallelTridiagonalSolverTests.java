@@ -0,0 +1,132 @@
+package stankin.saprcadbackend.service.processor.solver;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelTridiagonalSolverTests {
+
+    private static final long WAIT_SECONDS = 10;
+
+    @Test
+    void parallelChainSolverMatchesSequential() {
+        // Цепочка с разной жёсткостью стержней, заделки в начале и на одном из разделителей (узел 999 при 7 отрезках)
+        int n = 7001;
+        SplittableRandom random = new SplittableRandom(7);
+        double[] stiffness = new double[n - 1];
+        for (int i = 0; i < n - 1; i++) {
+            stiffness[i] = 0.1 + 10.0 * random.nextDouble();
+        }
+        double[] diag = new double[n];
+        double[] off = new double[n - 1];
+        double[] rhs = new double[n];
+        for (int i = 0; i < n - 1; i++) {
+            diag[i] += stiffness[i];
+            diag[i + 1] += stiffness[i];
+            off[i] = -stiffness[i];
+        }
+        for (int j = 0; j < n; j++) {
+            rhs[j] = random.nextDouble() - 0.5;
+        }
+        for (int fixed : new int[]{0, 999}) {
+            diag[fixed] = 1.0;
+            rhs[fixed] = 0.0;
+            if (fixed > 0) {
+                off[fixed - 1] = 0.0;
+            }
+            off[fixed] = 0.0;
+        }
+
+        double[] expected = TridiagonalSolver.factorize(diag, off).solve(rhs);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int segments : new int[]{2, 7, 64}) {
+                double[] actual = ParallelTridiagonalSolver.factorize(diag, off, segments, pool).solve(rhs);
+                for (int j = 0; j < n; j++) {
+                    assertEquals(expected[j], actual[j], 1e-10 * Math.max(1.0, Math.abs(expected[j])));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void interruptedThreadDoesNotStartFactorization() {
+        double[] diag = chainDiagonal(100);
+        double[] off = chainOffDiagonal(100);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(CancellationException.class, () -> ParallelTridiagonalSolver.factorize(diag, off, 4, pool));
+        } finally {
+            Thread.interrupted();
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void interruptStopsRepeatedSolves() throws InterruptedException {
+        // Решения повторяются без конца в отдельном потоке; остановить его может только точка отмены,
+        // которую отрезки проверяют по прерыванию этого потока, а не рабочих потоков пула
+        int n = 200_000;
+        double[] rhs = new double[n];
+        rhs[n - 1] = 1.0;
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelTridiagonalSolver solver = ParallelTridiagonalSolver.factorize(chainDiagonal(n),
+                    chainOffDiagonal(n), 16, pool);
+            CountDownLatch started = new CountDownLatch(1);
+            AtomicReference<Throwable> stoppedBy = new AtomicReference<>();
+            Thread worker = new Thread(() -> {
+                started.countDown();
+                try {
+                    while (true) {
+                        solver.solve(rhs);
+                    }
+                } catch (RuntimeException e) {
+                    stoppedBy.set(e);
+                }
+            });
+            worker.start();
+            assertTrue(started.await(WAIT_SECONDS, TimeUnit.SECONDS), "поток не запустился");
+            Thread.sleep(50);
+
+            worker.interrupt();
+            worker.join(TimeUnit.SECONDS.toMillis(WAIT_SECONDS));
+
+            assertFalse(worker.isAlive(), "решение не остановилось за " + WAIT_SECONDS + " с после прерывания");
+            assertInstanceOf(CancellationException.class, stoppedBy.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // Цепочка пружин k = 1 с заделкой в начале: 1 в нулевой строке, 2 внутри, 1 в последней
+    private static double[] chainDiagonal(int n) {
+        double[] diag = new double[n];
+        for (int i = 0; i < n; i++) {
+            diag[i] = i == 0 || i == n - 1 ? 1.0 : 2.0;
+        }
+        return diag;
+    }
+
+    private static double[] chainOffDiagonal(int n) {
+        double[] off = new double[n - 1];
+        for (int i = 1; i < n - 1; i++) {
+            off[i] = -1.0;
+        }
+        return off;
+    }
+}
@@ -0,0 +1,56 @@
+package stankin.saprcadbackend.service.processor.solver;
+
+import org.junit.jupiter.api.Test;
+import stankin.saprcadbackend.dto.modal.MassMatrixType;
+import stankin.saprcadbackend.dto.structure.StructureInput;
+import stankin.saprcadbackend.model.StructureModel;
+import stankin.saprcadbackend.service.processor.SparseMassAssembler;
+import stankin.saprcadbackend.service.processor.SparseStiffnessAssembler;
+import stankin.saprcadbackend.service.processor.SparseStiffnessSystem;
+import stankin.saprcadbackend.service.processor.StructureTopology;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static stankin.saprcadbackend.StructureBuilder.chain;
+
+class ShiftInvertLanczosTests {
+
+    @Test
+    void lanczosMatchesDiscreteChainFrequencies() {
+        // Консоль из n одинаковых стержней: λ_j = (E/ρh²) · g(θ_j), θ_j = (2j − 1)π / 2n,
+        // g = 6(1 − cos θ)/(2 + cos θ) для согласованной матрицы масс и 2(1 − cos θ) для сосредоточенной
+        int n = 200;
+        double h = 0.05;
+        double modulus = 2.0e11;
+        double density = 7800.0;
+        StructureInput input = chain(n).length(h).area(1.0e-4).elasticModulus(modulus).density(density).fixed(0)
+                .build();
+        StructureTopology topology = StructureTopology.of(input);
+        SparseStiffnessSystem system = SparseStiffnessAssembler.assemble(input, topology);
+        SparseCholeskySolver stiffness = SparseCholeskySolver.factorize(system.matrix());
+
+        for (MassMatrixType type : MassMatrixType.values()) {
+            CsrMatrix mass = SparseMassAssembler.assemble(StructureModel.of(input), topology, system, type);
+            // Базис 12 векторов на 8 форм — сходимость только через перезапуски
+            ShiftInvertLanczos.Result result = ShiftInvertLanczos.lowestModes(stiffness, mass, 8, 12, 1e-10, 500, 1L);
+            for (int j = 1; j <= 8; j++) {
+                double theta = (2 * j - 1) * Math.PI / (2 * n);
+                double g = type == MassMatrixType.CONSISTENT
+                        ? 6.0 * (1.0 - Math.cos(theta)) / (2.0 + Math.cos(theta))
+                        : 2.0 * (1.0 - Math.cos(theta));
+                double expected = modulus / (density * h * h) * g;
+                assertEquals(expected, result.getEigenvalues()[j - 1], 1e-9 * expected);
+            }
+            // Формы M-ортонормированы
+            double[] product = new double[mass.size()];
+            mass.multiply(result.getVectors()[0], product);
+            double self = 0.0;
+            double cross = 0.0;
+            for (int r = 0; r < product.length; r++) {
+                self += result.getVectors()[0][r] * product[r];
+                cross += result.getVectors()[1][r] * product[r];
+            }
+            assertEquals(1.0, self, 1e-10);
+            assertEquals(0.0, cross, 1e-10);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package stankin.saprcadbackend.service.session;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import stankin.saprcadbackend.StructureBuilder;
+import stankin.saprcadbackend.dto.result.FullResult;
+import stankin.saprcadbackend.dto.result.PolynomialCoeffs;
+import stankin.saprcadbackend.dto.result.ResultOutput;
+import stankin.saprcadbackend.dto.session.DisplacementChange;
+import stankin.saprcadbackend.dto.session.NodePatch;
+import stankin.saprcadbackend.dto.session.RodPatch;
+import stankin.saprcadbackend.dto.session.SessionState;
+import stankin.saprcadbackend.dto.session.SessionUpdate;
+import stankin.saprcadbackend.dto.session.StructurePatch;
+import stankin.saprcadbackend.dto.structure.StructureInput;
+import stankin.saprcadbackend.model.StructureModel;
+import stankin.saprcadbackend.service.pipeline.CalculationPipelineService;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static stankin.saprcadbackend.StructureBuilder.chain;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EditingSessionServiceTests {
+
+    // Поправки ранга 1 и новая факторизация дают одно решение с точностью до округления
+    private static final double TOLERANCE = 1e-10;
+
+    @Autowired
+    private EditingSessionService sessionService;
+
+    @Autowired
+    private CalculationPipelineService pipelineService;
+
+    @Test
+    void lengthChangeOnLoadedRodMovesEquivalentLoads() {
+        // Консоль под q: новая длина стержня меняет и жёсткость, и эквивалентные узловые силы qL/2
+        StructureBuilder builder = chain(4).area(2.0).elasticModulus(10.0).distributedLoad(2.0)
+                .fixed(0).force(4, 5.0);
+        String id = sessionService.create(builder.build()).getSessionId();
+        StructureInput reference = builder.build();
+
+        SessionUpdate longer = apply(id, rod(2, patch -> patch.setLength(3.0)));
+        reference.getRods().get(1).setLength(3.0);
+
+        assertFalse(longer.isRefactorized());
+        assertMatchesFullCalculation(reference, sessionService.get(id));
+
+        // Та же длина с другой нагрузкой: эквивалентные силы считаются от уже изменённой длины
+        apply(id, rod(2, patch -> patch.setDistributedLoad(-1.0)), rod(3, patch -> patch.setLength(0.5)));
+        reference.getRods().get(1).setDistributedLoad(-1.0);
+        reference.getRods().get(2).setLength(0.5);
+
+        assertMatchesFullCalculation(reference, sessionService.get(id));
+        sessionService.close(id);
+    }
+
+    @Test
+    void supportMovesBetweenEndNodes() {
+        StructureBuilder builder = chain(3).area(2.0).elasticModulus(4.0).fixed(0).force(1, 6.0);
+        String id = sessionService.create(builder.build()).getSessionId();
+        StructureInput reference = builder.build();
+        FullResult before = sessionService.get(id).getResult();
+
+        // Без заделок и с опорой в середине проект некорректен: патч отклонён, заделки сессии не меняются
+        SessionPatchResult unsupported = sessionService.patch(id, nodes(node(0, false)));
+        assertFalse(unsupported.isSuccess());
+        assertTrue(unsupported.getErrors().contains("Система должна иметь хотя бы одну заделку (фиксированный узел)."),
+                String.valueOf(unsupported.getErrors()));
+        SessionPatchResult middle = sessionService.patch(id, nodes(node(1, true)));
+        assertFalse(middle.isSuccess());
+        assertTrue(middle.getErrors().get(0).startsWith("Фиксированная опора не может находиться в середине"),
+                middle.getErrors().get(0));
+        assertSameResult(before, sessionService.get(id).getResult());
+
+        // Нагрузка после отклонённых патчей считается с прежней заделкой в узле 0
+        apply(id, nodes(force(2, -3.0)));
+        reference.getNodes().get(2).setExternalForce(-3.0);
+        assertMatchesFullCalculation(reference, sessionService.get(id));
+
+        // Перенос заделки на другой конец — новая факторизация
+        SessionUpdate moved = apply(id, nodes(node(0, false), node(3, true)));
+        reference.getNodes().get(0).setFixed(false);
+        reference.getNodes().get(3).setFixed(true);
+
+        assertTrue(moved.isRefactorized());
+        assertMatchesFullCalculation(reference, sessionService.get(id));
+        sessionService.close(id);
+    }
+
+    @Test
+    void updatesBeyondMaxRankRefactorize() {
+        // Стержни между заделками: каждое изменение площади — поправка ранга 1, лимит по умолчанию — 8
+        int n = 12;
+        StructureBuilder builder = chain(n).elasticModulus(3.0).distributedLoad(0.5).fixed(0, n).force(5, 7.0);
+        String id = sessionService.create(builder.build()).getSessionId();
+        StructureInput reference = builder.build();
+
+        for (int k = 0; k < 10; k++) {
+            int rodId = k + 1;
+            double area = 1.5 + 0.25 * k;
+            SessionUpdate update = apply(id, rod(rodId, patch -> patch.setArea(area)));
+            reference.getRods().get(k).setArea(area);
+
+            // Девятая поправка не помещается в лимит: матрица раскладывается заново, ранг снова 0
+            assertEquals(k == 8, update.isRefactorized(), "изменение " + rodId);
+            assertMatchesFullCalculation(reference, sessionService.get(id));
+        }
+        sessionService.close(id);
+    }
+
+    @Test
+    void onlyChangedValuesAreReturned() {
+        // Консоль статически определима: площадь последнего стержня меняет только перемещение конца
+        int n = 6;
+        StructureBuilder builder = chain(n).elasticModulus(2.0).fixed(0).force(n, 4.0);
+        String id = sessionService.create(builder.build()).getSessionId();
+        StructureInput reference = builder.build();
+
+        SessionUpdate update = apply(id, rod(n, patch -> patch.setArea(4.0)));
+        reference.getRods().get(n - 1).setArea(4.0);
+
+        List<DisplacementChange> displacements = update.getDisplacements();
+        assertEquals(1, displacements.size());
+        assertEquals(n, displacements.get(0).getNodeIndex());
+        assertEquals(n, displacements.get(0).getNodeId());
+        // ∆ = F·(n − 1)/(EA) + F·1/(E·4)
+        assertEquals(4.0 * (n - 1) / 2.0 + 4.0 / 8.0, displacements.get(0).getValue(), TOLERANCE);
+        assertEquals(List.of(n), rodIds(update));
+        assertMatchesFullCalculation(reference, sessionService.get(id));
+
+        // Сила в середине консоли сдвигает все узлы от точки приложения до конца: пересчитаны стержни,
+        // касающиеся этих узлов
+        update = apply(id, nodes(force(3, 2.0)));
+        reference.getNodes().get(3).setExternalForce(2.0);
+
+        assertEquals(List.of(1, 2, 3, 4, 5, 6), nodeIds(update));
+        assertEquals(List.of(1, 2, 3, 4, 5, 6), rodIds(update));
+        assertMatchesFullCalculation(reference, sessionService.get(id));
+
+        // Патч без фактических изменений: перемещения не меняются, пересчитан только указанный стержень
+        update = apply(id, rod(2, patch -> patch.setArea(1.0)));
+        assertTrue(update.getDisplacements().isEmpty());
+        assertEquals(List.of(2), rodIds(update));
+        sessionService.close(id);
+    }
+
+    @Test
+    void closedSessionIsGone() {
+        String id = sessionService.create(chain(2).fixed(0).force(2, 1.0).build()).getSessionId();
+
+        assertTrue(sessionService.close(id));
+        assertNull(sessionService.get(id));
+        assertNull(sessionService.patch(id, nodes(force(2, 2.0))));
+        assertFalse(sessionService.close(id));
+    }
+
+    private SessionUpdate apply(String id, RodPatch... rods) {
+        StructurePatch patch = new StructurePatch();
+        patch.setRods(List.of(rods));
+        return apply(id, patch);
+    }
+
+    private SessionUpdate apply(String id, StructurePatch patch) {
+        SessionPatchResult result = sessionService.patch(id, patch);
+        assertTrue(result.isSuccess(), String.valueOf(result.getErrors()));
+        return result.getUpdate();
+    }
+
+    // Состояние сессии совпадает с расчётом изменённого проекта с нуля
+    private void assertMatchesFullCalculation(StructureInput reference, SessionState state) {
+        assertSameResult(pipelineService.calculate(StructureModel.of(reference)), state.getResult());
+    }
+
+    private static void assertSameResult(FullResult expected, FullResult actual) {
+        double[] expectedDisplacements = expected.getDisplacements();
+        double[] actualDisplacements = actual.getDisplacements();
+        assertEquals(expectedDisplacements.length, actualDisplacements.length);
+        for (int j = 0; j < expectedDisplacements.length; j++) {
+            assertClose(expectedDisplacements[j], actualDisplacements[j], "∆" + j);
+        }
+
+        List<ResultOutput> expectedRods = expected.getResultOutput();
+        List<ResultOutput> actualRods = actual.getResultOutput();
+        assertEquals(expectedRods.size(), actualRods.size());
+        for (int i = 0; i < expectedRods.size(); i++) {
+            ResultOutput e = expectedRods.get(i);
+            ResultOutput a = actualRods.get(i);
+            assertEquals(e.getRodId(), a.getRodId());
+            assertEquals(e.getLength(), a.getLength());
+            assertEquals(e.getArea(), a.getArea());
+            assertEquals(e.getDistributedLoad(), a.getDistributedLoad());
+            assertCoeffs(e.getAxialForceCoeffs(), a.getAxialForceCoeffs(), "N стержня " + e.getRodId());
+            assertCoeffs(e.getDisplacementCoeffs(), a.getDisplacementCoeffs(), "u стержня " + e.getRodId());
+            assertCoeffs(e.getStressCoeffs(), a.getStressCoeffs(), "σ стержня " + e.getRodId());
+            assertClose(e.getMaxStressOnTheRod(), a.getMaxStressOnTheRod(), "max σ стержня " + e.getRodId());
+        }
+    }
+
+    private static void assertCoeffs(PolynomialCoeffs expected, PolynomialCoeffs actual, String message) {
+        assertClose(expected.getA0(), actual.getA0(), message);
+        assertClose(valueOf(expected.getA1()), valueOf(actual.getA1()), message);
+        assertClose(valueOf(expected.getA2()), valueOf(actual.getA2()), message);
+    }
+
+    private static double valueOf(Double coefficient) {
+        return coefficient != null ? coefficient : 0.0;
+    }
+
+    private static void assertClose(double expected, double actual, String message) {
+        assertEquals(expected, actual, TOLERANCE * Math.max(1.0, Math.abs(expected)), message);
+    }
+
+    private static List<Integer> nodeIds(SessionUpdate update) {
+        return update.getDisplacements().stream().map(DisplacementChange::getNodeId).toList();
+    }
+
+    private static List<Integer> rodIds(SessionUpdate update) {
+        return update.getResultOutput().stream().map(ResultOutput::getRodId).toList();
+    }
+
+    private static RodPatch rod(int id, Consumer<RodPatch> change) {
+        RodPatch patch = new RodPatch();
+        patch.setId(id);
+        change.accept(patch);
+        return patch;
+    }
+
+    private static NodePatch node(int id, boolean fixed) {
+        NodePatch patch = new NodePatch();
+        patch.setId(id);
+        patch.setFixed(fixed);
+        return patch;
+    }
+
+    private static NodePatch force(int id, double force) {
+        NodePatch patch = new NodePatch();
+        patch.setId(id);
+        patch.setExternalForce(force);
+        return patch;
+    }
+
+    private static StructurePatch nodes(NodePatch... nodes) {
+        StructurePatch patch = new StructurePatch();
+        patch.setNodes(List.of(nodes));
+        return patch;
+    }
+}
@@ -0,0 +1,140 @@
+package stankin.saprcadbackend.service.sizing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import stankin.saprcadbackend.StructureBuilder;
+import stankin.saprcadbackend.dto.sizing.SizingInput;
+import stankin.saprcadbackend.dto.sizing.SizingResult;
+import stankin.saprcadbackend.dto.structure.StructureInput;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static stankin.saprcadbackend.StructureBuilder.chain;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SectionSizingServiceTests {
+
+    @Autowired
+    private SectionSizingService sizingService;
+
+    @Test
+    void determinateStructureConvergesAfterOneResize() {
+        // Консоль, F = 100 на конце, [σ] = 50: A = 2 у обоих стержней; второй шаг только подтверждает сходимость
+        SizingInput input = input(cantilever(1.0, 2.0), 100);
+
+        SizingResult result = optimize(input);
+
+        assertTrue(result.isConverged());
+        assertTrue(result.isFeasible());
+        assertEquals(2, result.getIterations());
+        assertEquals(2.0, result.getRods().get(0).getArea(), 1e-12);
+        assertEquals(2.0, result.getRods().get(1).getArea(), 1e-12);
+        assertEquals(30.0, result.getInitialVolume(), 1e-12);
+        assertEquals(6.0, result.getVolume(), 1e-12);
+        assertNull(result.getMass());
+    }
+
+    @Test
+    void catalogueStepsCountAsIterations() {
+        SizingInput input = input(cantilever(1.0, 2.0), 100);
+        input.setCatalogue(List.of(5.0, 1.0, 3.0));
+
+        SizingResult result = optimize(input);
+
+        assertTrue(result.isConverged());
+        assertEquals(3, result.getIterations());
+        assertEquals(3.0, result.getRods().get(0).getArea(), 1e-12);
+        assertEquals(3.0, result.getRods().get(1).getArea(), 1e-12);
+    }
+
+    @Test
+    void indeterminateStructureRedistributesUntilConverged() {
+        // Заделки с двух сторон, сила в среднем узле: жёсткий короткий стержень забирает усилие,
+        // длинный уходит к нижней границе площади
+        SizingInput input = input(fixedFixed(), 200);
+        input.setMinArea(0.01);
+
+        SizingResult result = optimize(input);
+
+        assertTrue(result.isConverged());
+        assertTrue(result.isFeasible());
+        assertTrue(result.getIterations() > 2 && result.getIterations() < 200, "iterations " + result.getIterations());
+        assertEquals(0.01, result.getRods().get(1).getArea(), 1e-12);
+        assertEquals(result.getRods().get(0).getAllowableStress(), result.getRods().get(0).getMaxStress(),
+                1e-3 * result.getRods().get(0).getAllowableStress());
+    }
+
+    @Test
+    void iterationLimitStopsWithoutConvergence() {
+        SizingInput input = input(fixedFixed(), 1);
+        input.setMinArea(0.01);
+
+        SizingResult result = optimize(input);
+
+        assertFalse(result.isConverged());
+        assertEquals(1, result.getIterations());
+    }
+
+    @Test
+    void massUsesRodDensitiesAndRequestDensityAsFallback() {
+        StructureInput structure = cantilever(1.0, 2.0);
+        structure.getRods().get(0).setDensity(7800.0);
+        SizingInput input = input(structure, 100);
+
+        // У второго стержня плотность не задана, а в запросе её нет — масса неизвестна
+        assertNull(optimize(input).getMass());
+
+        input.setDensity(2700.0);
+        assertEquals(7800.0 * 2.0 * 1.0 + 2700.0 * 2.0 * 2.0, optimize(input).getMass(), 1e-9);
+
+        SizingInput uniform = input(cantilever(1.0, 2.0), 100);
+        uniform.setDensity(2700.0);
+        assertEquals(2700.0 * 6.0, optimize(uniform).getMass(), 1e-9);
+    }
+
+    @Test
+    void invalidParametersAreRejected() {
+        SizingInput input = input(cantilever(1.0, 2.0), 0);
+        input.setTolerance(1.0);
+
+        SizingOutcome outcome = sizingService.optimize(input);
+
+        assertFalse(outcome.isSuccess());
+        assertEquals(List.of("maxIterations должно быть от 1 до 1000.", "tolerance должна быть в интервале (0, 1)."),
+                outcome.getErrors());
+    }
+
+    private SizingResult optimize(SizingInput input) {
+        SizingOutcome outcome = sizingService.optimize(input);
+        assertTrue(outcome.isSuccess(), String.valueOf(outcome.getErrors()));
+        return outcome.getResult();
+    }
+
+    private static SizingInput input(StructureInput structure, int maxIterations) {
+        SizingInput input = new SizingInput();
+        input.setStructure(structure);
+        input.setMaxIterations(maxIterations);
+        return input;
+    }
+
+    // Консоль из стержней заданных длин (A = 10, E = 1000, [σ] = 50), заделка в узле 0, F = 100 на конце
+    private static StructureInput cantilever(double... lengths) {
+        return rods(lengths).fixed(0).force(lengths.length, 100.0).build();
+    }
+
+    // Стержни L = 1 и 2 между заделками, F = 100 в среднем узле
+    private static StructureInput fixedFixed() {
+        return rods(1.0, 2.0).fixed(0, 2).force(1, 100.0).build();
+    }
+
+    private static StructureBuilder rods(double... lengths) {
+        return chain(lengths).area(10.0).elasticModulus(1000.0).allowableStress(50.0);
+    }
+}
@@ -0,0 +1,159 @@
+package stankin.saprcadbackend.service.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import stankin.saprcadbackend.StructureBuilder;
+import stankin.saprcadbackend.dto.result.FullResult;
+import stankin.saprcadbackend.model.StructureModel;
+import stankin.saprcadbackend.service.pipeline.CalculationPipelineService;
+import stankin.saprcadbackend.service.wire.BinaryResultReader;
+import stankin.saprcadbackend.service.wire.BinaryResultWriter;
+import stankin.saprcadbackend.service.wire.BinaryStructureReader;
+import stankin.saprcadbackend.service.wire.BinaryStructureWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProjectStoreTests {
+
+    @Autowired
+    private BinaryStructureWriter structureWriter;
+
+    @Autowired
+    private BinaryStructureReader structureReader;
+
+    @Autowired
+    private BinaryResultWriter resultWriter;
+
+    @Autowired
+    private BinaryResultReader resultReader;
+
+    @Autowired
+    private CalculationPipelineService pipelineService;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void fileIsCreatedOnFirstUse() throws IOException {
+        Path file = dir.resolve("lazy/saprcad.store");
+        ProjectStore store = store(file);
+        assertFalse(Files.exists(file));
+
+        assertEquals(List.of(), store.list());
+        assertTrue(Files.exists(file));
+        store.close();
+    }
+
+    @Test
+    void reopenRestoresVersionsAndStoredResults() throws IOException {
+        Path file = dir.resolve("saprcad.store");
+        ProjectStore store = store(file);
+        store.save("beam", chain(2));
+        store.save("beam", chain(3));
+        store.save("column", chain(1));
+        FullResult result = store.result("beam", 1);
+        store.close();
+
+        ProjectStore reopened = store(file);
+        assertEquals(3, reopened.list().size());
+        assertEquals(2, reopened.info("beam", null).getVersion());
+        assertEquals(3, reopened.model("beam", 2).rodCount());
+        assertEquals(2, reopened.model("beam", 1).rodCount());
+        assertTrue(reopened.info("beam", 1).isResultStored());
+        assertFalse(reopened.info("beam", 2).isResultStored());
+        assertNull(reopened.info("beam", 3));
+        assertArrayEquals(result.getDisplacements(), reopened.result("beam", 1).getDisplacements());
+        assertEquals(0, reopened.stats().getTruncatedBytes());
+        assertEquals(1, reopened.stats().getResults());
+        reopened.close();
+    }
+
+    @Test
+    void tornTailIsTruncatedOnOpen() throws IOException {
+        Path file = dir.resolve("saprcad.store");
+        ProjectStore store = store(file);
+        store.save("beam", chain(2));
+        long intact = store.stats().getFileBytes();
+        store.save("beam", chain(3));
+        long full = store.stats().getFileBytes();
+        store.close();
+
+        // Сбой во время дозаписи: от второй записи на диске осталась только часть
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(full - 5);
+        }
+
+        ProjectStore reopened = store(file);
+        assertEquals(1, reopened.list().size());
+        assertEquals(1, reopened.info("beam", null).getVersion());
+        assertEquals(full - 5 - intact, reopened.stats().getTruncatedBytes());
+        assertEquals(intact, Files.size(file));
+
+        // Следующая запись ложится на место отрезанной
+        assertEquals(2, reopened.save("beam", chain(4)).getVersion());
+        assertEquals(4, reopened.model("beam", 2).rodCount());
+        reopened.close();
+    }
+
+    @Test
+    void corruptRecordBeforeIntactOnesIsNotTruncated() throws IOException {
+        Path file = dir.resolve("saprcad.store");
+        ProjectStore store = store(file);
+        store.save("beam", chain(2));
+        store.save("beam", chain(3));
+        store.result("beam", 2);
+        store.close();
+
+        // Испорчен заголовок первой записи, за ней — две целые: это не хвост, отрезать нечего
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {'X'}), 0);
+        }
+        byte[] corrupted = Files.readAllBytes(file);
+
+        ProjectStore reopened = store(file);
+        UncheckedIOException failure = assertThrows(UncheckedIOException.class, reopened::list);
+        assertTrue(failure.getCause().getMessage().startsWith("Хранилище повреждено: запись по смещению 0"),
+                failure.getCause().getMessage());
+        assertThrows(UncheckedIOException.class, () -> reopened.save("beam", chain(4)));
+        reopened.close();
+        assertArrayEquals(corrupted, Files.readAllBytes(file));
+    }
+
+    private ProjectStore store(Path file) {
+        ProjectStore store = new ProjectStore();
+        ReflectionTestUtils.setField(store, "path", file.toString());
+        ReflectionTestUtils.setField(store, "sync", false);
+        ReflectionTestUtils.setField(store, "structureWriter", structureWriter);
+        ReflectionTestUtils.setField(store, "structureReader", structureReader);
+        ReflectionTestUtils.setField(store, "resultWriter", resultWriter);
+        ReflectionTestUtils.setField(store, "resultReader", resultReader);
+        ReflectionTestUtils.setField(store, "pipelineService", pipelineService);
+        return store;
+    }
+
+    // Консоль: n стержней L = 1..n, сила на свободном конце
+    private static StructureModel chain(int rodsCount) {
+        return StructureBuilder.cantilever(rodsCount, 10.0).area(2.0).elasticModulus(100.0).allowableStress(50.0)
+                .eachRod((rod, i) -> rod.setLength(1.0 + i)).model();
+    }
+}
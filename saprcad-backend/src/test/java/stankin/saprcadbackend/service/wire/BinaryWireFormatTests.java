@@ -0,0 +1,187 @@
+package stankin.saprcadbackend.service.wire;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import stankin.saprcadbackend.StructureBuilder;
+import stankin.saprcadbackend.dto.result.FullResult;
+import stankin.saprcadbackend.dto.structure.StructureInput;
+import stankin.saprcadbackend.model.RodResultTable;
+import stankin.saprcadbackend.model.StructureModel;
+import stankin.saprcadbackend.service.pipeline.CalculationPipelineService;
+import stankin.saprcadbackend.service.preprocessor.ParsedStructure;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static stankin.saprcadbackend.StructureBuilder.chain;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BinaryWireFormatTests {
+
+    @Autowired
+    private BinaryStructureWriter structureWriter;
+
+    @Autowired
+    private BinaryStructureReader structureReader;
+
+    @Autowired
+    private BinaryResultWriter resultWriter;
+
+    @Autowired
+    private BinaryResultReader resultReader;
+
+    @Autowired
+    private CalculationPipelineService pipelineService;
+
+    @Test
+    void chainRoundTripWithoutDensity() throws IOException {
+        StructureModel model = StructureModel.of(structure(7, false, false));
+        byte[] bytes = write(model);
+
+        assertEquals(0, header(bytes).getInt(12));
+        StructureModel read = read(bytes);
+        assertFalse(read.hasDensities());
+        assertSameModel(model, read);
+        assertSameModel(model, structureReader.decode(ByteBuffer.wrap(bytes)));
+    }
+
+    @Test
+    void densityColumnSurvivesRoundTrip() throws IOException {
+        // Нечётное число стержней с топологией: столбец плотностей идёт после выравнивания целых столбцов
+        StructureModel model = StructureModel.of(structure(5, true, true));
+        byte[] bytes = write(model);
+
+        assertEquals(BinaryWireFormat.FLAG_TOPOLOGY | BinaryWireFormat.FLAG_DENSITY, header(bytes).getInt(12));
+        StructureModel read = read(bytes);
+        assertTrue(read.hasDensities());
+        assertSameModel(model, read);
+        assertSameModel(model, structureReader.decode(ByteBuffer.wrap(bytes)));
+    }
+
+    @Test
+    void densityWithoutTopologyKeepsLayout() throws IOException {
+        StructureModel model = StructureModel.of(structure(4, false, true));
+        byte[] bytes = write(model);
+
+        assertEquals(BinaryWireFormat.FLAG_DENSITY, header(bytes).getInt(12));
+        assertSameModel(model, read(bytes));
+    }
+
+    @Test
+    void resultRoundTrip() throws IOException {
+        StructureModel model = StructureModel.of(structure(5, true, true));
+        FullResult result = pipelineService.calculate(model);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        resultWriter.write(result, out);
+        byte[] bytes = out.toByteArray();
+        assertEquals(resultWriter.size(result), bytes.length);
+
+        FullResult read = resultReader.read(ByteBuffer.wrap(bytes), model);
+
+        assertArrayEquals(result.getDisplacements(), read.getDisplacements());
+        RodResultTable expected = result.getRodResults();
+        RodResultTable actual = read.getRodResults();
+        for (int i = 0; i < model.rodCount(); i++) {
+            for (int k = 0; k < RodResultTable.COLUMNS; k++) {
+                assertEquals(expected.coeff(i, k), actual.coeff(i, k));
+            }
+        }
+    }
+
+    @Test
+    void truncatedOrOversizedBodyIsRejected() throws IOException {
+        byte[] bytes = write(StructureModel.of(structure(3, false, true)));
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 3);
+        byte[] extended = Arrays.copyOf(bytes, bytes.length + 1);
+
+        ParsedStructure shortBody = structureReader.read(new ByteArrayInputStream(truncated), -1);
+        ParsedStructure longBody = structureReader.read(new ByteArrayInputStream(extended), -1);
+        ParsedStructure wrongLength = structureReader.read(new ByteArrayInputStream(bytes), bytes.length - 8);
+
+        assertEquals(List.of("Неожиданный конец двоичных данных (прочитано " + truncated.length + " байт)."),
+                shortBody.getErrors());
+        assertEquals(List.of("Лишние данные после конца проекта."), longBody.getErrors());
+        assertEquals(List.of("Размер тела " + (bytes.length - 8) + " байт не совпадает с заголовком (ожидалось "
+                + bytes.length + ")."), wrongLength.getErrors());
+    }
+
+    private byte[] write(StructureModel model) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        structureWriter.write(model, out);
+        byte[] bytes = out.toByteArray();
+        assertEquals(structureWriter.size(model), bytes.length);
+        return bytes;
+    }
+
+    private StructureModel read(byte[] bytes) throws IOException {
+        ParsedStructure parsed = structureReader.read(new ByteArrayInputStream(bytes), bytes.length);
+        assertTrue(parsed.isSuccess(), String.valueOf(parsed.getErrors()));
+        return parsed.getModel();
+    }
+
+    private static ByteBuffer header(byte[] bytes) {
+        return ByteBuffer.wrap(bytes, 0, BinaryWireFormat.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static void assertSameModel(StructureModel expected, StructureModel actual) {
+        assertEquals(expected.rodCount(), actual.rodCount());
+        assertEquals(expected.nodeCount(), actual.nodeCount());
+        assertEquals(expected.hasExplicitTopology(), actual.hasExplicitTopology());
+        assertEquals(expected.hasDensities(), actual.hasDensities());
+        for (int i = 0; i < expected.rodCount(); i++) {
+            assertEquals(expected.rodId(i), actual.rodId(i));
+            assertEquals(expected.length(i), actual.length(i));
+            assertEquals(expected.area(i), actual.area(i));
+            assertEquals(expected.elasticModulus(i), actual.elasticModulus(i));
+            assertEquals(expected.allowableStress(i), actual.allowableStress(i));
+            assertEquals(expected.distributedLoad(i), actual.distributedLoad(i));
+            assertEquals(expected.density(i), actual.density(i));
+            if (expected.hasExplicitTopology()) {
+                assertEquals(expected.startNodeId(i), actual.startNodeId(i));
+                assertEquals(expected.endNodeId(i), actual.endNodeId(i));
+            }
+        }
+        for (int j = 0; j < expected.nodeCount(); j++) {
+            assertEquals(expected.nodeId(j), actual.nodeId(j));
+            assertEquals(expected.externalForce(j), actual.externalForce(j));
+            assertEquals(expected.isFixed(j), actual.isFixed(j));
+        }
+    }
+
+    // Консоль из n стержней с разными свойствами; topology — узлы в обратном порядке, стержни ссылаются по ID;
+    // density — у стержней задана плотность
+    private static StructureInput structure(int rodsCount, boolean topology, boolean density) {
+        StructureBuilder builder = chain(rodsCount).elasticModulus(2.1e5).fixed(0)
+                .eachRod((rod, i) -> {
+                    rod.setLength(1.0 + 0.25 * i);
+                    rod.setArea(2.0 + i);
+                    rod.setAllowableStress(160.0 + i);
+                    rod.setDistributedLoad(i % 2 == 0 ? -0.5 * i : 0.1);
+                    if (density) {
+                        rod.setDensity(7850.0 - 100.0 * i);
+                    }
+                })
+                .eachNode((node, j) -> node.setExternalForce(j * 1.5));
+        if (topology) {
+            builder.topology();
+        }
+        StructureInput input = builder.build();
+        if (topology) {
+            Collections.reverse(input.getNodes());
+        }
+        return input;
+    }
+}
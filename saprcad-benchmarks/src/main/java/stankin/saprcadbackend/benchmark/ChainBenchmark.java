@@ -0,0 +1,75 @@
+package stankin.saprcadbackend.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import stankin.saprcadbackend.dto.calculate.DisplacementVector;
+import stankin.saprcadbackend.dto.result.FullResult;
+import stankin.saprcadbackend.dto.structure.StructureInput;
+import stankin.saprcadbackend.service.postprocessor.ResultService;
+import stankin.saprcadbackend.service.preprocessor.ProjectValidator;
+import stankin.saprcadbackend.service.processor.CalculateDisplacementsService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Этапы расчёта на синтетических цепочках от 10 до 10^6 стержней:
+// валидация, сборка и решение системы, постпроцессор и все три этапа подряд
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// jdk.incubator.vector — постпроцессор с векторным ядром, как в работающем сервисе
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "--add-modules", "jdk.incubator.vector"})
+public class ChainBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000", "1000000"})
+    public int rods;
+
+    private final ProjectValidator validator = new ProjectValidator();
+    private final CalculateDisplacementsService calculateDisplacementsService = new CalculateDisplacementsService();
+    private final ResultService resultService = new ResultService();
+
+    private StructureInput input;
+    private DisplacementVector displacements;
+
+    @Setup
+    public void setUp() {
+        input = Structures.chain(rods);
+        List<String> errors = validator.validate(input);
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("Некорректная тестовая конструкция: " + errors);
+        }
+        displacements = calculateDisplacementsService.calculateDisplacements(input);
+    }
+
+    @Benchmark
+    public List<String> validate() {
+        return validator.validate(input);
+    }
+
+    @Benchmark
+    public DisplacementVector calculateDisplacements() {
+        return calculateDisplacementsService.calculateDisplacements(input);
+    }
+
+    @Benchmark
+    public FullResult calculateNds() {
+        return resultService.calculateNds(input, displacements);
+    }
+
+    @Benchmark
+    public FullResult pipeline() {
+        validator.validate(input);
+        return resultService.calculateNds(input, calculateDisplacementsService.calculateDisplacements(input));
+    }
+}
@@ -0,0 +1,80 @@
+package stankin.saprcadbackend.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import stankin.saprcadbackend.dto.calculate.DisplacementVector;
+import stankin.saprcadbackend.dto.result.FullResult;
+import stankin.saprcadbackend.dto.structure.StructureInput;
+import stankin.saprcadbackend.service.postprocessor.ResultService;
+import stankin.saprcadbackend.service.preprocessor.ProjectValidator;
+import stankin.saprcadbackend.service.processor.CalculateDisplacementsService;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Те же этапы на реальных проектах из ProjectsSAPR-testContructions (несколько стержней —
+// здесь важны накладные расходы на вызов, а не асимптотика)
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SampleFilesBenchmark {
+
+    @Param({
+            "sapr_structure_1.json", "sapr_structure_2.json", "sapr_structure_3.json",
+            "sapr_structure_4.json", "sapr_structure_5.json", "sapr_structure_6.json",
+            "sapr_structure_lite1.json", "sapr_structure_lite2.json", "sapr_structure_lite3.json",
+            "sapr_structure_lite4.json", "sapr_structure_lite5.json", "sapr_structure_personal.json"
+    })
+    public String file;
+
+    private final ProjectValidator validator = new ProjectValidator();
+    private final CalculateDisplacementsService calculateDisplacementsService = new CalculateDisplacementsService();
+    private final ResultService resultService = new ResultService();
+
+    private StructureInput input;
+    private DisplacementVector displacements;
+
+    @Setup
+    public void setUp() throws IOException {
+        input = Structures.sample(file);
+        List<String> errors = validator.validate(input);
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException(file + " не проходит валидацию: " + errors);
+        }
+        displacements = calculateDisplacementsService.calculateDisplacements(input);
+    }
+
+    @Benchmark
+    public List<String> validate() {
+        return validator.validate(input);
+    }
+
+    @Benchmark
+    public DisplacementVector calculateDisplacements() {
+        return calculateDisplacementsService.calculateDisplacements(input);
+    }
+
+    @Benchmark
+    public FullResult calculateNds() {
+        return resultService.calculateNds(input, displacements);
+    }
+
+    @Benchmark
+    public FullResult pipeline() {
+        validator.validate(input);
+        return resultService.calculateNds(input, calculateDisplacementsService.calculateDisplacements(input));
+    }
+}
@@ -0,0 +1,57 @@
+package stankin.saprcadbackend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import stankin.saprcadbackend.dto.structure.Node;
+import stankin.saprcadbackend.dto.structure.Rod;
+import stankin.saprcadbackend.dto.structure.StructureInput;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// Входные данные бенчмарков: синтетические цепочки стержней и проекты из ProjectsSAPR-testContructions
+final class Structures {
+
+    private static final String SAMPLES_ENV = "SAPRCAD_SAMPLES";
+    private static final String DEFAULT_SAMPLES = "../ProjectsSAPR-testContructions";
+
+    private Structures() {
+    }
+
+    // Цепочка из rodsCount стержней: заделка в первом узле, сила в последнем, распределённая нагрузка
+    // на всех стержнях. Сечения чередуются, чтобы матрица не была однородной.
+    static StructureInput chain(int rodsCount) {
+        List<Rod> rods = new ArrayList<>(rodsCount);
+        for (int i = 0; i < rodsCount; i++) {
+            Rod rod = new Rod();
+            rod.setId(i);
+            rod.setLength(1.0 + (i % 3) * 0.5);
+            rod.setArea(i % 2 == 0 ? 2.0 : 1.0);
+            rod.setElasticModulus(1.0);
+            rod.setAllowableStress(1.0e9);
+            rod.setDistributedLoad(0.5);
+            rods.add(rod);
+        }
+
+        List<Node> nodes = new ArrayList<>(rodsCount + 1);
+        for (int i = 0; i <= rodsCount; i++) {
+            Node node = new Node();
+            node.setId(i);
+            nodes.add(node);
+        }
+        nodes.get(0).setFixed(true);
+        nodes.get(rodsCount).setExternalForce(10.0);
+
+        StructureInput input = new StructureInput();
+        input.setRods(rods);
+        input.setNodes(nodes);
+        return input;
+    }
+
+    static StructureInput sample(String fileName) throws IOException {
+        String dir = System.getenv(SAMPLES_ENV);
+        Path path = Path.of(dir != null ? dir : DEFAULT_SAMPLES, fileName);
+        return new ObjectMapper().readValue(path.toFile(), StructureInput.class);
+    }
+}
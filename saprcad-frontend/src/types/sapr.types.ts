@@ -11,6 +11,8 @@ export interface Rod {
     elasticModulus: number;   // Ei > 0
     allowableStress: number;  // [σ]i > 0
     distributedLoad: number;  // qi: >0 — растяжение, <0 — сжатие, 0 — нет
+    startNodeId?: number;     // произвольная топология: ID начального узла (если не задан — стержень i соединяет узлы i и i+1)
+    endNodeId?: number;       // ID конечного узла
 }
 
 export interface StructureInput {